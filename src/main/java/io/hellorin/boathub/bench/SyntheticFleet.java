@@ -0,0 +1,141 @@
+package io.hellorin.boathub.bench;
+
+import io.hellorin.boathub.domain.BoatType;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+
+/**
+ * Generator of synthetic boats for benchmarks, resembling a real fleet: names of one to three words, descriptions
+ * whose lengths follow a log-normal distribution around 80 characters, some boats without any description,
+ * a few boat types making most of the fleet, and creation dates spread over five years, most boats being updated since.
+ * <p>
+ * Every boat is generated from the seed and its index only, so that a fleet is the same whatever the number of
+ * threads generating it and the order they do it in. Names end with a code derived from the index, which keeps them
+ * unique within a fleet.
+ */
+public final class SyntheticFleet {
+
+    /**
+     * Dates are generated before a fixed date rather than now, so that a fleet is the same from one run to the next.
+     */
+    static final LocalDateTime REFERENCE_DATE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private static final long HISTORY_SECONDS = ChronoUnit.SECONDS.between(REFERENCE_DATE.minusYears(5), REFERENCE_DATE);
+
+    private static final BoatType[] BOAT_TYPES = {
+            BoatType.SAILBOAT, BoatType.MOTORBOAT, BoatType.FISHING_BOAT, BoatType.YACHT, BoatType.SPEEDBOAT, BoatType.OTHER
+    };
+
+    /**
+     * Cumulative shares of the boat types above, in percent.
+     */
+    private static final int[] BOAT_TYPE_SHARES = {35, 60, 78, 88, 96, 100};
+
+    private static final String[] ADJECTIVES = {
+            "Black", "Silver", "Golden", "Blue", "Red", "Wild", "Lucky", "Swift", "Silent", "Brave",
+            "Northern", "Southern", "Old", "Little", "Grand", "Royal", "Restless", "Morning", "Evening", "Stormy"
+    };
+
+    private static final String[] NOUNS = {
+            "Pearl", "Breeze", "Wave", "Gull", "Albatross", "Dolphin", "Mermaid", "Tide", "Anchor", "Compass",
+            "Horizon", "Voyager", "Explorer", "Wanderer", "Spirit", "Star", "Moon", "Harbor", "Island", "Current",
+            "Lady", "Queen", "Dream", "Legend", "Falcon", "Osprey", "Marlin", "Reef", "Coral", "Lagoon"
+    };
+
+    private static final String[] PHRASES = {
+            "a sturdy hull built for the open sea", "recently refitted with a new engine", "ideal for weekend cruises",
+            "equipped with modern navigation systems", "sleeps four in two cabins", "teak deck kept in good condition",
+            "moored in a sheltered marina", "perfect for deep sea fishing", "fast and easy to handle single-handed",
+            "family owned for three generations", "new sails fitted last season", "large cockpit for entertaining guests",
+            "well suited to coastal waters", "radar and autopilot on board", "spacious galley with a fridge",
+            "raced successfully in regattas", "low fuel consumption at cruising speed", "shallow draft for exploring bays"
+    };
+
+    private static final int MEDIAN_DESCRIPTION_LENGTH = 80;
+
+    private static final double DESCRIPTION_LENGTH_SIGMA = 0.6;
+
+    private static final int MIN_DESCRIPTION_LENGTH = 10;
+
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+
+    private final long seed;
+
+    public SyntheticFleet(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generates a boat of the fleet.
+     * @param index The index of the boat in the fleet, from 0
+     * @return The boat, always the same for a given seed and index
+     */
+    public SyntheticBoat boat(long index) {
+        // SplittableRandom mixes its state into every value, so neighbouring boats are unrelated
+        var random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+
+        var createdDate = REFERENCE_DATE.minusSeconds(random.nextLong(HISTORY_SECONDS));
+        var updatedDate = random.nextInt(100) < 40
+                ? createdDate
+                : createdDate.plusSeconds(random.nextLong(ChronoUnit.SECONDS.between(createdDate, REFERENCE_DATE) + 1));
+        return new SyntheticBoat(name(random, index), description(random), boatType(random), createdDate, updatedDate);
+    }
+
+    private static String name(SplittableRandom random, long index) {
+        var name = new StringBuilder(40);
+        if (random.nextInt(100) < 60) {
+            name.append(ADJECTIVES[random.nextInt(ADJECTIVES.length)]).append(' ');
+        }
+        name.append(NOUNS[random.nextInt(NOUNS.length)]);
+        if (random.nextInt(100) < 30) {
+            name.append(' ').append(NOUNS[random.nextInt(NOUNS.length)]);
+        }
+        return name.append(" #").append(Long.toString(index + 1, Character.MAX_RADIX).toUpperCase()).toString();
+    }
+
+    /**
+     * Builds a description of phrases, about 8% of the boats having none.
+     */
+    private static String description(SplittableRandom random) {
+        if (random.nextInt(100) < 8) {
+            return null;
+        }
+        // Log-normal length from a normal deviate made by the Box-Muller transform
+        double normal = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        int length = (int) Math.round(MEDIAN_DESCRIPTION_LENGTH * Math.exp(DESCRIPTION_LENGTH_SIGMA * normal));
+        length = Math.clamp(length, MIN_DESCRIPTION_LENGTH, MAX_DESCRIPTION_LENGTH);
+
+        var description = new StringBuilder(length + 50);
+        while (description.length() < length) {
+            if (!description.isEmpty()) {
+                description.append(", ");
+            }
+            description.append(PHRASES[random.nextInt(PHRASES.length)]);
+        }
+        int end = description.lastIndexOf(" ", length);
+        description.setLength(end > 0 ? end : length);
+        if (description.charAt(description.length() - 1) == ',') {
+            description.setLength(description.length() - 1);
+        }
+        description.setCharAt(0, Character.toUpperCase(description.charAt(0)));
+        return description.toString();
+    }
+
+    private static BoatType boatType(SplittableRandom random) {
+        int draw = random.nextInt(100);
+        int type = 0;
+        while (draw >= BOAT_TYPE_SHARES[type]) {
+            type++;
+        }
+        return BOAT_TYPES[type];
+    }
+
+    /**
+     * A generated boat, as inserted in the boats table.
+     */
+    public record SyntheticBoat(String name, String description, BoatType boatType,
+                                LocalDateTime createdDate, LocalDateTime updatedDate) {
+    }
+}
@@ -0,0 +1,180 @@
+package io.hellorin.boathub.bench;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads a synthetic fleet at startup, so that performance can be observed on a realistic number of boats instead
+ * of the few boats of the sample data. Runs with the bench profile, on top of the dev profile for the database:
+ * mvn spring-boot:run -Dspring-boot.run.profiles=dev,bench -Dspring-boot.run.arguments=--boathub.bench.boats=2000000
+ * <p>
+ * The boats are inserted with JDBC batches, in chunks committed separately and loaded in parallel, each thread
+ * with its own connection. Every row inserted would update each of the secondary indexes of the boats table, which
+ * makes the load several times slower: they are dropped before the load, then created again by the schema script,
+ * sorting all the boats at once. The unique index on the names is kept.
+ * The IDs of the boats are taken after the current value of the boats sequence, which is then moved past them,
+ * so that the boats inserted later by Hibernate do not reuse them.
+ * The fleet is loaded with the database, once the schema and sample data scripts ran, before any request is served
+ * and any scheduled task runs, so that the in-memory copies of the boats never load a partial fleet. The catalog,
+ * the search index, the name suggestions and the statistics are disabled by the bench profile though, as each
+ * of them would hold the whole fleet in the heap besides the database.
+ * Nothing is loaded when the table already holds the requested number of boats, as a file database would.
+ */
+@Component
+@Profile("bench") // Generates millions of boats, never to be run in stage or production
+@DependsOnDatabaseInitialization
+public class SyntheticFleetLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SyntheticFleetLoader.class);
+
+    private static final String SECONDARY_INDEXES = "select index_name from information_schema.indexes "
+            + "where table_name = 'BOATS' and index_type_name = 'INDEX'";
+
+    private static final String INSERT_BOAT = "insert into boats (id, name, description, boat_type, created_date, "
+            + "updated_date) values (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Boats committed together: large enough to amortize the commits, small enough to spread over the threads.
+     */
+    static final int CHUNK_SIZE = 50_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Resource schemaScript;
+
+    private final long boats;
+
+    private final long seed;
+
+    private final int threads;
+
+    private final int batchSize;
+
+    public SyntheticFleetLoader(JdbcTemplate jdbcTemplate,
+                                @Value("${spring.sql.init.schema-locations}") Resource schemaScript,
+                                @Value("${boathub.bench.boats:1000000}") long boats,
+                                @Value("${boathub.bench.seed:42}") long seed,
+                                @Value("${boathub.bench.threads:4}") int threads,
+                                @Value("${boathub.bench.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.schemaScript = schemaScript;
+        this.boats = boats;
+        this.seed = seed;
+        this.threads = threads;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Loads the synthetic fleet at application startup.
+     *
+     * @throws IllegalStateException if the fleet could not be loaded
+     */
+    @PostConstruct
+    public void load() throws InterruptedException {
+        var existing = jdbcTemplate.queryForObject("select count(*) from boats", Long.class);
+        if (existing != null && existing >= boats) {
+            LOGGER.info("Synthetic fleet not loaded, the database already holds {} boats", existing);
+            return;
+        }
+
+        var firstId = jdbcTemplate.queryForObject("select next value for boats_id_seq", Long.class);
+        var fleet = new SyntheticFleet(seed);
+        var loaded = new AtomicLong();
+        long start = System.nanoTime();
+        LOGGER.info("Loading a synthetic fleet of {} boats with {} threads, seed {}", boats, threads, seed);
+        var secondaryIndexes = jdbcTemplate.queryForList(SECONDARY_INDEXES, String.class);
+        secondaryIndexes.forEach(index -> jdbcTemplate.execute("drop index " + index));
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long first = 0; first < boats; first += CHUNK_SIZE) {
+                long from = first;
+                long to = Math.min(first + CHUNK_SIZE, boats);
+                chunks.add(executor.submit(() -> loadChunk(fleet, firstId, from, to, loaded)));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("The synthetic fleet could not be loaded", ex.getCause());
+        } finally {
+            long indexStart = System.nanoTime();
+            new ResourceDatabasePopulator(schemaScript).execute(jdbcTemplate.getDataSource());
+            LOGGER.info("Created the {} secondary indexes of the boats again in {} s", secondaryIndexes.size(),
+                    seconds(indexStart));
+        }
+        // Pooled-lo IDs: Hibernate uses the value it reads from the sequence and the block after it
+        jdbcTemplate.execute("alter sequence boats_id_seq restart with " + (firstId + boats));
+
+        LOGGER.info("Loaded a synthetic fleet of {} boats in {} s", boats, seconds(start));
+    }
+
+    private static String seconds(long start) {
+        return String.format("%.1f", (System.nanoTime() - start) / 1e9);
+    }
+
+    private void loadChunk(SyntheticFleet fleet, long firstId, long from, long to, AtomicLong loaded) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                insert(connection, fleet, firstId, from, to);
+                connection.commit();
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+        long total = loaded.addAndGet(to - from);
+        // Logs every tenth of the fleet or so, whatever the order chunks end in
+        if (total * 10 / boats != (total - (to - from)) * 10 / boats) {
+            LOGGER.info("Loaded {} boats of the synthetic fleet out of {}", total, boats);
+        }
+    }
+
+    private void insert(Connection connection, SyntheticFleet fleet, long firstId, long from, long to)
+            throws SQLException {
+        try (var statement = connection.prepareStatement(INSERT_BOAT)) {
+            for (long index = from; index < to; index++) {
+                var boat = fleet.boat(index);
+                statement.setLong(1, firstId + index);
+                statement.setString(2, boat.name());
+                if (boat.description() == null) {
+                    statement.setNull(3, Types.VARCHAR);
+                } else {
+                    statement.setString(3, boat.description());
+                }
+                statement.setString(4, boat.boatType().name());
+                statement.setTimestamp(5, Timestamp.valueOf(boat.createdDate()));
+                statement.setTimestamp(6, Timestamp.valueOf(boat.updatedDate()));
+                statement.addBatch();
+                if ((index - from + 1) % batchSize == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.hellorin.boathub.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.hellorin.boathub.dto.BoatDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of boat DTOs indexed by their ID.
+ * Entries are evicted by size and by age, and hits, misses and evictions are published to Micrometer
+ * under the "boats" cache name.
+ */
+@Component
+public class BoatCache {
+
+    static final String CACHE_NAME = "boats";
+
+    private final Cache<Long, BoatDto> cache;
+
+    public BoatCache(MeterRegistry meterRegistry,
+                     @Value("${boathub.cache.boats.maximum-size:10000}") long maximumSize,
+                     @Value("${boathub.cache.boats.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached boat for the given ID, loading it with the given loader on a miss.
+     * The load is performed atomically for the key, so an invalidation issued while a load is in flight
+     * waits for it and then removes the loaded value. A loader returning null is not cached.
+     *
+     * @param id The ID of the boat
+     * @param loader The function loading the boat from the source of truth
+     * @return Optional containing the boat DTO if found, empty otherwise
+     */
+    public Optional<BoatDto> get(Long id, Function<Long, BoatDto> loader) {
+        if (id == null) {
+            return Optional.ofNullable(loader.apply(null));
+        }
+        return Optional.ofNullable(cache.get(id, loader));
+    }
+
+    /**
+     * Removes the boat with the given ID from the cache.
+     * Must be called after the write on the source of truth is done.
+     *
+     * @param id The ID of the boat to invalidate
+     */
+    public void invalidate(Long id) {
+        if (id != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Removes all the boats from the cache.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,155 @@
+package io.hellorin.boathub.catalog;
+
+/**
+ * Operations on bitmaps of positions in a catalog index, held as arrays of 64-bit words.
+ * A bitmap is never modified: inserting or removing a position returns a new bitmap where the following
+ * positions are shifted, which costs one pass over the words instead of one per boat.
+ */
+final class BoatBitmaps {
+
+    private BoatBitmaps() {
+    }
+
+    /**
+     * Returns an empty bitmap able to hold the given number of positions.
+     */
+    static long[] empty(int length) {
+        return new long[words(length)];
+    }
+
+    static void set(long[] bitmap, int position) {
+        bitmap[position >>> 6] |= 1L << position;
+    }
+
+    /**
+     * Inserts a position, the following ones moving one position up.
+     * @param bitmap The bitmap
+     * @param length The number of positions of the bitmap, before the insertion
+     * @param position The inserted position
+     * @param value Whether the inserted position is set
+     * @return The bitmap with one more position
+     */
+    static long[] insert(long[] bitmap, int length, int position, boolean value) {
+        var inserted = new long[words(length + 1)];
+        var word = position >>> 6;
+        // Positions of the word below the inserted one, shifts being taken modulo 64
+        var lowMask = (1L << position) - 1;
+        System.arraycopy(bitmap, 0, inserted, 0, word);
+        for (int i = word; i < inserted.length; i++) {
+            var current = i < bitmap.length ? bitmap[i] : 0;
+            if (i == word) {
+                inserted[i] = (current & lowMask) | ((current & ~lowMask) << 1) | (value ? 1L << position : 0);
+            } else {
+                inserted[i] = (current << 1) | (bitmap[i - 1] >>> 63);
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Removes a position, the following ones moving one position down.
+     * @param bitmap The bitmap
+     * @param length The number of positions of the bitmap, before the removal
+     * @param position The removed position
+     * @return The bitmap with one less position
+     */
+    static long[] remove(long[] bitmap, int length, int position) {
+        var removed = new long[words(length - 1)];
+        var word = position >>> 6;
+        var lowMask = (1L << position) - 1;
+        System.arraycopy(bitmap, 0, removed, 0, Math.min(word, removed.length));
+        for (int i = word; i < removed.length; i++) {
+            var next = i + 1 < bitmap.length ? bitmap[i + 1] << 63 : 0;
+            if (i == word) {
+                removed[i] = (bitmap[i] & lowMask) | ((bitmap[i] >>> 1) & ~lowMask) | next;
+            } else {
+                removed[i] = (bitmap[i] >>> 1) | next;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the union of bitmaps of the same length.
+     */
+    static long[] or(Iterable<long[]> bitmaps, int length) {
+        var union = empty(length);
+        for (long[] bitmap : bitmaps) {
+            for (int i = 0; i < union.length; i++) {
+                union[i] |= bitmap[i];
+            }
+        }
+        return union;
+    }
+
+    static int cardinality(long[] bitmap) {
+        var cardinality = 0;
+        for (long word : bitmap) {
+            cardinality += Long.bitCount(word);
+        }
+        return cardinality;
+    }
+
+    /**
+     * Finds the set position of the given rank, skipping whole words by their bit count.
+     * @param rank The number of set positions before the one searched, must be lower than the cardinality
+     * @return The position
+     */
+    static int select(long[] bitmap, int rank) {
+        var remaining = rank;
+        for (int i = 0; i < bitmap.length; i++) {
+            var count = Long.bitCount(bitmap[i]);
+            if (remaining < count) {
+                var word = bitmap[i];
+                for (int j = 0; j < remaining; j++) {
+                    word &= word - 1;
+                }
+                return (i << 6) + Long.numberOfTrailingZeros(word);
+            }
+            remaining -= count;
+        }
+        throw new IllegalArgumentException("Rank " + rank + " exceeds the cardinality of the bitmap");
+    }
+
+    /**
+     * Finds the first set position at or after the given one.
+     * @return The position, -1 if there is none
+     */
+    static int next(long[] bitmap, int from) {
+        var i = from >>> 6;
+        if (i >= bitmap.length) {
+            return -1;
+        }
+        var word = bitmap[i] & (-1L << from);
+        while (word == 0) {
+            if (++i == bitmap.length) {
+                return -1;
+            }
+            word = bitmap[i];
+        }
+        return (i << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Finds the last set position at or before the given one.
+     * @return The position, -1 if there is none
+     */
+    static int previous(long[] bitmap, int from) {
+        if (from < 0) {
+            return -1;
+        }
+        var i = from >>> 6;
+        var word = bitmap[i] & (-1L >>> (63 - (from & 63)));
+        while (word == 0) {
+            if (--i < 0) {
+                return -1;
+            }
+            word = bitmap[i];
+        }
+        return (i << 6) + 63 - Long.numberOfLeadingZeros(word);
+    }
+
+    private static int words(int length) {
+        return (length + 63) >>> 6;
+    }
+}
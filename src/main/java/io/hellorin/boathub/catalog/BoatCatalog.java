@@ -0,0 +1,266 @@
+package io.hellorin.boathub.catalog;
+
+import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.repository.BoatRepository;
+import io.hellorin.boathub.service.BoatChangeListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory catalog of all the boats, serving the boat listing without the database.
+ * Disabled by default, it is enabled with the boathub.catalog.enabled property and loaded once the application
+ * is ready. Until then, and whenever a listing cannot be served from memory, callers fall back to the database.
+ * <p>
+ * Reads only dereference the current immutable snapshot. Writes made through BoatService build a new snapshot
+ * and swap it, one at a time. Writes made to the boats table outside of BoatService are only seen after a reload,
+ * which the periodic consistency check against the database triggers when the catalog drifted.
+ */
+@Component
+public class BoatCatalog implements BoatChangeListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoatCatalog.class);
+
+    private final BoatRepository boatRepository;
+
+    private final boolean enabled;
+
+    private final Counter inconsistencies;
+
+    /**
+     * A lock rather than a monitor, as the load holds it during a database query, which would pin a virtual thread.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile BoatCatalogSnapshot snapshot;
+
+    public BoatCatalog(BoatRepository boatRepository, MeterRegistry meterRegistry,
+                       @Value("${boathub.catalog.enabled:false}") boolean enabled) {
+        this.boatRepository = boatRepository;
+        this.enabled = enabled;
+        this.inconsistencies = Counter.builder("boathub.catalog.inconsistencies")
+                .description("Number of consistency checks that found the catalog out of sync with the database")
+                .register(meterRegistry);
+        Gauge.builder("boathub.catalog.size", this, catalog -> catalog.isLoaded() ? catalog.snapshot.size() : 0)
+                .description("Number of boats held by the catalog")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the catalog once the application is ready, when enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            load();
+        }
+    }
+
+    /**
+     * Loads all the boats from the database, replacing the current snapshot.
+     * Writes wait for the load, so none of them is lost when the snapshot is swapped.
+     */
+    public void load() {
+        writeLock.lock();
+        try {
+            snapshot = BoatCatalogSnapshot.of(boatRepository.findAllProjected());
+        } finally {
+            writeLock.unlock();
+        }
+        LOGGER.info("Boat catalog loaded with {} boats", snapshot.size());
+    }
+
+    /**
+     * Tells whether the catalog has been loaded and serves reads.
+     * @return true if loaded
+     */
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Lists a page of boats from memory.
+     * Only a single order on a sortable field, with native null handling and case sensitivity, can be served.
+     * Unsorted pages are ordered by ID.
+     * @param pageable The pagination information
+     * @return Page of boats, empty if the catalog is not loaded or cannot serve the requested order
+     */
+    public Optional<Page<BoatDto>> findPage(Pageable pageable) {
+        return findPage(pageable, Set.of());
+    }
+
+    /**
+     * Lists a page of the boats of some types from memory, served from the boat type bitmaps of the sort index.
+     * Orders are served as for the listing of all the boats.
+     * @param pageable The pagination information
+     * @param boatTypes The types of the boats listed, all the boats when empty
+     * @return Page of boats, empty if the catalog is not loaded or cannot serve the requested order
+     */
+    public Optional<Page<BoatDto>> findPage(Pageable pageable, Set<BoatType> boatTypes) {
+        var current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+
+        var field = BoatCatalogSnapshot.ID;
+        var direction = Sort.Direction.ASC;
+        var orders = pageable.getSort().toList();
+        if (!orders.isEmpty()) {
+            var order = orders.get(0);
+            if (orders.size() > 1 || !BoatCatalogSnapshot.isSortable(order.getProperty()) || order.isIgnoreCase()
+                    || order.getNullHandling() != Sort.NullHandling.NATIVE) {
+                return Optional.empty();
+            }
+            field = order.getProperty();
+            direction = order.getDirection();
+        }
+
+        if (!boatTypes.isEmpty()) {
+            var offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            var pageSize = pageable.isPaged() ? pageable.getPageSize() : current.size();
+            var slice = current.slice(field, direction, boatTypes, offset, pageSize);
+            return Optional.of(pageable.isPaged() ? new PageImpl<>(slice.content(), pageable, slice.total())
+                    : new PageImpl<>(slice.content()));
+        }
+        if (pageable.isUnpaged()) {
+            return Optional.of(new PageImpl<>(current.slice(field, direction, 0, current.size())));
+        }
+        var content = current.slice(field, direction, pageable.getOffset(), pageable.getPageSize());
+        return Optional.of(new PageImpl<>(content, pageable, current.size()));
+    }
+
+    @Override
+    public void onBoatCreated(BoatDto boat) {
+        writeLock.lock();
+        try {
+            if (snapshot != null) {
+                snapshot = snapshot.with(boat);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds the boats to the catalog with a single copy of the indexes, rather than one copy per boat.
+     */
+    @Override
+    public void onBoatsCreated(List<BoatDto> boats) {
+        writeLock.lock();
+        try {
+            if (snapshot != null) {
+                snapshot = snapshot.withAll(boats);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the boat in the catalog. The update is ignored when the boat is no longer in the catalog,
+     * as it was deleted meanwhile, or when the catalog holds a more recent version of it.
+     */
+    @Override
+    public void onBoatUpdated(BoatDto boat) {
+        writeLock.lock();
+        try {
+            if (snapshot == null) {
+                return;
+            }
+            var current = snapshot.find(boat.getId());
+            if (current != null && !isOlder(boat, current)) {
+                snapshot = snapshot.with(boat);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void onBoatDeleted(Long id) {
+        writeLock.lock();
+        try {
+            if (snapshot != null) {
+                snapshot = snapshot.without(id);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the boats from the catalog with a single copy of the indexes, rather than one copy per boat.
+     */
+    @Override
+    public void onBoatsDeleted(List<Long> ids) {
+        writeLock.lock();
+        try {
+            if (snapshot != null) {
+                snapshot = snapshot.withoutAll(ids);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Periodically checks the catalog against the database and reloads it when it drifted.
+     */
+    @Scheduled(initialDelayString = "${boathub.catalog.consistency-check-interval:PT5M}",
+            fixedDelayString = "${boathub.catalog.consistency-check-interval:PT5M}")
+    public void verify() {
+        if (isLoaded() && !isConsistent()) {
+            inconsistencies.increment();
+            LOGGER.warn("Boat catalog is out of sync with the database, reloading it");
+            load();
+        }
+    }
+
+    /**
+     * Compares the catalog with the database: both must hold the same boats with the same name, description and type.
+     * Timestamps are not compared as the database may store them with a lower precision.
+     * @return true if the catalog matches the database
+     */
+    public boolean isConsistent() {
+        var current = snapshot;
+        var boats = boatRepository.findAllProjected();
+        if (current == null || current.size() != boats.size()) {
+            return false;
+        }
+        for (BoatDto boat : boats) {
+            var cached = current.find(boat.getId());
+            if (cached == null
+                    || !Objects.equals(cached.getName(), boat.getName())
+                    || !Objects.equals(cached.getDescription(), boat.getDescription())
+                    || !Objects.equals(cached.getBoatType(), boat.getBoatType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares the versions of the boat, as update dates can be equal at the resolution of the clock.
+     */
+    private static boolean isOlder(BoatDto boat, BoatDto current) {
+        return boat.getVersion() != null && current.getVersion() != null && boat.getVersion() < current.getVersion();
+    }
+}
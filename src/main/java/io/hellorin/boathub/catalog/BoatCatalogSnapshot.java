@@ -0,0 +1,299 @@
+package io.hellorin.boathub.catalog;
+
+import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.dto.BoatDto;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable view of all the boats, holding one array per sortable field with the boats in ascending
+ * (field, id) order. A snapshot is never modified once built: every write produces a new one, sharing
+ * the boat DTOs but not the arrays.
+ * <p>
+ * Every index comes with one bitmap per boat type, telling the positions of the index holding a boat of that type.
+ * Listing the boats of some types is then a union of their bitmaps, walked in the order of the index, and a write
+ * shifts the bitmaps instead of rebuilding them.
+ * Null descriptions are sorted first in ascending order and last in descending order, as the database does.
+ */
+final class BoatCatalogSnapshot {
+
+    static final String ID = "id";
+
+    private static final Map<String, Comparator<BoatDto>> ORDERS = Map.of(
+            ID, Comparator.comparing(BoatDto::getId),
+            "name", byField(BoatDto::getName),
+            "description", byField(BoatDto::getDescription),
+            "boatType", byField(BoatDto::getBoatType)
+    );
+
+    private final Map<String, BoatDto[]> indexes;
+
+    private final Map<String, Map<BoatType, long[]>> typeBitmaps;
+
+    private BoatCatalogSnapshot(Map<String, BoatDto[]> indexes, Map<String, Map<BoatType, long[]>> typeBitmaps) {
+        this.indexes = indexes;
+        this.typeBitmaps = typeBitmaps;
+    }
+
+    /**
+     * Builds a snapshot holding the given boats.
+     * @param boats The boats, with distinct IDs
+     * @return The snapshot
+     */
+    static BoatCatalogSnapshot of(Collection<BoatDto> boats) {
+        var indexes = new HashMap<String, BoatDto[]>();
+        var typeBitmaps = new HashMap<String, Map<BoatType, long[]>>();
+        ORDERS.forEach((field, order) -> {
+            var index = boats.toArray(BoatDto[]::new);
+            Arrays.sort(index, order);
+            indexes.put(field, index);
+            typeBitmaps.put(field, bitmapsOf(index));
+        });
+        return new BoatCatalogSnapshot(indexes, typeBitmaps);
+    }
+
+    /**
+     * Tells whether boats can be listed by the given field.
+     */
+    static boolean isSortable(String field) {
+        return ORDERS.containsKey(field);
+    }
+
+    int size() {
+        return indexes.get(ID).length;
+    }
+
+    /**
+     * Finds a boat by its ID with a binary search on the ID index.
+     * @return The boat, null if not in the snapshot
+     */
+    BoatDto find(Long id) {
+        var probe = new BoatDto();
+        probe.setId(id);
+        var index = indexes.get(ID);
+        var position = Arrays.binarySearch(index, probe, ORDERS.get(ID));
+        return position >= 0 ? index[position] : null;
+    }
+
+    /**
+     * Returns a snapshot where the given boat is added, or replaces the boat with the same ID.
+     */
+    BoatCatalogSnapshot with(BoatDto boat) {
+        var previous = find(boat.getId());
+        var updated = new HashMap<String, BoatDto[]>();
+        var updatedBitmaps = new HashMap<String, Map<BoatType, long[]>>();
+        indexes.forEach((field, index) -> {
+            var order = ORDERS.get(field);
+            var bitmaps = typeBitmaps.get(field);
+            if (previous != null) {
+                bitmaps = removeFromBitmaps(bitmaps, index.length, Arrays.binarySearch(index, previous, order));
+                index = remove(index, previous, order);
+            }
+            var position = -(Arrays.binarySearch(index, boat, order) + 1);
+            updatedBitmaps.put(field, insertInBitmaps(bitmaps, index.length, position, BoatType.valueOf(boat.getBoatType())));
+            updated.put(field, insert(index, boat, position));
+        });
+        return new BoatCatalogSnapshot(updated, updatedBitmaps);
+    }
+
+    /**
+     * Returns a snapshot where the given boats are added, or replace the boats with the same IDs. Unlike with,
+     * every index is copied once for all the boats: the boats are sorted, then merged into the index, and the
+     * bitmaps are built again from the merged index.
+     */
+    BoatCatalogSnapshot withAll(Collection<BoatDto> boats) {
+        if (boats.isEmpty()) {
+            return this;
+        }
+        var added = new HashMap<Long, BoatDto>();
+        boats.forEach(boat -> added.put(boat.getId(), boat));
+        var updated = new HashMap<String, BoatDto[]>();
+        var updatedBitmaps = new HashMap<String, Map<BoatType, long[]>>();
+        indexes.forEach((field, index) -> {
+            var order = ORDERS.get(field);
+            var sortedAdded = added.values().toArray(BoatDto[]::new);
+            Arrays.sort(sortedAdded, order);
+            var merged = new BoatDto[index.length + sortedAdded.length];
+            int length = 0;
+            int next = 0;
+            for (BoatDto boat : index) {
+                if (added.containsKey(boat.getId())) {
+                    continue;
+                }
+                while (next < sortedAdded.length && order.compare(sortedAdded[next], boat) < 0) {
+                    merged[length++] = sortedAdded[next++];
+                }
+                merged[length++] = boat;
+            }
+            while (next < sortedAdded.length) {
+                merged[length++] = sortedAdded[next++];
+            }
+            merged = length == merged.length ? merged : Arrays.copyOf(merged, length);
+            updated.put(field, merged);
+            updatedBitmaps.put(field, bitmapsOf(merged));
+        });
+        return new BoatCatalogSnapshot(updated, updatedBitmaps);
+    }
+
+    /**
+     * Returns a snapshot without the boat with the given ID, this snapshot if there is no such boat.
+     */
+    BoatCatalogSnapshot without(Long id) {
+        var previous = find(id);
+        if (previous == null) {
+            return this;
+        }
+        var updated = new HashMap<String, BoatDto[]>();
+        var updatedBitmaps = new HashMap<String, Map<BoatType, long[]>>();
+        indexes.forEach((field, index) -> {
+            var order = ORDERS.get(field);
+            updatedBitmaps.put(field, removeFromBitmaps(typeBitmaps.get(field), index.length,
+                    Arrays.binarySearch(index, previous, order)));
+            updated.put(field, remove(index, previous, order));
+        });
+        return new BoatCatalogSnapshot(updated, updatedBitmaps);
+    }
+
+    /**
+     * Returns a snapshot without the boats with the given IDs. Unlike without, every index is copied once for all
+     * the boats, keeping the other boats in order, and the bitmaps are built again from the copied index.
+     */
+    BoatCatalogSnapshot withoutAll(Collection<Long> ids) {
+        var removed = new HashSet<>(ids);
+        if (removed.isEmpty()) {
+            return this;
+        }
+        var updated = new HashMap<String, BoatDto[]>();
+        var updatedBitmaps = new HashMap<String, Map<BoatType, long[]>>();
+        indexes.forEach((field, index) -> {
+            var kept = Arrays.stream(index)
+                    .filter(boat -> !removed.contains(boat.getId()))
+                    .toArray(BoatDto[]::new);
+            updated.put(field, kept);
+            updatedBitmaps.put(field, bitmapsOf(kept));
+        });
+        return new BoatCatalogSnapshot(updated, updatedBitmaps);
+    }
+
+    /**
+     * Lists the boats of a page, read straight from the index of the sort field.
+     * @param field The sort field, must be sortable
+     * @param direction The direction of the sort
+     * @param offset The position of the first boat of the page
+     * @param size The maximum number of boats of the page
+     * @return The boats of the page
+     */
+    List<BoatDto> slice(String field, Sort.Direction direction, long offset, int size) {
+        var index = indexes.get(field);
+        if (offset >= index.length) {
+            return List.of();
+        }
+        var from = (int) offset;
+        var to = (int) Math.min((long) from + size, index.length);
+        if (direction.isAscending()) {
+            return List.of(Arrays.copyOfRange(index, from, to));
+        }
+        var page = new BoatDto[to - from];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = index[index.length - 1 - from - i];
+        }
+        return List.of(page);
+    }
+
+    /**
+     * Lists the boats of a page among the boats of the given types, walking the union of their bitmaps
+     * in the order of the index of the sort field.
+     * @param field The sort field, must be sortable
+     * @param direction The direction of the sort
+     * @param boatTypes The types of the boats listed
+     * @param offset The position of the first boat of the page among the boats of these types
+     * @param size The maximum number of boats of the page
+     * @return The boats of the page and the number of boats of these types
+     */
+    FilteredSlice slice(String field, Sort.Direction direction, Set<BoatType> boatTypes, long offset, int size) {
+        var index = indexes.get(field);
+        var bitmaps = typeBitmaps.get(field);
+        var union = BoatBitmaps.or(boatTypes.stream().map(bitmaps::get).toList(), index.length);
+        var total = BoatBitmaps.cardinality(union);
+        if (offset >= total) {
+            return new FilteredSlice(List.of(), total);
+        }
+        var pageSize = (int) Math.min(size, total - offset);
+        var page = new BoatDto[pageSize];
+        if (direction.isAscending()) {
+            var position = BoatBitmaps.select(union, (int) offset);
+            for (int i = 0; i < pageSize; i++, position = BoatBitmaps.next(union, position + 1)) {
+                page[i] = index[position];
+            }
+        } else {
+            var position = BoatBitmaps.select(union, total - 1 - (int) offset);
+            for (int i = 0; i < pageSize; i++, position = BoatBitmaps.previous(union, position - 1)) {
+                page[i] = index[position];
+            }
+        }
+        return new FilteredSlice(List.of(page), total);
+    }
+
+    /**
+     * Boats of a page listed among the boats of some types.
+     * @param content The boats of the page
+     * @param total The number of boats of these types
+     */
+    record FilteredSlice(List<BoatDto> content, int total) {
+    }
+
+    private static Comparator<BoatDto> byField(Function<BoatDto, String> field) {
+        return Comparator.comparing(field, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                .thenComparing(BoatDto::getId);
+    }
+
+    private static Map<BoatType, long[]> bitmapsOf(BoatDto[] index) {
+        var bitmaps = new EnumMap<BoatType, long[]>(BoatType.class);
+        for (BoatType type : BoatType.values()) {
+            bitmaps.put(type, BoatBitmaps.empty(index.length));
+        }
+        for (int position = 0; position < index.length; position++) {
+            BoatBitmaps.set(bitmaps.get(BoatType.valueOf(index[position].getBoatType())), position);
+        }
+        return bitmaps;
+    }
+
+    private static BoatDto[] insert(BoatDto[] index, BoatDto boat, int position) {
+        var updated = new BoatDto[index.length + 1];
+        System.arraycopy(index, 0, updated, 0, position);
+        updated[position] = boat;
+        System.arraycopy(index, position, updated, position + 1, index.length - position);
+        return updated;
+    }
+
+    private static BoatDto[] remove(BoatDto[] index, BoatDto boat, Comparator<BoatDto> order) {
+        var position = Arrays.binarySearch(index, boat, order);
+        var updated = new BoatDto[index.length - 1];
+        System.arraycopy(index, 0, updated, 0, position);
+        System.arraycopy(index, position + 1, updated, position, index.length - position - 1);
+        return updated;
+    }
+
+    private static Map<BoatType, long[]> insertInBitmaps(Map<BoatType, long[]> bitmaps, int length, int position,
+                                                         BoatType boatType) {
+        var updated = new EnumMap<BoatType, long[]>(BoatType.class);
+        bitmaps.forEach((type, bitmap) -> updated.put(type, BoatBitmaps.insert(bitmap, length, position, type == boatType)));
+        return updated;
+    }
+
+    private static Map<BoatType, long[]> removeFromBitmaps(Map<BoatType, long[]> bitmaps, int length, int position) {
+        var updated = new EnumMap<BoatType, long[]>(BoatType.class);
+        bitmaps.forEach((type, bitmap) -> updated.put(type, BoatBitmaps.remove(bitmap, length, position)));
+        return updated;
+    }
+}
@@ -1,9 +1,26 @@
 package io.hellorin.boathub.config;
 
+import io.hellorin.boathub.diagnostics.HibernateStatisticsMetrics;
+import io.hellorin.boathub.diagnostics.OperationSloMeterFilter;
+import io.hellorin.boathub.diagnostics.StatementMetricsDataSource;
 import io.micrometer.core.aop.TimedAspect;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Configuration class for metrics and monitoring.
@@ -12,10 +29,12 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class MetricsConfiguration {
 
+    private static final int MAX_STATEMENT_SHAPES = 500;
+
     /**
      * Enables @Timed annotation support for method-level timing.
-     * This allows automatic timing of REST controller methods.
-     * 
+     * This allows automatic timing of the services annotated with @Timed, in the boathub.service timer.
+     *
      * @param registry The meter registry for collecting metrics
      * @return TimedAspect bean for method timing
      */
@@ -23,4 +42,63 @@ public class MetricsConfiguration {
     public TimedAspect timedAspect(MeterRegistry registry) {
         return new TimedAspect(registry);
     }
+
+    /**
+     * Sets the SLOs of single operations, from the properties such as
+     * {@code boathub.metrics.slo[BoatService.getAllBoatsInPage]=25ms,50ms,100ms}.
+     *
+     * @param environment The environment holding the properties
+     * @return MeterFilter bean setting the SLOs of the operations over those of their layer
+     */
+    @Bean
+    public OperationSloMeterFilter operationSloMeterFilter(Environment environment) {
+        Bindable<Map<String, List<Duration>>> operationSlos = Bindable.of(ResolvableType.forClassWithGenerics(Map.class,
+                ResolvableType.forClass(String.class), ResolvableType.forClassWithGenerics(List.class, Duration.class)));
+        var slos = Binder.get(environment).bind("boathub.metrics.slo", operationSlos).orElse(Map.of());
+        return new OperationSloMeterFilter(slos);
+    }
+
+    /**
+     * Times the JDBC statements of the DataSource, by label of statement.
+     *
+     * @param meterRegistry The meter registry, looked up once the DataSource is created
+     * @param slowStatementThreshold The duration from which statements are logged
+     * @return BeanPostProcessor wrapping the DataSource into a StatementMetricsDataSource
+     */
+    @Bean
+    public static BeanPostProcessor statementMetricsDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${boathub.jdbc.slow-statement-threshold:PT0.5S}") Duration slowStatementThreshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementMetricsDataSource)) {
+                    return new StatementMetricsDataSource(dataSource, meterRegistry.getObject(), slowStatementThreshold);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Bounds the number of statement shapes timed, should statements be built with their values.
+     *
+     * @return MeterFilter bean ignoring the statements of new shapes beyond the maximum
+     */
+    @Bean
+    public MeterFilter statementShapesMeterFilter() {
+        return MeterFilter.maximumAllowableTags(StatementMetricsDataSource.METER_NAME, "statement",
+                MAX_STATEMENT_SHAPES, MeterFilter.deny());
+    }
+
+    /**
+     * Binds the Hibernate statistics, enabled by hibernate.generate_statistics.
+     *
+     * @param entityManagerFactory The entity manager factory collecting the statistics
+     * @return MeterBinder bean of the Hibernate statistics
+     */
+    @Bean
+    public HibernateStatisticsMetrics hibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateStatisticsMetrics(entityManagerFactory);
+    }
 }
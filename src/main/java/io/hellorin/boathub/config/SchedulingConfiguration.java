@@ -0,0 +1,12 @@
+package io.hellorin.boathub.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled maintenance tasks, such as the boat catalog consistency check.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -85,6 +85,8 @@ public class SecurityConfig {
 
                     // Utilities
                     .requestMatchers("/swagger-ui/**", "/api-docs/**").permitAll()
+                    // The latencies name the SQL statements run, only for authenticated users
+                    .requestMatchers("/actuator/latencies").authenticated()
                     .requestMatchers("/actuator/**").permitAll()
 
                     .anyRequest().authenticated()
@@ -31,9 +31,10 @@ public class WebConfig implements WebMvcConfigurer {
                         "X-CSRF-TOKEN", 
                         "X-Requested-With",
                         "Accept",
-                        "Origin"
+                        "Origin",
+                        "If-None-Match"
                 )
-                .exposedHeaders("X-CSRF-TOKEN")  // Expose CSRF token to frontend
+                .exposedHeaders("X-CSRF-TOKEN", "ETag")  // Expose CSRF token and entity tags to frontend
                 .allowCredentials(true)
                 .maxAge(3600); // Cache preflight response for 1 hour
     }
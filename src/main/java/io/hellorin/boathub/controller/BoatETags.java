@@ -0,0 +1,71 @@
+package io.hellorin.boathub.controller;
+
+import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.service.BoatVersionConflictException;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+
+/**
+ * Builds the strong entity tags used for conditional requests on boats: If-None-Match on reads
+ * and If-Match on updates.
+ */
+final class BoatETags {
+
+    private BoatETags() {
+    }
+
+    /**
+     * Builds the entity tag of a boat from its ID and its version.
+     * @param boat The boat
+     * @return The quoted entity tag
+     */
+    static String ofBoat(BoatDto boat) {
+        return "\"" + boat.getId() + "-" + boat.getVersion() + "\"";
+    }
+
+    /**
+     * Reads the version of a boat expected by an If-Match header.
+     * Only a single strong entity tag issued for this boat, or *, is accepted: anything else cannot match
+     * the current version of the boat and fails the precondition.
+     * @param id The ID of the boat
+     * @param ifMatch The If-Match header, null if not sent
+     * @return The expected version, null if any version matches
+     * @throws BoatVersionConflictException if the header cannot match the boat
+     */
+    static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        var prefix = "\"" + id + "-";
+        var tag = ifMatch.trim();
+        if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+            try {
+                return Long.valueOf(tag.substring(prefix.length(), tag.length() - 1));
+            } catch (NumberFormatException ex) {
+                // Not a tag issued by us, it cannot match
+            }
+        }
+        throw new BoatVersionConflictException(id);
+    }
+
+    /**
+     * Builds the entity tag of a page of boats from the fleet version, the requested page and the boat types filtered.
+     * As the fleet version, it is only valid for the instance that issued it (see BoatFleetVersion).
+     * @param fleetVersion The current version of the fleet
+     * @param pageable The requested page
+     * @param boatTypes The types of the boats listed, all the boats when empty
+     * @return The quoted entity tag
+     */
+    static String ofPage(String fleetVersion, Pageable pageable, Set<BoatType> boatTypes) {
+        var types = boatTypes.isEmpty() ? "" : "-" + new TreeSet<>(boatTypes).stream()
+                .map(BoatType::name)
+                .collect(Collectors.joining("_"));
+        return "\"" + fleetVersion + "-" + pageable.getPageNumber() + "-" + pageable.getPageSize() + "-"
+                + pageable.getSort().toString().replaceAll("[^A-Za-z0-9]+", "_") + types + "\"";
+    }
+}
@@ -1,7 +1,13 @@
 package io.hellorin.boathub.controller;
 
+import io.hellorin.boathub.domain.BoatType;
 import io.hellorin.boathub.dto.*;
+import io.hellorin.boathub.events.BoatEventFeed;
+import io.hellorin.boathub.service.BoatExportFormat;
+import io.hellorin.boathub.service.BoatExportService;
 import io.hellorin.boathub.service.BoatService;
+import io.hellorin.boathub.service.BoatSyncService;
+import io.hellorin.boathub.validation.ValidBoatType;
 import io.hellorin.boathub.validation.ValidSortDirection;
 import io.hellorin.boathub.validation.ValidSortField;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,13 +17,26 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 import jakarta.validation.Valid;
 
@@ -32,27 +51,43 @@ import jakarta.validation.Valid;
 @Tag(name = "Boats", description = "API for managing boats")
 @Validated
 public class BoatV1Controller {
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private static final int MAX_CHANGES = 1000;
+
     private final BoatService boatService;
 
-    public BoatV1Controller(BoatService boatService) {
+    private final BoatExportService boatExportService;
+
+    private final BoatSyncService boatSyncService;
+
+    private final BoatEventFeed boatEventFeed;
+
+    public BoatV1Controller(BoatService boatService, BoatExportService boatExportService, BoatSyncService boatSyncService,
+                            BoatEventFeed boatEventFeed) {
         this.boatService = boatService;
+        this.boatExportService = boatExportService;
+        this.boatSyncService = boatSyncService;
+        this.boatEventFeed = boatEventFeed;
     }
 
     /**
      * Retrieves all boats in the system with pagination support.
-     * @return Page of boats
+     * The page carries an ETag derived from the fleet version, so that a client sending it back in
+     * If-None-Match gets a 304 without the page being read nor serialized while no boat changed.
+     * @return Page of boats, or null when the client copy is still valid
      */
     @Operation(
         summary = "Get all boats in page",
-        description = "Retrieves a paginated list of all boats in the system. Supports pagination parameters: page (0-based), size, sortBy (id, name, description, boatType), and sortDirection (asc, desc)."
+        description = "Retrieves a paginated list of all boats in the system. Supports pagination parameters: page (0-based), size, sortBy (id, name, description, boatType), and sortDirection (asc, desc). The boatType parameter, which can be repeated, restricts the listing to the boats of these types. Supports conditional requests with If-None-Match."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Page of boats retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Page of boats not modified since the provided ETag"),
         @ApiResponse(responseCode = "400", description = "Invalid pageable data provided")
     })
 
     @GetMapping(produces = "application/json")
-    @ResponseStatus(HttpStatus.OK)
     public Page<BoatDto> getAllBoatsInPage(
             @Parameter(description = "Page requested", example = "0")
             @Min(0) @RequestParam("page") int page,
@@ -61,15 +96,114 @@ public class BoatV1Controller {
             @Parameter(description = "Field to sort by", example = "name")
             @ValidSortField @RequestParam(name = "sortBy", defaultValue = "name", required = false) String sortBy,
             @Parameter(description = "Sort direction", example = "asc")
-            @ValidSortDirection @RequestParam(name = "sortDirection", defaultValue = "asc", required = false) String sortDirection) {
+            @ValidSortDirection @RequestParam(name = "sortDirection", defaultValue = "asc", required = false) String sortDirection,
+            @Parameter(description = "Types of the boats listed, all the boats when absent", example = "SAILBOAT")
+            @RequestParam(name = "boatType", required = false) List<@NotBlank @ValidBoatType String> boatTypes,
+            WebRequest webRequest) {
         
         // Create sort direction
         var direction = parseSortDirection(sortDirection);
         var pageRequest = PageRequest.of(page, size, Sort.by(direction, sortBy));
+        var types = parseBoatTypes(boatTypes);
+
+        // Checked before reading the page: nothing changed since the client got it.
+        // No @ResponseStatus on this method, it would override the 304 status.
+        if (webRequest.checkNotModified(BoatETags.ofPage(boatService.getFleetVersion(), pageRequest, types))) {
+            return null;
+        }
 
-        return boatService.getAllBoatsInPage(pageRequest);
+        return boatService.getAllBoatsInPage(pageRequest, types);
     }
     
+    /**
+     * Retrieves boats with pagination support, without counting all the boats.
+     * @return Slice of boats
+     */
+    @Operation(
+        summary = "Get all boats in slice",
+        description = "Retrieves a slice of boats telling only whether a next slice exists, which avoids counting all the boats on every call. Supports the same parameters as the paginated listing, plus withTotal to include the total number of boats."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Slice of boats retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid pageable data provided")
+    })
+    @GetMapping(value = "/slice", produces = "application/json")
+    @ResponseStatus(HttpStatus.OK)
+    public BoatSliceDto getAllBoatsInSlice(
+            @Parameter(description = "Page requested", example = "0")
+            @Min(0) @RequestParam("page") int page,
+            @Parameter(description = "Page size requested", example = "10")
+            @Min(1) @Max(50) @RequestParam(value = "size", defaultValue = "10") int size,
+            @Parameter(description = "Field to sort by", example = "name")
+            @ValidSortField @RequestParam(name = "sortBy", defaultValue = "name", required = false) String sortBy,
+            @Parameter(description = "Sort direction", example = "asc")
+            @ValidSortDirection @RequestParam(name = "sortDirection", defaultValue = "asc", required = false) String sortDirection,
+            @Parameter(description = "Whether the total number of boats should be included", example = "false")
+            @RequestParam(name = "withTotal", defaultValue = "false") boolean withTotal) {
+
+        var pageRequest = PageRequest.of(page, size, Sort.by(parseSortDirection(sortDirection), sortBy));
+
+        return boatService.getAllBoatsInSlice(pageRequest, withTotal);
+    }
+
+    /**
+     * Retrieves boats with cursor-based (keyset) pagination.
+     * Unlike offset pagination, reading a deep page costs the same as reading the first one.
+     * @return Page of boats with the cursor of the next page
+     */
+    @Operation(
+        summary = "Get boats after a cursor",
+        description = "Retrieves a list of boats using keyset pagination. The first call is made without cursor, the following ones send back the nextCursor of the previous response with the same sortBy (id, name, description, boatType) and sortDirection (asc, desc)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Boats retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or pageable data provided")
+    })
+    @GetMapping(value = "/cursor", produces = "application/json")
+    @ResponseStatus(HttpStatus.OK)
+    public BoatCursorPageDto getBoatsByCursor(
+            @Parameter(description = "Opaque cursor returned as nextCursor by the previous call")
+            @RequestParam(value = "after", required = false) String after,
+            @Parameter(description = "Page size requested", example = "10")
+            @Min(1) @Max(50) @RequestParam(value = "size", defaultValue = "10") int size,
+            @Parameter(description = "Field to sort by", example = "name")
+            @ValidSortField @RequestParam(name = "sortBy", defaultValue = "name", required = false) String sortBy,
+            @Parameter(description = "Sort direction", example = "asc")
+            @ValidSortDirection @RequestParam(name = "sortDirection", defaultValue = "asc", required = false) String sortDirection) {
+
+        return boatService.getBoatsAfterCursor(after, size, sortBy, parseSortDirection(sortDirection));
+    }
+
+    /**
+     * Exports all the boats in a single response, streamed as they are read from the database.
+     * The body is written after the method returns, on an asynchronous request thread.
+     * @param format The export format, ndjson or csv
+     * @return ResponseEntity streaming the boats ordered by ID
+     */
+    @Operation(
+        summary = "Export all boats",
+        description = "Streams all the boats ordered by ID, as NDJSON (one JSON boat per line) or as CSV with a header line. The export starts immediately and does not need to be paginated."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Boats streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Unsupported export format")
+    })
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> exportBoats(
+            @Parameter(description = "Export format (ndjson, csv)", example = "ndjson")
+            @RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        var exportFormat = BoatExportFormat.fromValue(format);
+        var contentDisposition = ContentDisposition.attachment()
+                .filename("boats." + exportFormat.getFileExtension())
+                .build();
+
+        StreamingResponseBody body = outputStream -> boatExportService.exportBoats(exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                .body(body);
+    }
+
     /**
      * Parses the sort direction string into a Sort.Direction enum.
      * @param sortDirection The direction string (asc or desc)
@@ -83,17 +217,142 @@ public class BoatV1Controller {
         }
     }
 
+    /**
+     * Parses the boat type strings into a set of BoatType enums.
+     * @param boatTypes The boat types, validated, may be null
+     * @return The boat types, empty when none is given
+     */
+    private Set<BoatType> parseBoatTypes(List<String> boatTypes) {
+        if (boatTypes == null || boatTypes.isEmpty()) {
+            return Set.of();
+        }
+        var types = EnumSet.noneOf(BoatType.class);
+        boatTypes.forEach(boatType -> types.add(BoatType.valueOf(boatType.trim().toUpperCase())));
+        return types;
+    }
+
+    /**
+     * Retrieves the statistics of the fleet.
+     * @return The number of boats in total, per type and per creation month
+     */
+    @Operation(
+        summary = "Get boat statistics",
+        description = "Retrieves the number of boats in total, per type and per creation month (yyyy-MM). Every type is reported, months without any boat created are left out."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    })
+    @GetMapping(value = "/stats", produces = "application/json")
+    @ResponseStatus(HttpStatus.OK)
+    public BoatStatisticsDto getBoatStatistics() {
+        return boatService.getBoatStatistics();
+    }
+
+    /**
+     * Searches the boats by the words of their name and description.
+     * @return Page of matching boats, best matches first
+     */
+    @Operation(
+        summary = "Search boats",
+        description = "Retrieves the boats whose name or description contain all the words of the query, ignoring case and accents. Boats are ranked by relevance, matches in the name weighing more than matches in the description. Supports pagination parameters: page (0-based) and size."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching boats retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid query or pageable data provided"),
+        @ApiResponse(responseCode = "503", description = "Search index not loaded yet")
+    })
+    @GetMapping(value = "/search", produces = "application/json")
+    @ResponseStatus(HttpStatus.OK)
+    public Page<BoatDto> searchBoats(
+            @Parameter(description = "Words to search", example = "pirate ship")
+            @NotBlank @Size(max = 200) @RequestParam("q") String query,
+            @Parameter(description = "Page requested", example = "0")
+            @Min(0) @RequestParam(value = "page", defaultValue = "0") int page,
+            @Parameter(description = "Page size requested", example = "10")
+            @Min(1) @Max(50) @RequestParam(value = "size", defaultValue = "10") int size) {
+        return boatService.searchBoats(query, PageRequest.of(page, size));
+    }
+
+    /**
+     * Suggests boat names while the user types.
+     * @return The boats whose name starts with the prefix, in alphabetical order
+     */
+    @Operation(
+        summary = "Suggest boat names",
+        description = "Retrieves the boats whose name starts with the prefix, ignoring case and accents, in alphabetical order. At most " + MAX_SUGGESTIONS + " suggestions are returned."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid prefix or limit provided"),
+        @ApiResponse(responseCode = "503", description = "Suggestion index not loaded yet")
+    })
+    @GetMapping(value = "/suggest", produces = "application/json")
+    @ResponseStatus(HttpStatus.OK)
+    public List<BoatSuggestionDto> suggestBoatNames(
+            @Parameter(description = "Beginning of the boat name", example = "Black P")
+            @NotBlank @Size(max = 100) @RequestParam("prefix") String prefix,
+            @Parameter(description = "Maximum number of suggestions", example = "10")
+            @Min(1) @Max(MAX_SUGGESTIONS) @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return boatService.suggestBoatNames(prefix, limit);
+    }
+
+    /**
+     * Retrieves the changes made on the boats since a sync token, for clients keeping the boats.
+     * @return The boats created or updated, the IDs of the boats deleted and the token of the next sync
+     */
+    @Operation(
+        summary = "Get boat changes",
+        description = "Retrieves the boats created or updated and the IDs of the boats deleted since the token returned by the previous call. Without token, all the boats are returned. While hasMore is true, call again right away with nextToken; otherwise keep nextToken for the next sync. The changes of the last seconds may be returned again and must be applied idempotently. At most " + MAX_CHANGES + " boats and " + MAX_CHANGES + " deleted IDs are returned per call."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Malformed token or invalid size provided"),
+        @ApiResponse(responseCode = "410", description = "Token expired, all the boats must be reloaded by calling again without token")
+    })
+    @GetMapping(value = "/changes", produces = "application/json")
+    @ResponseStatus(HttpStatus.OK)
+    public BoatChangesDto getBoatChanges(
+            @Parameter(description = "Token returned by the previous call, absent to start a sync")
+            @Size(max = 200) @RequestParam(name = "since", required = false) String since,
+            @Parameter(description = "Maximum number of boats, and of deleted IDs, returned", example = "100")
+            @Min(1) @Max(MAX_CHANGES) @RequestParam(value = "size", defaultValue = "100") int size) {
+        return boatSyncService.getChanges(since, size);
+    }
+
+    /**
+     * Subscribes to the changes made on the boats, pushed as Server-Sent Events.
+     * The events are written after the method returns, as long as the subscription lasts.
+     * @return ResponseEntity streaming the events, or 503 when the feed has too many subscribers
+     */
+    @Operation(
+        summary = "Subscribe to boat changes",
+        description = "Streams the boats created, updated and deleted as Server-Sent Events named created, updated and deleted. Created and updated events carry the boat, deleted events its ID only. Several changes of a boat not yet sent are merged into its latest state. A subscriber falling behind receives a resync event instead of the events it missed, and must reload the boats. The subscription ends after a timeout, EventSource clients then reconnect."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Subscribed, events streamed"),
+        @ApiResponse(responseCode = "503", description = "Too many subscribers")
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeToBoatEvents() {
+        return boatEventFeed.subscribe()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
     /**
      * Retrieves a specific boat by its ID.
+     * The boat carries an ETag derived from its ID and version (see BoatETags). When it matches If-None-Match,
+     * a 304 is returned and the boat is not serialized.
      * @param id The ID of the boat to retrieve
      * @return ResponseEntity containing the boat DTO if found, or 404 if not found
      */
     @Operation(
         summary = "Get boat by ID",
-        description = "Retrieves a specific boat using its unique identifier"
+        description = "Retrieves a specific boat using its unique identifier. Supports conditional requests with If-None-Match."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Boat found successfully"),
+        @ApiResponse(responseCode = "304", description = "Boat not modified since the provided ETag"),
         @ApiResponse(responseCode = "404", description = "Boat not found")
     })
     @GetMapping(value = "/{id}", produces = "application/json")
@@ -102,10 +361,74 @@ public class BoatV1Controller {
             @PathVariable("id") Long id) {
         var boat = boatService.getBoatById(id);
         
-        return boat.map(ResponseEntity::ok)
+        // The ETag is checked against If-None-Match by Spring before writing the body
+        return boat.map(boatDto -> ResponseEntity.ok().eTag(BoatETags.ofBoat(boatDto)).body(boatDto))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Retrieves the boats with the given IDs in one call, instead of one call per boat.
+     * @param ids The IDs of the boats to retrieve, comma-separated
+     * @return The boats found in the order of the requested IDs, and the IDs of the boats not found
+     */
+    @Operation(
+        summary = "Get boats by IDs",
+        description = "Retrieves up to 100 boats by their IDs, given as a comma-separated list. Boats are returned in the order of the requested IDs and the IDs of the boats not found are listed in missingIds. Use POST /api/v1/boats/lookup for larger sets."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Boats retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid or too many IDs provided")
+    })
+    @GetMapping(params = "ids", produces = "application/json")
+    @ResponseStatus(HttpStatus.OK)
+    public BoatBatchDto getBoatsByIds(
+            @Parameter(description = "Comma-separated IDs of the boats", example = "1,2,3")
+            @Size(min = 1, max = 100) @RequestParam("ids") List<@NotNull Long> ids) {
+        return boatService.getBoatsByIds(ids);
+    }
+
+    /**
+     * Retrieves the boats with the IDs given in the request body, for sets too large for a query string.
+     * @param boatIdsDto The IDs of the boats to retrieve
+     * @return The boats found in the order of the requested IDs, and the IDs of the boats not found
+     */
+    @Operation(
+        summary = "Look up boats by IDs",
+        description = "Retrieves up to 1000 boats by their IDs, given in the request body. Boats are returned in the order of the requested IDs and the IDs of the boats not found are listed in missingIds."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Boats retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid or too many IDs provided")
+    })
+    @PostMapping(value = "/lookup", consumes = "application/json", produces = "application/json")
+    @ResponseStatus(HttpStatus.OK)
+    public BoatBatchDto lookupBoatsByIds(
+            @Parameter(description = "IDs of the boats to retrieve")
+            @Valid @RequestBody BoatIdsDto boatIdsDto) {
+        return boatService.getBoatsByIds(boatIdsDto.getIds());
+    }
+
+    /**
+     * Deletes the boats with the IDs given in the request body in one call, instead of one call per boat.
+     * @param boatIdsDto The IDs of the boats to delete
+     * @return The number of requested IDs and the number of boats deleted
+     */
+    @Operation(
+        summary = "Delete boats by IDs",
+        description = "Deletes up to 1000 boats by their IDs, given in the request body. IDs that match no boat are ignored and left out of the deleted count."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Boats deleted successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid or too many IDs provided")
+    })
+    @PostMapping(value = "/delete", consumes = "application/json", produces = "application/json")
+    @ResponseStatus(HttpStatus.OK)
+    public BoatBulkDeletionResultDto deleteBoats(
+            @Parameter(description = "IDs of the boats to delete")
+            @Valid @RequestBody BoatIdsDto boatIdsDto) {
+        return boatService.deleteBoats(boatIdsDto.getIds());
+    }
+
     /**
      * Creates a new boat in the system.
      * @param boatCreationDto The boat data to create
@@ -131,30 +454,55 @@ public class BoatV1Controller {
                 .body(createdBoat);
     }
 
+    /**
+     * Creates several boats at once, each boat being validated on its own.
+     * @param boatCreationDtos The boats to create
+     * @return One result per submitted boat with the created boat or its errors
+     */
+    @Operation(
+        summary = "Create boats in bulk",
+        description = "Creates up to 10000 boats in one call. Each boat is validated on its own: the valid boats are created while the others are reported with their errors, one result per submitted boat in the same order."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Bulk creation processed, see the result of each boat"),
+        @ApiResponse(responseCode = "400", description = "Empty or too large list of boats provided")
+    })
+    @PostMapping(value = "/batch", consumes = "application/json", produces = "application/json")
+    @ResponseStatus(HttpStatus.OK)
+    public BoatBulkCreationResultDto createBoats(
+            @Parameter(description = "Boats to create")
+            @Size(min = 1, max = BoatService.MAX_BULK_CREATION_SIZE) @RequestBody List<BoatCreationDto> boatCreationDtos) {
+        return boatService.createBoats(boatCreationDtos);
+    }
+
     /**
      * Updates an existing boat by its ID.
      * @param id The ID of the boat to update
      * @param boatUpdateDto The boat data to update
-     * @return ResponseEntity containing the updated boat DTO if found, or 404 if not found
+     * @param ifMatch The ETag of the boat the update is based on, if any
+     * @return ResponseEntity containing the updated boat DTO and its new ETag if found, or 404 if not found
      */
     @Operation(
         summary = "Update a boat",
-        description = "Updates an existing boat with the provided information. Only provided fields will be updated."
+        description = "Updates an existing boat with the provided information. Only provided fields will be updated. Send the ETag of the boat in If-Match to only update the version it was read at."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Boat updated successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid boat data provided"),
-        @ApiResponse(responseCode = "404", description = "Boat not found")
+        @ApiResponse(responseCode = "404", description = "Boat not found"),
+        @ApiResponse(responseCode = "412", description = "Boat modified since the version given in If-Match")
     })
     @PutMapping(value = "/{id}", consumes = "application/json", produces = "application/json")
     public ResponseEntity<BoatDto> updateBoat(
             @Parameter(description = "Unique identifier of the boat to update", example = "1")
             @PathVariable("id") Long id,
             @Parameter(description = "Boat data to update")
-            @Valid @RequestBody BoatUpdateDto boatUpdateDto) {
-        var updatedBoat = boatService.updateBoat(id, boatUpdateDto);
+            @Valid @RequestBody BoatUpdateDto boatUpdateDto,
+            @Parameter(description = "ETag of the boat as read by the client", example = "\"1-0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var updatedBoat = boatService.updateBoat(id, boatUpdateDto, BoatETags.expectedVersion(id, ifMatch));
         
-        return updatedBoat.map(ResponseEntity::ok)
+        return updatedBoat.map(boatDto -> ResponseEntity.ok().eTag(BoatETags.ofBoat(boatDto)).body(boatDto))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -162,26 +510,30 @@ public class BoatV1Controller {
      * Updates the name of an existing boat by its ID.
      * @param id The ID of the boat to update
      * @param boatNameUpdateDto The new boat name
-     * @return ResponseEntity containing the updated boat DTO if found, or 404 if not found
+     * @param ifMatch The ETag of the boat the update is based on, if any
+     * @return ResponseEntity containing the updated boat DTO and its new ETag if found, or 404 if not found
      */
     @Operation(
         summary = "Update boat name",
-        description = "Updates the name of an existing boat"
+        description = "Updates the name of an existing boat. Send the ETag of the boat in If-Match to only update the version it was read at."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Boat name updated successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid boat name provided"),
-        @ApiResponse(responseCode = "404", description = "Boat not found")
+        @ApiResponse(responseCode = "404", description = "Boat not found"),
+        @ApiResponse(responseCode = "412", description = "Boat modified since the version given in If-Match")
     })
     @PatchMapping(value = "/{id}/name", consumes = "application/json", produces = "application/json")
     public ResponseEntity<BoatDto> updateBoatName(
             @Parameter(description = "Unique identifier of the boat to update", example = "1")
             @PathVariable("id") Long id,
             @Parameter(description = "New boat name")
-            @Valid @RequestBody BoatNameUpdateDto boatNameUpdateDto) {
-        var updatedBoat = boatService.updateBoatName(id, boatNameUpdateDto);
+            @Valid @RequestBody BoatNameUpdateDto boatNameUpdateDto,
+            @Parameter(description = "ETag of the boat as read by the client", example = "\"1-0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var updatedBoat = boatService.updateBoatName(id, boatNameUpdateDto, BoatETags.expectedVersion(id, ifMatch));
         
-        return updatedBoat.map(ResponseEntity::ok)
+        return updatedBoat.map(boatDto -> ResponseEntity.ok().eTag(BoatETags.ofBoat(boatDto)).body(boatDto))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -189,26 +541,30 @@ public class BoatV1Controller {
      * Updates the description of an existing boat by its ID.
      * @param id The ID of the boat to update
      * @param boatDescriptionUpdateDto The new boat description
-     * @return ResponseEntity containing the updated boat DTO if found, or 404 if not found
+     * @param ifMatch The ETag of the boat the update is based on, if any
+     * @return ResponseEntity containing the updated boat DTO and its new ETag if found, or 404 if not found
      */
     @Operation(
         summary = "Update boat description",
-        description = "Updates the description of an existing boat"
+        description = "Updates the description of an existing boat. Send the ETag of the boat in If-Match to only update the version it was read at."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Boat description updated successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid boat description provided"),
-        @ApiResponse(responseCode = "404", description = "Boat not found")
+        @ApiResponse(responseCode = "404", description = "Boat not found"),
+        @ApiResponse(responseCode = "412", description = "Boat modified since the version given in If-Match")
     })
     @PatchMapping(value = "/{id}/description", consumes = "application/json", produces = "application/json")
     public ResponseEntity<BoatDto> updateBoatDescription(
             @Parameter(description = "Unique identifier of the boat to update", example = "1")
             @PathVariable("id") Long id,
             @Parameter(description = "New boat description")
-            @Valid @RequestBody BoatDescriptionUpdateDto boatDescriptionUpdateDto) {
-        var updatedBoat = boatService.updateBoatDescription(id, boatDescriptionUpdateDto);
+            @Valid @RequestBody BoatDescriptionUpdateDto boatDescriptionUpdateDto,
+            @Parameter(description = "ETag of the boat as read by the client", example = "\"1-0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var updatedBoat = boatService.updateBoatDescription(id, boatDescriptionUpdateDto, BoatETags.expectedVersion(id, ifMatch));
         
-        return updatedBoat.map(ResponseEntity::ok)
+        return updatedBoat.map(boatDto -> ResponseEntity.ok().eTag(BoatETags.ofBoat(boatDto)).body(boatDto))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -216,26 +572,30 @@ public class BoatV1Controller {
      * Updates the type of an existing boat by its ID.
      * @param id The ID of the boat to update
      * @param boatTypeUpdateDto The new boat type
-     * @return ResponseEntity containing the updated boat DTO if found, or 404 if not found
+     * @param ifMatch The ETag of the boat the update is based on, if any
+     * @return ResponseEntity containing the updated boat DTO and its new ETag if found, or 404 if not found
      */
     @Operation(
         summary = "Update boat type",
-        description = "Updates the type of an existing boat"
+        description = "Updates the type of an existing boat. Send the ETag of the boat in If-Match to only update the version it was read at."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Boat type updated successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid boat type provided"),
-        @ApiResponse(responseCode = "404", description = "Boat not found")
+        @ApiResponse(responseCode = "404", description = "Boat not found"),
+        @ApiResponse(responseCode = "412", description = "Boat modified since the version given in If-Match")
     })
     @PatchMapping(value = "/{id}/type", consumes = "application/json", produces = "application/json")
     public ResponseEntity<BoatDto> updateBoatType(
             @Parameter(description = "Unique identifier of the boat to update", example = "1")
             @PathVariable("id") Long id,
             @Parameter(description = "New boat type")
-            @Valid @RequestBody BoatTypeUpdateDto boatTypeUpdateDto) {
-        var updatedBoat = boatService.updateBoatType(id, boatTypeUpdateDto);
+            @Valid @RequestBody BoatTypeUpdateDto boatTypeUpdateDto,
+            @Parameter(description = "ETag of the boat as read by the client", example = "\"1-0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var updatedBoat = boatService.updateBoatType(id, boatTypeUpdateDto, BoatETags.expectedVersion(id, ifMatch));
         
-        return updatedBoat.map(ResponseEntity::ok)
+        return updatedBoat.map(boatDto -> ResponseEntity.ok().eTag(BoatETags.ofBoat(boatDto)).body(boatDto))
                 .orElse(ResponseEntity.notFound().build());
     }
 
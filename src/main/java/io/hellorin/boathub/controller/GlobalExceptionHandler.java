@@ -1,8 +1,12 @@
 package io.hellorin.boathub.controller;
 
 import io.hellorin.boathub.dto.ErrorResponseDto;
+import io.hellorin.boathub.service.BoatSearchUnavailableException;
+import io.hellorin.boathub.service.BoatSyncTokenExpiredException;
+import io.hellorin.boathub.service.BoatVersionConflictException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -138,6 +142,66 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handles updates whose If-Match precondition failed, the boat having been modified since the client read it.
+     *
+     * @param ex the BoatVersionConflictException that was thrown
+     * @return ResponseEntity containing error information
+     */
+    @ExceptionHandler(BoatVersionConflictException.class)
+    public ResponseEntity<ErrorResponseDto> handleBoatVersionConflictException(BoatVersionConflictException ex) {
+        LOGGER.info("Version conflict: {}", ex.getMessage());
+
+        var errorResponse = new ErrorResponseDto("The boat has been modified since it was read, read it again before updating it");
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    /**
+     * Handles updates that kept losing the optimistic lock to concurrent updates, once retries are exhausted.
+     *
+     * @param ex the OptimisticLockingFailureException that was thrown
+     * @return ResponseEntity containing error information
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDto> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        LOGGER.warn("Concurrent update conflict: {}", ex.getMessage());
+
+        var errorResponse = new ErrorResponseDto("The boat is being modified concurrently. Please try again.");
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handles searches requested while the search index is still being loaded.
+     *
+     * @param ex the BoatSearchUnavailableException that was thrown
+     * @return ResponseEntity containing error information
+     */
+    @ExceptionHandler(BoatSearchUnavailableException.class)
+    public ResponseEntity<ErrorResponseDto> handleBoatSearchUnavailableException(BoatSearchUnavailableException ex) {
+        LOGGER.warn("Search unavailable: {}", ex.getMessage());
+
+        var errorResponse = new ErrorResponseDto("The search is not available yet. Please try again later.");
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
+    /**
+     * Handles incremental syncs requested with a token older than the retention of the deleted boats.
+     *
+     * @param ex the BoatSyncTokenExpiredException that was thrown
+     * @return ResponseEntity containing error information
+     */
+    @ExceptionHandler(BoatSyncTokenExpiredException.class)
+    public ResponseEntity<ErrorResponseDto> handleBoatSyncTokenExpiredException(BoatSyncTokenExpiredException ex) {
+        LOGGER.warn("Sync token expired: {}", ex.getMessage());
+
+        var errorResponse = new ErrorResponseDto("The sync token has expired. Please reload all the boats.");
+
+        return ResponseEntity.status(HttpStatus.GONE).body(errorResponse);
+    }
+
     /**
      * Handles all exceptions and returns a generic error response.
      *
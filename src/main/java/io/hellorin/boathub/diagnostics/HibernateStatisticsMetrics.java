@@ -0,0 +1,81 @@
+package io.hellorin.boathub.diagnostics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Binds the statistics Hibernate collects, when {@code hibernate.generate_statistics} is enabled, to the registry:
+ * the sessions, transactions and flushes, the statements prepared, the entities loaded and written, and the queries.
+ * Divided by the number of requests, they tell what the persistence layer does per request, such as the entity loads
+ * of a listing or the statements of a bulk creation.
+ * <p>
+ * The meters are those of the hibernate-micrometer module, which is not part of the Spring Boot dependencies, so that
+ * dashboards made for it apply.
+ */
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    private final Tags tags;
+
+    public HibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        var sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.statistics = sessionFactory.getStatistics();
+        var name = sessionFactory.getName();
+        this.tags = Tags.of("entityManagerFactory", name == null ? "default" : name);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        counter(registry, "hibernate.sessions.open", "Sessions opened", Statistics::getSessionOpenCount);
+        counter(registry, "hibernate.sessions.closed", "Sessions closed", Statistics::getSessionCloseCount);
+        counter(registry, "hibernate.transactions", "Transactions completed",
+                Statistics::getSuccessfulTransactionCount, "result", "success");
+        counter(registry, "hibernate.transactions", "Transactions completed",
+                stats -> stats.getTransactionCount() - stats.getSuccessfulTransactionCount(), "result", "failure");
+        counter(registry, "hibernate.optimistic.failures", "Optimistic lock failures",
+                Statistics::getOptimisticFailureCount);
+        counter(registry, "hibernate.flushes", "Flushes of the sessions", Statistics::getFlushCount);
+        counter(registry, "hibernate.connections.obtained", "Connections obtained by the sessions",
+                Statistics::getConnectCount);
+        counter(registry, "hibernate.statements", "Statements prepared or closed", Statistics::getPrepareStatementCount,
+                "status", "prepared");
+        counter(registry, "hibernate.statements", "Statements prepared or closed", Statistics::getCloseStatementCount,
+                "status", "closed");
+        counter(registry, "hibernate.entities.loads", "Entities loaded", Statistics::getEntityLoadCount);
+        counter(registry, "hibernate.entities.fetches", "Entities fetched", Statistics::getEntityFetchCount);
+        counter(registry, "hibernate.entities.inserts", "Entities inserted", Statistics::getEntityInsertCount);
+        counter(registry, "hibernate.entities.updates", "Entities updated", Statistics::getEntityUpdateCount);
+        counter(registry, "hibernate.entities.deletes", "Entities deleted", Statistics::getEntityDeleteCount);
+        counter(registry, "hibernate.query.executions", "Queries executed", Statistics::getQueryExecutionCount);
+        counter(registry, "hibernate.query.plan", "Query plans found in the cache or compiled",
+                Statistics::getQueryPlanCacheHitCount, "result", "hit");
+        counter(registry, "hibernate.query.plan", "Query plans found in the cache or compiled",
+                Statistics::getQueryPlanCacheMissCount, "result", "miss");
+        TimeGauge.builder("hibernate.query.executions.max", statistics, TimeUnit.MILLISECONDS,
+                        Statistics::getQueryExecutionMaxTime)
+                .description("Slowest query since startup")
+                .tags(tags)
+                .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String name, String description,
+                         ToDoubleFunction<Statistics> count, String... extraTags) {
+        FunctionCounter.builder(name, statistics, count)
+                .description(description)
+                .tags(tags.and(extraTags))
+                .register(registry);
+    }
+}
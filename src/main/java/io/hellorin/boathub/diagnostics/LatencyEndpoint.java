@@ -0,0 +1,90 @@
+package io.hellorin.boathub.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actuator endpoint showing the latencies of the operations of every layer, at /actuator/latencies, so that the
+ * time a listing spends in the database can be told from the time spent mapping the boats and serializing them
+ * (see LatencyLayer).
+ * <p>
+ * The percentiles and the maximum are those of a sliding window, recent enough to follow a load test or an incident:
+ * they are computed in process over the last {@code management.metrics.distribution.expiry} of the layer, and only
+ * for the percentiles of {@code management.metrics.distribution.percentiles}. The count and the mean are those of
+ * every operation since startup. Operations are sorted by their total time, the ones costing the most first.
+ */
+@Component
+@Endpoint(id = "latencies")
+public class LatencyEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    public LatencyEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Reads the latencies of the operations.
+     * @return The latencies of the operations timed so far, by layer
+     */
+    @ReadOperation
+    public Map<String, List<OperationLatency>> latencies() {
+        Map<String, List<OperationLatency>> layers = new LinkedHashMap<>();
+        for (LatencyLayer layer : LatencyLayer.values()) {
+            List<OperationLatency> operations = new ArrayList<>();
+            for (Timer timer : meterRegistry.find(layer.getMeterName()).timers()) {
+                operations.add(latency(layer, timer));
+            }
+            operations.sort(Comparator.comparingDouble(OperationLatency::totalMs).reversed());
+            layers.put(layer.name().toLowerCase(Locale.ROOT), operations);
+        }
+        return layers;
+    }
+
+    private static OperationLatency latency(LatencyLayer layer, Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            var name = "p" + BigDecimal.valueOf(percentile.percentile() * 100).stripTrailingZeros().toPlainString();
+            percentiles.put(name, millis(percentile.value(TimeUnit.MILLISECONDS)));
+        }
+        return new OperationLatency(layer.operation(timer.getId()), layer.outcome(timer.getId()), snapshot.count(),
+                millis(snapshot.total(TimeUnit.MILLISECONDS)), millis(snapshot.mean(TimeUnit.MILLISECONDS)),
+                percentiles, millis(snapshot.max(TimeUnit.MILLISECONDS)));
+    }
+
+    /**
+     * Rounds to the microsecond, finer than the precision of the histograms.
+     */
+    private static double millis(double millis) {
+        return Math.round(millis * 1000) / 1000.0;
+    }
+
+    /**
+     * The latencies of an operation, in milliseconds.
+     * @param operation The operation, such as BoatService.getBoatById
+     * @param outcome The outcome of the operation, such as the status of the HTTP responses
+     * @param count The number of operations since startup
+     * @param totalMs The time spent in the operations since startup
+     * @param meanMs The mean time of the operations since startup
+     * @param percentilesMs The percentiles over the sliding window, such as p99
+     * @param maxMs The maximum time over the sliding window
+     */
+    public record OperationLatency(String operation, String outcome, long count, double totalMs, double meanMs,
+                                   Map<String, Double> percentilesMs, double maxMs) {
+    }
+}
@@ -0,0 +1,97 @@
+package io.hellorin.boathub.diagnostics;
+
+import io.micrometer.core.instrument.Meter;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Layers a request goes through, each timed by its own timer, one meter per operation of the layer.
+ * A request spends its HTTP time in the service it calls, itself spending its service time in the repositories:
+ * what the service time adds to the repository time is mapping, what the HTTP time adds is serialization and filters.
+ * What the repository time adds to the time of its statements is spent by Hibernate and waiting for a connection.
+ */
+public enum LatencyLayer {
+
+    /**
+     * Requests, timed by Spring MVC, from the filters to the response written.
+     */
+    HTTP("http.server.requests", "method", "uri", "status"),
+
+    /**
+     * Public methods of the services, timed by the TimedAspect for the classes annotated with @Timed.
+     */
+    SERVICE("boathub.service", "class", "method", "exception"),
+
+    /**
+     * Methods of the repositories, timed by Spring Data: queries and writes, including the transaction they open.
+     */
+    REPOSITORY("spring.data.repository.invocations", "repository", "method", "state"),
+
+    /**
+     * JDBC statements, timed by the StatementMetricsDataSource, one operation per label of statement.
+     */
+    STATEMENT(StatementMetricsDataSource.METER_NAME, null, "statement", "outcome");
+
+    private final String meterName;
+
+    private final String ownerTag;
+
+    private final String operationTag;
+
+    private final String outcomeTag;
+
+    LatencyLayer(String meterName, String ownerTag, String operationTag, String outcomeTag) {
+        this.meterName = meterName;
+        this.ownerTag = ownerTag;
+        this.operationTag = operationTag;
+        this.outcomeTag = outcomeTag;
+    }
+
+    public String getMeterName() {
+        return meterName;
+    }
+
+    /**
+     * Finds the layer timed by a meter.
+     * @param id The ID of the meter
+     * @return The layer, empty for the meters of no layer
+     */
+    public static Optional<LatencyLayer> of(Meter.Id id) {
+        return Arrays.stream(values()).filter(layer -> layer.meterName.equals(id.getName())).findFirst();
+    }
+
+    /**
+     * Names the operation timed by a meter of this layer, such as "GET /api/v1/boats/{id}" for HTTP,
+     * "BoatService.getBoatById" for the services, "BoatRepository.findById" for the repositories and the label
+     * of the statements, such as "select boats #1f3a5c7e".
+     * @param id The ID of the meter
+     * @return The operation, the name of the meter when it lacks the tags of the operation
+     */
+    public String operation(Meter.Id id) {
+        var owner = ownerTag == null ? "" : id.getTag(ownerTag);
+        var operation = id.getTag(operationTag);
+        if (owner == null || operation == null) {
+            return meterName;
+        }
+        if (this == STATEMENT) {
+            return operation;
+        }
+        if (this == HTTP) {
+            return owner + " " + operation;
+        }
+        // The aspect tags the fully qualified name of the class, Spring Data the simple name of the repository
+        return owner.substring(owner.lastIndexOf('.') + 1) + "." + operation;
+    }
+
+    /**
+     * Tells the outcome of the operations timed by a meter of this layer: the status of the HTTP responses,
+     * the exception thrown by the services (none on success), the state of the repository invocations or the outcome
+     * of the statements.
+     * @param id The ID of the meter
+     * @return The outcome
+     */
+    public String outcome(Meter.Id id) {
+        return id.getTag(outcomeTag);
+    }
+}
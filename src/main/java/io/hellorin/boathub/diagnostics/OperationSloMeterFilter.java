@@ -0,0 +1,45 @@
+package io.hellorin.boathub.diagnostics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sets the service level objectives of the timers of single operations, such as "BoatService.getAllBoatsInPage",
+ * over those of their layer. The SLOs are published as histogram buckets, counting the operations within each.
+ * <p>
+ * Spring Boot only sets SLOs per meter name, {@code management.metrics.distribution.slo.boathub.service} for all
+ * the services for instance, whereas a listing and a read by ID are not expected to take as long.
+ */
+public class OperationSloMeterFilter implements MeterFilter {
+
+    private final Map<String, List<Duration>> slos;
+
+    /**
+     * @param slos The SLOs of the operations, by operation as named by LatencyLayer
+     */
+    public OperationSloMeterFilter(Map<String, List<Duration>> slos) {
+        this.slos = Map.copyOf(slos);
+    }
+
+    @Override
+    public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+        if (slos.isEmpty()) {
+            return config;
+        }
+        var operationSlos = LatencyLayer.of(id).map(layer -> slos.get(layer.operation(id))).orElse(null);
+        if (operationSlos == null) {
+            return config;
+        }
+        // Timers record nanoseconds
+        double[] nanos = operationSlos.stream().mapToDouble(Duration::toNanos).sorted().toArray();
+        return DistributionStatisticConfig.builder()
+                .serviceLevelObjectives(nanos)
+                .build()
+                .merge(config);
+    }
+}
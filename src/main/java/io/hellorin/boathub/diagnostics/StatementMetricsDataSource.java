@@ -0,0 +1,199 @@
+package io.hellorin.boathub.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DataSource timing the execution of every statement, whether run by Hibernate, a JdbcTemplate or a script, in the
+ * timer {@code boathub.jdbc.statements} tagged with the label of the statement (see StatementShapes) and its outcome.
+ * The statements lasting at least the slow statement threshold are logged with their label and their SQL, without
+ * their parameters.
+ * <p>
+ * The connections and their statements are proxies of those of the target DataSource, only the execute methods being
+ * timed; the DataSource still unwraps to the connection pool, for the pool metrics.
+ */
+public class StatementMetricsDataSource extends DelegatingDataSource {
+
+    public static final String METER_NAME = "boathub.jdbc.statements";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatementMetricsDataSource.class);
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    /**
+     * Labels are cached by SQL, as long as the statements are few: statements concatenating their values, such as
+     * the DDL of a script, are labelled again on every execution rather than filling the cache.
+     */
+    private static final int MAX_CACHED_LABELS = 1000;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration slowStatementThreshold;
+
+    private final Map<String, String> labels = new ConcurrentHashMap<>();
+
+    public StatementMetricsDataSource(DataSource targetDataSource, MeterRegistry meterRegistry,
+                                      Duration slowStatementThreshold) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+        this.slowStatementThreshold = slowStatementThreshold;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return meteredConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return meteredConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection meteredConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, new ConnectionHandler(connection));
+    }
+
+    private String label(String sql) {
+        var label = labels.get(sql);
+        if (label == null) {
+            label = StatementShapes.label(StatementShapes.shape(sql));
+            if (labels.size() < MAX_CACHED_LABELS) {
+                labels.put(sql, label);
+            }
+        }
+        return label;
+    }
+
+    private void record(String sql, long nanos, boolean success) {
+        var label = label(sql);
+        Timer.builder(METER_NAME)
+                .description("Execution time of the JDBC statements")
+                .tag("statement", label)
+                .tag("outcome", success ? "SUCCESS" : "ERROR")
+                .register(meterRegistry)
+                .record(Duration.ofNanos(nanos));
+        if (nanos >= slowStatementThreshold.toNanos()) {
+            LOGGER.warn("Slow statement {} of {} ms: {}", label, nanos / 1_000_000, sql);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    /**
+     * Creates the statements of a connection as proxies timing their execution.
+     */
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "Metered connection of " + target;
+                case "getTargetConnection" -> target;
+                case "createStatement" -> meteredStatement(Statement.class,
+                        (Statement) StatementMetricsDataSource.invoke(target, method, args), null);
+                case "prepareStatement" -> meteredStatement(PreparedStatement.class,
+                        (Statement) StatementMetricsDataSource.invoke(target, method, args), (String) args[0]);
+                case "prepareCall" -> meteredStatement(CallableStatement.class,
+                        (Statement) StatementMetricsDataSource.invoke(target, method, args), (String) args[0]);
+                default -> StatementMetricsDataSource.invoke(target, method, args);
+            };
+        }
+
+        private Object meteredStatement(Class<? extends Statement> type, Statement statement, String sql) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler(statement, sql));
+        }
+    }
+
+    /**
+     * Times the execution of a statement: prepared with its SQL, or given its SQL on execution.
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+
+        private final String preparedSql;
+
+        /**
+         * First SQL added to the batch of a statement not prepared, naming the batch.
+         */
+        private String batchSql;
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            var name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (name.equals("addBatch") && args != null && batchSql == null) {
+                batchSql = (String) args[0];
+            }
+            if (!EXECUTE_METHODS.contains(name)) {
+                return StatementMetricsDataSource.invoke(target, method, args);
+            }
+            String sql;
+            if (args != null && args.length > 0 && args[0] instanceof String executedSql) {
+                sql = executedSql;
+            } else if (preparedSql != null) {
+                sql = preparedSql;
+            } else {
+                sql = batchSql;
+                batchSql = null;
+            }
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                var result = StatementMetricsDataSource.invoke(target, method, args);
+                success = true;
+                return result;
+            } finally {
+                if (sql != null) {
+                    record(sql, System.nanoTime() - start, success);
+                }
+            }
+        }
+    }
+}
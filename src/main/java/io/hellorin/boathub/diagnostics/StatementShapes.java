@@ -0,0 +1,81 @@
+package io.hellorin.boathub.diagnostics;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes SQL statements into shapes, the same for every execution of a statement whatever its values, so that
+ * statements can be told apart in metrics without a meter per value: the count query of a listing and its page query
+ * have two shapes, the page query has one shape whatever the page.
+ * <p>
+ * Literals are replaced by a parameter, lists of parameters by a single parameter (the IN lists padded by Hibernate
+ * having several lengths), and selected column lists by an ellipsis.
+ * <p>
+ * Shapes still tell the schema and the queries run, so the metrics, which are served without authentication, name
+ * the statements by a label instead: their verb, their table and a hash of their shape.
+ */
+public final class StatementShapes {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Pattern TABLE = Pattern.compile("\\b(?:from|into|update)\\s+([a-z_][a-z0-9_.]*)");
+
+    private StatementShapes() {
+    }
+
+    /**
+     * Normalizes a statement into its shape.
+     * @param sql The SQL of the statement, with parameters or literals
+     * @return The shape of the statement, such as "select ... from boats be1_0 where be1_0.id in (?)"
+     */
+    public static String shape(String sql) {
+        var shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMERIC_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").strip().toLowerCase(Locale.ROOT);
+        return abbreviateSelectedColumns(shape);
+    }
+
+    /**
+     * Labels a statement shape without telling its SQL, the hash telling apart the shapes of a verb and table.
+     * The slow statements are logged with their label, so that the SQL of a label can be found.
+     * @param shape The shape of the statement
+     * @return The label of the statement, such as "select boats #1f3a5c7e"
+     */
+    public static String label(String shape) {
+        var verb = shape.split(" ", 2)[0];
+        var table = TABLE.matcher(shape);
+        return verb + (table.find() ? " " + table.group(1) : "") + " #" + String.format("%08x", shape.hashCode());
+    }
+
+    /**
+     * Replaces the columns selected by a query by an ellipsis when there are several, which only makes the shape
+     * longer. A single selected expression, such as a count, is kept.
+     */
+    private static String abbreviateSelectedColumns(String shape) {
+        if (!shape.startsWith("select ")) {
+            return shape;
+        }
+        int depth = 0;
+        boolean severalColumns = false;
+        for (int i = "select ".length(); i < shape.length(); i++) {
+            char c = shape.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && c == ',') {
+                severalColumns = true;
+            } else if (depth == 0 && shape.startsWith(" from ", i)) {
+                return severalColumns ? "select ..." + shape.substring(i) : shape;
+            }
+        }
+        return shape;
+    }
+}
@@ -0,0 +1,114 @@
+package io.hellorin.boathub.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Detects the virtual threads pinned to their carrier thread, when the application runs on virtual threads.
+ * <p>
+ * A virtual thread blocking inside a synchronized block or a native call cannot unmount, so it holds one of the
+ * few carrier threads for as long as it blocks, as in a JDBC driver or a connection pool synchronizing around I/O.
+ * The pinning events of the JVM are streamed from Flight Recorder, in process, and recorded in the timer
+ * {@code boathub.virtual-threads.pinned}, tagged with the frame where the thread blocked: the innermost frame outside
+ * of the JDK, such as the driver method waiting for the database. The stack trace of every new frame is logged once.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String UNKNOWN_FRAME = "unknown";
+
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration threshold;
+
+    private final Set<String> loggedFrames = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${boathub.virtual-threads.pinning-threshold:PT0.02S}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Starts streaming the pinning events lasting at least the threshold.
+     */
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        LOGGER.info("Monitoring the virtual threads pinned for at least {}", threshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        recordingStream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        var stackTrace = event.getStackTrace();
+        var frame = pinningFrame(stackTrace);
+        var duration = event.getDuration();
+        Timer.builder("boathub.virtual-threads.pinned")
+                .description("Time virtual threads were pinned to their carrier thread while blocking")
+                .tag("frame", frame)
+                .register(meterRegistry)
+                .record(duration);
+        if (loggedFrames.add(frame)) {
+            LOGGER.warn("Virtual thread pinned for {} ms at {}{}", duration.toMillis(), frame, format(stackTrace));
+        }
+    }
+
+    /**
+     * Finds the innermost frame outside of the JDK, the one that blocked while the thread was pinned.
+     */
+    private static String pinningFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return UNKNOWN_FRAME;
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .filter(method -> JDK_PACKAGES.stream().noneMatch(method::startsWith))
+                .findFirst()
+                .orElse(UNKNOWN_FRAME);
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        return stackTrace.getFrames().stream()
+                .map(frame -> "\n\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + "(line " + frame.getLineNumber() + ")")
+                .collect(Collectors.joining());
+    }
+}
@@ -16,10 +16,12 @@ public class BoatEntity {
     
     /**
      * As two boats could have the same name, we use the id to identify the boat. We cannot trust human
-     * to find a unique name for their boats
+     * to find a unique name for their boats.
+     * IDs are allocated by blocks from a sequence, which unlike an identity column lets Hibernate batch inserts.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "boats_id_seq")
+    @SequenceGenerator(name = "boats_id_seq", sequenceName = "boats_id_seq", allocationSize = 100)
     private Long id;
     
     /**
@@ -58,6 +60,13 @@ public class BoatEntity {
      */
     @Column(name = "updated_date")
     private LocalDateTime updatedDate;
+
+    /**
+     * Incremented on every update, so that concurrent edits of a boat are detected instead of overwriting each other.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
     
     /**
      * Default constructor for JPA.
@@ -139,4 +148,12 @@ public class BoatEntity {
     public void setUpdatedDate(LocalDateTime updatedDate) {
         this.updatedDate = updatedDate;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,50 @@
+package io.hellorin.boathub.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording that a boat has been deleted, so that clients syncing incrementally learn about it.
+ * Tombstones are only kept for a retention period, after which clients have to reload all the boats.
+ */
+@Entity
+@Table(name = "boat_tombstones")
+public class BoatTombstoneEntity {
+
+    /**
+     * The ID of the deleted boat. Boat IDs come from a sequence and are never reused.
+     */
+    @Id
+    @Column(name = "boat_id")
+    private Long boatId;
+
+    /**
+     * When the boat was deleted.
+     */
+    @Column(name = "deleted_date", nullable = false)
+    private LocalDateTime deletedDate;
+
+    public BoatTombstoneEntity() {
+    }
+
+    public BoatTombstoneEntity(Long boatId, LocalDateTime deletedDate) {
+        this.boatId = boatId;
+        this.deletedDate = deletedDate;
+    }
+
+    public Long getBoatId() {
+        return boatId;
+    }
+
+    public void setBoatId(Long boatId) {
+        this.boatId = boatId;
+    }
+
+    public LocalDateTime getDeletedDate() {
+        return deletedDate;
+    }
+
+    public void setDeletedDate(LocalDateTime deletedDate) {
+        this.deletedDate = deletedDate;
+    }
+}
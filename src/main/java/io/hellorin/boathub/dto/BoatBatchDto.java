@@ -0,0 +1,38 @@
+package io.hellorin.boathub.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for boats fetched by their IDs.
+ * The boats found are listed in the order of the requested IDs, the IDs of the boats not found are reported apart.
+ */
+public class BoatBatchDto {
+
+    private List<BoatDto> content;
+
+    private List<Long> missingIds;
+
+    public BoatBatchDto() {
+    }
+
+    public BoatBatchDto(List<BoatDto> content, List<Long> missingIds) {
+        this.content = content;
+        this.missingIds = missingIds;
+    }
+
+    public List<BoatDto> getContent() {
+        return content;
+    }
+
+    public void setContent(List<BoatDto> content) {
+        this.content = content;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
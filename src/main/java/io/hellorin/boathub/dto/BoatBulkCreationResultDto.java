@@ -0,0 +1,49 @@
+package io.hellorin.boathub.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a bulk creation of boats.
+ * There is one result per submitted boat, in the order of submission.
+ */
+public class BoatBulkCreationResultDto {
+
+    private int created;
+
+    private int rejected;
+
+    private List<BoatBulkItemResultDto> items;
+
+    public BoatBulkCreationResultDto() {
+    }
+
+    public BoatBulkCreationResultDto(int created, int rejected, List<BoatBulkItemResultDto> items) {
+        this.created = created;
+        this.rejected = rejected;
+        this.items = items;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<BoatBulkItemResultDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BoatBulkItemResultDto> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,36 @@
+package io.hellorin.boathub.dto;
+
+/**
+ * Data Transfer Object for the outcome of a bulk deletion of boats.
+ * Requested IDs that match no boat are not an error, they are only left out of the deleted count.
+ */
+public class BoatBulkDeletionResultDto {
+
+    private int requested;
+
+    private int deleted;
+
+    public BoatBulkDeletionResultDto() {
+    }
+
+    public BoatBulkDeletionResultDto(int requested, int deleted) {
+        this.requested = requested;
+        this.deleted = deleted;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(int deleted) {
+        this.deleted = deleted;
+    }
+}
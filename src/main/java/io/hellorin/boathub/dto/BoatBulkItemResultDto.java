@@ -0,0 +1,49 @@
+package io.hellorin.boathub.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of one boat of a bulk creation.
+ * Either the boat was created, or the errors that rejected it are listed.
+ */
+public class BoatBulkItemResultDto {
+
+    private int index;
+
+    private BoatDto boat;
+
+    private List<String> errors;
+
+    public BoatBulkItemResultDto() {
+    }
+
+    public BoatBulkItemResultDto(int index, BoatDto boat, List<String> errors) {
+        this.index = index;
+        this.boat = boat;
+        this.errors = errors;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public BoatDto getBoat() {
+        return boat;
+    }
+
+    public void setBoat(BoatDto boat) {
+        this.boat = boat;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,61 @@
+package io.hellorin.boathub.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the changes made on the boats since a sync token.
+ * Contains the boats created or updated, the IDs of the boats deleted and the token to send back to read the
+ * next changes.
+ */
+public class BoatChangesDto {
+
+    private List<BoatDto> boats;
+
+    private List<Long> deletedIds;
+
+    private boolean hasMore;
+
+    private String nextToken;
+
+    public BoatChangesDto() {
+    }
+
+    public BoatChangesDto(List<BoatDto> boats, List<Long> deletedIds, boolean hasMore, String nextToken) {
+        this.boats = boats;
+        this.deletedIds = deletedIds;
+        this.hasMore = hasMore;
+        this.nextToken = nextToken;
+    }
+
+    public List<BoatDto> getBoats() {
+        return boats;
+    }
+
+    public void setBoats(List<BoatDto> boats) {
+        this.boats = boats;
+    }
+
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public void setDeletedIds(List<Long> deletedIds) {
+        this.deletedIds = deletedIds;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public void setNextToken(String nextToken) {
+        this.nextToken = nextToken;
+    }
+}
@@ -0,0 +1,60 @@
+package io.hellorin.boathub.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page of boats read with a cursor.
+ * Contains the boats of the page and the cursor to send back to read the next one.
+ */
+public class BoatCursorPageDto {
+
+    private List<BoatDto> content;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private String nextCursor;
+
+    public BoatCursorPageDto() {
+    }
+
+    public BoatCursorPageDto(List<BoatDto> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<BoatDto> getContent() {
+        return content;
+    }
+
+    public void setContent(List<BoatDto> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
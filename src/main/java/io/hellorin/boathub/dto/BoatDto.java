@@ -14,6 +14,8 @@ public class BoatDto extends BaseBoatDto {
     
     private LocalDateTime updatedDate;
 
+    private Long version;
+
     public BoatDto() {
     }
 
@@ -24,6 +26,12 @@ public class BoatDto extends BaseBoatDto {
         this.createdDate = createdDate;
         this.updatedDate = updatedDate;
     }
+
+    public BoatDto(Long id, String name, String description, String boatType,
+                   LocalDateTime createdDate, LocalDateTime updatedDate, Long version) {
+        this(id, name, description, boatType, createdDate, updatedDate);
+        this.version = version;
+    }
     
     public Long getId() {
         return id;
@@ -48,4 +56,12 @@ public class BoatDto extends BaseBoatDto {
     public void setUpdatedDate(LocalDateTime updatedDate) {
         this.updatedDate = updatedDate;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,33 @@
+package io.hellorin.boathub.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a set of boat IDs.
+ * Used to fetch boats in batch when the IDs do not fit in a query string, and to delete boats in batch.
+ */
+public class BoatIdsDto {
+
+    @NotEmpty(message = "Boat IDs are required")
+    @Size(max = 1000, message = "No more than 1000 boat IDs can be requested at once")
+    private List<@NotNull(message = "Boat IDs must not be null") Long> ids;
+
+    public BoatIdsDto() {
+    }
+
+    public BoatIdsDto(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
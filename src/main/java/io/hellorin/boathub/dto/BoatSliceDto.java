@@ -0,0 +1,72 @@
+package io.hellorin.boathub.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a slice of boats.
+ * Unlike a page, it only tells whether a next slice exists. The total number of boats is optional
+ * and is null when it was not requested.
+ */
+public class BoatSliceDto {
+
+    private List<BoatDto> content;
+
+    private int page;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private Long totalElements;
+
+    public BoatSliceDto() {
+    }
+
+    public BoatSliceDto(List<BoatDto> content, int page, int size, boolean hasNext, Long totalElements) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.totalElements = totalElements;
+    }
+
+    public List<BoatDto> getContent() {
+        return content;
+    }
+
+    public void setContent(List<BoatDto> content) {
+        this.content = content;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(Long totalElements) {
+        this.totalElements = totalElements;
+    }
+}
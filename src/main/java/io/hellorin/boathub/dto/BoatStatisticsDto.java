@@ -0,0 +1,50 @@
+package io.hellorin.boathub.dto;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object for the statistics of the fleet: the number of boats in total, per type
+ * and per creation month.
+ * Types without any boat are reported with a count of 0, months without any boat created are left out.
+ */
+public class BoatStatisticsDto {
+
+    private long total;
+
+    private Map<String, Long> countsByType;
+
+    private Map<String, Long> countsByCreationMonth;
+
+    public BoatStatisticsDto() {
+    }
+
+    public BoatStatisticsDto(long total, Map<String, Long> countsByType, Map<String, Long> countsByCreationMonth) {
+        this.total = total;
+        this.countsByType = countsByType;
+        this.countsByCreationMonth = countsByCreationMonth;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getCountsByType() {
+        return countsByType;
+    }
+
+    public void setCountsByType(Map<String, Long> countsByType) {
+        this.countsByType = countsByType;
+    }
+
+    public Map<String, Long> getCountsByCreationMonth() {
+        return countsByCreationMonth;
+    }
+
+    public void setCountsByCreationMonth(Map<String, Long> countsByCreationMonth) {
+        this.countsByCreationMonth = countsByCreationMonth;
+    }
+}
@@ -0,0 +1,35 @@
+package io.hellorin.boathub.dto;
+
+/**
+ * Data Transfer Object for a boat name suggested while typing.
+ */
+public class BoatSuggestionDto {
+
+    private Long id;
+
+    private String name;
+
+    public BoatSuggestionDto() {
+    }
+
+    public BoatSuggestionDto(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,40 @@
+package io.hellorin.boathub.events;
+
+/**
+ * A change made on a boat, as pushed to the subscribers of the boat change feed.
+ * @param sequence The position of the event in the feed, increasing with every event
+ * @param type The kind of change
+ * @param boatId The ID of the changed boat
+ * @param data The JSON payload, serialized once for all the subscribers
+ */
+record BoatEvent(long sequence, Type type, Long boatId, String data) {
+
+    enum Type {
+        CREATED("created"),
+        UPDATED("updated"),
+        DELETED("deleted");
+
+        private final String eventName;
+
+        Type(String eventName) {
+            this.eventName = eventName;
+        }
+
+        String getEventName() {
+            return eventName;
+        }
+    }
+
+    /**
+     * Merges this event, still waiting to be sent, with a later change of the same boat, so that only the latest
+     * state of the boat is sent. A boat created then updated is still sent as created, with its updated state.
+     * @param later The later event of the same boat
+     * @return The event to send instead of both
+     */
+    BoatEvent coalesce(BoatEvent later) {
+        if (type == Type.CREATED && later.type == Type.UPDATED) {
+            return new BoatEvent(later.sequence, Type.CREATED, boatId, later.data);
+        }
+        return later;
+    }
+}
@@ -0,0 +1,246 @@
+package io.hellorin.boathub.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.service.BoatChangeListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Feed of the changes made on the boats through BoatService, pushed to its subscribers as Server-Sent Events:
+ * created and updated events carry the boat, deleted events its ID only. After a bulk deletion, a deleted event
+ * is sent for every boat of the batch actually deleted, as notified by onBoatsDeleted; the requested IDs that
+ * matched no boat send no event.
+ * <p>
+ * Every subscriber has a bounded buffer of pending events, coalesced by boat, so that a slow subscriber neither
+ * blocks the writes nor holds an unbounded backlog. When its buffer overflows, its pending events are dropped and
+ * it receives a resync event, telling it to reload the boats. The events of a subscriber are sent from a virtual
+ * thread of its own, started when it has pending events, so that a client slow to read blocks only its own thread,
+ * and idle subscribers cost a connection and no thread. A heartbeat comment
+ * is periodically sent to every subscriber, keeping the connections open through proxies and detecting the
+ * subscribers that went away.
+ */
+@Component
+public class BoatEventFeed implements BoatChangeListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoatEventFeed.class);
+
+    static final String RESYNC_EVENT = "resync";
+
+    /**
+     * Built once, as it is sent to every idle subscriber.
+     */
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final ObjectMapper objectMapper;
+
+    private final int bufferSize;
+
+    private final Duration subscriptionTimeout;
+
+    private final ExecutorService dispatcher;
+
+    private final Set<BoatEventSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * One permit per subscription left, so that concurrent subscriptions cannot exceed the maximum.
+     */
+    private final Semaphore subscriptions;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Counter coalescedEvents;
+
+    private final Counter overflows;
+
+    public BoatEventFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                         @Value("${boathub.events.buffer-size:256}") int bufferSize,
+                         @Value("${boathub.events.max-subscribers:10000}") int maxSubscribers,
+                         @Value("${boathub.events.subscription-timeout:PT30M}") Duration subscriptionTimeout) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.subscriptions = new Semaphore(maxSubscribers);
+        this.subscriptionTimeout = subscriptionTimeout;
+        this.dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("boat-events-", 1).factory());
+        this.coalescedEvents = Counter.builder("boathub.events.coalesced")
+                .description("Number of boat events merged into a pending event of the same boat")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("boathub.events.overflows")
+                .description("Number of times a subscriber fell behind and was told to resync")
+                .register(meterRegistry);
+        Gauge.builder("boathub.events.subscribers", subscribers, Set::size)
+                .description("Number of subscribers of the boat change feed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to the feed. The subscription ends when its timeout elapses, the client then reconnecting.
+     * @return The emitter of the events, empty if the feed already has the maximum number of subscribers
+     */
+    public Optional<SseEmitter> subscribe() {
+        return subscribe(new SseEmitter(subscriptionTimeout.toMillis()));
+    }
+
+    Optional<SseEmitter> subscribe(SseEmitter emitter) {
+        if (!subscriptions.tryAcquire()) {
+            return Optional.empty();
+        }
+        var subscriber = new BoatEventSubscriber(emitter, bufferSize);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onError(ex -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        return Optional.of(emitter);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void onBoatCreated(BoatDto boat) {
+        publish(BoatEvent.Type.CREATED, boat.getId(), boat);
+    }
+
+    @Override
+    public void onBoatUpdated(BoatDto boat) {
+        publish(BoatEvent.Type.UPDATED, boat.getId(), boat);
+    }
+
+    @Override
+    public void onBoatDeleted(Long id) {
+        publish(BoatEvent.Type.DELETED, id, Map.of("id", id));
+    }
+
+    /**
+     * Sends a heartbeat to the subscribers having nothing else to send.
+     */
+    @Scheduled(initialDelayString = "${boathub.events.heartbeat-interval:PT15S}",
+            fixedDelayString = "${boathub.events.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        for (BoatEventSubscriber subscriber : subscribers) {
+            subscriber.requestHeartbeat();
+            scheduleDrain(subscriber);
+        }
+    }
+
+    /**
+     * Ends the subscriptions when the application shuts down, so that the open connections do not hold back
+     * a graceful shutdown of the web server.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosed() {
+        for (BoatEventSubscriber subscriber : subscribers) {
+            subscriber.emitter().complete();
+            unsubscribe(subscriber);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private void publish(BoatEvent.Type type, Long boatId, Object payload) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            LOGGER.error("Boat event of boat {} could not be serialized, it is not sent", boatId, ex);
+            return;
+        }
+        var event = new BoatEvent(sequence.incrementAndGet(), type, boatId, data);
+        for (BoatEventSubscriber subscriber : subscribers) {
+            switch (subscriber.offer(event)) {
+                case COALESCED -> coalescedEvents.increment();
+                case OVERFLOWED -> overflows.increment();
+                default -> {
+                    // Buffered, or dropped until the subscriber is told to resync
+                }
+            }
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void scheduleDrain(BoatEventSubscriber subscriber) {
+        if (subscriber.claimDrain()) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException ex) {
+                // Shutting down
+                unsubscribe(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Sends the pending events of a subscriber, each batch being written and flushed at once, on the thread of the
+     * subscriber: a write blocked by a client slow to read only holds back the events of this client.
+     * A subscriber that cannot be written to has gone away and is removed.
+     */
+    private void drain(BoatEventSubscriber subscriber) {
+        BoatEventSubscriber.Batch batch;
+        while ((batch = subscriber.poll()) != null) {
+            var items = batch.heartbeat() ? HEARTBEAT : toItems(batch);
+            try {
+                subscriber.emitter().send(items);
+            } catch (IOException | IllegalStateException ex) {
+                LOGGER.debug("Boat event subscriber went away", ex);
+                unsubscribe(subscriber);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes a subscriber and gives back its subscription, once whichever way it ends.
+     */
+    private void unsubscribe(BoatEventSubscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriptions.release();
+        }
+    }
+
+    private static Set<ResponseBodyEmitter.DataWithMediaType> toItems(BoatEventSubscriber.Batch batch) {
+        Set<ResponseBodyEmitter.DataWithMediaType> items = new LinkedHashSet<>();
+        if (batch.resync()) {
+            items.addAll(SseEmitter.event().name(RESYNC_EVENT).data("{}").build());
+        }
+        for (BoatEvent event : batch.events()) {
+            items.addAll(SseEmitter.event()
+                    .id(Long.toString(event.sequence()))
+                    .name(event.type().getEventName())
+                    .data(event.data())
+                    .build());
+        }
+        return items;
+    }
+}
@@ -0,0 +1,112 @@
+package io.hellorin.boathub.events;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A subscriber of the boat change feed, with the events waiting to be sent to it.
+ * <p>
+ * Pending events are kept by boat, so that a boat changed several times before being sent is only sent once,
+ * with its latest state. When more boats than the buffer size are pending, the subscriber is too slow to follow
+ * the feed: the pending events are dropped, as are the following ones until it is told to resync.
+ * At most one thread sends to a subscriber at a time, which it claims before draining it.
+ */
+final class BoatEventSubscriber {
+
+    /**
+     * Outcome of offering an event to a subscriber.
+     */
+    enum Offer {
+        BUFFERED,
+        COALESCED,
+        OVERFLOWED,
+        DROPPED
+    }
+
+    /**
+     * Events taken from a subscriber to be sent at once.
+     * @param events The pending events, in the order of their last change
+     * @param resync Whether events were dropped, the subscriber having to reload the boats
+     * @param heartbeat Whether a heartbeat is due, only when there is nothing else to send
+     */
+    record Batch(List<BoatEvent> events, boolean resync, boolean heartbeat) {
+    }
+
+    private final SseEmitter emitter;
+
+    private final int bufferSize;
+
+    // Guarded by this
+    private final Map<Long, BoatEvent> pending = new LinkedHashMap<>();
+    private boolean overflowed;
+    private boolean heartbeatDue;
+    private boolean draining;
+
+    BoatEventSubscriber(SseEmitter emitter, int bufferSize) {
+        this.emitter = emitter;
+        this.bufferSize = bufferSize;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    synchronized Offer offer(BoatEvent event) {
+        if (overflowed) {
+            return Offer.DROPPED;
+        }
+        // Removed and put back, so that the boats are sent in the order of their last change
+        var previous = pending.remove(event.boatId());
+        if (previous != null) {
+            pending.put(event.boatId(), previous.coalesce(event));
+            return Offer.COALESCED;
+        }
+        if (pending.size() == bufferSize) {
+            pending.clear();
+            overflowed = true;
+            return Offer.OVERFLOWED;
+        }
+        pending.put(event.boatId(), event);
+        return Offer.BUFFERED;
+    }
+
+    synchronized void requestHeartbeat() {
+        heartbeatDue = true;
+    }
+
+    /**
+     * Claims the subscriber for a drain, when something is waiting to be sent and no other drain runs.
+     * @return true if the caller must drain the subscriber
+     */
+    synchronized boolean claimDrain() {
+        if (draining || !hasPending()) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    /**
+     * Takes everything waiting to be sent. When there is nothing left, the drain is released.
+     * @return The batch to send, null when the drain is over
+     */
+    synchronized Batch poll() {
+        if (!hasPending()) {
+            draining = false;
+            return null;
+        }
+        var batch = new Batch(new ArrayList<>(pending.values()), overflowed, heartbeatDue && pending.isEmpty() && !overflowed);
+        pending.clear();
+        overflowed = false;
+        heartbeatDue = false;
+        return batch;
+    }
+
+    private boolean hasPending() {
+        return !pending.isEmpty() || overflowed || heartbeatDue;
+    }
+}
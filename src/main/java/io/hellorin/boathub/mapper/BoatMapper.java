@@ -1,6 +1,7 @@
 package io.hellorin.boathub.mapper;
 
 import io.hellorin.boathub.domain.BoatEntity;
+import io.hellorin.boathub.domain.BoatType;
 import io.hellorin.boathub.dto.BoatCreationDto;
 import io.hellorin.boathub.dto.BoatDto;
 import org.mapstruct.Mapper;
@@ -28,4 +29,15 @@ public interface BoatMapper {
      * @return the mapped entity
      */
     BoatEntity toEntity(BoatCreationDto boatCreationDto);
+
+    /**
+     * Maps a boat type name to a BoatType, accepting the same values as the ValidBoatType validation:
+     * case insensitive and surrounded by spaces.
+     *
+     * @param boatType the boat type name
+     * @return the boat type
+     */
+    default BoatType toBoatType(String boatType) {
+        return boatType == null ? null : BoatType.valueOf(boatType.trim().toUpperCase());
+    }
 }
@@ -0,0 +1,26 @@
+package io.hellorin.boathub.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository fragment deleting boats without loading them.
+ * Every deleted boat leaves a tombstone, written in the same transaction as the deletion, so that clients syncing
+ * incrementally cannot miss a deletion.
+ */
+public interface BoatDeletionRepository {
+
+    /**
+     * Deletes a boat without loading it, its tombstone being written only if this call deleted it.
+     * @param id The ID of the boat
+     * @return The number of boats deleted, 0 if there is no boat with this ID
+     */
+    int deleteBoatById(Long id);
+
+    /**
+     * Deletes the boats with the given IDs in three statements whatever their number, without loading them.
+     * @param ids The IDs of the boats
+     * @return The IDs of the boats deleted, without the IDs matching no boat
+     */
+    List<Long> deleteBoatsByIdIn(Collection<Long> ids);
+}
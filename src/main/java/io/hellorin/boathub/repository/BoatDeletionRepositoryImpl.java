@@ -0,0 +1,64 @@
+package io.hellorin.boathub.repository;
+
+import io.hellorin.boathub.domain.BoatTombstoneEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JPQL implementation of the deletion fragment.
+ * A deleted boat leaves a single tombstone, and IDs matching no boat leave none, even when another transaction
+ * deletes the same boats concurrently: the deletion of a boat is done first, the tombstone being written only when it
+ * removed the boat, while the bulk deletion first locks the boats still present, then tombstones and deletes, and
+ * returns, exactly these boats.
+ */
+public class BoatDeletionRepositoryImpl implements BoatDeletionRepository {
+
+    private static final String INSERT_TOMBSTONES = "insert into BoatTombstoneEntity (boatId, deletedDate) "
+            + "select b.id, :deletedDate from BoatEntity b where b.id ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int deleteBoatById(Long id) {
+        // A concurrent deletion of the boat waits for this one, then deletes no row
+        var deleted = entityManager.createQuery("delete from BoatEntity b where b.id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        if (deleted > 0) {
+            entityManager.persist(new BoatTombstoneEntity(id, LocalDateTime.now()));
+            entityManager.flush();
+        }
+        entityManager.clear();
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> deleteBoatsByIdIn(Collection<Long> ids) {
+        var deletedIds = entityManager.createQuery("select b.id from BoatEntity b where b.id in :ids", Long.class)
+                .setParameter("ids", ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        if (deletedIds.isEmpty()) {
+            return deletedIds;
+        }
+        var deletedDate = LocalDateTime.now();
+        entityManager.createQuery(INSERT_TOMBSTONES + "in :ids")
+                .setParameter("deletedDate", deletedDate)
+                .setParameter("ids", deletedIds)
+                .executeUpdate();
+        entityManager.createQuery("delete from BoatEntity b where b.id in :ids")
+                .setParameter("ids", deletedIds)
+                .executeUpdate();
+        entityManager.clear();
+        return deletedIds;
+    }
+}
@@ -0,0 +1,16 @@
+package io.hellorin.boathub.repository;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position of the last boat returned by a keyset (seek) listing.
+ * The next page starts right after the boat having this sort value and this ID,
+ * the ID being used as a tie-breaker for boats sharing the same sort value.
+ *
+ * @param sortBy The field the listing is sorted by (id, name, description or boatType)
+ * @param direction The direction of the sort
+ * @param value The sort value of the last boat, null if the field was null
+ * @param id The ID of the last boat
+ */
+public record BoatKeyset(String sortBy, Sort.Direction direction, String value, Long id) {
+}
@@ -0,0 +1,24 @@
+package io.hellorin.boathub.repository;
+
+import io.hellorin.boathub.dto.BoatDto;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Repository fragment for keyset (seek) pagination over boats.
+ * Each page is read with a range predicate on the sort key and the ID instead of an offset,
+ * so reading a deep page costs the same as reading the first one.
+ */
+public interface BoatKeysetRepository {
+
+    /**
+     * Finds the boats sorted by the given field, starting right after the given keyset.
+     * @param sortBy The field to sort by (id, name, description or boatType)
+     * @param direction The direction of the sort
+     * @param after The position of the last boat of the previous page, null for the first page
+     * @param limit The maximum number of boats to return
+     * @return List of boats following the keyset, projected into DTOs
+     */
+    List<BoatDto> findAfter(String sortBy, Sort.Direction direction, BoatKeyset after, int limit);
+}
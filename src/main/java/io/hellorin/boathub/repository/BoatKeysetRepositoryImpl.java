@@ -0,0 +1,103 @@
+package io.hellorin.boathub.repository;
+
+import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.dto.BoatDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JPQL implementation of the keyset pagination fragment.
+ * The ordering is always (sort field, id) in the requested direction, which matches the composite
+ * indexes declared in schema.sql. Null descriptions are sorted first in ascending order and last in
+ * descending order, so that the seek predicate stays consistent whatever the database default is.
+ * Boats are projected straight into DTOs, no entity is managed.
+ */
+public class BoatKeysetRepositoryImpl implements BoatKeysetRepository {
+
+    /**
+     * Only these fields can be used to build the query, the sortBy value is never trusted as is.
+     */
+    private static final Map<String, String> SORT_PATHS = Map.of(
+            "id", "b.id",
+            "name", "b.name",
+            "description", "b.description",
+            "boatType", "b.boatType"
+    );
+
+    private static final Set<String> NULLABLE_FIELDS = Set.of("description");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BoatDto> findAfter(String sortBy, Sort.Direction direction, BoatKeyset after, int limit) {
+        var path = SORT_PATHS.get(sortBy);
+        if (path == null) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortBy);
+        }
+
+        var ascending = direction.isAscending();
+        var nullable = NULLABLE_FIELDS.contains(sortBy);
+        var idField = "id".equals(sortBy);
+        var jpql = new StringBuilder(BoatRepository.BOAT_DTO_PROJECTION);
+
+        if (after != null) {
+            jpql.append(" where ").append(seekPredicate(path, ascending, nullable, idField, after.value() == null));
+        }
+
+        var order = ascending ? "asc" : "desc";
+        jpql.append(" order by ").append(path).append(' ').append(order);
+        if (nullable) {
+            jpql.append(ascending ? " nulls first" : " nulls last");
+        }
+        if (!idField) {
+            jpql.append(", b.id ").append(order);
+        }
+
+        var query = entityManager.createQuery(jpql.toString(), BoatDto.class)
+                .setMaxResults(limit);
+        if (after != null) {
+            query.setParameter("id", after.id());
+            if (!idField && after.value() != null) {
+                query.setParameter("value", toSortValue(sortBy, after.value()));
+            }
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Builds the predicate selecting the rows located after the keyset.
+     */
+    private static String seekPredicate(String path, boolean ascending, boolean nullable, boolean idField,
+                                        boolean lastValueIsNull) {
+        var comparison = ascending ? " > " : " < ";
+        if (idField) {
+            return "b.id" + comparison + ":id";
+        }
+        if (nullable && lastValueIsNull) {
+            // Nulls come first when ascending and last when descending
+            var afterNulls = ascending ? " or " + path + " is not null" : "";
+            return "((" + path + " is null and b.id" + comparison + ":id)" + afterNulls + ")";
+        }
+        var afterValue = "(" + path + comparison + ":value or (" + path + " = :value and b.id" + comparison + ":id)";
+        if (nullable && !ascending) {
+            afterValue += " or " + path + " is null";
+        }
+        return afterValue + ")";
+    }
+
+    /**
+     * Converts the raw keyset value to the type of the sorted attribute.
+     */
+    private static Object toSortValue(String sortBy, String value) {
+        if ("boatType".equals(sortBy)) {
+            return BoatType.valueOf(value);
+        }
+        return value;
+    }
+}
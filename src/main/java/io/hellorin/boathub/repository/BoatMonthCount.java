@@ -0,0 +1,11 @@
+package io.hellorin.boathub.repository;
+
+/**
+ * Number of boats created during a month, as counted by the database.
+ *
+ * @param year The year of the month
+ * @param month The month of the year, from 1 to 12
+ * @param count The number of boats created during this month
+ */
+public record BoatMonthCount(Integer year, Integer month, Long count) {
+}
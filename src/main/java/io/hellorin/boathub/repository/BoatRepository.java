@@ -1,18 +1,47 @@
 package io.hellorin.boathub.repository;
 
 import io.hellorin.boathub.domain.BoatEntity;
+import io.hellorin.boathub.dto.BoatDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import io.hellorin.boathub.domain.BoatType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for BoatEntity operations.
- * Extends JpaRepository to provide basic CRUD operations.
+ * Extends JpaRepository to provide basic CRUD operations, BoatKeysetRepository for keyset pagination and
+ * BoatDeletionRepository for deletions leaving tombstones.
  */
 @Repository
-public interface BoatRepository extends JpaRepository<BoatEntity, Long> {
+public interface BoatRepository extends JpaRepository<BoatEntity, Long>, BoatKeysetRepository, BoatDeletionRepository {
+
+    /**
+     * Constructor expression reading boats straight into DTOs, without managed entities nor mapping.
+     */
+    String BOAT_DTO_PROJECTION = "select new io.hellorin.boathub.dto.BoatDto(b.id, b.name, b.description, "
+            + "cast(b.boatType as String), b.createdDate, b.updatedDate, b.version) from BoatEntity b";
+
+    /**
+     * Number of rows fetched per round trip when streaming boats.
+     */
+    String STREAM_FETCH_SIZE = "500";
     
     /**
      * Finds all boats in the system with pagination.
@@ -20,4 +49,181 @@ public interface BoatRepository extends JpaRepository<BoatEntity, Long> {
      * @return Page of all boats
      */
     Page<BoatEntity> findAll(Pageable pageable);
+
+    /**
+     * Finds a slice of boats with pagination, projected into DTOs, without counting the total number of boats.
+     * One extra row is read to know whether a next slice exists.
+     * @param pageable The pagination information
+     * @return Slice of boats as DTOs
+     */
+    @Transactional(readOnly = true)
+    @Query(BOAT_DTO_PROJECTION)
+    Slice<BoatDto> findAllProjectedSliceBy(Pageable pageable);
+
+    /**
+     * Finds all boats in the system with pagination, projected into DTOs.
+     * @param pageable The pagination information
+     * @return Page of all boats as DTOs
+     */
+    @Transactional(readOnly = true)
+    @Query(value = BOAT_DTO_PROJECTION, countQuery = "select count(b) from BoatEntity b")
+    Page<BoatDto> findAllProjectedBy(Pageable pageable);
+
+    /**
+     * Finds the boats of the given types with pagination, projected into DTOs.
+     * @param boatTypes The types of the boats, must not be empty
+     * @param pageable The pagination information
+     * @return Page of the boats of these types as DTOs
+     */
+    @Transactional(readOnly = true)
+    @Query(value = BOAT_DTO_PROJECTION + " where b.boatType in :boatTypes",
+            countQuery = "select count(b) from BoatEntity b where b.boatType in :boatTypes")
+    Page<BoatDto> findAllProjectedByBoatTypeIn(@Param("boatTypes") Collection<BoatType> boatTypes, Pageable pageable);
+
+    /**
+     * Finds a boat by its ID, projected into a DTO.
+     * @param id The ID of the boat
+     * @return Optional containing the boat DTO if found, empty otherwise
+     */
+    @Transactional(readOnly = true)
+    @Query(BOAT_DTO_PROJECTION + " where b.id = :id")
+    Optional<BoatDto> findDtoById(@Param("id") Long id);
+
+    /**
+     * Finds all boats in the system, projected into DTOs.
+     * @return List of all boats as DTOs
+     */
+    @Transactional(readOnly = true)
+    @Query(BOAT_DTO_PROJECTION)
+    List<BoatDto> findAllProjected();
+
+    /**
+     * Finds the boats with the given IDs in a single query, projected into DTOs.
+     * The IDs are bound as an IN list, so callers should bound their number.
+     * @param ids The IDs of the boats
+     * @return List of the boats found as DTOs, in no particular order
+     */
+    @Transactional(readOnly = true)
+    @Query(BOAT_DTO_PROJECTION + " where b.id in :ids")
+    List<BoatDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Updates the name of a boat in a single statement, without loading it, and increments its version.
+     * @param id The ID of the boat
+     * @param name The new name
+     * @param updatedDate The new last update date
+     * @param expectedVersion The version the boat must have to be updated, null to update any version
+     * @return The number of boats updated, 0 if there is no boat with this ID or if its version differs
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update BoatEntity b set b.name = :name, b.updatedDate = :updatedDate, b.version = b.version + 1 "
+            + "where b.id = :id and (:expectedVersion is null or b.version = :expectedVersion)")
+    int updateName(@Param("id") Long id, @Param("name") String name, @Param("updatedDate") LocalDateTime updatedDate,
+                   @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * Updates the description of a boat in a single statement, without loading it, and increments its version.
+     * @param id The ID of the boat
+     * @param description The new description
+     * @param updatedDate The new last update date
+     * @param expectedVersion The version the boat must have to be updated, null to update any version
+     * @return The number of boats updated, 0 if there is no boat with this ID or if its version differs
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update BoatEntity b set b.description = :description, b.updatedDate = :updatedDate, b.version = b.version + 1 "
+            + "where b.id = :id and (:expectedVersion is null or b.version = :expectedVersion)")
+    int updateDescription(@Param("id") Long id, @Param("description") String description,
+                          @Param("updatedDate") LocalDateTime updatedDate,
+                          @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * Updates the type of a boat in a single statement, without loading it, and increments its version.
+     * @param id The ID of the boat
+     * @param boatType The new type
+     * @param updatedDate The new last update date
+     * @param expectedVersion The version the boat must have to be updated, null to update any version
+     * @return The number of boats updated, 0 if there is no boat with this ID or if its version differs
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update BoatEntity b set b.boatType = :boatType, b.updatedDate = :updatedDate, b.version = b.version + 1 "
+            + "where b.id = :id and (:expectedVersion is null or b.version = :expectedVersion)")
+    int updateBoatType(@Param("id") Long id, @Param("boatType") BoatType boatType,
+                       @Param("updatedDate") LocalDateTime updatedDate,
+                       @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * Finds which of the given names are already taken by a boat.
+     * @param names The names to look for
+     * @return The names already taken
+     */
+    @Transactional(readOnly = true)
+    @Query("select b.name from BoatEntity b where b.name in :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
+    /**
+     * Finds all boats in the system, projected into the fields the statistics count them by.
+     * @return List of all boats as statistics rows
+     */
+    @Transactional(readOnly = true)
+    @Query("select new io.hellorin.boathub.repository.BoatStatisticsRow(b.id, b.boatType, b.createdDate, b.version) "
+            + "from BoatEntity b")
+    List<BoatStatisticsRow> findAllStatisticsRows();
+
+    /**
+     * Counts the boats of every type. Types without any boat are not returned.
+     * @return The number of boats per type
+     */
+    @Transactional(readOnly = true)
+    @Query("select new io.hellorin.boathub.repository.BoatTypeCount(b.boatType, count(b)) "
+            + "from BoatEntity b group by b.boatType")
+    List<BoatTypeCount> countByBoatType();
+
+    /**
+     * Counts the boats created during every month. Months without any boat created are not returned.
+     * @return The number of boats per creation month
+     */
+    @Transactional(readOnly = true)
+    @Query("select new io.hellorin.boathub.repository.BoatMonthCount(year(b.createdDate), month(b.createdDate), count(b)) "
+            + "from BoatEntity b group by year(b.createdDate), month(b.createdDate)")
+    List<BoatMonthCount> countByCreationMonth();
+
+    /**
+     * Finds the boats following an (updated date, ID) keyset, in that order, projected into DTOs.
+     * Boats without updated date are not returned. The range on the updated date comes first, so that the index
+     * on (updated_date, id) is seeked to the keyset instead of being read from its start.
+     * @param updatedDate The updated date of the keyset
+     * @param id The ID of the keyset
+     * @param limit The maximum number of boats to return
+     * @return The boats updated after the keyset
+     */
+    @Transactional(readOnly = true)
+    @Query(BOAT_DTO_PROJECTION + " where b.updatedDate >= :updatedDate and (b.updatedDate > :updatedDate or b.id > :id) "
+            + "order by b.updatedDate, b.id")
+    List<BoatDto> findUpdatedAfter(@Param("updatedDate") LocalDateTime updatedDate, @Param("id") Long id, Limit limit);
+
+    /**
+     * Finds the boats whose ID is greater than the given one, ordered by ID, projected into DTOs.
+     * Reads the fleet page by page, each page being read from the primary key index at the last ID read.
+     * @param id The ID after which to read, 0 for the first page
+     * @param limit The maximum number of boats to return
+     * @return The boats after the ID
+     */
+    @Transactional(readOnly = true)
+    @Query(BOAT_DTO_PROJECTION + " where b.id > :id order by b.id")
+    List<BoatDto> findProjectedAfterId(@Param("id") Long id, Limit limit);
+
+    /**
+     * Streams all boats ordered by ID, projected into DTOs, reading them from a database cursor.
+     * The stream must be consumed and closed within a transaction.
+     * @return Stream of all boats as DTOs
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(BOAT_DTO_PROJECTION + " order by b.id")
+    Stream<BoatDto> streamAllProjected();
 }
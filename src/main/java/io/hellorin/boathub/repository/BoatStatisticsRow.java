@@ -0,0 +1,16 @@
+package io.hellorin.boathub.repository;
+
+import io.hellorin.boathub.domain.BoatType;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a boat the statistics count it by, read without its name and description.
+ *
+ * @param id The ID of the boat
+ * @param boatType The type of the boat
+ * @param createdDate The creation date of the boat
+ * @param version The version of the boat
+ */
+public record BoatStatisticsRow(Long id, BoatType boatType, LocalDateTime createdDate, Long version) {
+}
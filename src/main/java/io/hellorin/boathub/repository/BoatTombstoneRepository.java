@@ -0,0 +1,45 @@
+package io.hellorin.boathub.repository;
+
+import io.hellorin.boathub.domain.BoatTombstoneEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for the tombstones left by the deleted boats.
+ * Tombstones are written by BoatDeletionRepository along with the deletions.
+ */
+@Repository
+public interface BoatTombstoneRepository extends JpaRepository<BoatTombstoneEntity, Long> {
+
+    /**
+     * Finds the tombstones following a (deleted date, boat ID) keyset, in that order.
+     * The range on the deleted date comes first, so that the index is seeked to the keyset.
+     * @param deletedDate The deleted date of the keyset
+     * @param boatId The boat ID of the keyset
+     * @param limit The maximum number of tombstones to return
+     * @return The tombstones following the keyset
+     */
+    @Transactional(readOnly = true)
+    @Query("select t from BoatTombstoneEntity t where t.deletedDate >= :deletedDate "
+            + "and (t.deletedDate > :deletedDate or t.boatId > :boatId) order by t.deletedDate, t.boatId")
+    List<BoatTombstoneEntity> findDeletedAfter(@Param("deletedDate") LocalDateTime deletedDate,
+                                               @Param("boatId") Long boatId, Limit limit);
+
+    /**
+     * Deletes the tombstones of the boats deleted before the given date, in a single statement.
+     * @param deletedDate The date before which tombstones are deleted
+     * @return The number of tombstones deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from BoatTombstoneEntity t where t.deletedDate < :deletedDate")
+    int deleteDeletedBefore(@Param("deletedDate") LocalDateTime deletedDate);
+}
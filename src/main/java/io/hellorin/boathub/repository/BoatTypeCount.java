@@ -0,0 +1,12 @@
+package io.hellorin.boathub.repository;
+
+import io.hellorin.boathub.domain.BoatType;
+
+/**
+ * Number of boats of a type, as counted by the database.
+ *
+ * @param boatType The type of the boats
+ * @param count The number of boats of this type
+ */
+public record BoatTypeCount(BoatType boatType, Long count) {
+}
@@ -0,0 +1,274 @@
+package io.hellorin.boathub.search;
+
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.dto.BoatSuggestionDto;
+import io.hellorin.boathub.repository.BoatRepository;
+import io.hellorin.boathub.service.BoatChangeListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory prefix index of the boat names, suggesting names while the user types without querying the database.
+ * It is loaded once the application is ready, then kept up to date by the writes made through BoatService.
+ * Enabled by default, it can be disabled with the boathub.suggest.enabled property, the suggestions being then
+ * unavailable.
+ * A failed load leaves the suggestions unavailable until the next periodic attempt succeeds.
+ * Writes made to the boats table outside of BoatService are only seen after a reload.
+ * <p>
+ * Names are held in a concurrent skip list, sorted by their lower-cased and unaccented form, then by the name
+ * itself. A lookup seeks the first name at or after the folded prefix and walks the names starting with it, so
+ * it costs a logarithmic seek plus the suggestions returned. Lookups take no lock; writes are applied one at a
+ * time, and a renamed boat may briefly be suggested under both names or under none. Only the name and version of
+ * every boat are kept besides the suggestions.
+ */
+@Component
+@ConditionalOnProperty(name = "boathub.suggest.enabled", havingValue = "true", matchIfMissing = true)
+public class BoatNameSuggester implements BoatChangeListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoatNameSuggester.class);
+
+    /**
+     * Sorts below every other character, so that a name is sorted before the longer names it is a prefix of.
+     */
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final BoatRepository boatRepository;
+
+    /**
+     * Not a monitor: writers waiting for a load on a monitor would pin their virtual threads.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    /**
+     * Null until the index is loaded.
+     */
+    private volatile Names index;
+
+    /**
+     * Writes made while a load reads the boats, replayed on the loaded names before they replace the current ones.
+     * Null when no load is in progress.
+     */
+    private List<Consumer<Names>> writesDuringLoad;
+
+    public BoatNameSuggester(BoatRepository boatRepository, MeterRegistry meterRegistry) {
+        this.boatRepository = boatRepository;
+        Gauge.builder("boathub.suggest.index.size", this, suggester -> suggester.isLoaded() ? suggester.index.suggestions.size() : 0)
+                .description("Number of boat names held by the suggestion index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the index once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        loadIfNeeded();
+    }
+
+    /**
+     * Periodically retries to load the index, until a load succeeds.
+     */
+    @Scheduled(initialDelayString = "${boathub.search.load-retry-interval:PT1M}",
+            fixedDelayString = "${boathub.search.load-retry-interval:PT1M}")
+    public void loadIfNeeded() {
+        if (isLoaded()) {
+            return;
+        }
+        try {
+            load();
+        } catch (DataAccessException ex) {
+            LOGGER.error("Boat name suggestion index could not be loaded, the suggestions are unavailable", ex);
+        }
+    }
+
+    /**
+     * Loads all the boat names from the database, replacing the current index.
+     * The names are read without holding the lock, so that writes are served by the current index meanwhile.
+     * The writes made meanwhile are replayed on the loaded names before they replace the current ones, so none of
+     * them is lost.
+     */
+    public void load() {
+        loadLock.lock();
+        try {
+            writeLock.lock();
+            try {
+                writesDuringLoad = new ArrayList<>();
+            } finally {
+                writeLock.unlock();
+            }
+
+            List<BoatDto> boats;
+            try {
+                boats = boatRepository.findAllProjected();
+            } catch (RuntimeException ex) {
+                writeLock.lock();
+                try {
+                    writesDuringLoad = null;
+                } finally {
+                    writeLock.unlock();
+                }
+                throw ex;
+            }
+            var loadedNames = new Names();
+            boats.forEach(loadedNames::put);
+
+            writeLock.lock();
+            try {
+                writesDuringLoad.forEach(write -> write.accept(loadedNames));
+                writesDuringLoad = null;
+                index = loadedNames;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            loadLock.unlock();
+        }
+        LOGGER.info("Boat name suggestion index loaded with {} names", index.suggestions.size());
+    }
+
+    /**
+     * Tells whether the index has been loaded and serves suggestions.
+     * @return true if loaded
+     */
+    public boolean isLoaded() {
+        return index != null;
+    }
+
+    /**
+     * Suggests the boat names starting with a prefix, ignoring case and accents, in alphabetical order.
+     * @param prefix The beginning of the name
+     * @param limit The maximum number of suggestions
+     * @return The suggested boats, empty if the index is not loaded
+     */
+    public Optional<List<BoatSuggestionDto>> suggest(String prefix, int limit) {
+        var current = index;
+        if (current == null) {
+            return Optional.empty();
+        }
+        var foldedPrefix = BoatTokenizer.fold(prefix);
+        List<BoatSuggestionDto> result = new ArrayList<>(Math.min(limit, 16));
+        for (var entry : current.suggestions.tailMap(foldedPrefix).entrySet()) {
+            if (result.size() == limit || !entry.getKey().startsWith(foldedPrefix)) {
+                break;
+            }
+            result.add(entry.getValue());
+        }
+        return Optional.of(result);
+    }
+
+    @Override
+    public void onBoatCreated(BoatDto boat) {
+        write(names -> names.put(boat));
+    }
+
+    /**
+     * Replaces the name of the boat. The update is ignored when the boat is no longer indexed, as it was deleted
+     * meanwhile, or when the index holds a more recent version of it.
+     */
+    @Override
+    public void onBoatUpdated(BoatDto boat) {
+        write(names -> {
+            if (names.names.containsKey(boat.getId()) && !names.isOlder(boat)) {
+                names.put(boat);
+            }
+        });
+    }
+
+    @Override
+    public void onBoatDeleted(Long id) {
+        write(names -> names.remove(id));
+    }
+
+    /**
+     * Applies a write to the index once loaded, and records it for the loaded names while a load is in progress.
+     */
+    private void write(Consumer<Names> write) {
+        writeLock.lock();
+        try {
+            if (isLoaded()) {
+                write.accept(index);
+            }
+            if (writesDuringLoad != null) {
+                writesDuringLoad.add(write);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Builds the sort key of a name. Names are unique, so appending the name keeps apart the names that only
+     * differ by case or accents.
+     */
+    private static String key(String name) {
+        return BoatTokenizer.fold(name) + KEY_SEPARATOR + name;
+    }
+
+    /**
+     * The names of the boats, by ID and by sort key. Only the sort keys are read without the lock.
+     */
+    private static final class Names {
+
+        private final Map<Long, String> names = new HashMap<>();
+
+        /**
+         * Versions of the boats, to ignore the updates older than the names held.
+         */
+        private final Map<Long, Long> versions = new HashMap<>();
+
+        private final ConcurrentNavigableMap<String, BoatSuggestionDto> suggestions = new ConcurrentSkipListMap<>();
+
+        void put(BoatDto boat) {
+            var previousName = names.put(boat.getId(), boat.getName());
+            versions.put(boat.getId(), boat.getVersion());
+            suggestions.put(key(boat.getName()), new BoatSuggestionDto(boat.getId(), boat.getName()));
+            if (previousName != null && !previousName.equals(boat.getName())) {
+                removeSuggestion(boat.getId(), previousName);
+            }
+        }
+
+        void remove(Long id) {
+            versions.remove(id);
+            var previousName = names.remove(id);
+            if (previousName != null) {
+                removeSuggestion(id, previousName);
+            }
+        }
+
+        boolean isOlder(BoatDto boat) {
+            var current = versions.get(boat.getId());
+            return boat.getVersion() != null && current != null && boat.getVersion() < current;
+        }
+
+        /**
+         * Removes the suggestion of a name unless the name has already been given to another boat.
+         */
+        private void removeSuggestion(Long id, String name) {
+            var nameKey = key(name);
+            var suggestion = suggestions.get(nameKey);
+            if (suggestion != null && suggestion.getId().equals(id)) {
+                suggestions.remove(nameKey);
+            }
+        }
+    }
+}
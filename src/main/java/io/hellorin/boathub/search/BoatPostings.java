@@ -0,0 +1,73 @@
+package io.hellorin.boathub.search;
+
+import java.util.Arrays;
+
+/**
+ * Postings list of a term: the documents containing it, in ascending order, with the weight of the term in each.
+ * Documents and weights are held in primitive arrays, so that the index of millions of boats stays compact and
+ * a document is looked up with a binary search.
+ */
+final class BoatPostings {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] documents = new int[INITIAL_CAPACITY];
+
+    private int[] weights = new int[INITIAL_CAPACITY];
+
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int documentAt(int position) {
+        return documents[position];
+    }
+
+    int weightAt(int position) {
+        return weights[position];
+    }
+
+    /**
+     * Returns the weight of the term in a document.
+     * @return The weight, 0 if the document does not contain the term
+     */
+    int weightOf(int document) {
+        var position = Arrays.binarySearch(documents, 0, size, document);
+        return position >= 0 ? weights[position] : 0;
+    }
+
+    /**
+     * Adds a document or replaces its weight. Appending a document greater than all the others, as a load does,
+     * does not move any of them.
+     */
+    void put(int document, int weight) {
+        var position = size > 0 && documents[size - 1] < document ? -(size + 1)
+                : Arrays.binarySearch(documents, 0, size, document);
+        if (position >= 0) {
+            weights[position] = weight;
+            return;
+        }
+        position = -(position + 1);
+        if (size == documents.length) {
+            documents = Arrays.copyOf(documents, size * 2);
+            weights = Arrays.copyOf(weights, size * 2);
+        }
+        System.arraycopy(documents, position, documents, position + 1, size - position);
+        System.arraycopy(weights, position, weights, position + 1, size - position);
+        documents[position] = document;
+        weights[position] = weight;
+        size++;
+    }
+
+    void remove(int document) {
+        var position = Arrays.binarySearch(documents, 0, size, document);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(documents, position + 1, documents, position, size - position - 1);
+        System.arraycopy(weights, position + 1, weights, position, size - position - 1);
+        size--;
+    }
+}
@@ -0,0 +1,400 @@
+package io.hellorin.boathub.search;
+
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.repository.BoatRepository;
+import io.hellorin.boathub.service.BoatChangeListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index of the boat names and descriptions, serving the full-text search without the database.
+ * It is loaded once the application is ready, then kept up to date by the writes made through BoatService.
+ * Enabled by default, it can be disabled with the boathub.search.enabled property, the search being then unavailable.
+ * A failed load leaves the search unavailable until the next periodic attempt succeeds.
+ * Writes made to the boats table outside of BoatService are only seen after a reload.
+ * <p>
+ * Every boat is given a document number, and every term maps to the documents containing it, with a weight
+ * counting its occurrences, name occurrences weighing {@value #NAME_WEIGHT} times more than description ones.
+ * A boat keeps its document number when it is updated, and the numbers of deleted boats are given to the next boats
+ * added, so that there are never more document numbers than the most boats indexed at once. A search matches the
+ * boats containing all the terms of the query, walking the postings of its rarest term, and ranks them by the sum
+ * of the term weights times their inverse document frequency, ties being ordered by ID. Only the best boats up to
+ * the end of the requested page are kept.
+ */
+@Component
+@ConditionalOnProperty(name = "boathub.search.enabled", havingValue = "true", matchIfMissing = true)
+public class BoatSearchIndex implements BoatChangeListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoatSearchIndex.class);
+
+    static final int NAME_WEIGHT = 3;
+
+    private static final Comparator<ScoredBoat> RANKING = Comparator.comparingDouble(ScoredBoat::score).reversed()
+            .thenComparing(scoredBoat -> scoredBoat.boat().getId());
+
+    private final BoatRepository boatRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Lock loadLock = new ReentrantLock();
+
+    private Documents index = new Documents();
+
+    /**
+     * Writes made while a load reads the boats, replayed on the loaded index before it replaces the current one.
+     * Null when no load is in progress.
+     */
+    private List<Consumer<Documents>> writesDuringLoad;
+
+    private volatile boolean loaded;
+
+    public BoatSearchIndex(BoatRepository boatRepository, MeterRegistry meterRegistry) {
+        this.boatRepository = boatRepository;
+        Gauge.builder("boathub.search.index.size", this, BoatSearchIndex::size)
+                .description("Number of boats held by the search index")
+                .register(meterRegistry);
+        Gauge.builder("boathub.search.index.terms", this, BoatSearchIndex::termCount)
+                .description("Number of distinct terms held by the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the index once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        loadIfNeeded();
+    }
+
+    /**
+     * Periodically retries to load the index, until a load succeeds.
+     */
+    @Scheduled(initialDelayString = "${boathub.search.load-retry-interval:PT1M}",
+            fixedDelayString = "${boathub.search.load-retry-interval:PT1M}")
+    public void loadIfNeeded() {
+        if (loaded) {
+            return;
+        }
+        try {
+            load();
+        } catch (DataAccessException ex) {
+            LOGGER.error("Boat search index could not be loaded, the search is unavailable", ex);
+        }
+    }
+
+    /**
+     * Indexes all the boats from the database, replacing the current index.
+     * The boats are read and indexed without holding the lock, so that searches and writes are served by the current
+     * index meanwhile. The writes made meanwhile are replayed on the loaded index before it replaces the current one,
+     * so none of them is lost.
+     */
+    public void load() {
+        loadLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                writesDuringLoad = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            List<BoatDto> boats;
+            try {
+                boats = boatRepository.findAllProjected();
+            } catch (RuntimeException ex) {
+                lock.writeLock().lock();
+                try {
+                    writesDuringLoad = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw ex;
+            }
+            var loadedIndex = new Documents();
+            boats.forEach(loadedIndex::add);
+
+            lock.writeLock().lock();
+            try {
+                writesDuringLoad.forEach(write -> write.accept(loadedIndex));
+                writesDuringLoad = null;
+                index = loadedIndex;
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            loadLock.unlock();
+        }
+        LOGGER.info("Boat search index loaded with {} boats and {} terms", size(), termCount());
+    }
+
+    /**
+     * Tells whether the index has been loaded and serves searches.
+     * @return true if loaded
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Searches the boats whose name or description contain all the terms of the query, best matches first.
+     * @param query The text to search
+     * @param pageable The pagination information, its sort is ignored as results are ranked
+     * @return Page of matching boats, empty page if the query has no term, empty if the index is not loaded
+     */
+    public Optional<Page<BoatDto>> search(String query, Pageable pageable) {
+        if (!loaded) {
+            return Optional.empty();
+        }
+        var terms = List.copyOf(new LinkedHashSet<>(BoatTokenizer.tokenize(query)));
+
+        lock.readLock().lock();
+        try {
+            List<BoatPostings> termPostings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                var termDocuments = index.postings.get(term);
+                if (termDocuments == null) {
+                    return Optional.of(Page.empty(pageable));
+                }
+                termPostings.add(termDocuments);
+            }
+            if (termPostings.isEmpty()) {
+                return Optional.of(Page.empty(pageable));
+            }
+            return Optional.of(rank(termPostings, pageable));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the documents present in all the postings, keeping only the best ones up to the end of the page.
+     */
+    private Page<BoatDto> rank(List<BoatPostings> termPostings, Pageable pageable) {
+        termPostings.sort(Comparator.comparingInt(BoatPostings::size));
+        var rarest = termPostings.get(0);
+        var idfs = new double[termPostings.size()];
+        for (int i = 0; i < idfs.length; i++) {
+            idfs[i] = Math.log(1.0 + (double) index.size() / termPostings.get(i).size());
+        }
+
+        var limit = pageable.isPaged() ? pageable.getOffset() + pageable.getPageSize() : Long.MAX_VALUE;
+        // Worst of the kept boats on top, so that it is the one dropped when a better boat comes
+        var best = new PriorityQueue<>(RANKING.reversed());
+        long total = 0;
+        candidates:
+        for (int position = 0; position < rarest.size(); position++) {
+            var document = rarest.documentAt(position);
+            var score = rarest.weightAt(position) * idfs[0];
+            for (int i = 1; i < idfs.length; i++) {
+                var weight = termPostings.get(i).weightOf(document);
+                if (weight == 0) {
+                    continue candidates;
+                }
+                score += weight * idfs[i];
+            }
+            total++;
+            if (best.size() < limit || score >= best.peek().score()) {
+                best.add(new ScoredBoat(index.documents[document], score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<ScoredBoat> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        var from = (int) Math.min(pageable.isPaged() ? pageable.getOffset() : 0, ranked.size());
+        var content = ranked.subList(from, ranked.size()).stream().map(ScoredBoat::boat).toList();
+        return pageable.isPaged() ? new PageImpl<>(content, pageable, total) : new PageImpl<>(content);
+    }
+
+    @Override
+    public void onBoatCreated(BoatDto boat) {
+        write(documents -> documents.put(boat));
+    }
+
+    /**
+     * Reindexes the boat. The update is ignored when the boat is no longer indexed, as it was deleted meanwhile,
+     * or when the index holds a more recent version of it.
+     */
+    @Override
+    public void onBoatUpdated(BoatDto boat) {
+        write(documents -> {
+            var current = documents.find(boat.getId());
+            if (current != null && !isOlder(boat, current)) {
+                documents.put(boat);
+            }
+        });
+    }
+
+    @Override
+    public void onBoatDeleted(Long id) {
+        write(documents -> documents.remove(id));
+    }
+
+    /**
+     * Applies a write to the index once loaded, and records it for the loaded index while a load is in progress.
+     */
+    private void write(Consumer<Documents> write) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                write.accept(index);
+            }
+            if (writesDuringLoad != null) {
+                writesDuringLoad.add(write);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Map<String, Integer> termWeights(BoatDto boat) {
+        Map<String, Integer> weights = new HashMap<>();
+        BoatTokenizer.tokenize(boat.getName()).forEach(term -> weights.merge(term, NAME_WEIGHT, Integer::sum));
+        BoatTokenizer.tokenize(boat.getDescription()).forEach(term -> weights.merge(term, 1, Integer::sum));
+        return weights;
+    }
+
+    private static boolean isOlder(BoatDto boat, BoatDto current) {
+        return boat.getVersion() != null && current.getVersion() != null && boat.getVersion() < current.getVersion();
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return index.postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed boats by document number, with the postings of their terms.
+     */
+    private static final class Documents {
+
+        private final Map<String, BoatPostings> postings = new HashMap<>();
+
+        private final Map<Long, Integer> documentsByBoatId = new HashMap<>();
+
+        private BoatDto[] documents = new BoatDto[0];
+
+        private int nextDocument;
+
+        /**
+         * Document numbers of the deleted boats, given to the next boats added.
+         */
+        private int[] freeDocuments = new int[0];
+
+        private int freeDocumentCount;
+
+        int size() {
+            return documentsByBoatId.size();
+        }
+
+        BoatDto find(Long id) {
+            var document = documentsByBoatId.get(id);
+            return document != null ? documents[document] : null;
+        }
+
+        /**
+         * Indexes a boat that is not indexed yet, under a free document number.
+         */
+        void add(BoatDto boat) {
+            int document;
+            if (freeDocumentCount > 0) {
+                document = freeDocuments[--freeDocumentCount];
+            } else {
+                document = nextDocument++;
+                if (document == documents.length) {
+                    documents = Arrays.copyOf(documents, Math.max(16, documents.length * 2));
+                }
+            }
+            documentsByBoatId.put(boat.getId(), document);
+            index(document, boat);
+        }
+
+        /**
+         * Indexes a boat, reindexing it under its document number if it is already indexed.
+         */
+        void put(BoatDto boat) {
+            var document = documentsByBoatId.get(boat.getId());
+            if (document == null) {
+                add(boat);
+                return;
+            }
+            unindex(document);
+            index(document, boat);
+        }
+
+        void remove(Long id) {
+            var document = documentsByBoatId.remove(id);
+            if (document == null) {
+                return;
+            }
+            unindex(document);
+            if (freeDocumentCount == freeDocuments.length) {
+                freeDocuments = Arrays.copyOf(freeDocuments, Math.max(16, freeDocuments.length * 2));
+            }
+            freeDocuments[freeDocumentCount++] = document;
+        }
+
+        private void index(int document, BoatDto boat) {
+            documents[document] = boat;
+            termWeights(boat).forEach((term, weight) ->
+                    postings.computeIfAbsent(term, key -> new BoatPostings()).put(document, weight));
+        }
+
+        private void unindex(int document) {
+            var previous = documents[document];
+            documents[document] = null;
+            for (String term : termWeights(previous).keySet()) {
+                var termDocuments = postings.get(term);
+                termDocuments.remove(document);
+                if (termDocuments.size() == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private record ScoredBoat(BoatDto boat, double score) {
+    }
+}
@@ -0,0 +1,64 @@
+package io.hellorin.boathub.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits boat texts and search queries into the terms of the search index.
+ * Terms are the runs of letters and digits, lower-cased and stripped of their accents, so that
+ * "Île de Ré" and "ile de re" are searched the same way.
+ */
+final class BoatTokenizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private BoatTokenizer() {
+    }
+
+    /**
+     * Splits a text into terms, in order of appearance and with duplicates.
+     * @param text The text, may be null
+     * @return The terms of the text, empty if it has none
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(fold(text))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Lower-cases a text and strips it of its accents, keeping its separators.
+     * @param text The text
+     * @return The folded text
+     */
+    static String fold(String text) {
+        if (isAscii(text)) {
+            // Nothing to decompose, most boat names are spared the normalization
+            return text.toLowerCase(Locale.ROOT);
+        }
+        return COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
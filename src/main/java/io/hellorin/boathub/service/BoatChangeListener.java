@@ -0,0 +1,52 @@
+package io.hellorin.boathub.service;
+
+import io.hellorin.boathub.dto.BoatDto;
+
+import java.util.List;
+
+/**
+ * Listener notified by BoatService of every write made on the boats, once the write is done on the database.
+ * Used to keep in-memory views of the boats up to date. Listeners are called synchronously on the writing thread,
+ * so they must be quick and must tolerate concurrent and duplicated notifications.
+ */
+public interface BoatChangeListener {
+
+    /**
+     * Called after a boat has been created.
+     * @param boat The created boat
+     */
+    default void onBoatCreated(BoatDto boat) {
+    }
+
+    /**
+     * Called after several boats have been created at once, instead of calling onBoatCreated for each of them.
+     * Listeners whose views cost a copy on every write apply the whole batch at once.
+     * @param boats The created boats
+     */
+    default void onBoatsCreated(List<BoatDto> boats) {
+        boats.forEach(this::onBoatCreated);
+    }
+
+    /**
+     * Called after a boat has been updated.
+     * @param boat The boat as updated
+     */
+    default void onBoatUpdated(BoatDto boat) {
+    }
+
+    /**
+     * Called after a boat has been deleted.
+     * @param id The ID of the deleted boat
+     */
+    default void onBoatDeleted(Long id) {
+    }
+
+    /**
+     * Called after several boats have been deleted at once, instead of calling onBoatDeleted for each of them.
+     * Only the IDs of the boats actually deleted are given, not the requested IDs matching no boat.
+     * @param ids The IDs of the deleted boats
+     */
+    default void onBoatsDeleted(List<Long> ids) {
+        ids.forEach(this::onBoatDeleted);
+    }
+}
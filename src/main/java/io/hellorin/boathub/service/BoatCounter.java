@@ -0,0 +1,112 @@
+package io.hellorin.boathub.service;
+
+import io.hellorin.boathub.repository.BoatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Maintained total number of boats, so that listings can report it without a count query.
+ * It is loaded from the database on first read, then kept up to date by BoatService on every creation
+ * and deletion. Writes made to the boats table outside of BoatService, and writes counted while the total was being
+ * reloaded, are only seen after a reconciliation, which runs every {@code boathub.counter.reconciliation-interval}.
+ */
+@Component
+public class BoatCounter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoatCounter.class);
+
+    private final BoatRepository boatRepository;
+
+    private final AtomicLong total = new AtomicLong();
+
+    /**
+     * Held during the count query, which would pin a virtual thread inside a synchronized method.
+     */
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    private volatile boolean loaded;
+
+    public BoatCounter(BoatRepository boatRepository) {
+        this.boatRepository = boatRepository;
+    }
+
+    /**
+     * Reloads the total from the database.
+     */
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            var counted = boatRepository.count();
+            var maintained = total.getAndSet(counted);
+            if (loaded && maintained != counted) {
+                LOGGER.warn("Boat total was {} instead of {}, reloaded from the database", maintained, counted);
+            }
+            loaded = true;
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    /**
+     * Periodically reloads the total from the database, once it has been loaded.
+     */
+    @Scheduled(initialDelayString = "${boathub.counter.reconciliation-interval:PT10M}",
+            fixedDelayString = "${boathub.counter.reconciliation-interval:PT10M}")
+    public void reconcilePeriodically() {
+        if (!loaded) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (DataAccessException ex) {
+            LOGGER.error("Boat total could not be reconciled with the database", ex);
+        }
+    }
+
+    /**
+     * Gets the current total number of boats, loading it from the database on first call.
+     * @return The total number of boats
+     */
+    public long get() {
+        if (!loaded) {
+            reconcile();
+        }
+        return total.get();
+    }
+
+    /**
+     * Records the creation of a boat.
+     */
+    public void increment() {
+        total.incrementAndGet();
+    }
+
+    /**
+     * Records the creation of several boats.
+     * @param count The number of boats created
+     */
+    public void add(long count) {
+        total.addAndGet(count);
+    }
+
+    /**
+     * Records the deletion of a boat.
+     */
+    public void decrement() {
+        total.decrementAndGet();
+    }
+
+    /**
+     * Records the deletion of several boats.
+     * @param count The number of boats deleted
+     */
+    public void subtract(long count) {
+        total.addAndGet(-count);
+    }
+}
@@ -0,0 +1,59 @@
+package io.hellorin.boathub.service;
+
+import io.hellorin.boathub.repository.BoatKeyset;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors used by the keyset listing.
+ * A cursor carries the sort field, the direction, the ID and the sort value of the last boat of a page.
+ * Clients must not build or interpret them, they only send back what they received.
+ */
+public final class BoatCursorCodec {
+
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * Prefix distinguishing a present value (even empty) from a null one.
+     */
+    private static final String VALUE_PREFIX = "v";
+
+    private BoatCursorCodec() {
+    }
+
+    /**
+     * Encodes a keyset into an opaque cursor.
+     * @param keyset The keyset to encode
+     * @return The URL-safe cursor
+     */
+    public static String encode(BoatKeyset keyset) {
+        var raw = keyset.sortBy() + SEPARATOR
+                + keyset.direction().name() + SEPARATOR
+                + keyset.id() + SEPARATOR
+                + (keyset.value() == null ? "" : VALUE_PREFIX + keyset.value());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes an opaque cursor into a keyset.
+     * @param cursor The cursor to decode
+     * @return The decoded keyset
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static BoatKeyset decode(String cursor) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var parts = raw.split(SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            var value = parts[3].startsWith(VALUE_PREFIX) ? parts[3].substring(VALUE_PREFIX.length()) : null;
+            return new BoatKeyset(parts[0], Sort.Direction.valueOf(parts[1]), value, Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // Also covers invalid Base64, direction and ID
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.hellorin.boathub.service;
+
+/**
+ * Formats in which the whole fleet can be exported.
+ */
+public enum BoatExportFormat {
+
+    /**
+     * One JSON boat per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values with a header line.
+     */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+
+    private final String fileExtension;
+
+    BoatExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Parses a format name, case insensitively.
+     * @param format The format name (ndjson or csv)
+     * @return The export format
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static BoatExportFormat fromValue(String format) {
+        for (BoatExportFormat exportFormat : values()) {
+            if (exportFormat.fileExtension.equalsIgnoreCase(format)) {
+                return exportFormat;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + format);
+    }
+}
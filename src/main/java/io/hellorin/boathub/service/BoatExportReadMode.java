@@ -0,0 +1,20 @@
+package io.hellorin.boathub.service;
+
+/**
+ * Ways the boats of an export are read from the database.
+ */
+public enum BoatExportReadMode {
+
+    /**
+     * A single database cursor, in one read-only transaction: the export is a consistent snapshot of the fleet,
+     * but holds a connection until the client has received the last boat.
+     */
+    CURSOR,
+
+    /**
+     * Pages read after the ID of the last boat written, each in its own short transaction, only once the previous
+     * page was written: a slow client holds no connection while it reads, but boats written during the export
+     * may or may not be part of it.
+     */
+    PAGES
+}
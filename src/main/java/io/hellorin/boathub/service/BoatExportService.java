@@ -0,0 +1,206 @@
+package io.hellorin.boathub.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.repository.BoatRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Service exporting the whole fleet as a stream.
+ * Boats are read as DTOs, so no entity accumulates in the persistence context, and written out as they are read:
+ * the memory used does not depend on the number of boats. They are read from a database cursor or page by page,
+ * depending on {@code boathub.export.read-mode} (see BoatExportReadMode). Either way, the boats are only read as
+ * fast as the client receives them, writes blocking while the client is behind.
+ */
+@Service
+@Timed("boathub.service")
+public class BoatExportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoatExportService.class);
+
+    /**
+     * The output is flushed every time this number of boats is written, so that the client receives
+     * the first boats without waiting for the buffers to fill.
+     */
+    static final int FLUSH_INTERVAL = Integer.parseInt(BoatRepository.STREAM_FETCH_SIZE);
+
+    private static final String CSV_HEADER = "id,name,description,boatType,createdDate,updatedDate";
+
+    private final BoatRepository boatRepository;
+
+    private final ObjectWriter boatWriter;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final BoatExportReadMode readMode;
+
+    private final int pageSize;
+
+    public BoatExportService(BoatRepository boatRepository, ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${boathub.export.read-mode:cursor}") BoatExportReadMode readMode,
+                             @Value("${boathub.export.page-size:" + BoatRepository.STREAM_FETCH_SIZE + "}") int pageSize) {
+        this.boatRepository = boatRepository;
+        this.boatWriter = objectMapper.writerFor(BoatDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readMode = readMode;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Writes all the boats, ordered by ID, to the given output stream.
+     * In cursor mode, the database cursor stays open, in a read-only transaction, until the last boat is written.
+     * In pages mode, no transaction is held while writing.
+     * The output stream is flushed but not closed.
+     * @param format The export format
+     * @param outputStream The stream to write to
+     * @return The number of boats exported
+     * @throws IOException if the output stream cannot be written
+     */
+    public long exportBoats(BoatExportFormat format, OutputStream outputStream) throws IOException {
+        long exported;
+        if (readMode == BoatExportReadMode.PAGES) {
+            exported = write(format, new PageIterator(), outputStream);
+        } else {
+            try {
+                exported = readOnlyTransaction.execute(status -> {
+                    try (var boats = boatRepository.streamAllProjected()) {
+                        return write(format, boats.iterator(), outputStream);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        }
+        LOGGER.debug("Exported {} boats as {}", exported, format);
+        return exported;
+    }
+
+    private long write(BoatExportFormat format, Iterator<BoatDto> boats, OutputStream outputStream) throws IOException {
+        return switch (format) {
+            case NDJSON -> writeNdjson(boats, outputStream);
+            case CSV -> writeCsv(boats, outputStream);
+        };
+    }
+
+    private long writeNdjson(Iterator<BoatDto> boats, OutputStream outputStream) throws IOException {
+        long count = 0;
+        try (var generator = boatWriter.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (boats.hasNext()) {
+                boatWriter.writeValue(generator, boats.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        outputStream.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<BoatDto> boats, OutputStream outputStream) throws IOException {
+        long count = 0;
+        // Not closed, it would close the output stream
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (boats.hasNext()) {
+            var boat = boats.next();
+            writer.write(String.valueOf(boat.getId()));
+            writer.write(',');
+            writer.write(csvField(boat.getName()));
+            writer.write(',');
+            writer.write(csvField(boat.getDescription()));
+            writer.write(',');
+            writer.write(csvField(boat.getBoatType()));
+            writer.write(',');
+            writer.write(csvField(boat.getCreatedDate()));
+            writer.write(',');
+            writer.write(csvField(boat.getUpdatedDate()));
+            writer.write('\n');
+            if (++count % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static String csvField(LocalDateTime value) {
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * Formats a CSV field, quoting it when it contains a separator, a quote or a line break.
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Reads the boats page by page, the next page being read once the previous one was iterated.
+     */
+    private final class PageIterator implements Iterator<BoatDto> {
+
+        private List<BoatDto> page = List.of();
+
+        private int next;
+
+        private long lastId;
+
+        private boolean lastPage;
+
+        @Override
+        public boolean hasNext() {
+            if (next == page.size() && !lastPage) {
+                page = boatRepository.findProjectedAfterId(lastId, Limit.of(pageSize));
+                next = 0;
+                lastPage = page.size() < pageSize;
+            }
+            return next < page.size();
+        }
+
+        @Override
+        public BoatDto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var boat = page.get(next++);
+            lastId = boat.getId();
+            return boat;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.hellorin.boathub.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the whole fleet, bumped by BoatService on every write.
+ * It lets listings be revalidated without reading the database: as long as the version did not move,
+ * any page computed before is still valid. The version is prefixed by an epoch drawn at startup,
+ * so that versions issued before a restart or by another instance never match.
+ * <p>
+ * The version only counts the writes made through this instance, so it is only valid for a single instance.
+ * Behind a load balancer, a page revalidated by the instance that issued it is answered 304 with stale boats,
+ * up to the next write made through that instance, when the boats were written through another instance or
+ * directly in the database. Several instances must route the listings of a client to the same instance, or
+ * the listings must not be cached by their clients.
+ */
+@Component
+public class BoatFleetVersion {
+
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Gets the current version of the fleet.
+     * @return The version, unique across restarts
+     */
+    public String current() {
+        return epoch + "-" + version.get();
+    }
+
+    /**
+     * Records that the fleet changed.
+     */
+    public void increment() {
+        version.incrementAndGet();
+    }
+}
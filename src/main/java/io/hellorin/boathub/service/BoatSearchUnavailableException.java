@@ -0,0 +1,11 @@
+package io.hellorin.boathub.service;
+
+/**
+ * Thrown when a search is requested while the search index is disabled or before it has been loaded.
+ */
+public class BoatSearchUnavailableException extends RuntimeException {
+
+    public BoatSearchUnavailableException() {
+        super("The boat search index is disabled or not loaded yet");
+    }
+}
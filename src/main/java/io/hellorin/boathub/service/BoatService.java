@@ -1,55 +1,279 @@
 package io.hellorin.boathub.service;
 
+import io.hellorin.boathub.cache.BoatCache;
+import io.hellorin.boathub.catalog.BoatCatalog;
+import io.hellorin.boathub.search.BoatNameSuggester;
+import io.hellorin.boathub.search.BoatSearchIndex;
+import io.hellorin.boathub.stats.BoatStatistics;
+import io.hellorin.boathub.repository.BoatKeyset;
 import io.hellorin.boathub.repository.BoatRepository;
 import io.hellorin.boathub.mapper.BoatMapper;
 import io.hellorin.boathub.domain.BoatEntity;
 import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.dto.BoatBatchDto;
+import io.hellorin.boathub.dto.BoatBulkCreationResultDto;
+import io.hellorin.boathub.dto.BoatBulkDeletionResultDto;
+import io.hellorin.boathub.dto.BoatBulkItemResultDto;
 import io.hellorin.boathub.dto.BoatCreationDto;
+import io.hellorin.boathub.dto.BoatCursorPageDto;
 import io.hellorin.boathub.dto.BoatDto;
 import io.hellorin.boathub.dto.BoatUpdateDto;
 import io.hellorin.boathub.dto.BoatNameUpdateDto;
+import io.hellorin.boathub.dto.BoatSliceDto;
+import io.hellorin.boathub.dto.BoatStatisticsDto;
+import io.hellorin.boathub.dto.BoatSuggestionDto;
 import io.hellorin.boathub.dto.BoatDescriptionUpdateDto;
 import io.hellorin.boathub.dto.BoatTypeUpdateDto;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Service class for boat-related business operations.
  * Handles the conversion between entities and DTOs and coordinates with the repository.
  */
 @Service
+@Timed("boathub.service")
 public class BoatService {
 
+    /**
+     * Maximum number of values bound in a single IN list, kept below the limits of the common database drivers.
+     */
+    static final int IN_LIST_CHUNK_SIZE = 500;
+
+    /**
+     * Maximum number of boats that can be created at once.
+     */
+    public static final int MAX_BULK_CREATION_SIZE = 10_000;
+
     private final BoatMapper boatMapper;
 
     private final BoatRepository boatRepository;
 
-    public BoatService(BoatMapper boatMapper, BoatRepository boatRepository) {
+    private final BoatCache boatCache;
+
+    private final BoatCounter boatCounter;
+
+    private final BoatFleetVersion boatFleetVersion;
+
+    private final BoatCatalog boatCatalog;
+
+    /**
+     * Empty when the search is disabled.
+     */
+    private final Optional<BoatSearchIndex> boatSearchIndex;
+
+    /**
+     * Empty when the suggestions are disabled.
+     */
+    private final Optional<BoatNameSuggester> boatNameSuggester;
+
+    private final BoatStatistics boatStatistics;
+
+    private final List<BoatChangeListener> changeListeners;
+
+    private final Validator validator;
+
+    private final BoatUpdateRetryPolicy updateRetryPolicy;
+
+    public BoatService(BoatMapper boatMapper, BoatRepository boatRepository, BoatCache boatCache,
+                       BoatCounter boatCounter, BoatFleetVersion boatFleetVersion, BoatCatalog boatCatalog,
+                       Optional<BoatSearchIndex> boatSearchIndex, Optional<BoatNameSuggester> boatNameSuggester,
+                       BoatStatistics boatStatistics, List<BoatChangeListener> changeListeners, Validator validator,
+                       BoatUpdateRetryPolicy updateRetryPolicy) {
         this.boatMapper = boatMapper;
         this.boatRepository = boatRepository;
+        this.boatCache = boatCache;
+        this.boatCounter = boatCounter;
+        this.boatFleetVersion = boatFleetVersion;
+        this.boatCatalog = boatCatalog;
+        this.boatSearchIndex = boatSearchIndex;
+        this.boatNameSuggester = boatNameSuggester;
+        this.boatStatistics = boatStatistics;
+        this.changeListeners = changeListeners;
+        this.validator = validator;
+        this.updateRetryPolicy = updateRetryPolicy;
+    }
+
+    /**
+     * Gets the current version of the fleet, which changes on every write made through this service.
+     * @return The fleet version
+     */
+    public String getFleetVersion() {
+        return boatFleetVersion.current();
     }
 
     /**
      * Retrieves all boats from the system with pagination.
+     * The page is served from the boat catalog when it is enabled and loaded. Otherwise boats are projected
+     * straight into DTOs in a read-only transaction, no entity is managed.
      * @param pageable The pagination information
      * @return Page of all boats as DTOs
      */
     public Page<BoatDto> getAllBoatsInPage(Pageable pageable) {
-        return boatRepository.findAll(pageable)
-                .map(boatMapper::toDto);
+        return getAllBoatsInPage(pageable, Set.of());
+    }
+
+    /**
+     * Retrieves the boats of some types with pagination.
+     * The page is served from the boat type bitmaps of the boat catalog when it is enabled and loaded.
+     * Otherwise boats are projected straight into DTOs, filtered by the index on the boat type.
+     * @param pageable The pagination information
+     * @param boatTypes The types of the boats, all the boats when empty
+     * @return Page of the boats of these types as DTOs
+     */
+    public Page<BoatDto> getAllBoatsInPage(Pageable pageable, Set<BoatType> boatTypes) {
+        return boatCatalog.findPage(pageable, boatTypes)
+                .orElseGet(() -> boatTypes.isEmpty() ? boatRepository.findAllProjectedBy(pageable)
+                        : boatRepository.findAllProjectedByBoatTypeIn(boatTypes, pageable));
+    }
+
+    /**
+     * Gets the statistics of the fleet: the number of boats in total, per type and per creation month.
+     * They are read from the maintained counts, the boats table is only grouped until the counts are loaded.
+     * @return The statistics of the fleet
+     */
+    public BoatStatisticsDto getBoatStatistics() {
+        return boatStatistics.get();
+    }
+
+    /**
+     * Retrieves a slice of boats from the system with pagination.
+     * Boats are projected straight into DTOs, no entity is managed. No count query is issued: the total,
+     * when requested, comes from the maintained boat counter.
+     * @param pageable The pagination information
+     * @param withTotal Whether the total number of boats should be included
+     * @return Slice of boats as DTOs
+     */
+    public BoatSliceDto getAllBoatsInSlice(Pageable pageable, boolean withTotal) {
+        var slice = boatRepository.findAllProjectedSliceBy(pageable);
+        var totalElements = withTotal ? boatCounter.get() : null;
+        return new BoatSliceDto(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), totalElements);
+    }
+
+    /**
+     * Retrieves a page of boats located after the given cursor using keyset pagination.
+     * One extra boat is read to know whether a next page exists, no count query is issued.
+     * @param after The cursor returned with the previous page, null for the first page
+     * @param size The number of boats requested
+     * @param sortBy The field to sort by
+     * @param direction The direction of the sort
+     * @return Page of boats as DTOs with the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
+     */
+    public BoatCursorPageDto getBoatsAfterCursor(String after, int size, String sortBy, Sort.Direction direction) {
+        BoatKeyset keyset = null;
+        if (after != null && !after.isBlank()) {
+            keyset = BoatCursorCodec.decode(after);
+            if (!keyset.sortBy().equals(sortBy) || keyset.direction() != direction) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+        }
+
+        List<BoatDto> boats = boatRepository.findAfter(sortBy, direction, keyset, size + 1);
+        var hasNext = boats.size() > size;
+        var pageContent = hasNext ? boats.subList(0, size) : boats;
+
+        String nextCursor = null;
+        if (hasNext) {
+            var last = pageContent.get(pageContent.size() - 1);
+            nextCursor = BoatCursorCodec.encode(new BoatKeyset(sortBy, direction, sortValueOf(last, sortBy), last.getId()));
+        }
+
+        return new BoatCursorPageDto(List.copyOf(pageContent), size, hasNext, nextCursor);
+    }
+
+    /**
+     * Extracts the value of the sort field of a boat, as stored in a cursor.
+     */
+    private static String sortValueOf(BoatDto boat, String sortBy) {
+        return switch (sortBy) {
+            case "name" -> boat.getName();
+            case "description" -> boat.getDescription();
+            case "boatType" -> boat.getBoatType();
+            default -> null;
+        };
+    }
+
+    /**
+     * Searches the boats whose name or description contain all the words of the query, best matches first.
+     * The search is served by the in-memory index, the boats table is not scanned.
+     * @param query The words to search
+     * @param pageable The pagination information
+     * @return Page of matching boats
+     * @throws BoatSearchUnavailableException if the search index is disabled or not loaded yet
+     */
+    public Page<BoatDto> searchBoats(String query, Pageable pageable) {
+        return boatSearchIndex.flatMap(index -> index.search(query, pageable))
+                .orElseThrow(BoatSearchUnavailableException::new);
+    }
+
+    /**
+     * Suggests the boats whose name starts with a prefix, ignoring case and accents, in alphabetical order.
+     * The suggestions are served by the in-memory index, the boats table is not queried.
+     * @param prefix The beginning of the name
+     * @param limit The maximum number of suggestions
+     * @return The suggested boats
+     * @throws BoatSearchUnavailableException if the suggestion index is disabled or not loaded yet
+     */
+    public List<BoatSuggestionDto> suggestBoatNames(String prefix, int limit) {
+        return boatNameSuggester.flatMap(suggester -> suggester.suggest(prefix, limit))
+                .orElseThrow(BoatSearchUnavailableException::new);
     }
 
     /**
      * Retrieves a specific boat by its ID.
+     * Reads are served from the boat cache and only hit the repository on a miss,
+     * where the boat is projected straight into a DTO in a read-only transaction.
+     * No transaction is opened here so that cache hits do not acquire a connection.
      * @param id The ID of the boat to retrieve
      * @return Optional containing the boat DTO if found, empty otherwise
      */
     public Optional<BoatDto> getBoatById(Long id) {
-        return boatRepository.findById(id)
-                .map(boatMapper::toDto);
+        return boatCache.get(id, boatId -> boatRepository.findDtoById(boatId).orElse(null));
+    }
+
+    /**
+     * Retrieves the boats with the given IDs.
+     * Duplicated IDs are only resolved once, and IDs are queried by chunks of {@value #IN_LIST_CHUNK_SIZE},
+     * so that a single query is issued for most requests.
+     * @param ids The IDs of the boats to retrieve
+     * @return The boats found, in the order of the requested IDs, and the IDs of the boats not found
+     */
+    public BoatBatchDto getBoatsByIds(List<Long> ids) {
+        var requestedIds = List.copyOf(new LinkedHashSet<>(ids));
+
+        Map<Long, BoatDto> boatsById = new HashMap<>();
+        queryByChunks(requestedIds, boatRepository::findDtosByIdIn)
+                .forEach(boat -> boatsById.put(boat.getId(), boat));
+
+        List<BoatDto> content = new ArrayList<>(boatsById.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            var boat = boatsById.get(id);
+            if (boat != null) {
+                content.add(boat);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BoatBatchDto(content, missingIds);
     }
 
     /**
@@ -61,7 +285,107 @@ public class BoatService {
         var boatEntity = boatMapper.toEntity(boatCreationDto);
 
         var savedEntity = boatRepository.save(boatEntity);
-        return boatMapper.toDto(savedEntity);
+        boatCounter.increment();
+        boatFleetVersion.increment();
+        var createdBoat = boatMapper.toDto(savedEntity);
+        changeListeners.forEach(listener -> listener.onBoatCreated(createdBoat));
+        return createdBoat;
+    }
+
+    /**
+     * Creates several boats at once.
+     * Each boat is validated on its own: invalid boats, and boats whose name is already taken or repeated
+     * in the request, are rejected while the others are created. The valid boats are saved in a single
+     * transaction, where Hibernate batches the inserts.
+     * @param boatCreationDtos The boats to create
+     * @return One result per submitted boat, in the same order, with the created boat or the errors
+     */
+    public BoatBulkCreationResultDto createBoats(List<BoatCreationDto> boatCreationDtos) {
+        List<List<String>> errors = new ArrayList<>(boatCreationDtos.size());
+        Set<String> requestedNames = new HashSet<>();
+        for (BoatCreationDto boatCreationDto : boatCreationDtos) {
+            var itemErrors = validate(boatCreationDto);
+            if (itemErrors.isEmpty() && !requestedNames.add(boatCreationDto.getName())) {
+                itemErrors = List.of("name: Boat name is repeated in the request");
+            }
+            errors.add(itemErrors);
+        }
+
+        Set<String> takenNames = new HashSet<>(queryByChunks(List.copyOf(requestedNames), boatRepository::findExistingNames));
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<BoatEntity> boatEntities = new ArrayList<>();
+        for (int index = 0; index < boatCreationDtos.size(); index++) {
+            if (!errors.get(index).isEmpty()) {
+                continue;
+            }
+            var boatCreationDto = boatCreationDtos.get(index);
+            if (takenNames.contains(boatCreationDto.getName())) {
+                errors.set(index, List.of("name: Boat name is already taken"));
+            } else {
+                acceptedIndexes.add(index);
+                boatEntities.add(boatMapper.toEntity(boatCreationDto));
+            }
+        }
+
+        BoatDto[] createdBoats = new BoatDto[boatCreationDtos.size()];
+        if (!boatEntities.isEmpty()) {
+            var savedEntities = boatRepository.saveAll(boatEntities);
+            boatCounter.add(savedEntities.size());
+            boatFleetVersion.increment();
+            List<BoatDto> createdBoatList = new ArrayList<>(savedEntities.size());
+            for (int i = 0; i < savedEntities.size(); i++) {
+                var createdBoat = boatMapper.toDto(savedEntities.get(i));
+                createdBoats[acceptedIndexes.get(i)] = createdBoat;
+                createdBoatList.add(createdBoat);
+            }
+            changeListeners.forEach(listener -> listener.onBoatsCreated(createdBoatList));
+        }
+
+        List<BoatBulkItemResultDto> items = new ArrayList<>(boatCreationDtos.size());
+        for (int index = 0; index < boatCreationDtos.size(); index++) {
+            items.add(new BoatBulkItemResultDto(index, createdBoats[index], errors.get(index)));
+        }
+        return new BoatBulkCreationResultDto(boatEntities.size(), boatCreationDtos.size() - boatEntities.size(), items);
+    }
+
+    /**
+     * Validates a boat to create, as the controller does for a single boat.
+     * @return The errors, formatted as "field: message" and sorted, empty if the boat is valid
+     */
+    private List<String> validate(BoatCreationDto boatCreationDto) {
+        if (boatCreationDto == null) {
+            return List.of("Boat is required");
+        }
+        return validator.validate(boatCreationDto).stream()
+                .map(BoatService::formatViolation)
+                .sorted()
+                .toList();
+    }
+
+    private static String formatViolation(ConstraintViolation<?> violation) {
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+
+    /**
+     * Runs an IN query by chunks of {@value #IN_LIST_CHUNK_SIZE} values and gathers the results.
+     */
+    private static <T, R> List<R> queryByChunks(List<T> values, Function<List<T>, List<R>> query) {
+        List<R> results = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += IN_LIST_CHUNK_SIZE) {
+            results.addAll(query.apply(values.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, values.size()))));
+        }
+        return results;
+    }
+
+    /**
+     * Updates an existing boat by its ID with the provided data, whatever its current version.
+     * An update losing the optimistic lock to a concurrent one is retried on the fresh boat.
+     * @param id The ID of the boat to update
+     * @param boatUpdateDto The boat data to update
+     * @return Optional containing the updated boat DTO if found, empty otherwise
+     */
+    public Optional<BoatDto> updateBoat(Long id, BoatUpdateDto boatUpdateDto) {
+        return updateBoat(id, boatUpdateDto, null);
     }
 
     /**
@@ -69,82 +393,196 @@ public class BoatService {
      * Only updates fields that are provided (not null) in the update DTO.
      * @param id The ID of the boat to update
      * @param boatUpdateDto The boat data to update
+     * @param expectedVersion The version the boat must have, null to update any version with retries on conflict
      * @return Optional containing the updated boat DTO if found, empty otherwise
+     * @throws BoatVersionConflictException if the boat no longer has the expected version
      */
-    public Optional<BoatDto> updateBoat(Long id, BoatUpdateDto boatUpdateDto) {
+    public Optional<BoatDto> updateBoat(Long id, BoatUpdateDto boatUpdateDto, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return updateRetryPolicy.execute(() -> loadAndUpdateBoat(id, boatUpdateDto, null));
+        }
+        try {
+            return loadAndUpdateBoat(id, boatUpdateDto, expectedVersion);
+        } catch (OptimisticLockingFailureException ex) {
+            // Another update was committed between the version check and the write
+            updateRetryPolicy.recordPreconditionFailed();
+            throw new BoatVersionConflictException(id);
+        }
+    }
+
+    private Optional<BoatDto> loadAndUpdateBoat(Long id, BoatUpdateDto boatUpdateDto, Long expectedVersion) {
         return boatRepository.findById(id)
                 .map(existingBoat -> {
+                    checkVersion(id, existingBoat.getVersion(), expectedVersion);
                     BoatType boatType = BoatType.valueOf(boatUpdateDto.getBoatType().toUpperCase());
                     
                     existingBoat.setName(boatUpdateDto.getName());
                     existingBoat.setDescription(boatUpdateDto.getDescription());
                     existingBoat.setBoatType(boatType);
 
-                    BoatEntity savedEntity = boatRepository.save(existingBoat);
-                    return boatMapper.toDto(savedEntity);
+                    return saveUpdatedBoat(id, existingBoat);
                 });
     }
 
     /**
-     * Updates the name of an existing boat by its ID.
+     * Updates the name of an existing boat by its ID, whatever its current version.
      * @param id The ID of the boat to update
      * @param boatNameUpdateDto The new boat name
      * @return Optional containing the updated boat DTO if found, empty otherwise
      */
     public Optional<BoatDto> updateBoatName(Long id, BoatNameUpdateDto boatNameUpdateDto) {
-        return boatRepository.findById(id)
-                .map(existingBoat -> {
-                    existingBoat.setName(boatNameUpdateDto.getName());
-                    
-                    BoatEntity savedEntity = boatRepository.save(existingBoat);
-                    return boatMapper.toDto(savedEntity);
-                });
+        return updateBoatName(id, boatNameUpdateDto, null);
     }
 
     /**
-     * Updates the description of an existing boat by its ID.
+     * Updates the name of an existing boat by its ID.
+     * The name is changed with a single UPDATE statement, the boat is not loaded beforehand.
+     * @param id The ID of the boat to update
+     * @param boatNameUpdateDto The new boat name
+     * @param expectedVersion The version the boat must have, null to update any version
+     * @return Optional containing the updated boat DTO if found, empty otherwise
+     * @throws BoatVersionConflictException if the boat no longer has the expected version
+     */
+    public Optional<BoatDto> updateBoatName(Long id, BoatNameUpdateDto boatNameUpdateDto, Long expectedVersion) {
+        int updatedRows = boatRepository.updateName(id, boatNameUpdateDto.getName(), LocalDateTime.now(), expectedVersion);
+        return readUpdatedBoat(id, updatedRows, expectedVersion);
+    }
+
+    /**
+     * Updates the description of an existing boat by its ID, whatever its current version.
      * @param id The ID of the boat to update
      * @param boatDescriptionUpdateDto The new boat description
      * @return Optional containing the updated boat DTO if found, empty otherwise
      */
     public Optional<BoatDto> updateBoatDescription(Long id, BoatDescriptionUpdateDto boatDescriptionUpdateDto) {
-        return boatRepository.findById(id)
-                .map(existingBoat -> {
-                    existingBoat.setDescription(boatDescriptionUpdateDto.getDescription());
-                    
-                    BoatEntity savedEntity = boatRepository.save(existingBoat);
-                    return boatMapper.toDto(savedEntity);
-                });
+        return updateBoatDescription(id, boatDescriptionUpdateDto, null);
     }
 
     /**
-     * Updates the type of an existing boat by its ID.
+     * Updates the description of an existing boat by its ID.
+     * The description is changed with a single UPDATE statement, the boat is not loaded beforehand.
+     * @param id The ID of the boat to update
+     * @param boatDescriptionUpdateDto The new boat description
+     * @param expectedVersion The version the boat must have, null to update any version
+     * @return Optional containing the updated boat DTO if found, empty otherwise
+     * @throws BoatVersionConflictException if the boat no longer has the expected version
+     */
+    public Optional<BoatDto> updateBoatDescription(Long id, BoatDescriptionUpdateDto boatDescriptionUpdateDto,
+                                                   Long expectedVersion) {
+        int updatedRows = boatRepository.updateDescription(id, boatDescriptionUpdateDto.getDescription(),
+                LocalDateTime.now(), expectedVersion);
+        return readUpdatedBoat(id, updatedRows, expectedVersion);
+    }
+
+    /**
+     * Updates the type of an existing boat by its ID, whatever its current version.
      * @param id The ID of the boat to update
      * @param boatTypeUpdateDto The new boat type
      * @return Optional containing the updated boat DTO if found, empty otherwise
      */
     public Optional<BoatDto> updateBoatType(Long id, BoatTypeUpdateDto boatTypeUpdateDto) {
-        return boatRepository.findById(id)
-                .map(existingBoat -> {
-                    // Convert String to BoatType enum
-                    BoatType boatType = BoatType.valueOf(boatTypeUpdateDto.getBoatType().toUpperCase());
-                    existingBoat.setBoatType(boatType);
-                    
-                    BoatEntity savedEntity = boatRepository.save(existingBoat);
-                    return boatMapper.toDto(savedEntity);
-                });
+        return updateBoatType(id, boatTypeUpdateDto, null);
     }
 
     /**
-     * Deletes a boat by its ID.
+     * Updates the type of an existing boat by its ID.
+     * The type is changed with a single UPDATE statement, the boat is not loaded beforehand.
+     * @param id The ID of the boat to update
+     * @param boatTypeUpdateDto The new boat type
+     * @param expectedVersion The version the boat must have, null to update any version
+     * @return Optional containing the updated boat DTO if found, empty otherwise
+     * @throws BoatVersionConflictException if the boat no longer has the expected version
+     */
+    public Optional<BoatDto> updateBoatType(Long id, BoatTypeUpdateDto boatTypeUpdateDto, Long expectedVersion) {
+        // Convert String to BoatType enum
+        BoatType boatType = BoatType.valueOf(boatTypeUpdateDto.getBoatType().toUpperCase());
+        int updatedRows = boatRepository.updateBoatType(id, boatType, LocalDateTime.now(), expectedVersion);
+        return readUpdatedBoat(id, updatedRows, expectedVersion);
+    }
+
+    private void checkVersion(Long id, Long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            updateRetryPolicy.recordPreconditionFailed();
+            throw new BoatVersionConflictException(id);
+        }
+    }
+
+    /**
+     * Propagates a single-statement update and reads the updated boat back.
+     * No boat is read when the update matched no row, except to tell a missing boat from a version conflict.
+     * Otherwise the boat is read back through the cache, which the next reads of the boat then hit,
+     * and passed on to the change listeners.
+     * @param id The ID of the updated boat
+     * @param updatedRows The number of rows matched by the update
+     * @param expectedVersion The version the update expected, null if any
+     * @return Optional containing the updated boat DTO, empty if the boat does not exist
+     * @throws BoatVersionConflictException if the update matched no row because of the version
+     */
+    private Optional<BoatDto> readUpdatedBoat(Long id, int updatedRows, Long expectedVersion) {
+        if (updatedRows == 0) {
+            if (expectedVersion != null && boatRepository.existsById(id)) {
+                updateRetryPolicy.recordPreconditionFailed();
+                throw new BoatVersionConflictException(id);
+            }
+            return Optional.empty();
+        }
+        boatCache.invalidate(id);
+        boatFleetVersion.increment();
+        var updatedBoat = getBoatById(id);
+        updatedBoat.ifPresent(boat -> changeListeners.forEach(listener -> listener.onBoatUpdated(boat)));
+        return updatedBoat;
+    }
+
+    /**
+     * Deletes a boat by its ID, in a single statement whose row count tells whether the boat existed.
      * @param id The ID of the boat to delete
      * @return true if the boat was deleted, false if not found
      */
     public boolean deleteBoat(Long id) {
-        if (boatRepository.existsById(id)) {
-            boatRepository.deleteById(id);
-            return true;
+        if (boatRepository.deleteBoatById(id) == 0) {
+            return false;
+        }
+        boatCache.invalidate(id);
+        boatCounter.decrement();
+        boatFleetVersion.increment();
+        changeListeners.forEach(listener -> listener.onBoatDeleted(id));
+        return true;
+    }
+
+    /**
+     * Deletes the boats with the given IDs, with set-based statements per chunk of {@value #IN_LIST_CHUNK_SIZE} IDs.
+     * The cache, the counter and the change listeners are updated with the boats actually deleted only, the change
+     * listeners being notified once for all of them.
+     * @param ids The IDs of the boats to delete
+     * @return The number of requested IDs and the number of boats deleted
+     */
+    public BoatBulkDeletionResultDto deleteBoats(List<Long> ids) {
+        var requestedIds = List.copyOf(new LinkedHashSet<>(ids));
+
+        List<Long> deletedIds = new ArrayList<>();
+        for (int from = 0; from < requestedIds.size(); from += IN_LIST_CHUNK_SIZE) {
+            deletedIds.addAll(boatRepository.deleteBoatsByIdIn(
+                    requestedIds.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, requestedIds.size()))));
+        }
+
+        if (!deletedIds.isEmpty()) {
+            deletedIds.forEach(boatCache::invalidate);
+            boatCounter.subtract(deletedIds.size());
+            boatFleetVersion.increment();
+            changeListeners.forEach(listener -> listener.onBoatsDeleted(deletedIds));
         }
-        return false;
+        return new BoatBulkDeletionResultDto(requestedIds.size(), deletedIds.size());
+    }
+
+    /**
+     * Saves an updated boat and propagates the update to the cache, the fleet version and the change listeners.
+     */
+    private BoatDto saveUpdatedBoat(Long id, BoatEntity existingBoat) {
+        BoatEntity savedEntity = boatRepository.save(existingBoat);
+        boatCache.invalidate(id);
+        boatFleetVersion.increment();
+        var updatedBoat = boatMapper.toDto(savedEntity);
+        changeListeners.forEach(listener -> listener.onBoatUpdated(updatedBoat));
+        return updatedBoat;
     }
 }
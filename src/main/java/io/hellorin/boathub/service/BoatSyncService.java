@@ -0,0 +1,134 @@
+package io.hellorin.boathub.service;
+
+import io.hellorin.boathub.domain.BoatTombstoneEntity;
+import io.hellorin.boathub.dto.BoatChangesDto;
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.repository.BoatRepository;
+import io.hellorin.boathub.repository.BoatTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service serving the incremental sync of the fleet: the boats created or updated and the boats deleted since
+ * a sync token, so that a client keeping the boats catches up at a cost proportional to what changed.
+ * <p>
+ * The boats are read after the (updated date, ID) of the last boat sent, and the deletions after the (deleted date,
+ * boat ID) of the last tombstone sent, both from an index. A write is only visible once committed, possibly after
+ * a later write was already sent, so the token never moves past the last {@code boathub.sync.overlap}: the changes
+ * of that period are sent again on the next sync, and clients must apply them idempotently. Once all the changes
+ * are read, the token moves to that horizon, whether changes were sent or not, so that the token of a client
+ * syncing regularly stays recent even when nothing is deleted.
+ * Tombstones are swept after {@code boathub.sync.tombstone-retention}; older tokens are expired.
+ */
+@Service
+@Timed("boathub.service")
+public class BoatSyncService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoatSyncService.class);
+
+    /**
+     * Position of a client that has no boat yet: it receives every boat, but only the deletions made from now on.
+     */
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final BoatRepository boatRepository;
+
+    private final BoatTombstoneRepository boatTombstoneRepository;
+
+    private final Duration overlap;
+
+    private final Duration tombstoneRetention;
+
+    public BoatSyncService(BoatRepository boatRepository, BoatTombstoneRepository boatTombstoneRepository,
+                           @Value("${boathub.sync.overlap:PT5S}") Duration overlap,
+                           @Value("${boathub.sync.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.boatRepository = boatRepository;
+        this.boatTombstoneRepository = boatTombstoneRepository;
+        this.overlap = overlap;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Gets the changes made on the boats since a sync token.
+     * While hasMore is true, the next changes can be read right away with the returned token.
+     * @param since The token returned by the previous sync, null to receive all the boats
+     * @param size The maximum number of boats, and of deleted boats, returned
+     * @return The boats created or updated, the IDs of the boats deleted and the next token
+     * @throws IllegalArgumentException if the token is malformed
+     * @throws BoatSyncTokenExpiredException if the token is older than the retention of the tombstones
+     */
+    public BoatChangesDto getChanges(String since, int size) {
+        var now = LocalDateTime.now();
+        var horizon = now.minus(overlap);
+        var from = since == null
+                ? new BoatSyncToken(BEGINNING, 0, horizon, 0)
+                : BoatSyncTokenCodec.decode(since);
+        if (from.deletedAfter().isBefore(now.minus(tombstoneRetention))) {
+            throw new BoatSyncTokenExpiredException();
+        }
+
+        List<BoatDto> boats = boatRepository.findUpdatedAfter(from.updatedAfter(), from.boatId(), Limit.of(size + 1));
+        var hasMoreBoats = boats.size() > size;
+        if (hasMoreBoats) {
+            boats = boats.subList(0, size);
+        }
+        List<BoatTombstoneEntity> tombstones = since == null
+                ? List.of()
+                : boatTombstoneRepository.findDeletedAfter(from.deletedAfter(), from.deletedBoatId(), Limit.of(size + 1));
+        var hasMoreTombstones = tombstones.size() > size;
+        if (hasMoreTombstones) {
+            tombstones = tombstones.subList(0, size);
+        }
+
+        var updatedAfter = from.updatedAfter();
+        var boatId = from.boatId();
+        if (!boats.isEmpty()) {
+            var lastBoat = boats.get(boats.size() - 1);
+            updatedAfter = lastBoat.getUpdatedDate();
+            boatId = lastBoat.getId();
+        }
+        if (!hasMoreBoats) {
+            updatedAfter = horizon;
+            boatId = 0;
+        }
+        var deletedAfter = from.deletedAfter();
+        var deletedBoatId = from.deletedBoatId();
+        if (!tombstones.isEmpty()) {
+            var lastTombstone = tombstones.get(tombstones.size() - 1);
+            deletedAfter = lastTombstone.getDeletedDate();
+            deletedBoatId = lastTombstone.getBoatId();
+        }
+        if (!hasMoreTombstones) {
+            deletedAfter = horizon;
+            deletedBoatId = 0;
+        }
+
+        var nextToken = BoatSyncTokenCodec.encode(new BoatSyncToken(updatedAfter, boatId, deletedAfter, deletedBoatId));
+        var deletedIds = tombstones.stream().map(BoatTombstoneEntity::getBoatId).toList();
+        return new BoatChangesDto(boats, deletedIds, hasMoreBoats || hasMoreTombstones, nextToken);
+    }
+
+    /**
+     * Periodically deletes the tombstones older than the retention.
+     */
+    @Scheduled(initialDelayString = "${boathub.sync.tombstone-sweep-interval:PT1H}",
+            fixedDelayString = "${boathub.sync.tombstone-sweep-interval:PT1H}")
+    public void sweepTombstones() {
+        try {
+            var swept = boatTombstoneRepository.deleteDeletedBefore(LocalDateTime.now().minus(tombstoneRetention));
+            LOGGER.info("Swept {} boat tombstones older than {}", swept, tombstoneRetention);
+        } catch (DataAccessException ex) {
+            LOGGER.error("Boat tombstones could not be swept", ex);
+        }
+    }
+}
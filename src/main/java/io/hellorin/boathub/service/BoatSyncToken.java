@@ -0,0 +1,14 @@
+package io.hellorin.boathub.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position of a client in the incremental sync: the last boat update and the last boat deletion it received.
+ * Both are keysets, the ID breaking the ties between changes made at the same date.
+ * @param updatedAfter The updated date of the last boat received
+ * @param boatId The ID of the last boat received
+ * @param deletedAfter The deleted date of the last tombstone received
+ * @param deletedBoatId The boat ID of the last tombstone received
+ */
+public record BoatSyncToken(LocalDateTime updatedAfter, long boatId, LocalDateTime deletedAfter, long deletedBoatId) {
+}
@@ -0,0 +1,52 @@
+package io.hellorin.boathub.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque tokens used by the incremental sync.
+ * Clients must not build or interpret them, they only send back what they received.
+ */
+public final class BoatSyncTokenCodec {
+
+    private static final String SEPARATOR = "\n";
+
+    private BoatSyncTokenCodec() {
+    }
+
+    /**
+     * Encodes a sync position into an opaque token.
+     * @param token The position to encode
+     * @return The URL-safe token
+     */
+    public static String encode(BoatSyncToken token) {
+        var raw = token.updatedAfter() + SEPARATOR
+                + token.boatId() + SEPARATOR
+                + token.deletedAfter() + SEPARATOR
+                + token.deletedBoatId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes an opaque token into a sync position.
+     * @param token The token to decode
+     * @return The decoded position
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static BoatSyncToken decode(String token) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var parts = raw.split(SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed sync token");
+            }
+            return new BoatSyncToken(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]),
+                    LocalDateTime.parse(parts[2]), Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Also covers invalid Base64 and IDs
+            throw new IllegalArgumentException("Malformed sync token", e);
+        }
+    }
+}
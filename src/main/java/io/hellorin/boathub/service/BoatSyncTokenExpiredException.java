@@ -0,0 +1,12 @@
+package io.hellorin.boathub.service;
+
+/**
+ * Thrown when a sync token is older than the retention of the tombstones, some deletions it has not seen being
+ * possibly forgotten already.
+ */
+public class BoatSyncTokenExpiredException extends RuntimeException {
+
+    public BoatSyncTokenExpiredException() {
+        super("The sync token is older than the retention of the deleted boats");
+    }
+}
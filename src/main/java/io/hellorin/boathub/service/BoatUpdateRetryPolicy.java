@@ -0,0 +1,105 @@
+package io.hellorin.boathub.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Retry policy for boat updates made without an expected version, which lose the optimistic lock only because
+ * another update was committed between their read and their write. The update is run again on the fresh boat
+ * after an exponential backoff with full jitter, so that colliding writers do not collide again in lockstep.
+ * <p>
+ * Version conflicts are published to Micrometer as boathub.boat.update.conflicts, tagged by outcome:
+ * retried, exhausted when the attempts ran out, and precondition_failed when the caller's expected version was stale.
+ */
+@Component
+public class BoatUpdateRetryPolicy {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoatUpdateRetryPolicy.class);
+
+    private static final String CONFLICTS_METRIC = "boathub.boat.update.conflicts";
+
+    private final int maxAttempts;
+
+    private final long initialBackoffMillis;
+
+    private final long maxBackoffMillis;
+
+    private final Counter retried;
+
+    private final Counter exhausted;
+
+    private final Counter preconditionFailed;
+
+    public BoatUpdateRetryPolicy(MeterRegistry meterRegistry,
+                                 @Value("${boathub.update.retry.max-attempts:3}") int maxAttempts,
+                                 @Value("${boathub.update.retry.initial-backoff:10ms}") Duration initialBackoff,
+                                 @Value("${boathub.update.retry.max-backoff:200ms}") Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("At least one update attempt is required");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        this.retried = conflictCounter(meterRegistry, "retried");
+        this.exhausted = conflictCounter(meterRegistry, "exhausted");
+        this.preconditionFailed = conflictCounter(meterRegistry, "precondition_failed");
+    }
+
+    /**
+     * Runs an update, running it again while it loses the optimistic lock and attempts remain.
+     * @param update The update, reading the boat it writes so that a new attempt sees the latest version
+     * @return The result of the first successful attempt
+     * @throws OptimisticLockingFailureException when the last attempt lost the optimistic lock as well
+     */
+    public <T> T execute(Supplier<T> update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return update.get();
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    LOGGER.warn("Boat update still conflicting after {} attempts", attempt);
+                    throw ex;
+                }
+                retried.increment();
+                backOff(attempt, ex);
+            }
+        }
+    }
+
+    /**
+     * Records an update rejected because the version expected by the caller was not the current one.
+     */
+    public void recordPreconditionFailed() {
+        preconditionFailed.increment();
+    }
+
+    private void backOff(int attempt, OptimisticLockingFailureException conflict) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 30));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private static Counter conflictCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(CONFLICTS_METRIC)
+                .description("Number of boat updates that lost the optimistic lock")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
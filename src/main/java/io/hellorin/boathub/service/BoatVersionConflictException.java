@@ -0,0 +1,19 @@
+package io.hellorin.boathub.service;
+
+/**
+ * Thrown when a boat is written with an expected version that is no longer its current version,
+ * because the boat was modified since the caller read it.
+ */
+public class BoatVersionConflictException extends RuntimeException {
+
+    private final Long boatId;
+
+    public BoatVersionConflictException(Long boatId) {
+        super("Boat " + boatId + " has been modified since it was read");
+        this.boatId = boatId;
+    }
+
+    public Long getBoatId() {
+        return boatId;
+    }
+}
@@ -2,6 +2,7 @@ package io.hellorin.boathub.service;
 
 import io.hellorin.boathub.domain.UserEntity;
 import io.hellorin.boathub.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +17,7 @@ import java.util.Collections;
  * Loads user information from the database and converts it to Spring Security UserDetails.
  */
 @Service
+@Timed("boathub.service")
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
@@ -0,0 +1,301 @@
+package io.hellorin.boathub.stats;
+
+import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.dto.BoatStatisticsDto;
+import io.hellorin.boathub.repository.BoatMonthCount;
+import io.hellorin.boathub.repository.BoatRepository;
+import io.hellorin.boathub.repository.BoatStatisticsRow;
+import io.hellorin.boathub.repository.BoatTypeCount;
+import io.hellorin.boathub.service.BoatChangeListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Maintained statistics of the fleet: the number of boats per type and per creation month, so that dashboards
+ * read them without grouping the boats table on every refresh.
+ * The counts are loaded once the application is ready, then kept up to date by the writes made through
+ * BoatService. Until they are loaded, they are counted by the database. Writes made to the boats table outside of
+ * BoatService are only seen after a reload, which the periodic reconciliation with the database triggers when
+ * the counts drifted. Enabled by default, it can be disabled with the boathub.stats.enabled property, the
+ * statistics being then always counted by the database.
+ * <p>
+ * Counts are held in LongAdders, so that concurrent writes do not contend on the same counter, and reads only sum
+ * them without any lock. As deletions and type updates only tell the ID of the boat, the type and creation month
+ * of every boat are remembered to know which counts to move. Writes to the same boat are applied atomically,
+ * and writes to different boats concurrently; only a load excludes them.
+ */
+@Component
+public class BoatStatistics implements BoatChangeListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoatStatistics.class);
+
+    private final BoatRepository boatRepository;
+
+    private final boolean enabled;
+
+    private final Counter inconsistencies;
+
+    /**
+     * Shared by the writes, exclusive for the loads.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile Counts counts;
+
+    public BoatStatistics(BoatRepository boatRepository, MeterRegistry meterRegistry,
+                          @Value("${boathub.stats.enabled:true}") boolean enabled) {
+        this.boatRepository = boatRepository;
+        this.enabled = enabled;
+        this.inconsistencies = Counter.builder("boathub.stats.inconsistencies")
+                .description("Number of reconciliations that found the boat statistics out of sync with the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the counts once the application is ready, when enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    /**
+     * Periodically checks the counts against the database and reloads them when they drifted, or when they
+     * could not be loaded yet. Nothing is done when disabled.
+     */
+    @Scheduled(initialDelayString = "${boathub.stats.reconciliation-interval:PT10M}",
+            fixedDelayString = "${boathub.stats.reconciliation-interval:PT10M}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!isLoaded()) {
+                load();
+            } else if (!isConsistent()) {
+                inconsistencies.increment();
+                LOGGER.warn("Boat statistics are out of sync with the database, reloading them");
+                load();
+            }
+        } catch (DataAccessException ex) {
+            LOGGER.error("Boat statistics could not be reconciled with the database", ex);
+        }
+    }
+
+    /**
+     * Counts all the boats from the database, replacing the current counts. Only the fields the boats are counted
+     * by are read, not their names and descriptions.
+     * Writes wait for the load, so none of them is lost when the counts are swapped.
+     */
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            var loadedCounts = new Counts();
+            for (BoatStatisticsRow row : boatRepository.findAllStatisticsRows()) {
+                loadedCounts.put(row.id(), row.boatType(), row.createdDate(), row.version());
+            }
+            counts = loadedCounts;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOGGER.info("Boat statistics loaded with {} boats", counts.boats.size());
+    }
+
+    /**
+     * Tells whether the counts have been loaded and serve the statistics.
+     * @return true if loaded
+     */
+    public boolean isLoaded() {
+        return counts != null;
+    }
+
+    /**
+     * Gets the statistics of the fleet, from the maintained counts or, until they are loaded, from the database.
+     * @return The number of boats in total, per type and per creation month
+     */
+    public BoatStatisticsDto get() {
+        var current = counts;
+        Map<BoatType, Long> countsByType = new EnumMap<>(BoatType.class);
+        Map<YearMonth, Long> countsByMonth = new TreeMap<>();
+        if (current != null) {
+            current.byType.forEach((type, count) -> countsByType.put(type, count.sum()));
+            current.byMonth.forEach((month, count) -> countsByMonth.put(month, count.sum()));
+        } else {
+            countDatabase(countsByType, countsByMonth);
+        }
+
+        var total = 0L;
+        Map<String, Long> byType = new LinkedHashMap<>();
+        for (BoatType type : BoatType.values()) {
+            var count = countsByType.getOrDefault(type, 0L);
+            byType.put(type.name(), count);
+            total += count;
+        }
+        Map<String, Long> byMonth = new LinkedHashMap<>();
+        countsByMonth.forEach((month, count) -> {
+            if (count > 0) {
+                byMonth.put(month.toString(), count);
+            }
+        });
+        return new BoatStatisticsDto(total, byType, byMonth);
+    }
+
+    /**
+     * Compares the counts with the ones of the database, months without any boat being left out of both.
+     * @return true if the counts match the database
+     */
+    public boolean isConsistent() {
+        var current = counts;
+        Map<BoatType, Long> countsByType = new EnumMap<>(BoatType.class);
+        Map<YearMonth, Long> countsByMonth = new TreeMap<>();
+        countDatabase(countsByType, countsByMonth);
+        if (current == null) {
+            return false;
+        }
+        for (BoatType type : BoatType.values()) {
+            if (current.byType.get(type).sum() != countsByType.getOrDefault(type, 0L)) {
+                return false;
+            }
+        }
+        Map<YearMonth, Long> maintainedByMonth = new TreeMap<>();
+        current.byMonth.forEach((month, count) -> {
+            if (count.sum() != 0) {
+                maintainedByMonth.put(month, count.sum());
+            }
+        });
+        return maintainedByMonth.equals(countsByMonth);
+    }
+
+    @Override
+    public void onBoatCreated(BoatDto boat) {
+        lock.readLock().lock();
+        try {
+            if (counts != null) {
+                counts.put(boat.getId(), BoatType.valueOf(boat.getBoatType()), boat.getCreatedDate(), boat.getVersion());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Moves the boat to the count of its new type. The update is ignored when the boat is no longer counted,
+     * as it was deleted meanwhile, or when the counts hold a more recent version of it.
+     */
+    @Override
+    public void onBoatUpdated(BoatDto boat) {
+        lock.readLock().lock();
+        try {
+            if (counts != null) {
+                counts.update(boat);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onBoatDeleted(Long id) {
+        lock.readLock().lock();
+        try {
+            if (counts != null) {
+                counts.remove(id);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void countDatabase(Map<BoatType, Long> countsByType, Map<YearMonth, Long> countsByMonth) {
+        for (BoatTypeCount typeCount : boatRepository.countByBoatType()) {
+            countsByType.put(typeCount.boatType(), typeCount.count());
+        }
+        for (BoatMonthCount monthCount : boatRepository.countByCreationMonth()) {
+            if (monthCount.year() != null) {
+                countsByMonth.put(YearMonth.of(monthCount.year(), monthCount.month()), monthCount.count());
+            }
+        }
+    }
+
+    /**
+     * The counts, with the type and creation month of every counted boat.
+     */
+    private static final class Counts {
+
+        private final Map<BoatType, LongAdder> byType = new EnumMap<>(BoatType.class);
+
+        private final ConcurrentMap<YearMonth, LongAdder> byMonth = new ConcurrentHashMap<>();
+
+        private final ConcurrentMap<Long, CountedBoat> boats = new ConcurrentHashMap<>();
+
+        private Counts() {
+            for (BoatType type : BoatType.values()) {
+                byType.put(type, new LongAdder());
+            }
+        }
+
+        void put(Long id, BoatType type, LocalDateTime createdDate, Long version) {
+            var month = createdDate != null ? YearMonth.from(createdDate) : null;
+            var counted = new CountedBoat(type, month, version);
+            boats.compute(id, (key, previous) -> {
+                if (previous != null) {
+                    count(previous, -1);
+                }
+                count(counted, 1);
+                return counted;
+            });
+        }
+
+        void update(BoatDto boat) {
+            var type = BoatType.valueOf(boat.getBoatType());
+            boats.computeIfPresent(boat.getId(), (id, current) -> {
+                if (boat.getVersion() != null && current.version() != null && boat.getVersion() < current.version()) {
+                    return current;
+                }
+                if (current.type() != type) {
+                    byType.get(current.type()).decrement();
+                    byType.get(type).increment();
+                }
+                return new CountedBoat(type, current.month(), boat.getVersion());
+            });
+        }
+
+        void remove(Long id) {
+            boats.computeIfPresent(id, (key, previous) -> {
+                count(previous, -1);
+                return null;
+            });
+        }
+
+        private void count(CountedBoat boat, int delta) {
+            byType.get(boat.type()).add(delta);
+            if (boat.month() != null) {
+                byMonth.computeIfAbsent(boat.month(), key -> new LongAdder()).add(delta);
+            }
+        }
+    }
+
+    private record CountedBoat(BoatType type, YearMonth month, Long version) {
+    }
+}
@@ -1,17 +1,45 @@
 -- Database schema for BoatHub application
 -- This script creates the boats table based on BoatEntity
 
+-- Boat IDs come from a sequence so that Hibernate can batch inserts: it reserves blocks of 100 IDs per call
+-- (pooled-lo), while plain SQL inserts take one value of the sequence through the column default
+CREATE SEQUENCE IF NOT EXISTS boats_id_seq START WITH 1 INCREMENT BY 100;
+
 CREATE TABLE IF NOT EXISTS boats (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT DEFAULT NEXT VALUE FOR boats_id_seq PRIMARY KEY,
     name VARCHAR(100) NOT NULL UNIQUE,
     description VARCHAR(500),
     boat_type VARCHAR(50) NOT NULL,
     created_date TIMESTAMP NOT NULL,
-    updated_date TIMESTAMP
+    updated_date TIMESTAMP,
+    version BIGINT DEFAULT 0 NOT NULL
 );
 
 -- Check indexes in the future to see how the application evolves to be able to scale
-CREATE INDEX IF NOT EXISTS idx_boats_name ON boats(name);
+-- The lookups by name are served by the unique index on the names and by idx_boats_name_id, the former index on
+-- the names alone is dropped from the databases created with it
+DROP INDEX IF EXISTS idx_boats_name;
+
+-- Composite indexes backing the keyset pagination: (sort field, id) for every sortable field
+CREATE INDEX IF NOT EXISTS idx_boats_name_id ON boats(name, id);
+CREATE INDEX IF NOT EXISTS idx_boats_description_id ON boats(description, id);
+CREATE INDEX IF NOT EXISTS idx_boats_boat_type_id ON boats(boat_type, id);
+
+-- Backs the listing filtered by boat type when the catalog is not loaded, in the default name order
+CREATE INDEX IF NOT EXISTS idx_boats_boat_type_name ON boats(boat_type, name);
+
+-- Backs the incremental sync, which reads the boats updated after a (updated date, id) keyset
+CREATE INDEX IF NOT EXISTS idx_boats_updated_date_id ON boats(updated_date, id);
+
+-- Boats deleted through the application, kept for a retention period so that clients syncing incrementally
+-- learn about the deletions. Boat IDs are never reused, so a boat has at most one tombstone
+CREATE TABLE IF NOT EXISTS boat_tombstones (
+    boat_id BIGINT PRIMARY KEY,
+    deleted_date TIMESTAMP NOT NULL
+);
+
+-- Backs the incremental sync, reading the tombstones after a (deleted date, boat id) keyset, and the retention sweep
+CREATE INDEX IF NOT EXISTS idx_boat_tombstones_deleted_date_boat_id ON boat_tombstones(deleted_date, boat_id);
 
 -- Create users table for authentication
 CREATE TABLE IF NOT EXISTS users (
@@ -0,0 +1,208 @@
+package io.hellorin.boathub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of the request execution modes: the throughput and latencies of the boat listing with thousands of
+ * concurrent clients, with requests run on the Tomcat pool of platform threads, then on virtual threads.
+ * Every client sends its next request as soon as it has the response of the previous one. The application is
+ * started once per mode, and the pinning recorded while running on virtual threads is reported.
+ * Clients connect over HTTP from the same JVM, so every client takes two file descriptors.
+ * Disabled by default, run it with: mvn test -Dtest=RequestThreadsBenchmarkTest -Dbenchmark=true
+ * and -Dclients=N,M to change the numbers of concurrent clients, 1000,5000,10000 by default.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RequestThreadsBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestThreadsBenchmarkTest.class);
+
+    private static final int[] CLIENTS = Arrays.stream(System.getProperty("clients", "1000,5000,10000").split(","))
+            .mapToInt(clients -> Integer.parseInt(clients.trim()))
+            .toArray();
+
+    private static final Duration WARM_UP = Duration.ofSeconds(10);
+
+    private static final Duration MEASURED = Duration.ofSeconds(20);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void listBoats_OnPlatformAndVirtualThreads() throws Exception {
+        List<String> results = new ArrayList<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .cookieHandler(new CookieManager())
+                        .build();
+                login(client, port);
+                for (int clients : CLIENTS) {
+                    var result = run(client, port, clients);
+                    results.add(String.format("%-8s %6d clients: %8.0f requests/s, p50 %5d ms, p99 %5d ms, max %5d ms, %d errors",
+                            virtual ? "virtual" : "platform", clients, result.throughput(), result.p50(),
+                            result.p99(), result.max(), result.errors()));
+                    assertThat(result.completed()).isPositive();
+                }
+                if (virtual) {
+                    logPinning(context.getBean(MeterRegistry.class));
+                }
+            }
+        }
+        results.forEach(result -> LOGGER.info("Boat listing - {}", result));
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        // Passed as arguments, which take precedence over the application properties
+        return new SpringApplicationBuilder(BoatHubApplication.class)
+                .profiles("dev") // Schema, sample data and user are initialized by the dev profile
+                .run("--server.port=0",
+                        "--server.tomcat.max-connections=50000",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.threads.virtual.enabled=" + virtual);
+    }
+
+    /**
+     * Runs the clients for the warm-up, then for the measured period, each sending requests in a loop.
+     * The responses received during the measured period are measured. The clients send asynchronously, so that
+     * they take no thread of their own, and in particular no virtual thread competing with the requests.
+     */
+    private Result run(HttpClient client, int port, int clients) throws InterruptedException {
+        var end = System.nanoTime() + WARM_UP.plus(MEASURED).toNanos();
+        var measureStart = System.nanoTime() + WARM_UP.toNanos();
+        var loops = new ClientLoop[clients];
+        var finished = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            loops[i] = new ClientLoop(client, port, measureStart, end, finished);
+            loops[i].send();
+        }
+        assertThat(finished.await(WARM_UP.plus(MEASURED).plusMinutes(2).toSeconds(), TimeUnit.SECONDS)).isTrue();
+
+        var all = Arrays.stream(loops)
+                .flatMapToLong(loop -> Arrays.stream(loop.latencies, 0, loop.count))
+                .sorted()
+                .toArray();
+        var errors = Arrays.stream(loops).mapToLong(loop -> loop.errors).sum();
+        return new Result(all.length, all.length / (double) MEASURED.toSeconds(),
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 1.0), errors);
+    }
+
+    private void login(HttpClient client, int port) throws Exception {
+        HttpResponse<String> csrf = client.send(HttpRequest.newBuilder(uri(port, "/api/csrf-token")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode token = objectMapper.readTree(csrf.body());
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(uri(port, "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .header(token.get("headerName").asText(), token.get("token").asText())
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"owt\",\"password\":\"owt\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(login.statusCode()).isEqualTo(200);
+    }
+
+    private static void logPinning(MeterRegistry meterRegistry) {
+        var pinned = meterRegistry.find("boathub.virtual-threads.pinned").timers();
+        if (pinned.isEmpty()) {
+            LOGGER.info("Boat listing - no virtual thread pinned");
+        }
+        for (Timer timer : pinned) {
+            LOGGER.info("Boat listing - virtual threads pinned {} times for {} ms in total at {}", timer.count(),
+                    (long) timer.totalTime(TimeUnit.MILLISECONDS), timer.getId().getTag("frame"));
+        }
+    }
+
+    private static long percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(index, 0)]);
+    }
+
+    private static URI uri(int port, String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private record Result(long completed, double throughput, long p50, long p99, long max, long errors) {
+    }
+
+    /**
+     * A client sending its next request once it has received the response of the previous one, until the end.
+     * Its requests are sent one at a time, each response being handled after the previous one.
+     */
+    private static final class ClientLoop {
+
+        private final HttpClient client;
+
+        private final int port;
+
+        private final long measureStart;
+
+        private final long end;
+
+        private final CountDownLatch finished;
+
+        private long[] latencies = new long[1024];
+
+        private int count;
+
+        private long errors;
+
+        ClientLoop(HttpClient client, int port, long measureStart, long end, CountDownLatch finished) {
+            this.client = client;
+            this.port = port;
+            this.measureStart = measureStart;
+            this.end = end;
+            this.finished = finished;
+        }
+
+        void send() {
+            if (System.nanoTime() >= end) {
+                finished.countDown();
+                return;
+            }
+            var request = HttpRequest.newBuilder(uri(port, "/api/v1/boats?size=5&page="
+                            + ThreadLocalRandom.current().nextInt(2)))
+                    .timeout(Duration.ofMinutes(1))
+                    .build();
+            long start = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+                long completed = System.nanoTime();
+                if (ex != null || response.statusCode() != 200) {
+                    errors++;
+                } else if (completed >= measureStart && completed < end) {
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = completed - start;
+                }
+                send();
+            });
+        }
+    }
+}
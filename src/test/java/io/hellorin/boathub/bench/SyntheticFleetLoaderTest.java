@@ -0,0 +1,90 @@
+package io.hellorin.boathub.bench;
+
+import io.hellorin.boathub.domain.BoatEntity;
+import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.repository.BoatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the loading of a synthetic fleet with JDBC batches, committed by the loading threads.
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("dev") // Schema and sample data are initialized by the dev profile
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SyntheticFleetLoaderTest {
+
+    private static final int BOATS = 2_500;
+
+    private static final Resource SCHEMA_SCRIPT = new ClassPathResource("scripts/schema.sql");
+
+    private static final String SECONDARY_INDEXES = "select index_name from information_schema.indexes "
+            + "where table_name = 'BOATS' and index_type_name = 'INDEX' order by index_name";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BoatRepository boatRepository;
+
+    private long initialCount;
+
+    private long highestInitialId;
+
+    @BeforeEach
+    void setUp() {
+        initialCount = jdbcTemplate.queryForObject("select count(*) from boats", Long.class);
+        highestInitialId = jdbcTemplate.queryForObject("select max(id) from boats", Long.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from boats where id > ?", highestInitialId);
+    }
+
+    @Test
+    void load_ShouldInsertFleetMoveSequencePastItAndRestoreIndexes() throws Exception {
+        // Given
+        var loader = new SyntheticFleetLoader(jdbcTemplate, SCHEMA_SCRIPT, BOATS, 42, 2, 100);
+        var secondaryIndexes = jdbcTemplate.queryForList(SECONDARY_INDEXES, String.class);
+
+        // When
+        loader.load();
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("select count(*) from boats", Long.class))
+                .isEqualTo(initialCount + BOATS);
+        var expected = new SyntheticFleet(42).boat(0);
+        var firstId = jdbcTemplate.queryForObject("select id from boats where name = ?", Long.class, expected.name());
+        assertThat(firstId).isGreaterThan(highestInitialId);
+        var highestId = jdbcTemplate.queryForObject("select max(id) from boats", Long.class);
+        BoatEntity saved = boatRepository.saveAndFlush(new BoatEntity("Boat After The Fleet", BoatType.YACHT));
+        assertThat(saved.getId()).isGreaterThan(highestId);
+        assertThat(jdbcTemplate.queryForList(SECONDARY_INDEXES, String.class))
+                .isNotEmpty()
+                .isEqualTo(secondaryIndexes);
+    }
+
+    @Test
+    void load_WhenDatabaseHoldsEnoughBoats_ShouldNotInsertAnyBoat() throws Exception {
+        // Given
+        var loader = new SyntheticFleetLoader(jdbcTemplate, SCHEMA_SCRIPT, initialCount, 42, 2, 100);
+
+        // When
+        loader.load();
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("select count(*) from boats", Long.class)).isEqualTo(initialCount);
+    }
+}
@@ -0,0 +1,93 @@
+package io.hellorin.boathub.bench;
+
+import io.hellorin.boathub.domain.BoatType;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SyntheticFleet class.
+ * Tests that fleets are reproducible and that the generated boats fit the boats table.
+ */
+class SyntheticFleetTest {
+
+    private static final int BOATS = 20_000;
+
+    @Test
+    void boat_WithSameSeedAndIndex_ShouldGenerateSameBoat() {
+        // Given
+        var fleet = new SyntheticFleet(42);
+        var sameFleet = new SyntheticFleet(42);
+
+        // When
+        var boat = fleet.boat(1234);
+        fleet.boat(1235);
+
+        // Then
+        assertThat(sameFleet.boat(1234)).isEqualTo(boat);
+    }
+
+    @Test
+    void boat_WithDifferentSeeds_ShouldGenerateDifferentBoats() {
+        // Given
+        var fleet = new SyntheticFleet(42);
+        var otherFleet = new SyntheticFleet(43);
+
+        // When
+        long different = LongStream.range(0, 100)
+                .filter(index -> !fleet.boat(index).equals(otherFleet.boat(index)))
+                .count();
+
+        // Then
+        assertThat(different).isEqualTo(100);
+    }
+
+    @Test
+    void boat_ShouldGenerateUniqueNamesAndValuesFittingTheTable() {
+        // Given
+        var fleet = new SyntheticFleet(42);
+        var names = new HashSet<String>();
+
+        // When
+        for (long index = 0; index < BOATS; index++) {
+            var boat = fleet.boat(index);
+
+            // Then
+            assertThat(names.add(boat.name())).isTrue();
+            assertThat(boat.name()).hasSizeLessThanOrEqualTo(100);
+            if (boat.description() != null) {
+                assertThat(boat.description()).hasSizeBetween(1, 500).doesNotEndWith(",");
+            }
+            assertThat(boat.createdDate()).isBefore(SyntheticFleet.REFERENCE_DATE);
+            assertThat(boat.updatedDate()).isAfterOrEqualTo(boat.createdDate())
+                    .isBeforeOrEqualTo(SyntheticFleet.REFERENCE_DATE);
+        }
+    }
+
+    @Test
+    void boat_ShouldSkewBoatTypesAndVaryDescriptions() {
+        // Given
+        var fleet = new SyntheticFleet(42);
+        Map<BoatType, Integer> types = new EnumMap<>(BoatType.class);
+
+        // When
+        var boats = LongStream.range(0, BOATS).mapToObj(fleet::boat).toList();
+        boats.forEach(boat -> types.merge(boat.boatType(), 1, Integer::sum));
+
+        // Then
+        assertThat(types).containsOnlyKeys(BoatType.values());
+        assertThat(types.get(BoatType.SAILBOAT)).isGreaterThan(types.get(BoatType.YACHT) * 2);
+        assertThat(types.get(BoatType.YACHT)).isGreaterThan(types.get(BoatType.OTHER) * 2);
+        var lengths = boats.stream().map(SyntheticFleet.SyntheticBoat::description).filter(Objects::nonNull)
+                .mapToInt(String::length).sorted().toArray();
+        assertThat(BOATS - lengths.length).isBetween(BOATS * 5 / 100, BOATS * 11 / 100);
+        assertThat(lengths[lengths.length / 2]).isBetween(60, 100);
+        assertThat(lengths[lengths.length * 99 / 100]).isGreaterThan(200);
+    }
+}
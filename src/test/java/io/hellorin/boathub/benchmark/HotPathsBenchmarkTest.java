@@ -0,0 +1,159 @@
+package io.hellorin.boathub.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hellorin.boathub.controller.GlobalExceptionHandler;
+import io.hellorin.boathub.domain.BoatEntity;
+import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.dto.BoatCreationDto;
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.mapper.BoatMapper;
+import io.hellorin.boathub.validation.ValidBoatTypeValidator;
+import io.hellorin.boathub.validation.ValidSortFieldValidator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mapstruct.factory.Mappers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Micro-benchmarks of the hot paths of the boat API, outside of any request: the MapStruct mapping, the validators
+ * of the request parameters, the JSON serialization of a page of boats and the rendering of the error responses.
+ * Each reports the average time and the bytes allocated per operation, and all the results are written in the JSON
+ * format of JMH to target/benchmarks/hot-paths.json, or to the file given with -Dbenchmark.results.
+ * The error handler logger is turned off while measured, the cost of the logs depending on the appenders.
+ * Disabled by default, run it with: mvn test -Dtest=HotPathsBenchmarkTest -Dbenchmark=true
+ * and -Dbenchmark.warmup-iterations=N -Dbenchmark.iterations=M to change the iterations of one second, 5 by default.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class HotPathsBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HotPathsBenchmarkTest.class);
+
+    private static final Path RESULTS = Path.of(System.getProperty("benchmark.results", "target/benchmarks/hot-paths.json"));
+
+    private static final int[] PAGE_SIZES = {10, 50, 1000};
+
+    private static final MicroBenchmark benchmark = new MicroBenchmark();
+
+    private static Level handlerLogLevel;
+
+    private final BoatMapper boatMapper = Mappers.getMapper(BoatMapper.class);
+
+    // Configured as the ObjectMapper of the application, registering the same modules
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+
+    @BeforeAll
+    static void turnOffHandlerLogs() {
+        var handlerLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class);
+        handlerLogLevel = handlerLogger.getLevel();
+        handlerLogger.setLevel(Level.OFF);
+    }
+
+    @AfterAll
+    static void writeResults() throws Exception {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class)).setLevel(handlerLogLevel);
+        benchmark.write(RESULTS);
+        LOGGER.info("Hot paths - results written to {}", RESULTS.toAbsolutePath());
+    }
+
+    @Test
+    void boatMapper() throws Exception {
+        var entity = boat(1);
+        var creation = new BoatCreationDto("Sea Breeze", "A fast sailboat for the weekend regattas", "sailboat");
+
+        measure("boatMapperToDto", Map.of(), () -> boatMapper.toDto(entity));
+        measure("boatMapperToEntity", Map.of(), () -> boatMapper.toEntity(creation));
+    }
+
+    @Test
+    void validators() throws Exception {
+        var boatTypeValidator = new ValidBoatTypeValidator();
+        var sortFieldValidator = new ValidSortFieldValidator();
+
+        // Both validators ignore the context
+        for (String value : List.of("SAILBOAT", " motorboat ", "submarine")) {
+            measure("validBoatTypeValidator", Map.of("value", value), () -> boatTypeValidator.isValid(value, null));
+        }
+        for (String value : List.of("name", "boatType", "unknown")) {
+            measure("validSortFieldValidator", Map.of("value", value), () -> sortFieldValidator.isValid(value, null));
+        }
+    }
+
+    @Test
+    void pageSerialization() throws Exception {
+        for (int size : PAGE_SIZES) {
+            List<BoatDto> boats = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                boats.add(boatMapper.toDto(boat(i)));
+            }
+            var page = new PageImpl<>(boats, PageRequest.of(0, size, Sort.by("name")), 10_000);
+
+            var result = measure("pageSerialization", Map.of("size", String.valueOf(size)),
+                    () -> objectMapper.writeValueAsBytes(page));
+
+            assertThat(result.allocatedBytes()).isPositive();
+        }
+    }
+
+    @Test
+    void errorRendering() throws Exception {
+        var bindingResult = new BeanPropertyBindingResult(new BoatCreationDto(), "boatCreationDto");
+        bindingResult.rejectValue("name", "NotBlank", "must not be blank");
+        bindingResult.rejectValue("boatType", "ValidBoatType", "Invalid boat type");
+        var parameter = new MethodParameter(HotPathsBenchmarkTest.class.getDeclaredMethod("create", BoatCreationDto.class), 0);
+        var validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+        var illegalArgumentException = new IllegalArgumentException("Boat not found with ID: 42");
+
+        measure("validationErrorRendering", Map.of(), () -> objectMapper.writeValueAsBytes(
+                exceptionHandler.handleMethodArgumentNotValidException(validationException).getBody()));
+        measure("illegalArgumentErrorRendering", Map.of(), () -> objectMapper.writeValueAsBytes(
+                exceptionHandler.handleIllegalArgumentException(illegalArgumentException).getBody()));
+    }
+
+    private static MicroBenchmark.Result measure(String name, Map<String, String> params, Callable<?> operation)
+            throws Exception {
+        var result = benchmark.run(HotPathsBenchmarkTest.class.getName() + "." + name, params, operation);
+        LOGGER.info("Hot paths - {} {}: {} +- {} ns/op, {} B/op, {} MB/s allocated", name, params,
+                String.format("%.1f", result.score()), String.format("%.1f", result.scoreError()),
+                String.format("%.0f", result.allocatedBytes()), String.format("%.0f", result.allocationRate()));
+        return result;
+    }
+
+    private static BoatEntity boat(int index) {
+        var boat = new BoatEntity("Benchmark Boat " + index, BoatType.values()[index % BoatType.values().length]);
+        boat.setId((long) index + 1);
+        boat.setDescription("A boat generated to measure the hot paths, number " + index);
+        boat.setCreatedDate(LocalDateTime.of(2024, 5, 1, 10, 30));
+        boat.setUpdatedDate(LocalDateTime.of(2024, 6, 1, 10, 30));
+        boat.setVersion(0L);
+        return boat;
+    }
+
+    /**
+     * Stands for the controller method whose request body failed the validation.
+     */
+    @SuppressWarnings("unused")
+    private void create(BoatCreationDto boatCreationDto) {
+    }
+}
@@ -0,0 +1,190 @@
+package io.hellorin.boathub.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal harness measuring the average time and the allocations of single-threaded operations, in the manner of JMH
+ * in average time mode with the GC profiler: warm-up iterations, then measured iterations each running the operation
+ * for a fixed time. Every result is returned into a volatile field, so that the JIT cannot discard the operation.
+ * <p>
+ * The allocations are read from the thread allocation counter of the JVM: the bytes allocated per operation match
+ * {@code gc.alloc.rate.norm} of JMH, and the allocation rate {@code gc.alloc.rate}. The results are written
+ * in the JSON format of JMH, so that they can be compared between releases with the tools reading JMH results.
+ * Unlike JMH, operations run in the JVM of the tests, which is not forked per benchmark.
+ */
+final class MicroBenchmark {
+
+    private static final int WARMUP_ITERATIONS = Integer.getInteger("benchmark.warmup-iterations", 5);
+
+    private static final int MEASURED_ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+
+    private static final Duration ITERATION_TIME = Duration.ofSeconds(1);
+
+    /**
+     * Operations run between two reads of the clock, so that reading it does not weigh on the fastest operations.
+     */
+    private static final int BATCH_SIZE = 64;
+
+    /**
+     * Quantiles of the Student distribution for a 99.9% confidence, by degrees of freedom, as used by JMH
+     * for the score errors. Beyond the table, the normal quantile is close enough.
+     */
+    private static final double[] STUDENT_QUANTILES = {636.619, 31.599, 12.924, 8.610, 6.869, 5.959, 5.408, 5.041, 4.781};
+
+    private static final double NORMAL_QUANTILE = 3.291;
+
+    private static final double BYTES_PER_MB = 1024 * 1024;
+
+    private static volatile Object sink;
+
+    private final List<Result> results = new ArrayList<>();
+
+    /**
+     * Measures an operation and keeps its result.
+     * @param benchmark The name of the benchmark
+     * @param params The parameters of the benchmark, in the order they are reported
+     * @param operation The operation measured
+     * @return The result of the benchmark
+     */
+    Result run(String benchmark, Map<String, String> params, Callable<?> operation) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration(operation);
+        }
+        var iterations = new Iteration[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            iterations[i] = iteration(operation);
+        }
+        var result = new Result(benchmark, params,
+                Arrays.stream(iterations).mapToDouble(Iteration::nanosPerOperation).toArray(),
+                Arrays.stream(iterations).mapToDouble(Iteration::bytesPerOperation).toArray(),
+                Arrays.stream(iterations).mapToDouble(Iteration::megabytesPerSecond).toArray());
+        results.add(result);
+        return result;
+    }
+
+    /**
+     * Writes the results kept so far in the JSON format of JMH.
+     */
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(path.toFile(), results.stream().map(MicroBenchmark::toJmhResult).toList());
+    }
+
+    private static Iteration iteration(Callable<?> operation) throws Exception {
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long operations = 0;
+        long allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long end = start + ITERATION_TIME.toNanos();
+        long now;
+        do {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                sink = operation.call();
+            }
+            operations += BATCH_SIZE;
+            now = System.nanoTime();
+        } while (now < end);
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        long elapsed = now - start;
+        return new Iteration((double) elapsed / operations, (double) allocated / operations,
+                allocated / BYTES_PER_MB / (elapsed / (double) TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    private static Map<String, Object> toJmhResult(Result result) {
+        var json = new LinkedHashMap<String, Object>();
+        json.put("benchmark", result.benchmark());
+        json.put("mode", "avgt");
+        json.put("threads", 1);
+        json.put("forks", 0);
+        json.put("jvm", System.getProperty("java.home"));
+        json.put("jdkVersion", System.getProperty("java.version"));
+        json.put("vmName", System.getProperty("java.vm.name"));
+        json.put("vmVersion", System.getProperty("java.vm.version"));
+        json.put("warmupIterations", WARMUP_ITERATIONS);
+        json.put("warmupTime", ITERATION_TIME.toSeconds() + " s");
+        json.put("measurementIterations", MEASURED_ITERATIONS);
+        json.put("measurementTime", ITERATION_TIME.toSeconds() + " s");
+        if (!result.params().isEmpty()) {
+            json.put("params", result.params());
+        }
+        json.put("primaryMetric", metric(result.nanosPerOperation(), "ns/op"));
+        var secondaryMetrics = new LinkedHashMap<String, Object>();
+        secondaryMetrics.put("·gc.alloc.rate", metric(result.megabytesPerSecond(), "MB/sec"));
+        secondaryMetrics.put("·gc.alloc.rate.norm", metric(result.bytesPerOperation(), "B/op"));
+        json.put("secondaryMetrics", secondaryMetrics);
+        return json;
+    }
+
+    private static Map<String, Object> metric(double[] iterations, String unit) {
+        double score = mean(iterations);
+        double error = error(iterations);
+        var json = new LinkedHashMap<String, Object>();
+        json.put("score", score);
+        json.put("scoreError", error);
+        json.put("scoreConfidence", List.of(score - error, score + error));
+        json.put("scoreUnit", unit);
+        json.put("rawData", List.of(iterations));
+        return json;
+    }
+
+    private static double mean(double[] values) {
+        return Arrays.stream(values).average().orElse(Double.NaN);
+    }
+
+    /**
+     * Half width of the 99.9% confidence interval of the mean, NaN with a single iteration, as reported by JMH.
+     */
+    private static double error(double[] values) {
+        int n = values.length;
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double mean = mean(values);
+        double variance = Arrays.stream(values).map(value -> (value - mean) * (value - mean)).sum() / (n - 1);
+        double quantile = n - 1 <= STUDENT_QUANTILES.length ? STUDENT_QUANTILES[n - 2] : NORMAL_QUANTILE;
+        return quantile * Math.sqrt(variance / n);
+    }
+
+    private record Iteration(double nanosPerOperation, double bytesPerOperation, double megabytesPerSecond) {
+    }
+
+    /**
+     * Result of a benchmark, with the value of every measured iteration.
+     */
+    record Result(String benchmark, Map<String, String> params, double[] nanosPerOperation,
+                  double[] bytesPerOperation, double[] megabytesPerSecond) {
+
+        double score() {
+            return mean(nanosPerOperation);
+        }
+
+        double scoreError() {
+            return error(nanosPerOperation);
+        }
+
+        double allocatedBytes() {
+            return mean(bytesPerOperation);
+        }
+
+        double allocationRate() {
+            return mean(megabytesPerSecond);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.hellorin.boathub.cache;
+
+import io.hellorin.boathub.dto.BoatDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BoatCache class.
+ * Tests the read-through behavior, the invalidation and the published metrics.
+ */
+class BoatCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BoatCache boatCache;
+
+    private BoatDto testBoatDto;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        boatCache = new BoatCache(meterRegistry, 100, Duration.ofMinutes(10));
+
+        testBoatDto = new BoatDto();
+        testBoatDto.setId(1L);
+        testBoatDto.setName("Test Boat");
+    }
+
+    @Test
+    void get_WhenCalledTwice_ShouldLoadOnlyOnce() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        Optional<BoatDto> first = boatCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return testBoatDto;
+        });
+        Optional<BoatDto> second = boatCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return testBoatDto;
+        });
+
+        // Then
+        assertThat(first).contains(testBoatDto);
+        assertThat(second).contains(testBoatDto);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void get_WhenLoaderReturnsNull_ShouldReturnEmptyAndNotCache() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        Optional<BoatDto> first = boatCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        boatCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_WhenIdIsNull_ShouldBypassCache() {
+        // When
+        Optional<BoatDto> result = boatCache.get(null, id -> null);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void invalidate_ShouldForceNextGetToLoad() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        boatCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return testBoatDto;
+        });
+
+        // When
+        boatCache.invalidate(1L);
+        boatCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return testBoatDto;
+        });
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidateAll_ShouldForceNextGetToLoad() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        boatCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return testBoatDto;
+        });
+
+        // When
+        boatCache.invalidateAll();
+        boatCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return testBoatDto;
+        });
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_ShouldPublishHitAndMissMetrics() {
+        // When
+        boatCache.get(1L, id -> testBoatDto);
+        boatCache.get(1L, id -> testBoatDto);
+
+        // Then
+        assertThat(meterRegistry.get("cache.gets").tag("cache", BoatCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", BoatCache.CACHE_NAME).tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", BoatCache.CACHE_NAME).functionCounter())
+                .isNotNull();
+    }
+}
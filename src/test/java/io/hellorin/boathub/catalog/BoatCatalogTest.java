@@ -0,0 +1,386 @@
+package io.hellorin.boathub.catalog;
+
+import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.repository.BoatRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BoatCatalog class.
+ * Tests the listing from memory, the propagation of the writes and the consistency check.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoatCatalogTest {
+
+    @Mock
+    private BoatRepository boatRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BoatCatalog boatCatalog;
+
+    private LocalDateTime testDateTime;
+
+    private BoatDto alpha;
+    private BoatDto bravo;
+    private BoatDto charlie;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        boatCatalog = new BoatCatalog(boatRepository, meterRegistry, true);
+        testDateTime = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+
+        alpha = boat(3L, "Alpha", null, "YACHT");
+        bravo = boat(1L, "Bravo", "Fast", "SAILBOAT");
+        charlie = boat(2L, "Charlie", "Comfortable", "MOTORBOAT");
+    }
+
+    @Test
+    void findPage_WhenNotLoaded_ShouldReturnEmpty() {
+        // When
+        Optional<Page<BoatDto>> result = boatCatalog.findPage(PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result).isEmpty();
+        assertThat(boatCatalog.isLoaded()).isFalse();
+    }
+
+    @Test
+    void findPage_WhenAscending_ShouldSliceIndexOfSortField() {
+        // Given
+        loadCatalog(bravo, charlie, alpha);
+
+        // When
+        Optional<Page<BoatDto>> result = boatCatalog.findPage(PageRequest.of(1, 2, Sort.by(Sort.Direction.ASC, "name")));
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().getContent()).containsExactly(charlie);
+        assertThat(result.get().getTotalElements()).isEqualTo(3);
+        assertThat(result.get().getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    void findPage_WhenDescending_ShouldSortNullDescriptionsLast() {
+        // Given
+        loadCatalog(bravo, charlie, alpha);
+
+        // When
+        Optional<Page<BoatDto>> result = boatCatalog.findPage(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "description")));
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().getContent()).containsExactly(bravo, charlie, alpha);
+    }
+
+    @Test
+    void findPage_WhenUnsorted_ShouldOrderById() {
+        // Given
+        loadCatalog(alpha, charlie, bravo);
+
+        // When
+        Optional<Page<BoatDto>> result = boatCatalog.findPage(PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().getContent()).containsExactly(bravo, charlie, alpha);
+    }
+
+    @Test
+    void findPage_WhenOrderCannotBeServed_ShouldReturnEmpty() {
+        // Given
+        loadCatalog(bravo, charlie, alpha);
+
+        // When & Then
+        assertThat(boatCatalog.findPage(PageRequest.of(0, 10, Sort.by("name", "boatType")))).isEmpty();
+        assertThat(boatCatalog.findPage(PageRequest.of(0, 10, Sort.by(Sort.Order.asc("name").ignoreCase())))).isEmpty();
+        assertThat(boatCatalog.findPage(PageRequest.of(0, 10, Sort.by("createdDate")))).isEmpty();
+    }
+
+    @Test
+    void findPage_WhenOffsetBeyondCatalog_ShouldReturnEmptyContent() {
+        // Given
+        loadCatalog(bravo, charlie, alpha);
+
+        // When
+        Optional<Page<BoatDto>> result = boatCatalog.findPage(PageRequest.of(5, 10));
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().getContent()).isEmpty();
+        assertThat(result.get().getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void onBoatCreated_ShouldInsertBoatInEveryIndex() {
+        // Given
+        loadCatalog(bravo, charlie);
+
+        // When
+        boatCatalog.onBoatCreated(alpha);
+
+        // Then
+        assertThat(namesSortedBy("name")).containsExactly("Alpha", "Bravo", "Charlie");
+        assertThat(namesSortedBy("boatType")).containsExactly("Charlie", "Bravo", "Alpha");
+        assertThat(namesSortedBy("id")).containsExactly("Bravo", "Charlie", "Alpha");
+    }
+
+    @Test
+    void onBoatsCreated_ShouldInsertAndReplaceBoatsInEveryIndex() {
+        // Given
+        loadCatalog(bravo, charlie);
+        BoatDto delta = boat(4L, "Delta", "Slow", "SAILBOAT");
+        BoatDto renamedCharlie = boat(2L, "Zulu", "Comfortable", "MOTORBOAT");
+
+        // When
+        boatCatalog.onBoatsCreated(List.of(delta, alpha, renamedCharlie));
+
+        // Then
+        assertThat(namesSortedBy("name")).containsExactly("Alpha", "Bravo", "Delta", "Zulu");
+        assertThat(namesSortedBy("boatType")).containsExactly("Zulu", "Bravo", "Delta", "Alpha");
+        assertThat(namesSortedBy("id")).containsExactly("Bravo", "Zulu", "Alpha", "Delta");
+        assertThat(boatCatalog.findPage(PageRequest.of(0, 10), Set.of(BoatType.SAILBOAT)).orElseThrow().getContent())
+                .containsExactly(bravo, delta);
+    }
+
+    @Test
+    void onBoatUpdated_ShouldMoveBoatInIndexes() {
+        // Given
+        loadCatalog(bravo, charlie, alpha);
+        BoatDto renamed = boat(1L, "Zulu", "Fast", "SAILBOAT");
+        renamed.setUpdatedDate(testDateTime.plusMinutes(1));
+        renamed.setVersion(1L);
+
+        // When
+        boatCatalog.onBoatUpdated(renamed);
+
+        // Then
+        assertThat(namesSortedBy("name")).containsExactly("Alpha", "Charlie", "Zulu");
+        assertThat(boatCatalog.findPage(PageRequest.of(0, 10)).orElseThrow().getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void onBoatUpdated_WhenOlderThanCatalog_ShouldBeIgnored() {
+        // Given
+        loadCatalog(bravo, charlie, alpha);
+        BoatDto renamed = boat(1L, "Yankee", "Fast", "SAILBOAT");
+        renamed.setVersion(2L);
+        boatCatalog.onBoatUpdated(renamed);
+        // Same update date, as two updates can have at the resolution of the clock
+        BoatDto stale = boat(1L, "Zulu", "Fast", "SAILBOAT");
+        stale.setVersion(1L);
+
+        // When
+        boatCatalog.onBoatUpdated(stale);
+
+        // Then
+        assertThat(namesSortedBy("name")).containsExactly("Alpha", "Charlie", "Yankee");
+    }
+
+    @Test
+    void onBoatUpdated_WhenBoatDeletedMeanwhile_ShouldNotReinsertIt() {
+        // Given
+        loadCatalog(bravo, charlie, alpha);
+        boatCatalog.onBoatDeleted(1L);
+
+        // When
+        boatCatalog.onBoatUpdated(boat(1L, "Zulu", "Fast", "SAILBOAT"));
+
+        // Then
+        assertThat(namesSortedBy("name")).containsExactly("Alpha", "Charlie");
+    }
+
+    @Test
+    void onBoatDeleted_WhenCalledTwice_ShouldRemoveBoatOnce() {
+        // Given
+        loadCatalog(bravo, charlie, alpha);
+
+        // When
+        boatCatalog.onBoatDeleted(2L);
+        boatCatalog.onBoatDeleted(2L);
+
+        // Then
+        assertThat(namesSortedBy("description")).containsExactly("Alpha", "Bravo");
+    }
+
+    @Test
+    void onBoatsDeleted_ShouldRemoveBoatsFromEveryIndex() {
+        // Given
+        BoatDto delta = boat(4L, "Delta", "Slow", "SAILBOAT");
+        loadCatalog(bravo, charlie, alpha, delta);
+
+        // When
+        boatCatalog.onBoatsDeleted(List.of(1L, 3L));
+
+        // Then
+        assertThat(namesSortedBy("name")).containsExactly("Charlie", "Delta");
+        assertThat(namesSortedBy("boatType")).containsExactly("Charlie", "Delta");
+        assertThat(boatCatalog.findPage(PageRequest.of(0, 10), Set.of(BoatType.SAILBOAT)).orElseThrow().getContent())
+                .containsExactly(delta);
+    }
+
+    @Test
+    void onBoatCreated_WhenNotLoaded_ShouldBeIgnored() {
+        // When
+        boatCatalog.onBoatCreated(alpha);
+
+        // Then
+        assertThat(boatCatalog.isLoaded()).isFalse();
+    }
+
+    @Test
+    void onApplicationReady_WhenDisabled_ShouldNotLoad() {
+        // Given
+        BoatCatalog disabledCatalog = new BoatCatalog(boatRepository, meterRegistry, false);
+
+        // When
+        disabledCatalog.onApplicationReady();
+
+        // Then
+        assertThat(disabledCatalog.isLoaded()).isFalse();
+        verifyNoInteractions(boatRepository);
+    }
+
+    @Test
+    void isConsistent_WhenSameBoatsWithOtherTimestamps_ShouldReturnTrue() {
+        // Given
+        loadCatalog(bravo, charlie);
+        BoatDto reloadedBravo = boat(1L, "Bravo", "Fast", "SAILBOAT");
+        reloadedBravo.setUpdatedDate(testDateTime.plusNanos(1));
+        when(boatRepository.findAllProjected()).thenReturn(List.of(reloadedBravo, charlie));
+
+        // When
+        boolean result = boatCatalog.isConsistent();
+
+        // Then
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    void verify_WhenCatalogDrifted_ShouldReloadAndCountInconsistency() {
+        // Given
+        loadCatalog(bravo, charlie);
+        BoatDto renamedOutsideService = boat(2L, "Delta", "Comfortable", "MOTORBOAT");
+        when(boatRepository.findAllProjected()).thenReturn(List.of(bravo, renamedOutsideService));
+
+        // When
+        boatCatalog.verify();
+
+        // Then
+        assertThat(namesSortedBy("name")).containsExactly("Bravo", "Delta");
+        assertThat(meterRegistry.get("boathub.catalog.inconsistencies").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("boathub.catalog.size").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void verify_WhenCatalogConsistent_ShouldNotReload() {
+        // Given
+        loadCatalog(bravo, charlie);
+
+        // When
+        boatCatalog.verify();
+
+        // Then
+        verify(boatRepository, times(2)).findAllProjected();
+        assertThat(meterRegistry.get("boathub.catalog.inconsistencies").counter().count()).isZero();
+    }
+
+    private void loadCatalog(BoatDto... boats) {
+        when(boatRepository.findAllProjected()).thenReturn(List.of(boats));
+        boatCatalog.load();
+    }
+
+    private List<String> namesSortedBy(String field) {
+        return boatCatalog.findPage(PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, field)))
+                .orElseThrow()
+                .map(BoatDto::getName)
+                .getContent();
+    }
+
+    private BoatDto boat(Long id, String name, String description, String boatType) {
+        return new BoatDto(id, name, description, boatType, testDateTime, testDateTime);
+    }
+
+
+    @Test
+    void findPage_WithBoatTypes_ShouldPageThroughBoatsOfTheseTypes() {
+        // Given
+        BoatDto delta = boat(4L, "Delta", "Slow", "SAILBOAT");
+        loadCatalog(bravo, charlie, alpha, delta);
+        Set<BoatType> types = Set.of(BoatType.SAILBOAT, BoatType.YACHT);
+
+        // When
+        Page<BoatDto> ascending = boatCatalog.findPage(PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "name")), types).orElseThrow();
+        Page<BoatDto> descending = boatCatalog.findPage(PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "name")), types).orElseThrow();
+
+        // Then
+        assertThat(ascending.getContent()).containsExactly(alpha, bravo);
+        assertThat(ascending.getTotalElements()).isEqualTo(3);
+        assertThat(descending.getContent()).containsExactly(alpha);
+        assertThat(boatCatalog.findPage(PageRequest.of(0, 10), Set.of(BoatType.OTHER)).orElseThrow()).isEmpty();
+    }
+
+    @Test
+    void findPage_WithBoatTypesAfterWrites_ShouldMatchBoatsFilteredByType() {
+        // Given
+        var random = new Random(42);
+        var types = BoatType.values();
+        Map<Long, BoatDto> expected = new HashMap<>();
+        for (long id = 1; id <= 150; id++) {
+            expected.put(id, boat(id, "Boat " + random.nextInt(1000) + "-" + id, null, types[random.nextInt(types.length)].name()));
+        }
+        loadCatalog(expected.values().toArray(BoatDto[]::new));
+
+        // When
+        for (int i = 0; i < 300; i++) {
+            long id = 1 + random.nextInt(200);
+            var write = random.nextInt(3);
+            if (write == 0) {
+                boatCatalog.onBoatDeleted(id);
+                expected.remove(id);
+            } else if (expected.containsKey(id) || write == 1) {
+                BoatDto written = boat(id, "Boat " + random.nextInt(1000) + "-" + id, null, types[random.nextInt(types.length)].name());
+                boatCatalog.onBoatCreated(written);
+                expected.put(id, written);
+            }
+        }
+
+        // Then
+        Set<BoatType> filter = Set.of(BoatType.SAILBOAT, BoatType.YACHT);
+        for (String field : List.of("id", "name", "boatType")) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                var pageable = PageRequest.of(1, 20, Sort.by(direction, field));
+                List<Long> expectedIds = boatCatalog.findPage(PageRequest.of(0, 1000, Sort.by(direction, field))).orElseThrow()
+                        .stream()
+                        .filter(boat -> filter.contains(BoatType.valueOf(boat.getBoatType())))
+                        .map(BoatDto::getId)
+                        .toList();
+                Page<BoatDto> page = boatCatalog.findPage(pageable, filter).orElseThrow();
+                assertThat(page.getTotalElements()).isEqualTo(expectedIds.size());
+                assertThat(page.getContent()).extracting(BoatDto::getId).containsExactlyElementsOf(
+                        expectedIds.subList(Math.min(20, expectedIds.size()), Math.min(40, expectedIds.size())));
+            }
+        }
+        assertThat(boatCatalog.findPage(PageRequest.of(0, 1000)).orElseThrow()).hasSize(expected.size());
+    }
+}
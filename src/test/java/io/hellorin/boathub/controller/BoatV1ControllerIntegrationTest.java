@@ -4,9 +4,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.hellorin.boathub.config.CspConfig;
 import io.hellorin.boathub.config.JpaConfiguration;
 import io.hellorin.boathub.config.SecurityConfig;
+import io.hellorin.boathub.domain.BoatEntity;
 import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.events.BoatEventFeed;
 import io.hellorin.boathub.dto.*;
+import io.hellorin.boathub.service.BoatExportFormat;
+import io.hellorin.boathub.service.BoatExportService;
 import io.hellorin.boathub.service.BoatService;
+import io.hellorin.boathub.service.BoatSyncService;
+import io.hellorin.boathub.service.BoatSyncTokenExpiredException;
+import io.hellorin.boathub.service.BoatSearchUnavailableException;
+import io.hellorin.boathub.service.BoatVersionConflictException;
 import io.hellorin.boathub.service.UserDetailsServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,17 +26,31 @@ import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfigurat
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -50,6 +72,15 @@ class BoatV1ControllerIntegrationTest {
     @MockitoBean
     private BoatService boatService;
 
+    @MockitoBean
+    private BoatExportService boatExportService;
+
+    @MockitoBean
+    private BoatSyncService boatSyncService;
+
+    @MockitoBean
+    private BoatEventFeed boatEventFeed;
+
     @MockitoBean
     private UserDetailsServiceImpl userDetailsService;
 
@@ -83,7 +114,7 @@ class BoatV1ControllerIntegrationTest {
         // Given
         List<BoatDto> boats = List.of(createTestBoat());
         Page<BoatDto> boatPage = new PageImpl<>(boats);
-        when(boatService.getAllBoatsInPage(any(PageRequest.class))).thenReturn(boatPage);
+        when(boatService.getAllBoatsInPage(any(PageRequest.class), eq(Set.of()))).thenReturn(boatPage);
 
         // When & Then
         mockMvc.perform(get("/api/v1/boats")
@@ -98,6 +129,135 @@ class BoatV1ControllerIntegrationTest {
                 .andExpect(jsonPath("$.content[0].name").value("Test Boat"));
     }
 
+    @Test
+    @WithMockUser
+    void getAllBoatsInSlice_WithValidParameters_ShouldReturn200() throws Exception {
+        // Given
+        var slice = new BoatSliceDto(List.of(createTestBoat()), 0, 10, false, 1L);
+        when(boatService.getAllBoatsInSlice(any(PageRequest.class), eq(true))).thenReturn(slice);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/slice")
+                .param("page", "0")
+                .param("size", "10")
+                .param("withTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    void getAllBoatsInSlice_WithInvalidPage_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/slice")
+                .param("page", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getBoatsByCursor_WithValidParameters_ShouldReturn200() throws Exception {
+        // Given
+        var cursorPage = new BoatCursorPageDto(List.of(createTestBoat()), 10, true, "bmV4dA");
+        when(boatService.getBoatsAfterCursor("YWZ0ZXI", 10, "name", Sort.Direction.DESC)).thenReturn(cursorPage);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/cursor")
+                .param("after", "YWZ0ZXI")
+                .param("size", "10")
+                .param("sortBy", "name")
+                .param("sortDirection", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("bmV4dA"));
+    }
+
+    @Test
+    @WithMockUser
+    void getBoatsByCursor_WithInvalidSize_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/cursor")
+                .param("size", "51"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getBoatsByCursor_WithMalformedCursor_ShouldReturn400() throws Exception {
+        // Given
+        when(boatService.getBoatsAfterCursor(any(), anyInt(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Malformed cursor"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/cursor")
+                .param("after", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getAllBoatsInPage_WithCurrentETag_ShouldReturn304() throws Exception {
+        // Given
+        when(boatService.getFleetVersion()).thenReturn("abc-1");
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats")
+                .param("page", "0")
+                .header("If-None-Match", "\"abc-1-0-10-name_ASC\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"abc-1-0-10-name_ASC\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser
+    void getAllBoatsInPage_WithoutETag_ShouldReturn200WithETag() throws Exception {
+        // Given
+        when(boatService.getFleetVersion()).thenReturn("abc-1");
+        when(boatService.getAllBoatsInPage(any(PageRequest.class), eq(Set.of()))).thenReturn(new PageImpl<>(List.of(createTestBoat())));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats")
+                .param("page", "0"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc-1-0-10-name_ASC\""));
+    }
+
+    @Test
+    @WithMockUser
+    void getBoatById_WithCurrentETag_ShouldReturn304() throws Exception {
+        // Given
+        BoatDto boat = createTestBoat();
+        when(boatService.getBoatById(1L)).thenReturn(Optional.of(boat));
+        String etag = mockMvc.perform(get("/api/v1/boats/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/1")
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser
+    void getBoatById_WithOutdatedETag_ShouldReturn200() throws Exception {
+        // Given
+        when(boatService.getBoatById(1L)).thenReturn(Optional.of(createTestBoat()));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/1")
+                .header("If-None-Match", "\"1-outdated\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
     @Test
     @WithMockUser
     void getAllBoatsInPage_WithInvalidPage_ShouldReturn400() throws Exception {
@@ -267,7 +427,7 @@ class BoatV1ControllerIntegrationTest {
         updatedBoat.setName("Updated Boat");
         updatedBoat.setDescription("Updated description");
         updatedBoat.setBoatType(BoatType.MOTORBOAT.name());
-        when(boatService.updateBoat(any(Long.class), any(BoatUpdateDto.class))).thenReturn(Optional.of(updatedBoat));
+        when(boatService.updateBoat(any(Long.class), any(BoatUpdateDto.class), isNull())).thenReturn(Optional.of(updatedBoat));
 
         // When & Then
         mockMvc.perform(put("/api/v1/boats/1")
@@ -287,7 +447,7 @@ class BoatV1ControllerIntegrationTest {
     void updateBoat_WhenBoatNotFound_ShouldReturn404() throws Exception {
         // Given
         BoatUpdateDto updateDto = new BoatUpdateDto("Updated Boat", "Updated description", "MOTORBOAT");
-        when(boatService.updateBoat(999L, updateDto)).thenReturn(Optional.empty());
+        when(boatService.updateBoat(999L, updateDto, null)).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(put("/api/v1/boats/999")
@@ -400,7 +560,7 @@ class BoatV1ControllerIntegrationTest {
         BoatNameUpdateDto nameUpdateDto = new BoatNameUpdateDto("Updated Name");
         BoatDto updatedBoat = createTestBoat();
         updatedBoat.setName("Updated Name");
-        when(boatService.updateBoatName(any(Long.class), any(BoatNameUpdateDto.class))).thenReturn(Optional.of(updatedBoat));
+        when(boatService.updateBoatName(any(Long.class), any(BoatNameUpdateDto.class), isNull())).thenReturn(Optional.of(updatedBoat));
 
         // When & Then
         mockMvc.perform(patch("/api/v1/boats/1/name")
@@ -417,7 +577,7 @@ class BoatV1ControllerIntegrationTest {
     void updateBoatName_WhenBoatNotFound_ShouldReturn404() throws Exception {
         // Given
         BoatNameUpdateDto nameUpdateDto = new BoatNameUpdateDto("Updated Name");
-        when(boatService.updateBoatName(999L, nameUpdateDto)).thenReturn(Optional.empty());
+        when(boatService.updateBoatName(999L, nameUpdateDto, null)).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(patch("/api/v1/boats/999/name")
@@ -465,7 +625,7 @@ class BoatV1ControllerIntegrationTest {
         BoatDescriptionUpdateDto descriptionUpdateDto = new BoatDescriptionUpdateDto("Updated description");
         BoatDto updatedBoat = createTestBoat();
         updatedBoat.setDescription("Updated description");
-        when(boatService.updateBoatDescription(any(Long.class), any(BoatDescriptionUpdateDto.class))).thenReturn(Optional.of(updatedBoat));
+        when(boatService.updateBoatDescription(any(Long.class), any(BoatDescriptionUpdateDto.class), isNull())).thenReturn(Optional.of(updatedBoat));
 
         // When & Then
         mockMvc.perform(patch("/api/v1/boats/1/description")
@@ -482,7 +642,7 @@ class BoatV1ControllerIntegrationTest {
     void updateBoatDescription_WhenBoatNotFound_ShouldReturn404() throws Exception {
         // Given
         BoatDescriptionUpdateDto descriptionUpdateDto = new BoatDescriptionUpdateDto("Updated description");
-        when(boatService.updateBoatDescription(999L, descriptionUpdateDto)).thenReturn(Optional.empty());
+        when(boatService.updateBoatDescription(999L, descriptionUpdateDto, null)).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(patch("/api/v1/boats/999/description")
@@ -516,7 +676,7 @@ class BoatV1ControllerIntegrationTest {
         BoatTypeUpdateDto typeUpdateDto = new BoatTypeUpdateDto("MOTORBOAT");
         BoatDto updatedBoat = createTestBoat();
         updatedBoat.setBoatType(BoatType.MOTORBOAT.name());
-        when(boatService.updateBoatType(any(Long.class), any(BoatTypeUpdateDto.class))).thenReturn(Optional.of(updatedBoat));
+        when(boatService.updateBoatType(any(Long.class), any(BoatTypeUpdateDto.class), isNull())).thenReturn(Optional.of(updatedBoat));
 
         // When & Then
         mockMvc.perform(patch("/api/v1/boats/1/type")
@@ -533,7 +693,7 @@ class BoatV1ControllerIntegrationTest {
     void updateBoatType_WhenBoatNotFound_ShouldReturn404() throws Exception {
         // Given
         BoatTypeUpdateDto typeUpdateDto = new BoatTypeUpdateDto("MOTORBOAT");
-        when(boatService.updateBoatType(999L, typeUpdateDto)).thenReturn(Optional.empty());
+        when(boatService.updateBoatType(999L, typeUpdateDto, null)).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(patch("/api/v1/boats/999/type")
@@ -684,6 +844,13 @@ class BoatV1ControllerIntegrationTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void getLatencies_WithoutAuthentication_ShouldReturn403() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/latencies"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void createBoat_WithoutAuthentication_ShouldReturn403() throws Exception {
         // Given
@@ -755,4 +922,507 @@ class BoatV1ControllerIntegrationTest {
                 .andExpect(status().isForbidden());
     }
 
+    // GET /api/v1/boats?ids= and POST /api/v1/boats/lookup - Test HTTP status codes
+
+    @Test
+    @WithMockUser
+    void getBoatsByIds_WithValidIds_ShouldReturn200() throws Exception {
+        // Given
+        BoatBatchDto batch = new BoatBatchDto(List.of(createTestBoat()), List.of(99L));
+        when(boatService.getBoatsByIds(List.of(1L, 99L))).thenReturn(batch);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats")
+                .param("ids", "1,99"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(99));
+    }
+
+    @Test
+    @WithMockUser
+    void getBoatsByIds_WithInvalidId_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats")
+                .param("ids", "1,abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getBoatsByIds_WithTooManyIds_ShouldReturn400() throws Exception {
+        // Given
+        String ids = String.join(",", LongStream.rangeClosed(1, 101).mapToObj(Long::toString).toList());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats")
+                .param("ids", ids))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void lookupBoatsByIds_WithValidIds_ShouldReturn200() throws Exception {
+        // Given
+        BoatBatchDto batch = new BoatBatchDto(List.of(createTestBoat()), List.of());
+        when(boatService.getBoatsByIds(List.of(1L))).thenReturn(batch);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/boats/lookup")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BoatIdsDto(List.of(1L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.missingIds").isEmpty());
+    }
+
+    @Test
+    @WithMockUser
+    void lookupBoatsByIds_WithEmptyIds_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/boats/lookup")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BoatIdsDto(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    // POST /api/v1/boats/delete - Test HTTP status codes
+
+    @Test
+    @WithMockUser
+    void deleteBoats_WithValidIds_ShouldReturn200() throws Exception {
+        // Given
+        when(boatService.deleteBoats(List.of(1L, 99L))).thenReturn(new BoatBulkDeletionResultDto(2, 1));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/boats/delete")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BoatIdsDto(List.of(1L, 99L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(2))
+                .andExpect(jsonPath("$.deleted").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    void deleteBoats_WithEmptyIds_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/boats/delete")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BoatIdsDto(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void deleteBoats_WithoutCsrfToken_ShouldBeRejected() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/boats/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BoatIdsDto(List.of(1L)))))
+                .andExpect(status().isFound());
+    }
+
+    // GET /api/v1/boats/export - Test HTTP status codes
+
+    @Test
+    @WithMockUser
+    void exportBoats_WithDefaultFormat_ShouldStreamNdjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(boatExportService).exportBoats(eq(BoatExportFormat.NDJSON), any(OutputStream.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/boats/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"boats.ndjson\""))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    @WithMockUser
+    void exportBoats_WithUnsupportedFormat_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/export")
+                .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void exportBoats_WhenNotAuthenticated_ShouldReturn403() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/export"))
+                .andExpect(status().isForbidden());
+    }
+
+    // POST /api/v1/boats/batch - Test HTTP status codes
+
+    @Test
+    @WithMockUser
+    void createBoats_WithValidList_ShouldReturn200() throws Exception {
+        // Given
+        List<BoatCreationDto> boats = List.of(new BoatCreationDto("New Boat", "A new boat", "SAILBOAT"));
+        BoatBulkCreationResultDto result = new BoatBulkCreationResultDto(1, 0,
+                List.of(new BoatBulkItemResultDto(0, createTestBoat(), List.of())));
+        when(boatService.createBoats(any())).thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/boats/batch")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(boats)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.items[0].boat.id").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    void createBoats_WithEmptyList_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/boats/batch")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void createBoats_WithoutCsrfToken_ShouldBeRejected() throws Exception {
+        // When & Then - Request without CSRF token should be rejected
+        mockMvc.perform(post("/api/v1/boats/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isFound());
+    }
+
+    // If-Match on PUT and PATCH /api/v1/boats/{id} - Test HTTP status codes
+
+    @Test
+    @WithMockUser
+    void updateBoat_WithCurrentIfMatch_ShouldReturn200WithNewETag() throws Exception {
+        // Given
+        BoatUpdateDto updateDto = new BoatUpdateDto("Updated Boat", "Updated description", "MOTORBOAT");
+        BoatDto updatedBoat = createTestBoat();
+        updatedBoat.setVersion(4L);
+        when(boatService.updateBoat(eq(1L), any(BoatUpdateDto.class), eq(3L))).thenReturn(Optional.of(updatedBoat));
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/boats/1")
+                .with(csrf())
+                .header("If-Match", "\"1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    @WithMockUser
+    void updateBoat_WithStaleIfMatch_ShouldReturn412() throws Exception {
+        // Given
+        BoatUpdateDto updateDto = new BoatUpdateDto("Updated Boat", "Updated description", "MOTORBOAT");
+        when(boatService.updateBoat(eq(1L), any(BoatUpdateDto.class), eq(2L)))
+                .thenThrow(new BoatVersionConflictException(1L));
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/boats/1")
+                .with(csrf())
+                .header("If-Match", "\"1-2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @WithMockUser
+    void updateBoatName_WithIfMatchOfAnotherBoat_ShouldReturn412() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/v1/boats/1/name")
+                .with(csrf())
+                .header("If-Match", "\"2-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BoatNameUpdateDto("Renamed Boat"))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @WithMockUser
+    void updateBoatDescription_WithWildcardIfMatch_ShouldUpdateAnyVersion() throws Exception {
+        // Given
+        BoatDto updatedBoat = createTestBoat();
+        when(boatService.updateBoatDescription(eq(1L), any(BoatDescriptionUpdateDto.class), isNull()))
+                .thenReturn(Optional.of(updatedBoat));
+
+        // When & Then
+        mockMvc.perform(patch("/api/v1/boats/1/description")
+                .with(csrf())
+                .header("If-Match", "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BoatDescriptionUpdateDto("New description"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser
+    void updateBoatType_WhenRetriesExhausted_ShouldReturn409() throws Exception {
+        // Given
+        when(boatService.updateBoatType(eq(1L), any(BoatTypeUpdateDto.class), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(BoatEntity.class, 1L));
+
+        // When & Then
+        mockMvc.perform(patch("/api/v1/boats/1/type")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BoatTypeUpdateDto("YACHT"))))
+                .andExpect(status().isConflict());
+    }
+
+    // GET /api/v1/boats/search - Test HTTP status codes
+
+    @Test
+    @WithMockUser
+    void searchBoats_WithQuery_ShouldReturn200() throws Exception {
+        // Given
+        when(boatService.searchBoats("pearl", PageRequest.of(0, 10)))
+                .thenReturn(new PageImpl<>(List.of(createTestBoat()), PageRequest.of(0, 10), 1));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/search")
+                .param("q", "pearl"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    void searchBoats_WithBlankQuery_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/search")
+                .param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void searchBoats_WithTooLargePage_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/search")
+                .param("q", "pearl")
+                .param("size", "51"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void searchBoats_WhenIndexNotLoaded_ShouldReturn503() throws Exception {
+        // Given
+        when(boatService.searchBoats("pearl", PageRequest.of(0, 10))).thenThrow(new BoatSearchUnavailableException());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/search")
+                .param("q", "pearl"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+
+    // GET /api/v1/boats/suggest - Test HTTP status codes
+
+    @Test
+    @WithMockUser
+    void suggestBoatNames_WithPrefix_ShouldReturn200() throws Exception {
+        // Given
+        when(boatService.suggestBoatNames("bla", 10)).thenReturn(List.of(new BoatSuggestionDto(1L, "Black Pearl")));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/suggest")
+                .param("prefix", "bla"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").value("Black Pearl"));
+    }
+
+    @Test
+    @WithMockUser
+    void suggestBoatNames_WithLimitAboveCap_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/suggest")
+                .param("prefix", "bla")
+                .param("limit", "21"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void suggestBoatNames_WhenIndexNotLoaded_ShouldReturn503() throws Exception {
+        // Given
+        when(boatService.suggestBoatNames("bla", 10)).thenThrow(new BoatSearchUnavailableException());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/suggest")
+                .param("prefix", "bla"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+
+    // GET /api/v1/boats/changes - Test HTTP status codes
+
+    @Test
+    @WithMockUser
+    void getBoatChanges_WithToken_ShouldReturn200() throws Exception {
+        // Given
+        when(boatSyncService.getChanges("token", 100))
+                .thenReturn(new BoatChangesDto(List.of(createTestBoat()), List.of(2L), true, "next"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/changes")
+                .param("since", "token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.boats[0].id").value(1))
+                .andExpect(jsonPath("$.deletedIds[0]").value(2))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.nextToken").value("next"));
+    }
+
+    @Test
+    @WithMockUser
+    void getBoatChanges_WithSizeAboveCap_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/changes")
+                .param("size", "1001"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getBoatChanges_WithMalformedToken_ShouldReturn400() throws Exception {
+        // Given
+        when(boatSyncService.getChanges("garbage", 100)).thenThrow(new IllegalArgumentException("Malformed sync token"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/changes")
+                .param("since", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getBoatChanges_WithExpiredToken_ShouldReturn410() throws Exception {
+        // Given
+        when(boatSyncService.getChanges("old", 100)).thenThrow(new BoatSyncTokenExpiredException());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/changes")
+                .param("since", "old"))
+                .andExpect(status().isGone());
+    }
+
+    // GET /api/v1/boats/events - Test HTTP status codes
+
+    @Test
+    @WithMockUser
+    void subscribeToBoatEvents_ShouldStreamEvents() throws Exception {
+        // Given
+        SseEmitter emitter = new SseEmitter();
+        when(boatEventFeed.subscribe()).thenReturn(Optional.of(emitter));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/boats/events")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk())
+                .andReturn();
+        emitter.send(SseEmitter.event().id("1").name("deleted").data("{\"id\":1}"));
+
+        // Then
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(result.getResponse().getContentAsString()).isEqualTo("id:1\nevent:deleted\ndata:{\"id\":1}\n\n");
+    }
+
+    @Test
+    @WithMockUser
+    void subscribeToBoatEvents_WhenFeedFull_ShouldReturn503() throws Exception {
+        // Given
+        when(boatEventFeed.subscribe()).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/events"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void subscribeToBoatEvents_WithoutAuthentication_ShouldReturn403() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/events"))
+                .andExpect(status().isForbidden());
+    }
+
+    // GET /api/v1/boats?boatType= - Test HTTP status codes
+
+    @Test
+    @WithMockUser
+    void getAllBoatsInPage_WithBoatTypes_ShouldReturn200() throws Exception {
+        // Given
+        when(boatService.getAllBoatsInPage(any(PageRequest.class), eq(Set.of(BoatType.SAILBOAT, BoatType.YACHT))))
+                .thenReturn(new PageImpl<>(List.of(createTestBoat()), PageRequest.of(0, 10), 1));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats")
+                .param("page", "0")
+                .param("boatType", "SAILBOAT", "yacht"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    void getAllBoatsInPage_WithInvalidBoatType_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats")
+                .param("page", "0")
+                .param("boatType", "SUBMARINE"))
+                .andExpect(status().isBadRequest());
+    }
+
+
+    // GET /api/v1/boats/stats - Test HTTP status codes
+
+    @Test
+    @WithMockUser
+    void getBoatStatistics_ShouldReturn200() throws Exception {
+        // Given
+        when(boatService.getBoatStatistics())
+                .thenReturn(new BoatStatisticsDto(2, Map.of("SAILBOAT", 2L), Map.of("2024-01", 2L)));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.countsByType.SAILBOAT").value(2))
+                .andExpect(jsonPath("$.countsByCreationMonth['2024-01']").value(2));
+    }
+
+    @Test
+    void getBoatStatistics_WithoutAuthentication_ShouldReturn403() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/boats/stats"))
+                .andExpect(status().isForbidden());
+    }
 }
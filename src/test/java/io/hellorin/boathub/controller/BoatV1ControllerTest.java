@@ -2,7 +2,12 @@ package io.hellorin.boathub.controller;
 
 import io.hellorin.boathub.dto.*;
 import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.events.BoatEventFeed;
+import io.hellorin.boathub.service.BoatExportFormat;
+import io.hellorin.boathub.service.BoatExportService;
 import io.hellorin.boathub.service.BoatService;
+import io.hellorin.boathub.service.BoatSyncService;
+import io.hellorin.boathub.service.BoatVersionConflictException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,12 +20,23 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,11 +45,22 @@ class BoatV1ControllerTest {
     @Mock
     private BoatService boatService;
 
+    @Mock
+    private BoatExportService boatExportService;
+
+    @Mock
+    private BoatSyncService boatSyncService;
+
+    @Mock
+    private BoatEventFeed boatEventFeed;
+
     @InjectMocks
     private BoatV1Controller boatV1Controller;
 
     private BoatDto testBoat;
 
+    private final WebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/boats"));
+
     @BeforeEach
     void setUp() {
         testBoat = new BoatDto();
@@ -85,16 +112,16 @@ class BoatV1ControllerTest {
         updatedBoat.setDescription("A test boat");
         updatedBoat.setBoatType(BoatType.MOTORBOAT.name());
         
-        when(boatService.updateBoatType(boatId, typeUpdateDto)).thenReturn(Optional.of(updatedBoat));
+        when(boatService.updateBoatType(boatId, typeUpdateDto, null)).thenReturn(Optional.of(updatedBoat));
 
         // When
-        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatType(boatId, typeUpdateDto);
+        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatType(boatId, typeUpdateDto, null);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getBoatType()).isEqualTo(BoatType.MOTORBOAT.name());
-        verify(boatService).updateBoatType(boatId, typeUpdateDto);
+        verify(boatService).updateBoatType(boatId, typeUpdateDto, null);
     }
 
     @Test
@@ -102,15 +129,15 @@ class BoatV1ControllerTest {
         // Given
         Long boatId = 1L;
         BoatTypeUpdateDto typeUpdateDto = new BoatTypeUpdateDto();
-        when(boatService.updateBoatType(boatId, typeUpdateDto)).thenReturn(Optional.empty());
+        when(boatService.updateBoatType(boatId, typeUpdateDto, null)).thenReturn(Optional.empty());
 
         // When
-        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatType(boatId, typeUpdateDto);
+        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatType(boatId, typeUpdateDto, null);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         assertThat(response.getBody()).isNull();
-        verify(boatService).updateBoatType(boatId, typeUpdateDto);
+        verify(boatService).updateBoatType(boatId, typeUpdateDto, null);
     }
 
     @Test
@@ -125,16 +152,16 @@ class BoatV1ControllerTest {
         Page<BoatDto> boatPage = new PageImpl<>(boats);
         PageRequest expectedPageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, sortBy));
         
-        when(boatService.getAllBoatsInPage(expectedPageRequest)).thenReturn(boatPage);
+        when(boatService.getAllBoatsInPage(expectedPageRequest, Set.of())).thenReturn(boatPage);
 
         // When
-        Page<BoatDto> result = boatV1Controller.getAllBoatsInPage(page, size, sortBy, sortDirection);
+        Page<BoatDto> result = boatV1Controller.getAllBoatsInPage(page, size, sortBy, sortDirection, null, webRequest);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().getFirst().getId()).isEqualTo(testBoat.getId());
-        verify(boatService).getAllBoatsInPage(expectedPageRequest);
+        verify(boatService).getAllBoatsInPage(expectedPageRequest, Set.of());
     }
 
     @Test
@@ -149,14 +176,14 @@ class BoatV1ControllerTest {
         Page<BoatDto> boatPage = new PageImpl<>(boats);
         PageRequest expectedPageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, sortBy));
         
-        when(boatService.getAllBoatsInPage(expectedPageRequest)).thenReturn(boatPage);
+        when(boatService.getAllBoatsInPage(expectedPageRequest, Set.of())).thenReturn(boatPage);
 
         // When
-        Page<BoatDto> result = boatV1Controller.getAllBoatsInPage(page, size, sortBy, sortDirection);
+        Page<BoatDto> result = boatV1Controller.getAllBoatsInPage(page, size, sortBy, sortDirection, null, webRequest);
 
         // Then
         assertThat(result).isNotNull();
-        verify(boatService).getAllBoatsInPage(expectedPageRequest);
+        verify(boatService).getAllBoatsInPage(expectedPageRequest, Set.of());
     }
 
     @Test
@@ -171,14 +198,14 @@ class BoatV1ControllerTest {
         Page<BoatDto> boatPage = new PageImpl<>(boats);
         PageRequest expectedPageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, sortBy));
         
-        when(boatService.getAllBoatsInPage(expectedPageRequest)).thenReturn(boatPage);
+        when(boatService.getAllBoatsInPage(expectedPageRequest, Set.of())).thenReturn(boatPage);
 
         // When
-        Page<BoatDto> result = boatV1Controller.getAllBoatsInPage(page, size, sortBy, sortDirection);
+        Page<BoatDto> result = boatV1Controller.getAllBoatsInPage(page, size, sortBy, sortDirection, null, webRequest);
 
         // Then
         assertThat(result).isNotNull();
-        verify(boatService).getAllBoatsInPage(expectedPageRequest);
+        verify(boatService).getAllBoatsInPage(expectedPageRequest, Set.of());
     }
 
     @Test
@@ -215,16 +242,16 @@ class BoatV1ControllerTest {
         updatedBoat.setName("Updated Boat Name");
         updatedBoat.setDescription("A test boat");
         
-        when(boatService.updateBoatName(boatId, nameUpdateDto)).thenReturn(Optional.of(updatedBoat));
+        when(boatService.updateBoatName(boatId, nameUpdateDto, null)).thenReturn(Optional.of(updatedBoat));
 
         // When
-        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatName(boatId, nameUpdateDto);
+        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatName(boatId, nameUpdateDto, null);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getName()).isEqualTo("Updated Boat Name");
-        verify(boatService).updateBoatName(boatId, nameUpdateDto);
+        verify(boatService).updateBoatName(boatId, nameUpdateDto, null);
     }
 
     @Test
@@ -232,15 +259,15 @@ class BoatV1ControllerTest {
         // Given
         Long boatId = 999L;
         BoatNameUpdateDto nameUpdateDto = new BoatNameUpdateDto("Updated Boat Name");
-        when(boatService.updateBoatName(boatId, nameUpdateDto)).thenReturn(Optional.empty());
+        when(boatService.updateBoatName(boatId, nameUpdateDto, null)).thenReturn(Optional.empty());
 
         // When
-        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatName(boatId, nameUpdateDto);
+        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatName(boatId, nameUpdateDto, null);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         assertThat(response.getBody()).isNull();
-        verify(boatService).updateBoatName(boatId, nameUpdateDto);
+        verify(boatService).updateBoatName(boatId, nameUpdateDto, null);
     }
 
     @Test
@@ -253,16 +280,16 @@ class BoatV1ControllerTest {
         updatedBoat.setName("Test Boat");
         updatedBoat.setDescription("Updated description");
         
-        when(boatService.updateBoatDescription(boatId, descriptionUpdateDto)).thenReturn(Optional.of(updatedBoat));
+        when(boatService.updateBoatDescription(boatId, descriptionUpdateDto, null)).thenReturn(Optional.of(updatedBoat));
 
         // When
-        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatDescription(boatId, descriptionUpdateDto);
+        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatDescription(boatId, descriptionUpdateDto, null);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getDescription()).isEqualTo("Updated description");
-        verify(boatService).updateBoatDescription(boatId, descriptionUpdateDto);
+        verify(boatService).updateBoatDescription(boatId, descriptionUpdateDto, null);
     }
 
     @Test
@@ -270,15 +297,15 @@ class BoatV1ControllerTest {
         // Given
         Long boatId = 999L;
         BoatDescriptionUpdateDto descriptionUpdateDto = new BoatDescriptionUpdateDto("Updated description");
-        when(boatService.updateBoatDescription(boatId, descriptionUpdateDto)).thenReturn(Optional.empty());
+        when(boatService.updateBoatDescription(boatId, descriptionUpdateDto, null)).thenReturn(Optional.empty());
 
         // When
-        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatDescription(boatId, descriptionUpdateDto);
+        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatDescription(boatId, descriptionUpdateDto, null);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         assertThat(response.getBody()).isNull();
-        verify(boatService).updateBoatDescription(boatId, descriptionUpdateDto);
+        verify(boatService).updateBoatDescription(boatId, descriptionUpdateDto, null);
     }
 
     @Test
@@ -286,15 +313,15 @@ class BoatV1ControllerTest {
         // Given
         Long boatId = 999L;
         BoatTypeUpdateDto typeUpdateDto = new BoatTypeUpdateDto("MOTORBOAT");
-        when(boatService.updateBoatType(boatId, typeUpdateDto)).thenReturn(Optional.empty());
+        when(boatService.updateBoatType(boatId, typeUpdateDto, null)).thenReturn(Optional.empty());
 
         // When
-        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatType(boatId, typeUpdateDto);
+        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatType(boatId, typeUpdateDto, null);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         assertThat(response.getBody()).isNull();
-        verify(boatService).updateBoatType(boatId, typeUpdateDto);
+        verify(boatService).updateBoatType(boatId, typeUpdateDto, null);
     }
 
     @Test
@@ -337,14 +364,14 @@ class BoatV1ControllerTest {
         String sortBy = "name";
         String sortDirection = "asc";
         Page<BoatDto> expectedPage = new PageImpl<>(Collections.singletonList(testBoat));
-        when(boatService.getAllBoatsInPage(any(PageRequest.class))).thenReturn(expectedPage);
+        when(boatService.getAllBoatsInPage(any(PageRequest.class), eq(Set.of()))).thenReturn(expectedPage);
 
         // When
-        Page<BoatDto> result = boatV1Controller.getAllBoatsInPage(page, size, sortBy, sortDirection);
+        Page<BoatDto> result = boatV1Controller.getAllBoatsInPage(page, size, sortBy, sortDirection, null, webRequest);
 
         // Then
         assertThat(result.getContent()).hasSize(1);
-        verify(boatService).getAllBoatsInPage(any(PageRequest.class));
+        verify(boatService).getAllBoatsInPage(any(PageRequest.class), eq(Set.of()));
     }
 
     @Test
@@ -352,16 +379,16 @@ class BoatV1ControllerTest {
         // Given
         String[] validSortFields = {"id", "name", "description", "boatType"};
         Page<BoatDto> expectedPage = new PageImpl<>(Collections.singletonList(testBoat));
-        when(boatService.getAllBoatsInPage(any(PageRequest.class))).thenReturn(expectedPage);
+        when(boatService.getAllBoatsInPage(any(PageRequest.class), eq(Set.of()))).thenReturn(expectedPage);
 
         // When & Then
         for (String sortField : validSortFields) {
-            Page<BoatDto> result = boatV1Controller.getAllBoatsInPage(0, 10, sortField, "asc");
+            Page<BoatDto> result = boatV1Controller.getAllBoatsInPage(0, 10, sortField, "asc", null, webRequest);
             assertThat(result).isEqualTo(expectedPage);
         }
         
         // Verify the service was called the expected number of times
-        verify(boatService, times(validSortFields.length)).getAllBoatsInPage(any(PageRequest.class));
+        verify(boatService, times(validSortFields.length)).getAllBoatsInPage(any(PageRequest.class), eq(Set.of()));
     }
 
     @Test
@@ -369,16 +396,16 @@ class BoatV1ControllerTest {
         // Given
         String[] validSortDirections = {"asc", "desc", "ASC", "DESC"};
         Page<BoatDto> expectedPage = new PageImpl<>(Collections.singletonList(testBoat));
-        when(boatService.getAllBoatsInPage(any(PageRequest.class))).thenReturn(expectedPage);
+        when(boatService.getAllBoatsInPage(any(PageRequest.class), eq(Set.of()))).thenReturn(expectedPage);
 
         // When & Then
         for (String sortDirection : validSortDirections) {
-            Page<BoatDto> result = boatV1Controller.getAllBoatsInPage(0, 10, "name", sortDirection);
+            Page<BoatDto> result = boatV1Controller.getAllBoatsInPage(0, 10, "name", sortDirection, null, webRequest);
             assertThat(result).isEqualTo(expectedPage);
         }
         
         // Verify the service was called the expected number of times
-        verify(boatService, times(validSortDirections.length)).getAllBoatsInPage(any(PageRequest.class));
+        verify(boatService, times(validSortDirections.length)).getAllBoatsInPage(any(PageRequest.class), eq(Set.of()));
     }
 
     @Test
@@ -435,15 +462,15 @@ class BoatV1ControllerTest {
         // Given
         Long boatId = 1L;
         BoatNameUpdateDto nameDto = new BoatNameUpdateDto("Updated Name");
-        when(boatService.updateBoatName(boatId, nameDto)).thenReturn(Optional.of(testBoat));
+        when(boatService.updateBoatName(boatId, nameDto, null)).thenReturn(Optional.of(testBoat));
 
         // When
-        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatName(boatId, nameDto);
+        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatName(boatId, nameDto, null);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
-        verify(boatService).updateBoatName(boatId, nameDto);
+        verify(boatService).updateBoatName(boatId, nameDto, null);
     }
 
     @Test
@@ -451,15 +478,15 @@ class BoatV1ControllerTest {
         // Given
         Long boatId = 1L;
         BoatTypeUpdateDto typeDto = new BoatTypeUpdateDto("MOTORBOAT");
-        when(boatService.updateBoatType(boatId, typeDto)).thenReturn(Optional.of(testBoat));
+        when(boatService.updateBoatType(boatId, typeDto, null)).thenReturn(Optional.of(testBoat));
 
         // When
-        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatType(boatId, typeDto);
+        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatType(boatId, typeDto, null);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
-        verify(boatService).updateBoatType(boatId, typeDto);
+        verify(boatService).updateBoatType(boatId, typeDto, null);
     }
 
     @Test
@@ -467,19 +494,19 @@ class BoatV1ControllerTest {
         // Given
         Long boatId = 1L;
         String[] validBoatTypes = {"SAILBOAT", "MOTORBOAT", "YACHT", "SPEEDBOAT", "FISHING_BOAT", "OTHER"};
-        when(boatService.updateBoatType(anyLong(), any(BoatTypeUpdateDto.class))).thenReturn(Optional.of(testBoat));
+        when(boatService.updateBoatType(anyLong(), any(BoatTypeUpdateDto.class), isNull())).thenReturn(Optional.of(testBoat));
 
         // When & Then
         for (String boatType : validBoatTypes) {
             BoatTypeUpdateDto typeDto = new BoatTypeUpdateDto(boatType);
-            ResponseEntity<BoatDto> response = boatV1Controller.updateBoatType(boatId, typeDto);
+            ResponseEntity<BoatDto> response = boatV1Controller.updateBoatType(boatId, typeDto, null);
             
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(response.getBody()).isNotNull();
         }
         
         // Verify the service was called the expected number of times
-        verify(boatService, times(validBoatTypes.length)).updateBoatType(anyLong(), any(BoatTypeUpdateDto.class));
+        verify(boatService, times(validBoatTypes.length)).updateBoatType(anyLong(), any(BoatTypeUpdateDto.class), isNull());
     }
 
     @Test
@@ -487,14 +514,270 @@ class BoatV1ControllerTest {
         // Given
         Long boatId = 1L;
         BoatTypeUpdateDto typeDto = new BoatTypeUpdateDto("yacht");
-        when(boatService.updateBoatType(boatId, typeDto)).thenReturn(Optional.of(testBoat));
+        when(boatService.updateBoatType(boatId, typeDto, null)).thenReturn(Optional.of(testBoat));
 
         // When
-        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatType(boatId, typeDto);
+        ResponseEntity<BoatDto> response = boatV1Controller.updateBoatType(boatId, typeDto, null);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
-        verify(boatService).updateBoatType(boatId, typeDto);
+        verify(boatService).updateBoatType(boatId, typeDto, null);
+    }
+
+    @Test
+    void getBoatById_WhenBoatExists_ShouldReturnETagFromIdAndVersion() {
+        // Given
+        testBoat.setVersion(3L);
+        when(boatService.getBoatById(1L)).thenReturn(Optional.of(testBoat));
+
+        // When
+        ResponseEntity<BoatDto> firstResponse = boatV1Controller.getBoatById(1L);
+        testBoat.setVersion(4L);
+        ResponseEntity<BoatDto> secondResponse = boatV1Controller.getBoatById(1L);
+
+        // Then
+        assertThat(firstResponse.getHeaders().getETag()).isEqualTo("\"1-3\"");
+        assertThat(secondResponse.getHeaders().getETag()).isEqualTo("\"1-4\"");
+    }
+
+    @Test
+    void getAllBoatsInPage_WhenIfNoneMatchIsCurrent_ShouldNotReadPage() {
+        // Given
+        when(boatService.getFleetVersion()).thenReturn("abc-3");
+        var request = new MockHttpServletRequest("GET", "/api/v1/boats");
+        request.addHeader("If-None-Match", "\"abc-3-0-10-name_ASC\"");
+        var response = new MockHttpServletResponse();
+
+        // When
+        Page<BoatDto> result = boatV1Controller.getAllBoatsInPage(0, 10, "name", "asc", null,
+                new ServletWebRequest(request, response));
+
+        // Then
+        assertThat(result).isNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        verify(boatService, never()).getAllBoatsInPage(any(), any());
+    }
+
+    @Test
+    void getAllBoatsInPage_WhenIfNoneMatchIsOutdated_ShouldReadPageAndReturnNewETag() {
+        // Given
+        when(boatService.getFleetVersion()).thenReturn("abc-4");
+        when(boatService.getAllBoatsInPage(any(PageRequest.class), eq(Set.of()))).thenReturn(new PageImpl<>(List.of(testBoat)));
+        var request = new MockHttpServletRequest("GET", "/api/v1/boats");
+        request.addHeader("If-None-Match", "\"abc-3-0-10-name_ASC\"");
+        var response = new MockHttpServletResponse();
+
+        // When
+        Page<BoatDto> result = boatV1Controller.getAllBoatsInPage(0, 10, "name", "asc", null,
+                new ServletWebRequest(request, response));
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testBoat);
+        assertThat(response.getHeader("ETag")).isEqualTo("\"abc-4-0-10-name_ASC\"");
+    }
+
+    @Test
+    void getBoatsByIds_ShouldReturnBatchFromService() {
+        // Given
+        BoatBatchDto batch = new BoatBatchDto(List.of(testBoat), List.of(2L));
+        when(boatService.getBoatsByIds(List.of(1L, 2L))).thenReturn(batch);
+
+        // When
+        BoatBatchDto result = boatV1Controller.getBoatsByIds(List.of(1L, 2L));
+
+        // Then
+        assertThat(result).isSameAs(batch);
+    }
+
+    @Test
+    void lookupBoatsByIds_ShouldReturnBatchFromService() {
+        // Given
+        BoatBatchDto batch = new BoatBatchDto(List.of(testBoat), List.of());
+        when(boatService.getBoatsByIds(List.of(1L))).thenReturn(batch);
+
+        // When
+        BoatBatchDto result = boatV1Controller.lookupBoatsByIds(new BoatIdsDto(List.of(1L)));
+
+        // Then
+        assertThat(result).isSameAs(batch);
+    }
+
+    @Test
+    void deleteBoats_ShouldReturnResultFromService() {
+        // Given
+        BoatBulkDeletionResultDto deletion = new BoatBulkDeletionResultDto(2, 2);
+        when(boatService.deleteBoats(List.of(1L, 2L))).thenReturn(deletion);
+
+        // When
+        BoatBulkDeletionResultDto result = boatV1Controller.deleteBoats(new BoatIdsDto(List.of(1L, 2L)));
+
+        // Then
+        assertThat(result).isSameAs(deletion);
+    }
+
+    @Test
+    void exportBoats_ShouldStreamWithFormatContentType() throws Exception {
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = boatV1Controller.exportBoats("csv");
+        response.getBody().writeTo(outputStream);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).hasToString("text/csv");
+        assertThat(response.getHeaders().getContentDisposition().getFilename()).isEqualTo("boats.csv");
+        verify(boatExportService).exportBoats(BoatExportFormat.CSV, outputStream);
+    }
+
+    @Test
+    void exportBoats_WhenFormatUnsupported_ShouldThrowIllegalArgumentException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> boatV1Controller.exportBoats("xml"));
+        verifyNoInteractions(boatExportService);
+    }
+
+    @Test
+    void createBoats_ShouldReturnResultFromService() {
+        // Given
+        List<BoatCreationDto> boats = List.of(new BoatCreationDto("New Boat", null, "SAILBOAT"));
+        BoatBulkCreationResultDto result = new BoatBulkCreationResultDto(1, 0,
+                List.of(new BoatBulkItemResultDto(0, testBoat, List.of())));
+        when(boatService.createBoats(boats)).thenReturn(result);
+
+        // When
+        BoatBulkCreationResultDto response = boatV1Controller.createBoats(boats);
+
+        // Then
+        assertThat(response).isSameAs(result);
+    }
+
+    @Test
+    void updateBoat_WithIfMatch_ShouldPassExpectedVersionAndReturnNewETag() {
+        // Given
+        BoatUpdateDto updateDto = new BoatUpdateDto("Updated Boat", "Updated description", "MOTORBOAT");
+        testBoat.setVersion(8L);
+        when(boatService.updateBoat(1L, updateDto, 7L)).thenReturn(Optional.of(testBoat));
+
+        // When
+        ResponseEntity<BoatDto> response = boatV1Controller.updateBoat(1L, updateDto, "\"1-7\"");
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1-8\"");
+    }
+
+    @Test
+    void updateBoatName_WithUnparseableIfMatch_ShouldThrowConflictWithoutCallingService() {
+        // Given
+        BoatNameUpdateDto nameDto = new BoatNameUpdateDto("Renamed Boat");
+
+        // When & Then
+        assertThrows(BoatVersionConflictException.class, () -> boatV1Controller.updateBoatName(1L, nameDto, "W/\"1-7\""));
+        assertThrows(BoatVersionConflictException.class, () -> boatV1Controller.updateBoatName(1L, nameDto, "\"1-seven\""));
+        verifyNoInteractions(boatService);
+    }
+
+    @Test
+    void searchBoats_ShouldSearchRequestedPage() {
+        // Given
+        Page<BoatDto> page = new PageImpl<>(List.of(testBoat), PageRequest.of(1, 5), 6);
+        when(boatService.searchBoats("pirate ship", PageRequest.of(1, 5))).thenReturn(page);
+
+        // When
+        Page<BoatDto> result = boatV1Controller.searchBoats("pirate ship", 1, 5);
+
+        // Then
+        assertThat(result).isSameAs(page);
+    }
+
+
+    @Test
+    void suggestBoatNames_ShouldReturnSuggestionsOfService() {
+        // Given
+        List<BoatSuggestionDto> suggestions = List.of(new BoatSuggestionDto(1L, "Test Boat"));
+        when(boatService.suggestBoatNames("Te", 5)).thenReturn(suggestions);
+
+        // When
+        List<BoatSuggestionDto> result = boatV1Controller.suggestBoatNames("Te", 5);
+
+        // Then
+        assertThat(result).isSameAs(suggestions);
+    }
+
+
+    @Test
+    void getAllBoatsInPage_WithBoatTypes_ShouldFilterAndTagPageByTypes() {
+        // Given
+        when(boatService.getFleetVersion()).thenReturn("abc-4");
+        PageRequest expectedPageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "name"));
+        Page<BoatDto> boatPage = new PageImpl<>(List.of(testBoat), expectedPageRequest, 1);
+        when(boatService.getAllBoatsInPage(expectedPageRequest, Set.of(BoatType.SAILBOAT, BoatType.YACHT))).thenReturn(boatPage);
+        var response = new MockHttpServletResponse();
+
+        // When
+        Page<BoatDto> result = boatV1Controller.getAllBoatsInPage(0, 10, "name", "asc", List.of(" yacht ", "SAILBOAT"),
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/boats"), response));
+
+        // Then
+        assertThat(result).isSameAs(boatPage);
+        assertThat(response.getHeader("ETag")).isEqualTo("\"abc-4-0-10-name_ASC-SAILBOAT_YACHT\"");
+    }
+
+
+    @Test
+    void getBoatStatistics_ShouldReturnStatisticsOfService() {
+        // Given
+        BoatStatisticsDto statistics = new BoatStatisticsDto(1, Map.of("SAILBOAT", 1L), Map.of("2024-01", 1L));
+        when(boatService.getBoatStatistics()).thenReturn(statistics);
+
+        // When
+        BoatStatisticsDto result = boatV1Controller.getBoatStatistics();
+
+        // Then
+        assertThat(result).isSameAs(statistics);
+    }
+
+    @Test
+    void subscribeToBoatEvents_ShouldReturnEmitterOfFeed() {
+        // Given
+        SseEmitter emitter = new SseEmitter();
+        when(boatEventFeed.subscribe()).thenReturn(Optional.of(emitter));
+
+        // When
+        ResponseEntity<SseEmitter> result = boatV1Controller.subscribeToBoatEvents();
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isSameAs(emitter);
+    }
+
+    @Test
+    void subscribeToBoatEvents_WhenFeedFull_ShouldReturnServiceUnavailable() {
+        // Given
+        when(boatEventFeed.subscribe()).thenReturn(Optional.empty());
+
+        // When
+        ResponseEntity<SseEmitter> result = boatV1Controller.subscribeToBoatEvents();
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(result.getBody()).isNull();
+    }
+
+    @Test
+    void getBoatChanges_ShouldReturnChangesOfSyncService() {
+        // Given
+        BoatChangesDto changes = new BoatChangesDto(List.of(testBoat), List.of(2L), false, "token");
+        when(boatSyncService.getChanges("since", 100)).thenReturn(changes);
+
+        // When
+        BoatChangesDto result = boatV1Controller.getBoatChanges("since", 100);
+
+        // Then
+        assertThat(result).isSameAs(changes);
     }
-}
\ No newline at end of file
+}
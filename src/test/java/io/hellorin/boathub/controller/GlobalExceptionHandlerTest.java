@@ -1,7 +1,11 @@
 package io.hellorin.boathub.controller;
 
 import io.hellorin.boathub.dto.ErrorResponseDto;
+import io.hellorin.boathub.service.BoatSearchUnavailableException;
+import io.hellorin.boathub.service.BoatSyncTokenExpiredException;
+import io.hellorin.boathub.service.BoatVersionConflictException;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -68,4 +72,54 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getMessage()).isEqualTo("An error occurred. Please try again later.");
     }
+
+    @Test
+    void testHandleBoatVersionConflictException() {
+        // Given
+        BoatVersionConflictException ex = new BoatVersionConflictException(1L);
+
+        // When
+        ResponseEntity<ErrorResponseDto> response = exceptionHandler.handleBoatVersionConflictException(ex);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getMessage()).isEqualTo("The boat has been modified since it was read, read it again before updating it");
+    }
+
+    @Test
+    void testHandleOptimisticLockingFailureException() {
+        // Given
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException("Row was updated by another transaction");
+
+        // When
+        ResponseEntity<ErrorResponseDto> response = exceptionHandler.handleOptimisticLockingFailureException(ex);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getMessage()).isEqualTo("The boat is being modified concurrently. Please try again.");
+    }
+
+    @Test
+    void testHandleBoatSearchUnavailableException() {
+        // When
+        ResponseEntity<ErrorResponseDto> response = exceptionHandler.handleBoatSearchUnavailableException(new BoatSearchUnavailableException());
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getMessage()).isEqualTo("The search is not available yet. Please try again later.");
+    }
+
+    @Test
+    void testHandleBoatSyncTokenExpiredException() {
+        // When
+        ResponseEntity<ErrorResponseDto> response = exceptionHandler.handleBoatSyncTokenExpiredException(new BoatSyncTokenExpiredException());
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GONE);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getMessage()).isEqualTo("The sync token has expired. Please reload all the boats.");
+    }
 }
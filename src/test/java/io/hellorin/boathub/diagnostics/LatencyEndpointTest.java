@@ -0,0 +1,97 @@
+package io.hellorin.boathub.diagnostics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for LatencyEndpoint class.
+ * Tests the latencies of the operations read from the timers of every layer.
+ */
+class LatencyEndpointTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LatencyEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        endpoint = new LatencyEndpoint(meterRegistry);
+    }
+
+    @Test
+    void latencies_ShouldGroupOperationsByLayerWithWindowPercentiles() {
+        // Given
+        var http = Timer.builder("http.server.requests")
+                .tags("method", "GET", "uri", "/api/v1/boats/{id}", "status", "200")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        var service = Timer.builder("boathub.service")
+                .tags("class", "io.hellorin.boathub.service.BoatService", "method", "getBoatById", "exception", "none")
+                .publishPercentiles(0.5, 0.999)
+                .register(meterRegistry);
+        var repository = Timer.builder("spring.data.repository.invocations")
+                .tags("repository", "BoatRepository", "method", "findById", "state", "SUCCESS")
+                .register(meterRegistry);
+        for (int i = 1; i <= 100; i++) {
+            http.record(Duration.ofMillis(i));
+            service.record(Duration.ofMillis(i));
+            repository.record(Duration.ofMillis(2));
+        }
+
+        // When
+        var latencies = endpoint.latencies();
+
+        // Then
+        assertThat(latencies).containsOnlyKeys("http", "service", "repository", "statement");
+        var request = latencies.get("http").getFirst();
+        assertThat(request.operation()).isEqualTo("GET /api/v1/boats/{id}");
+        assertThat(request.outcome()).isEqualTo("200");
+        assertThat(request.count()).isEqualTo(100);
+        assertThat(request.meanMs()).isEqualTo(50.5);
+        assertThat(request.totalMs()).isEqualTo(5050);
+        assertThat(request.maxMs()).isEqualTo(100);
+        assertThat(request.percentilesMs()).containsOnlyKeys("p50", "p99");
+        assertThat(request.percentilesMs().get("p50")).isBetween(45.0, 55.0);
+        assertThat(request.percentilesMs().get("p99")).isBetween(95.0, 105.0);
+        var serviceLatency = latencies.get("service").getFirst();
+        assertThat(serviceLatency.operation()).isEqualTo("BoatService.getBoatById");
+        assertThat(serviceLatency.outcome()).isEqualTo("none");
+        assertThat(serviceLatency.percentilesMs()).containsOnlyKeys("p50", "p99.9");
+        var repositoryLatency = latencies.get("repository").getFirst();
+        assertThat(repositoryLatency.operation()).isEqualTo("BoatRepository.findById");
+        assertThat(repositoryLatency.meanMs()).isEqualTo(2);
+        assertThat(repositoryLatency.percentilesMs()).isEmpty();
+    }
+
+    @Test
+    void latencies_ShouldSortOperationsByTotalTime() {
+        // Given
+        Timer.builder("boathub.service")
+                .tags("class", "io.hellorin.boathub.service.BoatService", "method", "getBoatById", "exception", "none")
+                .register(meterRegistry)
+                .record(1, TimeUnit.MILLISECONDS);
+        var listing = Timer.builder("boathub.service")
+                .tags("class", "io.hellorin.boathub.service.BoatService", "method", "getAllBoatsInPage",
+                        "exception", "none")
+                .register(meterRegistry);
+        listing.record(3, TimeUnit.MILLISECONDS);
+        listing.record(3, TimeUnit.MILLISECONDS);
+
+        // When
+        var latencies = endpoint.latencies();
+
+        // Then
+        assertThat(latencies.get("service"))
+                .extracting(LatencyEndpoint.OperationLatency::operation)
+                .containsExactly("BoatService.getAllBoatsInPage", "BoatService.getBoatById");
+        assertThat(latencies.get("http")).isEmpty();
+    }
+}
@@ -0,0 +1,85 @@
+package io.hellorin.boathub.diagnostics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for OperationSloMeterFilter class.
+ * Tests the SLOs of single operations set over those of their layer.
+ */
+class OperationSloMeterFilterTest {
+
+    private static final DistributionStatisticConfig LAYER_CONFIG = DistributionStatisticConfig.builder()
+            .percentilesHistogram(true)
+            .serviceLevelObjectives(Duration.ofMillis(100).toNanos())
+            .build();
+
+    private final OperationSloMeterFilter filter = new OperationSloMeterFilter(Map.of(
+            "BoatService.getBoatById", List.of(Duration.ofMillis(10), Duration.ofMillis(5)),
+            "BoatRepository.findById", List.of(Duration.ofMillis(1))));
+
+    @Test
+    void configure_WithServiceOperationHavingSlos_ShouldSetSortedSlosOverLayerOnes() {
+        // Given
+        var id = timerId("boathub.service", Tags.of("class", "io.hellorin.boathub.service.BoatService",
+                "method", "getBoatById", "exception", "none"));
+
+        // When
+        var config = filter.configure(id, LAYER_CONFIG);
+
+        // Then
+        assertThat(config.getServiceLevelObjectiveBoundaries())
+                .containsExactly(Duration.ofMillis(5).toNanos(), Duration.ofMillis(10).toNanos());
+        assertThat(config.isPercentileHistogram()).isTrue();
+    }
+
+    @Test
+    void configure_WithRepositoryOperationHavingSlos_ShouldSetSlos() {
+        // Given
+        var id = timerId("spring.data.repository.invocations", Tags.of("repository", "BoatRepository",
+                "method", "findById", "state", "SUCCESS"));
+
+        // When
+        var config = filter.configure(id, LAYER_CONFIG);
+
+        // Then
+        assertThat(config.getServiceLevelObjectiveBoundaries()).containsExactly(Duration.ofMillis(1).toNanos());
+    }
+
+    @Test
+    void configure_WithOperationWithoutSlos_ShouldKeepLayerSlos() {
+        // Given
+        var id = timerId("boathub.service", Tags.of("class", "io.hellorin.boathub.service.BoatService",
+                "method", "getAllBoatsInPage", "exception", "none"));
+
+        // When
+        var config = filter.configure(id, LAYER_CONFIG);
+
+        // Then
+        assertThat(config).isSameAs(LAYER_CONFIG);
+    }
+
+    @Test
+    void configure_WithMeterOfNoLayer_ShouldKeepConfig() {
+        // Given
+        var id = timerId("boathub.virtual-threads.pinned", Tags.of("method", "getBoatById"));
+
+        // When
+        var config = filter.configure(id, LAYER_CONFIG);
+
+        // Then
+        assertThat(config).isSameAs(LAYER_CONFIG);
+    }
+
+    private static Meter.Id timerId(String name, Tags tags) {
+        return new Meter.Id(name, tags, null, null, Meter.Type.TIMER);
+    }
+}
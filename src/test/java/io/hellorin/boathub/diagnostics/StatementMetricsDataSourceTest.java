@@ -0,0 +1,112 @@
+package io.hellorin.boathub.diagnostics;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for StatementMetricsDataSource class.
+ * Tests the statements timed by shape on an in-memory H2 database, and the slow statements logged.
+ */
+class StatementMetricsDataSourceTest {
+
+    private HikariDataSource pool;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:statement-metrics;DB_CLOSE_DELAY=-1");
+        pool.setMaximumPoolSize(1);
+        meterRegistry = new SimpleMeterRegistry();
+        appender = new ListAppender<>();
+        appender.start();
+        ((Logger) LoggerFactory.getLogger(StatementMetricsDataSource.class)).addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((Logger) LoggerFactory.getLogger(StatementMetricsDataSource.class)).detachAppender(appender);
+        new JdbcTemplate(pool).execute("drop all objects");
+        pool.close();
+    }
+
+    @Test
+    void getConnection_ShouldTimeStatementsByShapeAndOutcome() {
+        // Given
+        var jdbcTemplate = new JdbcTemplate(new StatementMetricsDataSource(pool, meterRegistry, Duration.ofMinutes(1)));
+        jdbcTemplate.execute("create table boats (id bigint primary key, name varchar(100))");
+
+        // When
+        jdbcTemplate.batchUpdate("insert into boats (id, name) values (?, ?)",
+                List.of(new Object[]{1L, "Pearl"}, new Object[]{2L, "Breeze"}));
+        jdbcTemplate.queryForList("select id, name from boats where id in (?, ?)", 1L, 2L);
+        jdbcTemplate.queryForList("select id, name from boats where id in (?)", 1L);
+        assertThatThrownBy(() -> jdbcTemplate.queryForList("select id from missing_table"))
+                .isInstanceOf(BadSqlGrammarException.class);
+
+        // Then
+        assertThat(meterRegistry.get("boathub.jdbc.statements")
+                .tag("statement", StatementShapes.label("select ... from boats where id in (?)"))
+                .tag("outcome", "SUCCESS").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("boathub.jdbc.statements")
+                .tag("statement", StatementShapes.label("insert into boats (id, name) values (?)"))
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("boathub.jdbc.statements").tag("outcome", "ERROR").timer().getId().getTag("statement"))
+                .startsWith("select missing_table #");
+        assertThat(meterRegistry.getMeters()).allSatisfy(meter ->
+                assertThat(meter.getId().getTag("statement")).doesNotContain("from", "where"));
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void getConnection_WhenStatementIsSlow_ShouldLogItsSql() {
+        // Given
+        var jdbcTemplate = new JdbcTemplate(new StatementMetricsDataSource(pool, meterRegistry, Duration.ZERO));
+
+        // When
+        jdbcTemplate.queryForObject("select count(*) from information_schema.tables where table_name = ?",
+                Long.class, "BOATS");
+
+        // Then
+        assertThat(appender.list)
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .singleElement()
+                .asString()
+                .startsWith("Slow statement select information_schema.tables #")
+                .endsWith("select count(*) from information_schema.tables where table_name = ?");
+    }
+
+    @Test
+    void unwrap_ShouldReachPoolAndConnections() throws Exception {
+        // Given
+        var dataSource = new StatementMetricsDataSource(pool, meterRegistry, Duration.ofMinutes(1));
+
+        // When
+        try (var connection = dataSource.getConnection()) {
+
+            // Then
+            assertThat(dataSource.unwrap(HikariDataSource.class)).isSameAs(pool);
+            assertThat(connection).isEqualTo(connection).isNotEqualTo(DataSourceUtils.getTargetConnection(connection));
+            assertThat(DataSourceUtils.getTargetConnection(connection).isValid(1)).isTrue();
+        }
+    }
+}
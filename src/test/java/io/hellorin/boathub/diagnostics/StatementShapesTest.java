@@ -0,0 +1,85 @@
+package io.hellorin.boathub.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for StatementShapes class.
+ * Tests that the executions of a statement share a shape whatever their values, and only them.
+ */
+class StatementShapesTest {
+
+    @Test
+    void shape_WithListingQueries_ShouldTellCountFromPage() {
+        // Given
+        var count = "select count(be1_0.id) from boats be1_0";
+        var page = """
+                select be1_0.id,be1_0.boat_type,be1_0.created_date,be1_0.name
+                from boats be1_0 order by be1_0.name offset ? rows fetch first ? rows only""";
+
+        // When
+        var countShape = StatementShapes.shape(count);
+        var pageShape = StatementShapes.shape(page);
+
+        // Then
+        assertThat(countShape).isEqualTo("select count(be1_0.id) from boats be1_0");
+        assertThat(pageShape).isEqualTo("select ... from boats be1_0 order by be1_0.name offset ? rows fetch first ? rows only");
+    }
+
+    @Test
+    void shape_WithPaddedInLists_ShouldShareShape() {
+        // Given
+        var fourIds = "select be1_0.id,be1_0.name from boats be1_0 where be1_0.id in (?,?,?,?)";
+        var eightIds = "select be1_0.id,be1_0.name from boats be1_0 where be1_0.id in (?, ?, ?, ?, ?, ?, ?, ?)";
+
+        // When
+        var shape = StatementShapes.shape(fourIds);
+
+        // Then
+        assertThat(shape).isEqualTo("select ... from boats be1_0 where be1_0.id in (?)");
+        assertThat(StatementShapes.shape(eightIds)).isEqualTo(shape);
+    }
+
+    @Test
+    void shape_WithLiterals_ShouldReplaceThemByParameters() {
+        // Given
+        var sql = "UPDATE boats SET description = 'It''s fast'  WHERE id = 42 AND ratio > 1.5";
+
+        // When
+        var shape = StatementShapes.shape(sql);
+
+        // Then
+        assertThat(shape).isEqualTo("update boats set description = ? where id = ? and ratio > ?");
+    }
+
+    @Test
+    void shape_WithFunctionsInSingleColumn_ShouldKeepColumn() {
+        // Given
+        var sql = "select coalesce(max(be1_0.version), 0) from boats be1_0 where be1_0.name like ? escape ''";
+
+        // When
+        var shape = StatementShapes.shape(sql);
+
+        // Then
+        assertThat(shape).isEqualTo("select coalesce(max(be1_0.version), ?) from boats be1_0 where be1_0.name like ? escape ?");
+    }
+
+    @Test
+    void label_ShouldNameVerbAndTableWithoutSql() {
+        // Given
+        var count = StatementShapes.shape("select count(be1_0.id) from boats be1_0");
+        var page = StatementShapes.shape("select be1_0.id,be1_0.name from boats be1_0 order by be1_0.name offset ? rows");
+        var insert = StatementShapes.shape("insert into boat_tombstones (boat_id,deleted_date) values (?,?)");
+
+        // When
+        var countLabel = StatementShapes.label(count);
+        var pageLabel = StatementShapes.label(page);
+
+        // Then
+        assertThat(countLabel).matches("select boats #[0-9a-f]{8}").isNotEqualTo(pageLabel);
+        assertThat(pageLabel).matches("select boats #[0-9a-f]{8}");
+        assertThat(StatementShapes.label(insert)).matches("insert boat_tombstones #[0-9a-f]{8}");
+        assertThat(StatementShapes.label("update boats set name = ? where id = ?")).startsWith("update boats #");
+    }
+}
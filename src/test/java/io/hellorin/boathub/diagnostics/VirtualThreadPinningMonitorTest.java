@@ -0,0 +1,93 @@
+package io.hellorin.boathub.diagnostics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for VirtualThreadPinningMonitor class.
+ * Tests the pinning events recorded from Flight Recorder, with virtual threads blocking in and out of a monitor.
+ */
+class VirtualThreadPinningMonitorTest {
+
+    private final Object monitor = new Object();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pinningMonitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(10));
+        pinningMonitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pinningMonitor.stop();
+    }
+
+    @Test
+    void start_WhenVirtualThreadBlocksInMonitor_ShouldRecordPinningFrame() throws InterruptedException {
+        // Given
+        Thread.ofVirtual().start(this::sleepWithLock).join();
+
+        // When
+        Thread.ofVirtual().start(this::sleepInMonitor).join();
+
+        // Then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (meterRegistry.find("boathub.virtual-threads.pinned").timers().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(meterRegistry.find("boathub.virtual-threads.pinned").meters())
+                .extracting(meter -> meter.getId().getTag("frame"))
+                .containsExactly(VirtualThreadPinningMonitorTest.class.getName() + ".sleepInMonitor");
+        assertThat(meterRegistry.get("boathub.virtual-threads.pinned").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void stop_ShouldStopRecording() throws InterruptedException {
+        // Given
+        pinningMonitor.stop();
+
+        // When
+        Thread.ofVirtual().start(this::sleepInMonitor).join();
+        Thread.sleep(1_500);
+
+        // Then
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    private void sleepInMonitor() {
+        synchronized (monitor) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void sleepWithLock() {
+        lock.lock();
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
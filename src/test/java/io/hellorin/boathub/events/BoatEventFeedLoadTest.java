@@ -0,0 +1,199 @@
+package io.hellorin.boathub.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hellorin.boathub.dto.BoatDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test of the boat change feed: the CPU used by the application while thousands of subscribers are connected
+ * and idle, compared with the CPU used without any subscriber, then the time taken to push an event to all of them.
+ * Idle subscribers must keep the CPU flat: nothing is done for them but the periodic heartbeats.
+ * Subscribers are opened over HTTP from the same JVM, so every subscriber takes two file descriptors.
+ * Disabled by default, run it with: mvn test -Dtest=BoatEventFeedLoadTest -Dbenchmark=true
+ * and -Dsubscribers=N to change the number of subscribers, 10000 by default.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.servlet.session.cookie.secure=false",
+        "boathub.events.max-subscribers=50000",
+        "server.tomcat.max-connections=50000"
+})
+@ActiveProfiles("dev") // Schema, sample data and user are initialized by the dev profile
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BoatEventFeedLoadTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoatEventFeedLoadTest.class);
+
+    private static final int SUBSCRIBERS = Integer.getInteger("subscribers", 10_000);
+    /**
+     * Lets the compilation and collections caused by opening the subscriptions end before measuring.
+     */
+    private static final long SETTLE_MILLIS = 20_000;
+    /**
+     * Spans two heartbeats, which are the only work done for the idle subscribers.
+     */
+    private static final int MEASURED_SECONDS = 30;
+
+    /**
+     * Between heartbeats, idle subscribers may add at most this share of one core to the CPU used by the process.
+     */
+    private static final double MAX_ADDED_CPU = 0.02;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BoatEventFeed boatEventFeed;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void idleSubscribers_ShouldNotUseCpu() throws Exception {
+        HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+        login(client);
+        double[] baselineCpu = measureCpu();
+
+        var received = new CountDownLatch(SUBSCRIBERS);
+        List<CompletableFuture<HttpResponse<Flow.Publisher<List<ByteBuffer>>>>> responses = new ArrayList<>();
+        var eventsRequest = HttpRequest.newBuilder(uri("/api/v1/boats/events"))
+                .header("Accept", "text/event-stream")
+                .build();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            responses.add(client.sendAsync(eventsRequest, HttpResponse.BodyHandlers.ofPublisher())
+                    .whenComplete((response, ex) -> {
+                        if (response != null) {
+                            response.body().subscribe(new EventCounter(received));
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+        assertThat(responses).allSatisfy(response -> assertThat(response.join().statusCode()).isEqualTo(200));
+        assertThat(boatEventFeed.getSubscriberCount()).isEqualTo(SUBSCRIBERS);
+        double[] idleCpu = measureCpu();
+
+        var start = System.nanoTime();
+        boatEventFeed.onBoatCreated(new BoatDto(1_000_000L, "Load Test Boat", null, "SAILBOAT",
+                LocalDateTime.now(), LocalDateTime.now(), 0L));
+        assertThat(received.await(1, TimeUnit.MINUTES)).isTrue();
+        var fanOutMillis = (System.nanoTime() - start) / 1_000_000;
+
+        LOGGER.info("Boat change feed - CPU per second without subscribers: median {}, mean {}, max {}",
+                percent(median(baselineCpu)), percent(Arrays.stream(baselineCpu).average().orElseThrow()),
+                percent(baselineCpu[baselineCpu.length - 1]));
+        LOGGER.info("Boat change feed - CPU per second with {} idle subscribers: median {}, mean {}, max {} (heartbeats)",
+                SUBSCRIBERS, percent(median(idleCpu)), percent(Arrays.stream(idleCpu).average().orElseThrow()),
+                percent(idleCpu[idleCpu.length - 1]));
+        LOGGER.info("Boat change feed - event pushed to {} subscribers in {} ms", SUBSCRIBERS, fanOutMillis);
+        assertThat(median(idleCpu) - median(baselineCpu)).isLessThan(MAX_ADDED_CPU);
+    }
+
+    private void login(HttpClient client) throws Exception {
+        HttpResponse<String> csrf = client.send(HttpRequest.newBuilder(uri("/api/csrf-token")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode token = objectMapper.readTree(csrf.body());
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .header(token.get("headerName").asText(), token.get("token").asText())
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"owt\",\"password\":\"owt\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(login.statusCode()).isEqualTo(200);
+    }
+
+    /**
+     * Measures the CPU used by the whole process second by second, after letting it settle.
+     * @return The CPU used every second, as a share of one core, sorted
+     */
+    private static double[] measureCpu() throws InterruptedException {
+        var osBean = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        System.gc();
+        Thread.sleep(SETTLE_MILLIS);
+        var samples = new double[MEASURED_SECONDS];
+        for (int i = 0; i < samples.length; i++) {
+            long cpuBefore = osBean.getProcessCpuTime();
+            long before = System.nanoTime();
+            Thread.sleep(1_000);
+            samples[i] = (double) (osBean.getProcessCpuTime() - cpuBefore) / (System.nanoTime() - before);
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static double median(double[] samples) {
+        return samples[samples.length / 2];
+    }
+
+    private static String percent(double cpu) {
+        return String.format("%.2f%%", cpu * 100);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /**
+     * Reads the stream of a subscriber, counting down once it received a created event.
+     */
+    private static final class EventCounter implements Flow.Subscriber<List<ByteBuffer>> {
+
+        private final CountDownLatch received;
+
+        private boolean counted;
+
+        EventCounter(CountDownLatch received) {
+            this.received = received;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                if (!counted && StandardCharsets.UTF_8.decode(buffer).toString().contains("event:created")) {
+                    counted = true;
+                    received.countDown();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // The subscription ends with the test
+        }
+
+        @Override
+        public void onComplete() {
+            // The subscription ends with the test
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package io.hellorin.boathub.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hellorin.boathub.dto.BoatDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BoatEventFeed class.
+ * Tests the events sent to the subscribers, their coalescing and the handling of slow or gone subscribers.
+ */
+class BoatEventFeedTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BoatEventFeed boatEventFeed;
+
+    private LocalDateTime testDateTime;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        boatEventFeed = feed(2, 10);
+        testDateTime = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        boatEventFeed.shutdown();
+    }
+
+    @Test
+    void onBoatCreated_ShouldSendBoatToSubscribers() throws InterruptedException {
+        // Given
+        RecordingEmitter first = subscribe();
+        RecordingEmitter second = subscribe();
+
+        // When
+        boatEventFeed.onBoatCreated(boat(1L, "Black Pearl"));
+
+        // Then
+        assertThat(first.nextWrite()).contains("id:1\n", "event:created\n", "\"name\":\"Black Pearl\"");
+        assertThat(second.nextWrite()).contains("event:created\n", "\"id\":1");
+    }
+
+    @Test
+    void onBoatDeleted_ShouldSendIdOnly() throws InterruptedException {
+        // Given
+        RecordingEmitter emitter = subscribe();
+
+        // When
+        boatEventFeed.onBoatDeleted(3L);
+
+        // Then
+        assertThat(emitter.nextWrite()).contains("event:deleted\n", "data:{\"id\":3}\n");
+    }
+
+    @Test
+    void onBoatUpdated_WhenSubscriberBusy_ShouldCoalesceEventsOfSameBoat() throws InterruptedException {
+        // Given
+        RecordingEmitter emitter = subscribe();
+        emitter.block();
+        boatEventFeed.onBoatCreated(boat(1L, "Black Pearl"));
+        emitter.awaitBlocked();
+
+        // When
+        boatEventFeed.onBoatCreated(boat(2L, "Bluebird"));
+        boatEventFeed.onBoatUpdated(boat(3L, "Titanic"));
+        boatEventFeed.onBoatUpdated(boat(2L, "Bluebird II"));
+        emitter.release();
+
+        // Then
+        assertThat(emitter.nextWrite()).contains("Black Pearl");
+        String coalesced = emitter.nextWrite();
+        assertThat(coalesced).doesNotContain("\"Bluebird\"").contains("event:updated\n", "event:created\n");
+        assertThat(coalesced.indexOf("Titanic")).isLessThan(coalesced.indexOf("Bluebird II"));
+        assertThat(meterRegistry.get("boathub.events.coalesced").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void onBoatCreated_WhenSubscriberTooSlow_ShouldDropEventsAndTellItToResync() throws InterruptedException {
+        // Given
+        RecordingEmitter emitter = subscribe();
+        emitter.block();
+        boatEventFeed.onBoatCreated(boat(1L, "Black Pearl"));
+        emitter.awaitBlocked();
+
+        // When
+        for (long id = 2; id <= 13; id++) {
+            boatEventFeed.onBoatCreated(boat(id, "Boat " + id));
+        }
+        emitter.release();
+        emitter.nextWrite();
+        String resync = emitter.nextWrite();
+        boatEventFeed.onBoatDeleted(1L);
+
+        // Then
+        assertThat(resync).contains("event:resync\n").doesNotContain("event:created");
+        assertThat(emitter.nextWrite()).contains("event:deleted\n");
+        assertThat(meterRegistry.get("boathub.events.overflows").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void onBoatCreated_WhenSubscriberBlocked_ShouldStillSendToOtherSubscribers() throws InterruptedException {
+        // Given
+        RecordingEmitter blocked = subscribe();
+        RecordingEmitter other = subscribe();
+        blocked.block();
+        boatEventFeed.onBoatCreated(boat(1L, "Black Pearl"));
+        blocked.awaitBlocked();
+        other.nextWrite();
+
+        // When
+        boatEventFeed.onBoatCreated(boat(2L, "Bluebird"));
+
+        // Then
+        assertThat(other.nextWrite()).contains("Bluebird");
+        blocked.release();
+    }
+
+    @Test
+    void subscribe_WhenMaxSubscribersReached_ShouldReturnEmpty() {
+        // Given
+        boatEventFeed.shutdown();
+        meterRegistry = new SimpleMeterRegistry();
+        boatEventFeed = feed(1, 10);
+        boatEventFeed.subscribe(new RecordingEmitter());
+
+        // When & Then
+        assertThat(boatEventFeed.subscribe(new RecordingEmitter())).isEmpty();
+        assertThat(meterRegistry.get("boathub.events.subscribers").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void subscribe_WhenSubscribingConcurrently_ShouldNotExceedMaxSubscribers() throws InterruptedException {
+        // Given
+        boatEventFeed.shutdown();
+        meterRegistry = new SimpleMeterRegistry();
+        boatEventFeed = feed(5, 10);
+        var start = new CountDownLatch(1);
+        var accepted = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                boatEventFeed.subscribe(new RecordingEmitter()).ifPresent(emitter -> accepted.incrementAndGet());
+            }));
+        }
+
+        // When
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertThat(accepted.get()).isEqualTo(5);
+        assertThat(boatEventFeed.getSubscriberCount()).isEqualTo(5);
+    }
+
+    @Test
+    void sendHeartbeats_ShouldSendCommentToIdleSubscribers() throws InterruptedException {
+        // Given
+        RecordingEmitter emitter = subscribe();
+
+        // When
+        boatEventFeed.sendHeartbeats();
+
+        // Then
+        assertThat(emitter.nextWrite()).isEqualTo(":heartbeat\n\n");
+    }
+
+    @Test
+    void sendHeartbeats_WhenSubscriberGone_ShouldRemoveIt() throws InterruptedException {
+        // Given
+        RecordingEmitter gone = subscribe();
+        gone.fail();
+        RecordingEmitter alive = subscribe();
+
+        // When
+        boatEventFeed.sendHeartbeats();
+
+        // Then
+        assertThat(alive.nextWrite()).contains("heartbeat");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (boatEventFeed.getSubscriberCount() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(boatEventFeed.getSubscriberCount()).isEqualTo(1);
+    }
+
+    private BoatEventFeed feed(int maxSubscribers, int bufferSize) {
+        return new BoatEventFeed(new ObjectMapper().findAndRegisterModules(), meterRegistry,
+                bufferSize, maxSubscribers, Duration.ofMinutes(1));
+    }
+
+    private RecordingEmitter subscribe() {
+        var emitter = new RecordingEmitter();
+        assertThat(boatEventFeed.subscribe(emitter)).containsSame(emitter);
+        return emitter;
+    }
+
+    private BoatDto boat(Long id, String name) {
+        return new BoatDto(id, name, null, "SAILBOAT", testDateTime, testDateTime, 0L);
+    }
+
+    /**
+     * Emitter recording what is sent to it, which can be blocked like a slow client, or fail like a gone one.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> writes = new LinkedBlockingQueue<>();
+
+        private final CountDownLatch blocked = new CountDownLatch(1);
+
+        private volatile CountDownLatch gate;
+
+        private volatile boolean failing;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            var currentGate = gate;
+            if (currentGate != null) {
+                blocked.countDown();
+                try {
+                    currentGate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            writes.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void awaitBlocked() throws InterruptedException {
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        void release() {
+            var currentGate = gate;
+            gate = null;
+            currentGate.countDown();
+        }
+
+        void fail() {
+            failing = true;
+        }
+
+        String nextWrite() throws InterruptedException {
+            return writes.poll(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package io.hellorin.boathub.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hellorin.boathub.BoatHubApplication;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.PrintStream;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test of the boat API, through the security filter chain: a user logs in with a session, fetches
+ * a CSRF token, then sends an open-model mix of listings, reads and description updates at a fixed arrival rate.
+ * Reports the p50, p99 and p99.9 latencies and the throughput of every scenario, and writes the latency distribution
+ * of each to target/load/&lt;scenario&gt;.hgrm, which the HdrHistogram plotter reads.
+ * <p>
+ * By default the application is started on a random port with the dev profile; with -Dload.url=http://host:port,
+ * an application already running on that URL is loaded instead. Its boats are updated by the mix.
+ * Disabled by default, run it with: mvn test -Dtest=BoatApiLoadTest -Dbenchmark=true and, to change the defaults,
+ * -Dload.rate=50 (requests per second), -Dload.mix=list=70,get=20,patch=10 (weights of the scenarios),
+ * -Dload.warm-up=PT10S, -Dload.duration=PT30S and -Dload.max-in-flight=10000.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BoatApiLoadTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoatApiLoadTest.class);
+
+    private static final String URL = System.getProperty("load.url");
+
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "50"));
+
+    private static final String MIX = System.getProperty("load.mix", "list=70,get=20,patch=10");
+
+    private static final Duration WARM_UP = Duration.parse(System.getProperty("load.warm-up", "PT10S"));
+
+    private static final Duration MEASURED = Duration.parse(System.getProperty("load.duration", "PT30S"));
+
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.max-in-flight", 10_000);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Path HISTOGRAMS = Path.of("target/load");
+
+    /**
+     * HdrHistogram percentile reports scale the values recorded in microseconds to milliseconds.
+     */
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void boatApi_WithOpenModelMix() throws Exception {
+        if (URL != null) {
+            load(URI.create(URL));
+            return;
+        }
+        try (ConfigurableApplicationContext context = start()) {
+            load(URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort()));
+        }
+    }
+
+    private static ConfigurableApplicationContext start() {
+        // Passed as arguments, which take precedence over the application properties
+        return new SpringApplicationBuilder(BoatHubApplication.class)
+                .profiles("dev") // Schema, sample data and user are initialized by the dev profile
+                .run("--server.port=0",
+                        "--server.tomcat.max-connections=50000",
+                        "--spring.jpa.show-sql=false");
+    }
+
+    private void load(URI baseUri) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .cookieHandler(new CookieManager())
+                .build();
+        login(client, baseUri);
+        // The token is replaced on login, so the one used by the updates is fetched once logged in
+        JsonNode csrfToken = csrfToken(client, baseUri);
+        List<Long> boatIds = boatIds(client, baseUri);
+
+        var driver = new HttpLoadDriver(client, scenarios(baseUri, csrfToken, boatIds), RATE, MAX_IN_FLIGHT);
+        var report = driver.run(WARM_UP, MEASURED, REQUEST_TIMEOUT);
+
+        Files.createDirectories(HISTOGRAMS);
+        var total = new Histogram(3);
+        long totalCompleted = 0;
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, HttpLoadDriver.ScenarioStats> entry : report.scenarios().entrySet()) {
+            var stats = entry.getValue();
+            total.add(stats.latencies());
+            totalCompleted += stats.completedInPeriod();
+            lines.add(format(entry.getKey(), stats.latencies(), stats.completedInPeriod())
+                    + String.format(", %d dropped, responses %s", stats.dropped(), stats.outcomes()));
+            writeHistogram(entry.getKey(), stats.latencies());
+        }
+        lines.add(format("total", total, totalCompleted) + ", " + report.unanswered() + " unanswered");
+        writeHistogram("total", total);
+
+        LOGGER.info("Boat API load - {} requests/s offered for {} after {} of warm-up, mix {}", RATE, MEASURED, WARM_UP, MIX);
+        lines.forEach(line -> LOGGER.info("Boat API load - {}", line));
+        LOGGER.info("Boat API load - latency distributions written to {}", HISTOGRAMS.toAbsolutePath());
+        assertThat(totalCompleted).isPositive();
+    }
+
+    /**
+     * Builds the scenarios of the mix from their weights, such as list=70,get=20,patch=10.
+     */
+    private static List<HttpLoadDriver.Scenario> scenarios(URI baseUri, JsonNode csrfToken, List<Long> boatIds) {
+        var csrfHeader = csrfToken.get("headerName").asText();
+        var csrfValue = csrfToken.get("token").asText();
+        Function<Random, Long> anyBoat = random -> boatIds.get(random.nextInt(boatIds.size()));
+        List<HttpLoadDriver.Scenario> scenarios = new ArrayList<>();
+        for (String share : MIX.split(",")) {
+            var nameAndWeight = share.trim().split("=");
+            var name = nameAndWeight[0];
+            var weight = Integer.parseInt(nameAndWeight[1]);
+            Function<Random, HttpRequest> request = switch (name) {
+                case "list" -> random -> HttpRequest.newBuilder(baseUri.resolve("/api/v1/boats?size=10&sortBy=name&page="
+                                + random.nextInt(5)))
+                        .timeout(REQUEST_TIMEOUT)
+                        .build();
+                case "get" -> random -> HttpRequest.newBuilder(baseUri.resolve("/api/v1/boats/" + anyBoat.apply(random)))
+                        .timeout(REQUEST_TIMEOUT)
+                        .build();
+                case "patch" -> random -> HttpRequest.newBuilder(baseUri.resolve("/api/v1/boats/" + anyBoat.apply(random)
+                                + "/description"))
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .header(csrfHeader, csrfValue)
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                "{\"description\":\"Updated by the load test " + random.nextInt(1_000_000) + "\"}"))
+                        .build();
+                default -> throw new IllegalArgumentException("Unknown load scenario: " + name);
+            };
+            scenarios.add(new HttpLoadDriver.Scenario(name, weight, request));
+        }
+        return scenarios;
+    }
+
+    private void login(HttpClient client, URI baseUri) throws Exception {
+        JsonNode token = csrfToken(client, baseUri);
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .header(token.get("headerName").asText(), token.get("token").asText())
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"owt\",\"password\":\"owt\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(login.statusCode()).isEqualTo(200);
+    }
+
+    private JsonNode csrfToken(HttpClient client, URI baseUri) throws Exception {
+        HttpResponse<String> csrf = client.send(HttpRequest.newBuilder(baseUri.resolve("/api/csrf-token")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(csrf.body());
+    }
+
+    private List<Long> boatIds(HttpClient client, URI baseUri) throws Exception {
+        HttpResponse<String> page = client.send(HttpRequest.newBuilder(baseUri.resolve("/api/v1/boats?page=0&size=50"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>();
+        objectMapper.readTree(page.body()).get("content").forEach(boat -> ids.add(boat.get("id").asLong()));
+        assertThat(ids).isNotEmpty();
+        return ids;
+    }
+
+    private static String format(String scenario, Histogram latencies, long completed) {
+        return String.format("%-6s %7d requests, %8.1f requests/s, p50 %8.2f ms, p99 %8.2f ms, p99.9 %8.2f ms, max %8.2f ms",
+                scenario, latencies.getTotalCount(), completed / (double) MEASURED.toSeconds(),
+                latencies.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                latencies.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                latencies.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                latencies.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static void writeHistogram(String scenario, Histogram latencies) throws Exception {
+        try (var out = new PrintStream(Files.newOutputStream(HISTOGRAMS.resolve(scenario + ".hgrm")))) {
+            latencies.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package io.hellorin.boathub.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Open-model HTTP load driver: requests arrive at a given rate whatever the response times, as the requests of
+ * independent users do, in a random mix of scenarios weighted by their share of the traffic.
+ * <p>
+ * The arrivals follow a Poisson process, sent asynchronously from a single dispatching thread. The latency of
+ * a request is measured from its scheduled arrival, not from when it was actually sent, so that a server, or a driver,
+ * falling behind shows in the latencies instead of silently lowering the rate (the coordinated omission).
+ * The latencies of the requests arriving during the measured period are recorded in an HdrHistogram per scenario,
+ * and the throughput counts the successful responses received during that period.
+ * Arrivals finding the maximum of requests in flight are dropped and counted, so that a stalled server cannot
+ * exhaust the file descriptors.
+ */
+final class HttpLoadDriver {
+
+    /**
+     * Latencies are recorded in microseconds, with 3 significant digits.
+     */
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final HttpClient client;
+
+    private final List<Scenario> scenarios;
+
+    private final int totalWeight;
+
+    private final double rate;
+
+    private final int maxInFlight;
+
+    private final Random random = new Random(42);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * @param client The client sending the requests, carrying the session of the user
+     * @param scenarios The scenarios of the mix, each with a positive weight
+     * @param rate The number of requests arriving per second, all scenarios together
+     * @param maxInFlight The maximum number of requests waiting for their response
+     */
+    HttpLoadDriver(HttpClient client, List<Scenario> scenarios, double rate, int maxInFlight) {
+        this.client = client;
+        this.scenarios = List.copyOf(scenarios);
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Sends the requests for the warm-up, then for the measured period, and waits for their responses.
+     * @param warmUp The period whose requests are sent but not measured
+     * @param measured The measured period
+     * @param drainTimeout The maximum time waited for the responses once the requests all arrived
+     * @return The statistics of every scenario, in the order of the scenarios, and the requests left unanswered
+     */
+    Report run(Duration warmUp, Duration measured, Duration drainTimeout) {
+        var stats = new LinkedHashMap<String, ScenarioStats>();
+        scenarios.forEach(scenario -> stats.put(scenario.name(), new ScenarioStats()));
+
+        long start = System.nanoTime();
+        long measureStart = start + warmUp.toNanos();
+        long end = measureStart + measured.toNanos();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        double arrival = start;
+        while (true) {
+            // Exponential inter-arrival times make a Poisson process
+            arrival += -Math.log(1 - random.nextDouble()) * meanIntervalNanos;
+            long scheduled = (long) arrival;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            var scenario = pick();
+            var scenarioStats = stats.get(scenario.name());
+            boolean measuredArrival = scheduled >= measureStart;
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                if (measuredArrival) {
+                    scenarioStats.dropped.incrementAndGet();
+                }
+                continue;
+            }
+            send(scenario, scenarioStats, scheduled, measuredArrival, measureStart, end);
+        }
+
+        long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return new Report(stats, inFlight.get());
+    }
+
+    private void send(Scenario scenario, ScenarioStats stats, long scheduled, boolean measuredArrival,
+                      long measureStart, long end) {
+        var request = scenario.request().apply(random);
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+            long completed = System.nanoTime();
+            inFlight.decrementAndGet();
+            String outcome = ex != null ? ex.getClass().getSimpleName() : String.valueOf(response.statusCode());
+            boolean success = ex == null && response.statusCode() / 100 == 2;
+            if (measuredArrival) {
+                stats.latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - scheduled));
+                stats.outcomes.computeIfAbsent(outcome, key -> new AtomicLong()).incrementAndGet();
+            }
+            if (success && completed >= measureStart && completed < end) {
+                stats.completedInPeriod.incrementAndGet();
+            }
+        });
+    }
+
+    private Scenario pick() {
+        int draw = random.nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            draw -= scenario.weight();
+            if (draw < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException("No scenario drawn");
+    }
+
+    /**
+     * Result of a run.
+     * @param scenarios The statistics of every scenario, in the order of the scenarios
+     * @param unanswered The number of requests still waiting for their response after the drain timeout
+     */
+    record Report(Map<String, ScenarioStats> scenarios, int unanswered) {
+    }
+
+    /**
+     * A kind of request of the mix.
+     * @param name The name of the scenario, as reported
+     * @param weight The share of the traffic of the scenario, relative to the other weights
+     * @param request Builds the next request of the scenario from the random generator of the driver
+     */
+    record Scenario(String name, int weight, Function<Random, HttpRequest> request) {
+    }
+
+    /**
+     * Statistics of a scenario: the latencies and outcomes of the requests arriving during the measured period,
+     * and the successful responses received during that period.
+     */
+    static final class ScenarioStats {
+
+        private final Histogram latencies = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+        private final Map<String, AtomicLong> outcomes = new ConcurrentHashMap<>();
+
+        private final AtomicLong completedInPeriod = new AtomicLong();
+
+        private final AtomicLong dropped = new AtomicLong();
+
+        /**
+         * The latencies in microseconds, from the scheduled arrival of the requests to their response.
+         */
+        Histogram latencies() {
+            return latencies;
+        }
+
+        /**
+         * The number of responses by status code, or by exception for the requests that failed.
+         */
+        Map<String, Long> outcomes() {
+            var counts = new LinkedHashMap<String, Long>();
+            outcomes.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> counts.put(entry.getKey(), entry.getValue().get()));
+            return counts;
+        }
+
+        long completedInPeriod() {
+            return completedInPeriod.get();
+        }
+
+        long dropped() {
+            return dropped.get();
+        }
+    }
+}
@@ -183,4 +183,16 @@ class BoatMapperTest {
         assertThat(result.getDescription()).isEmpty();
         assertThat(result.getBoatType()).isEqualTo(BoatType.OTHER.name());
     }
-}
\ No newline at end of file
+
+    @Test
+    void toEntity_WhenBoatTypeInLowerCaseWithSpaces_ShouldMapBoatType() {
+        // Given
+        BoatCreationDto creationDto = new BoatCreationDto("Lower Case Boat", null, " sailboat ");
+
+        // When
+        BoatEntity result = boatMapper.toEntity(creationDto);
+
+        // Then
+        assertThat(result.getBoatType()).isEqualTo(BoatType.SAILBOAT);
+    }
+}
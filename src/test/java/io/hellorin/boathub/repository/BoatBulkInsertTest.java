@@ -0,0 +1,65 @@
+package io.hellorin.boathub.repository;
+
+import io.hellorin.boathub.domain.BoatEntity;
+import io.hellorin.boathub.domain.BoatType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that boats saved together are inserted with JDBC batches, their IDs being allocated by blocks.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true", showSql = false)
+@ActiveProfiles("dev") // Schema and sample data are initialized by the dev profile
+class BoatBulkInsertTest {
+
+    private static final int BOATS = 250;
+
+    @Autowired
+    private BoatRepository boatRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveAll_ShouldInsertBoatsInBatches() {
+        // Given
+        List<BoatEntity> boats = new ArrayList<>();
+        for (int i = 0; i < BOATS; i++) {
+            boats.add(new BoatEntity("Bulk Boat " + i, BoatType.SAILBOAT));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        List<BoatEntity> saved = boatRepository.saveAll(boats);
+        boatRepository.flush();
+
+        // Then
+        assertThat(saved).extracting(BoatEntity::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(BOATS);
+        // A few sequence calls and one statement per batch of inserts, instead of one statement per boat
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+
+    @Test
+    void save_ShouldNotReuseIdsOfBoatsInsertedWithSql() {
+        // Given
+        long highestSqlId = boatRepository.findAll().stream().mapToLong(BoatEntity::getId).max().orElse(0);
+
+        // When
+        BoatEntity saved = boatRepository.saveAndFlush(new BoatEntity("Sequence Boat", BoatType.YACHT));
+
+        // Then
+        assertThat(saved.getId()).isGreaterThan(highestSqlId);
+    }
+}
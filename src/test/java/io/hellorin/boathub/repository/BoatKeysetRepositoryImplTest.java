@@ -0,0 +1,86 @@
+package io.hellorin.boathub.repository;
+
+import io.hellorin.boathub.domain.BoatEntity;
+import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.dto.BoatDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Data JPA tests for the keyset pagination fragment of BoatRepository.
+ * Walks the whole table page by page and checks the result against an in-memory sort.
+ */
+@DataJpaTest
+@ActiveProfiles("dev") // Schema and sample data are initialized by the dev profile
+class BoatKeysetRepositoryImplTest {
+
+    @Autowired
+    private BoatRepository boatRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Boats without description to cover the null handling on top of the sample data
+        boatRepository.save(new BoatEntity("Nameless Dinghy", BoatType.OTHER));
+        boatRepository.save(new BoatEntity("Ghost Ship", BoatType.SAILBOAT));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "id, ASC", "id, DESC",
+        "name, ASC", "name, DESC",
+        "description, ASC", "description, DESC",
+        "boatType, ASC", "boatType, DESC"
+    })
+    void findAfter_WhenWalkingAllPages_ShouldReturnEveryBoatOnceInOrder(String sortBy, Sort.Direction direction) {
+        // Given
+        List<BoatDto> expected = new ArrayList<>(boatRepository.findAllProjected());
+        expected.sort(comparator(sortBy, direction));
+
+        // When
+        List<BoatDto> walked = new ArrayList<>();
+        BoatKeyset after = null;
+        List<BoatDto> page;
+        do {
+            page = boatRepository.findAfter(sortBy, direction, after, 2);
+            walked.addAll(page);
+            if (!page.isEmpty()) {
+                var last = page.get(page.size() - 1);
+                after = new BoatKeyset(sortBy, direction, valueOf(last, sortBy), last.getId());
+            }
+        } while (!page.isEmpty());
+
+        // Then
+        assertThat(walked).extracting(BoatDto::getId)
+                .containsExactlyElementsOf(expected.stream().map(BoatDto::getId).toList());
+    }
+
+    private static Comparator<BoatDto> comparator(String sortBy, Sort.Direction direction) {
+        Function<BoatDto, String> value = boat -> valueOf(boat, sortBy);
+        Comparator<String> values = Comparator.nullsFirst(Comparator.naturalOrder());
+        Comparator<BoatDto> comparator = "id".equals(sortBy)
+                ? Comparator.comparing(BoatDto::getId)
+                : Comparator.comparing(value, values).thenComparing(BoatDto::getId);
+        return direction.isAscending() ? comparator : comparator.reversed();
+    }
+
+    private static String valueOf(BoatDto boat, String sortBy) {
+        return switch (sortBy) {
+            case "name" -> boat.getName();
+            case "description" -> boat.getDescription();
+            case "boatType" -> boat.getBoatType();
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package io.hellorin.boathub.repository;
+
+import io.hellorin.boathub.domain.BoatEntity;
+import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.mapper.BoatMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mapstruct.factory.Mappers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Allocation benchmark of the boat listing read path: managed entities mapped with MapStruct
+ * against the DTO constructor projection.
+ * Each call runs in its own repository transaction, as a request would. Disabled by default,
+ * run it with: mvn test -Dtest=BoatListingAllocationBenchmarkTest -Dbenchmark=true
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("dev") // Schema and sample data are initialized by the dev profile
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BoatListingAllocationBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoatListingAllocationBenchmarkTest.class);
+
+    private static final int BOATS = 500;
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final int MEASURED_ITERATIONS = 2_000;
+
+    @Autowired
+    private BoatRepository boatRepository;
+
+    private final BoatMapper boatMapper = Mappers.getMapper(BoatMapper.class);
+
+    private final List<Long> insertedIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<BoatEntity> boats = new ArrayList<>();
+        for (int i = 0; i < BOATS; i++) {
+            BoatEntity boat = new BoatEntity("Benchmark Boat " + i, BoatType.values()[i % BoatType.values().length]);
+            boat.setDescription("A boat generated to measure the allocations of the listing, number " + i);
+            boats.add(boat);
+        }
+        boatRepository.saveAll(boats).forEach(boat -> insertedIds.add(boat.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        boatRepository.deleteAllById(insertedIds);
+    }
+
+    @Test
+    void listingPage_EntityMappingVersusProjection() {
+        Pageable pageable = PageRequest.of(3, 50, Sort.by(Sort.Direction.ASC, "name"));
+
+        long entityBytes = allocatedBytesPerCall(() -> boatRepository.findAll(pageable).map(boatMapper::toDto));
+        long projectionBytes = allocatedBytesPerCall(() -> boatRepository.findAllProjectedBy(pageable));
+
+        LOGGER.info("Listing page of {} boats - entities + MapStruct: {} bytes/request, DTO projection: {} bytes/request",
+                pageable.getPageSize(), entityBytes, projectionBytes);
+        assertThat(projectionBytes).isLessThan(entityBytes);
+    }
+
+    private static long allocatedBytesPerCall(Supplier<Page<BoatDto>> call) {
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            call.get();
+        }
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            call.get();
+        }
+        return (threadBean.getCurrentThreadAllocatedBytes() - before) / MEASURED_ITERATIONS;
+    }
+}
@@ -0,0 +1,409 @@
+package io.hellorin.boathub.repository;
+
+import io.hellorin.boathub.domain.BoatEntity;
+import io.hellorin.boathub.domain.BoatTombstoneEntity;
+import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.dto.BoatDto;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Data JPA tests for the custom queries of BoatRepository.
+ */
+@DataJpaTest
+@ActiveProfiles("dev") // Schema and sample data are initialized by the dev profile
+class BoatRepositoryTest {
+
+    @Autowired
+    private BoatRepository boatRepository;
+
+    @Autowired
+    private BoatTombstoneRepository boatTombstoneRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void findAllProjectedBy_ShouldReturnSortedPageOfDtosWithoutManagingEntities() {
+        // Given
+        entityManager.clear();
+
+        // When
+        Page<BoatDto> page = boatRepository.findAllProjectedBy(PageRequest.of(0, 3, Sort.by(Sort.Direction.ASC, "name")));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(7);
+        assertThat(page.getContent()).extracting(BoatDto::getName)
+                .containsExactly("Fishing Master", "Island Hopper", "Ocean Explorer");
+        assertThat(page.getContent()).allSatisfy(boat -> {
+            assertThat(boat.getId()).isNotNull();
+            assertThat(boat.getCreatedDate()).isNotNull();
+        });
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void findAllProjectedSliceBy_ShouldReturnSortedSliceOfDtosWithoutManagingEntities() {
+        // Given
+        entityManager.clear();
+
+        // When
+        Slice<BoatDto> slice = boatRepository.findAllProjectedSliceBy(PageRequest.of(0, 3, Sort.by(Sort.Direction.ASC, "name")));
+
+        // Then
+        assertThat(slice.getContent()).extracting(BoatDto::getName)
+                .containsExactly("Fishing Master", "Island Hopper", "Ocean Explorer");
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void findAllProjectedBy_WhenSortedByBoatType_ShouldSortOnStoredValue() {
+        // When
+        Page<BoatDto> page = boatRepository.findAllProjectedBy(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "boatType")));
+
+        // Then
+        assertThat(page.getContent()).extracting(BoatDto::getBoatType)
+                .containsExactly("YACHT", "SPEEDBOAT", "SAILBOAT", "SAILBOAT", "OTHER", "FISHING_BOAT", "FISHING_BOAT");
+    }
+
+    @Test
+    void findAllProjectedByBoatTypeIn_ShouldReturnBoatsOfTheseTypesOnly() {
+        // When
+        Page<BoatDto> page = boatRepository.findAllProjectedByBoatTypeIn(
+                List.of(BoatType.SAILBOAT, BoatType.FISHING_BOAT), PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "boatType")));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(page.getContent()).extracting(BoatDto::getBoatType)
+                .containsExactly("SAILBOAT", "SAILBOAT", "FISHING_BOAT");
+    }
+
+    @Test
+    void countByBoatType_ShouldGroupBoatsByType() {
+        // When
+        List<BoatTypeCount> counts = boatRepository.countByBoatType();
+
+        // Then
+        assertThat(counts).containsExactlyInAnyOrder(
+                new BoatTypeCount(BoatType.SAILBOAT, 2L),
+                new BoatTypeCount(BoatType.FISHING_BOAT, 2L),
+                new BoatTypeCount(BoatType.YACHT, 1L),
+                new BoatTypeCount(BoatType.SPEEDBOAT, 1L),
+                new BoatTypeCount(BoatType.OTHER, 1L));
+    }
+
+    @Test
+    void countByCreationMonth_ShouldGroupBoatsByYearAndMonth() {
+        // When
+        List<BoatMonthCount> counts = boatRepository.countByCreationMonth();
+
+        // Then, sample boats are created within the last 30 days
+        YearMonth thisMonth = YearMonth.now();
+        assertThat(counts.stream().mapToLong(BoatMonthCount::count).sum()).isEqualTo(7);
+        assertThat(counts).allSatisfy(count -> assertThat(YearMonth.of(count.year(), count.month()))
+                .isIn(thisMonth, thisMonth.minusMonths(1), thisMonth.minusMonths(2)));
+    }
+
+    @Test
+    void findDtoById_WhenBoatExists_ShouldReturnDtoWithBoatTypeName() {
+        // Given
+        BoatEntity saved = boatRepository.saveAndFlush(new BoatEntity("Projected Boat", BoatType.SPEEDBOAT));
+        entityManager.clear();
+
+        // When
+        Optional<BoatDto> result = boatRepository.findDtoById(saved.getId());
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().getName()).isEqualTo("Projected Boat");
+        assertThat(result.get().getBoatType()).isEqualTo("SPEEDBOAT");
+        assertThat(result.get().getDescription()).isNull();
+        assertThat(result.get().getUpdatedDate()).isNotNull();
+    }
+
+    @Test
+    void findDtoById_WhenBoatDoesNotExist_ShouldReturnEmpty() {
+        assertThat(boatRepository.findDtoById(-1L)).isEmpty();
+    }
+
+    @Test
+    void findAllProjected_ShouldReturnEveryBoat() {
+        // Given
+        BoatEntity saved = boatRepository.saveAndFlush(new BoatEntity("Catalog Boat", BoatType.YACHT));
+        entityManager.clear();
+
+        // When
+        List<BoatDto> result = boatRepository.findAllProjected();
+
+        // Then
+        assertThat(result).hasSize((int) boatRepository.count());
+        assertThat(result).extracting(BoatDto::getId).contains(saved.getId());
+    }
+
+    @Test
+    void findAllStatisticsRows_ShouldReturnEveryBoatWithTypeAndCreationDate() {
+        // Given
+        BoatEntity saved = boatRepository.saveAndFlush(new BoatEntity("Counted Boat", BoatType.YACHT));
+        entityManager.clear();
+
+        // When
+        List<BoatStatisticsRow> result = boatRepository.findAllStatisticsRows();
+
+        // Then
+        assertThat(result).hasSize((int) boatRepository.count());
+        assertThat(result).filteredOn(row -> row.id().equals(saved.getId())).singleElement().satisfies(row -> {
+            assertThat(row.boatType()).isEqualTo(BoatType.YACHT);
+            assertThat(YearMonth.from(row.createdDate())).isEqualTo(YearMonth.from(saved.getCreatedDate()));
+            assertThat(row.version()).isEqualTo(saved.getVersion());
+        });
+    }
+
+    @Test
+    void findDtosByIdIn_ShouldReturnOnlyExistingBoats() {
+        // Given
+        BoatEntity first = boatRepository.saveAndFlush(new BoatEntity("First Boat", BoatType.YACHT));
+        BoatEntity second = boatRepository.saveAndFlush(new BoatEntity("Second Boat", BoatType.SAILBOAT));
+        entityManager.clear();
+
+        // When
+        List<BoatDto> result = boatRepository.findDtosByIdIn(List.of(second.getId(), -1L, first.getId()));
+
+        // Then
+        assertThat(result).extracting(BoatDto::getName).containsExactlyInAnyOrder("First Boat", "Second Boat");
+    }
+
+    @Test
+    void streamAllProjected_ShouldStreamEveryBoatOrderedById() {
+        // Given
+        BoatEntity saved = boatRepository.saveAndFlush(new BoatEntity("Streamed Boat", BoatType.MOTORBOAT));
+        entityManager.clear();
+
+        // When
+        List<BoatDto> result;
+        try (Stream<BoatDto> boats = boatRepository.streamAllProjected()) {
+            result = boats.toList();
+        }
+
+        // Then
+        assertThat(result).hasSize((int) boatRepository.count());
+        assertThat(result).extracting(BoatDto::getId).isSorted().contains(saved.getId());
+    }
+
+    @Test
+    void findProjectedAfterId_ShouldReturnNextBoatsOrderedById() {
+        // Given
+        List<Long> ids;
+        try (Stream<BoatDto> boats = boatRepository.streamAllProjected()) {
+            ids = boats.map(BoatDto::getId).toList();
+        }
+
+        // When
+        List<BoatDto> firstPage = boatRepository.findProjectedAfterId(0L, Limit.of(2));
+        List<BoatDto> nextPage = boatRepository.findProjectedAfterId(firstPage.get(1).getId(), Limit.of(2));
+
+        // Then
+        assertThat(firstPage).extracting(BoatDto::getId).containsExactlyElementsOf(ids.subList(0, 2));
+        assertThat(nextPage).extracting(BoatDto::getId).containsExactlyElementsOf(ids.subList(2, 4));
+    }
+
+    @Test
+    void updateName_WhenBoatExists_ShouldUpdateNameAndDateInOneStatement() {
+        // Given
+        BoatEntity saved = boatRepository.saveAndFlush(new BoatEntity("Old Name", BoatType.YACHT));
+        LocalDateTime updatedDate = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+        // When
+        int updatedRows = boatRepository.updateName(saved.getId(), "New Name", updatedDate, null);
+
+        // Then
+        assertThat(updatedRows).isEqualTo(1);
+        BoatDto updated = boatRepository.findDtoById(saved.getId()).orElseThrow();
+        assertThat(updated.getName()).isEqualTo("New Name");
+        assertThat(updated.getBoatType()).isEqualTo("YACHT");
+        assertThat(updated.getUpdatedDate()).isEqualTo(updatedDate);
+    }
+
+    @Test
+    void updateDescriptionAndType_WhenBoatExists_ShouldUpdateOnlyThatField() {
+        // Given
+        BoatEntity saved = boatRepository.saveAndFlush(new BoatEntity("Patched Boat", BoatType.YACHT));
+
+        // When
+        int descriptionRows = boatRepository.updateDescription(saved.getId(), "Patched description", LocalDateTime.now(), null);
+        int typeRows = boatRepository.updateBoatType(saved.getId(), BoatType.SAILBOAT, LocalDateTime.now(), null);
+
+        // Then
+        assertThat(descriptionRows).isEqualTo(1);
+        assertThat(typeRows).isEqualTo(1);
+        BoatDto updated = boatRepository.findDtoById(saved.getId()).orElseThrow();
+        assertThat(updated.getName()).isEqualTo("Patched Boat");
+        assertThat(updated.getDescription()).isEqualTo("Patched description");
+        assertThat(updated.getBoatType()).isEqualTo("SAILBOAT");
+    }
+
+    @Test
+    void updateName_WhenBoatDoesNotExist_ShouldReturnZero() {
+        assertThat(boatRepository.updateName(-1L, "Nobody", LocalDateTime.now(), null)).isZero();
+    }
+
+    @Test
+    void deleteBoatById_ShouldReturnNumberOfBoatsDeleted() {
+        // Given
+        BoatEntity saved = boatRepository.saveAndFlush(new BoatEntity("Doomed Boat", BoatType.YACHT));
+
+        // When
+        int deletedRows = boatRepository.deleteBoatById(saved.getId());
+        int deletedAgainRows = boatRepository.deleteBoatById(saved.getId());
+
+        // Then
+        assertThat(deletedRows).isEqualTo(1);
+        assertThat(deletedAgainRows).isZero();
+        assertThat(boatRepository.existsById(saved.getId())).isFalse();
+    }
+
+    @Test
+    void deleteBoatsByIdIn_ShouldDeleteOnlyExistingBoats() {
+        // Given
+        BoatEntity first = boatRepository.saveAndFlush(new BoatEntity("First Doomed Boat", BoatType.YACHT));
+        BoatEntity second = boatRepository.saveAndFlush(new BoatEntity("Second Doomed Boat", BoatType.SAILBOAT));
+        long countBefore = boatRepository.count();
+
+        // When
+        List<Long> deletedIds = boatRepository.deleteBoatsByIdIn(List.of(first.getId(), second.getId(), -1L));
+
+        // Then
+        assertThat(deletedIds).containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(boatRepository.count()).isEqualTo(countBefore - 2);
+    }
+
+    @Test
+    void deleteBoatById_ShouldLeaveTombstoneOfDeletedBoat() {
+        // Given
+        BoatEntity saved = boatRepository.saveAndFlush(new BoatEntity("Sunk Boat", BoatType.YACHT));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        boatRepository.deleteBoatById(saved.getId());
+        boatRepository.deleteBoatById(saved.getId());
+
+        // Then
+        assertThat(boatTombstoneRepository.findAll()).singleElement().satisfies(tombstone -> {
+            assertThat(tombstone.getBoatId()).isEqualTo(saved.getId());
+            assertThat(tombstone.getDeletedDate()).isAfterOrEqualTo(before);
+        });
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Each deletion commits in its own transaction
+    void deleteBoatById_WhenDeletedConcurrently_ShouldDeleteOnceAndLeaveOneTombstone() throws Exception {
+        // Given
+        BoatEntity saved = boatRepository.save(new BoatEntity("Twice Sunk Boat", BoatType.YACHT));
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Integer>> deletions = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                deletions.add(executor.submit(() -> {
+                    start.await();
+                    return boatRepository.deleteBoatById(saved.getId());
+                }));
+            }
+
+            // When
+            start.countDown();
+            List<Integer> deletedRows = new ArrayList<>();
+            for (Future<Integer> deletion : deletions) {
+                deletedRows.add(deletion.get(10, TimeUnit.SECONDS));
+            }
+
+            // Then
+            assertThat(deletedRows).containsExactlyInAnyOrder(1, 0);
+            assertThat(boatTombstoneRepository.findById(saved.getId())).isPresent();
+        } finally {
+            executor.shutdownNow();
+            boatTombstoneRepository.deleteById(saved.getId());
+        }
+    }
+
+    @Test
+    void deleteBoatsByIdIn_ShouldLeaveTombstonesOfDeletedBoatsOnly() {
+        // Given
+        BoatEntity first = boatRepository.saveAndFlush(new BoatEntity("First Sunk Boat", BoatType.YACHT));
+        BoatEntity second = boatRepository.saveAndFlush(new BoatEntity("Second Sunk Boat", BoatType.SAILBOAT));
+
+        // When
+        boatRepository.deleteBoatsByIdIn(List.of(first.getId(), second.getId(), -1L));
+
+        // Then
+        assertThat(boatTombstoneRepository.findAll()).extracting(BoatTombstoneEntity::getBoatId)
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+    }
+
+    @Test
+    void findUpdatedAfter_ShouldReturnBoatsFollowingKeysetInUpdateOrder() {
+        // Given
+        List<BoatDto> all = boatRepository.findUpdatedAfter(LocalDateTime.of(1970, 1, 1, 0, 0), 0L, Limit.of(100));
+        BoatDto third = all.get(2);
+
+        // When
+        List<BoatDto> result = boatRepository.findUpdatedAfter(third.getUpdatedDate(), third.getId(), Limit.of(3));
+
+        // Then
+        assertThat(all).hasSize(7).isSortedAccordingTo(Comparator.comparing(BoatDto::getUpdatedDate).thenComparing(BoatDto::getId));
+        assertThat(result).extracting(BoatDto::getId)
+                .containsExactlyElementsOf(all.subList(3, 6).stream().map(BoatDto::getId).toList());
+    }
+
+    @Test
+    void updateName_ShouldIncrementVersion() {
+        // Given
+        BoatEntity saved = boatRepository.saveAndFlush(new BoatEntity("Versioned Boat", BoatType.YACHT));
+
+        // When
+        int updatedRows = boatRepository.updateName(saved.getId(), "Versioned Boat Renamed", LocalDateTime.now(), saved.getVersion());
+
+        // Then
+        assertThat(updatedRows).isEqualTo(1);
+        assertThat(boatRepository.findDtoById(saved.getId()).orElseThrow().getVersion()).isEqualTo(saved.getVersion() + 1);
+    }
+
+    @Test
+    void updateDescription_WhenExpectedVersionIsStale_ShouldUpdateNothing() {
+        // Given
+        BoatEntity saved = boatRepository.saveAndFlush(new BoatEntity("Contended Boat", BoatType.YACHT));
+        boatRepository.updateName(saved.getId(), "Contended Boat Renamed", LocalDateTime.now(), null);
+
+        // When
+        int updatedRows = boatRepository.updateDescription(saved.getId(), "Lost update", LocalDateTime.now(), saved.getVersion());
+
+        // Then
+        assertThat(updatedRows).isZero();
+        assertThat(boatRepository.findDtoById(saved.getId()).orElseThrow().getDescription()).isNull();
+    }
+}
@@ -0,0 +1,57 @@
+package io.hellorin.boathub.repository;
+
+import io.hellorin.boathub.domain.BoatTombstoneEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Data JPA tests for the custom queries of BoatTombstoneRepository.
+ */
+@DataJpaTest
+@ActiveProfiles("dev") // Schema and sample data are initialized by the dev profile
+class BoatTombstoneRepositoryTest {
+
+    @Autowired
+    private BoatTombstoneRepository boatTombstoneRepository;
+
+    private LocalDateTime testDateTime;
+
+    @BeforeEach
+    void setUp() {
+        testDateTime = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+        boatTombstoneRepository.saveAllAndFlush(List.of(
+                new BoatTombstoneEntity(10L, testDateTime),
+                new BoatTombstoneEntity(11L, testDateTime.plusDays(1)),
+                new BoatTombstoneEntity(12L, testDateTime),
+                new BoatTombstoneEntity(13L, testDateTime.plusDays(2))));
+    }
+
+    @Test
+    void findDeletedAfter_ShouldReturnTombstonesFollowingKeysetInDeletionOrder() {
+        // When
+        List<BoatTombstoneEntity> result = boatTombstoneRepository.findDeletedAfter(testDateTime, 10L, Limit.of(2));
+
+        // Then
+        assertThat(result).extracting(BoatTombstoneEntity::getBoatId).containsExactly(12L, 11L);
+    }
+
+    @Test
+    void deleteDeletedBefore_ShouldOnlyDeleteOlderTombstones() {
+        // When
+        int swept = boatTombstoneRepository.deleteDeletedBefore(testDateTime.plusDays(1));
+
+        // Then
+        assertThat(swept).isEqualTo(2);
+        assertThat(boatTombstoneRepository.findAll()).extracting(BoatTombstoneEntity::getBoatId)
+                .containsExactlyInAnyOrder(11L, 13L);
+    }
+}
@@ -0,0 +1,232 @@
+package io.hellorin.boathub.search;
+
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.dto.BoatSuggestionDto;
+import io.hellorin.boathub.repository.BoatRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BoatNameSuggester class.
+ * Tests the prefix lookups and the propagation of the writes.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoatNameSuggesterTest {
+
+    @Mock
+    private BoatRepository boatRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BoatNameSuggester boatNameSuggester;
+
+    private LocalDateTime testDateTime;
+
+    private BoatDto blackPearl;
+    private BoatDto blackJack;
+    private BoatDto bluebird;
+    private BoatDto ileDeRe;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        boatNameSuggester = new BoatNameSuggester(boatRepository, meterRegistry);
+        testDateTime = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+
+        blackPearl = boat(1L, "Black Pearl");
+        blackJack = boat(2L, "black jack");
+        bluebird = boat(3L, "Bluebird");
+        ileDeRe = boat(4L, "Île de Ré");
+    }
+
+    @Test
+    void suggest_WhenNotLoaded_ShouldReturnEmpty() {
+        // When & Then
+        assertThat(boatNameSuggester.suggest("bl", 10)).isEmpty();
+        assertThat(boatNameSuggester.isLoaded()).isFalse();
+    }
+
+    @Test
+    void suggest_ShouldReturnNamesStartingWithPrefixInAlphabeticalOrder() {
+        // Given
+        loadSuggester(bluebird, blackPearl, ileDeRe, blackJack);
+
+        // When & Then
+        assertThat(suggestedNames("bl", 10)).containsExactly("black jack", "Black Pearl", "Bluebird");
+        assertThat(suggestedNames("BLACK P", 10)).containsExactly("Black Pearl");
+        assertThat(suggestedNames("z", 10)).isEmpty();
+    }
+
+    @Test
+    void suggest_ShouldIgnoreAccents() {
+        // Given
+        loadSuggester(blackPearl, ileDeRe);
+
+        // When & Then
+        assertThat(suggestedNames("ile de re", 10)).containsExactly("Île de Ré");
+        assertThat(suggestedNames("Îl", 10)).containsExactly("Île de Ré");
+    }
+
+    @Test
+    void suggest_ShouldStopAtLimit() {
+        // Given
+        loadSuggester(bluebird, blackPearl, blackJack);
+
+        // When & Then
+        assertThat(suggestedNames("b", 2)).containsExactly("black jack", "Black Pearl");
+    }
+
+    @Test
+    void suggest_WhenNamesOnlyDifferByCase_ShouldSuggestBoth() {
+        // Given
+        loadSuggester(blackPearl, boat(5L, "BLACK PEARL"));
+
+        // When
+        List<BoatSuggestionDto> result = boatNameSuggester.suggest("black", 10).orElseThrow();
+
+        // Then
+        assertThat(result).extracting(BoatSuggestionDto::getId).containsExactly(5L, 1L);
+    }
+
+    @Test
+    void onBoatCreated_ShouldSuggestNewName() {
+        // Given
+        loadSuggester(blackPearl);
+
+        // When
+        boatNameSuggester.onBoatCreated(bluebird);
+
+        // Then
+        assertThat(suggestedNames("bl", 10)).containsExactly("Black Pearl", "Bluebird");
+        assertThat(meterRegistry.get("boathub.suggest.index.size").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void onBoatUpdated_ShouldReplacePreviousName() {
+        // Given
+        loadSuggester(blackPearl, bluebird);
+        BoatDto renamed = boat(1L, "Queen Anne's Revenge");
+        renamed.setVersion(1L);
+
+        // When
+        boatNameSuggester.onBoatUpdated(renamed);
+
+        // Then
+        assertThat(suggestedNames("bl", 10)).containsExactly("Bluebird");
+        assertThat(suggestedNames("queen", 10)).containsExactly("Queen Anne's Revenge");
+    }
+
+    @Test
+    void onBoatUpdated_WhenPreviousNameTakenMeanwhile_ShouldKeepOtherBoat() {
+        // Given
+        loadSuggester(blackPearl);
+        boatNameSuggester.onBoatCreated(boat(6L, "Black Pearl"));
+
+        // When
+        boatNameSuggester.onBoatUpdated(boat(1L, "Queen Anne's Revenge"));
+
+        // Then
+        assertThat(boatNameSuggester.suggest("black", 10).orElseThrow())
+                .extracting(BoatSuggestionDto::getId).containsExactly(6L);
+    }
+
+    @Test
+    void onBoatUpdated_WhenOlderThanIndex_ShouldBeIgnored() {
+        // Given
+        blackPearl.setVersion(2L);
+        loadSuggester(blackPearl);
+        BoatDto stale = boat(1L, "Queen Anne's Revenge");
+        stale.setVersion(1L);
+
+        // When
+        boatNameSuggester.onBoatUpdated(stale);
+
+        // Then
+        assertThat(suggestedNames("", 10)).containsExactly("Black Pearl");
+    }
+
+    @Test
+    void onBoatUpdated_WhenBoatDeletedMeanwhile_ShouldNotReinsertIt() {
+        // Given
+        loadSuggester(blackPearl, bluebird);
+        boatNameSuggester.onBoatDeleted(1L);
+
+        // When
+        boatNameSuggester.onBoatUpdated(boat(1L, "Black Pearl II"));
+
+        // Then
+        assertThat(suggestedNames("bl", 10)).containsExactly("Bluebird");
+    }
+
+    @Test
+    void onBoatDeleted_WhenNotLoaded_ShouldBeIgnored() {
+        // When
+        boatNameSuggester.onBoatDeleted(1L);
+        boatNameSuggester.onBoatCreated(blackPearl);
+
+        // Then
+        assertThat(boatNameSuggester.isLoaded()).isFalse();
+    }
+
+    @Test
+    void loadIfNeeded_WhenDatabaseUnavailable_ShouldStayUnloadedAndRetry() {
+        // Given
+        when(boatRepository.findAllProjected())
+                .thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .thenReturn(List.of(blackPearl));
+
+        // When
+        boatNameSuggester.loadIfNeeded();
+        boolean loadedAfterFailure = boatNameSuggester.isLoaded();
+        boatNameSuggester.loadIfNeeded();
+        boatNameSuggester.loadIfNeeded();
+
+        // Then
+        assertThat(loadedAfterFailure).isFalse();
+        assertThat(suggestedNames("bl", 10)).containsExactly("Black Pearl");
+        verify(boatRepository, times(2)).findAllProjected();
+    }
+
+    @Test
+    void load_WhenBoatsWrittenWhileReading_ShouldKeepTheseWrites() {
+        // Given
+        loadSuggester(blackPearl);
+        when(boatRepository.findAllProjected()).thenAnswer(invocation -> {
+            boatNameSuggester.onBoatCreated(bluebird);
+            boatNameSuggester.onBoatDeleted(1L);
+            return List.of(blackPearl, blackJack);
+        });
+
+        // When
+        boatNameSuggester.load();
+
+        // Then
+        assertThat(suggestedNames("bl", 10)).containsExactly("black jack", "Bluebird");
+    }
+
+    private void loadSuggester(BoatDto... boats) {
+        when(boatRepository.findAllProjected()).thenReturn(List.of(boats));
+        boatNameSuggester.load();
+    }
+
+    private List<String> suggestedNames(String prefix, int limit) {
+        return boatNameSuggester.suggest(prefix, limit).orElseThrow().stream()
+                .map(BoatSuggestionDto::getName)
+                .toList();
+    }
+
+    private BoatDto boat(Long id, String name) {
+        return new BoatDto(id, name, null, "SAILBOAT", testDateTime, testDateTime, 0L);
+    }
+}
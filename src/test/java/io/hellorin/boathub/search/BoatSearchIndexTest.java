@@ -0,0 +1,312 @@
+package io.hellorin.boathub.search;
+
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.repository.BoatRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BoatSearchIndex class.
+ * Tests the matching and ranking of the searches and the propagation of the writes.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoatSearchIndexTest {
+
+    @Mock
+    private BoatRepository boatRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BoatSearchIndex boatSearchIndex;
+
+    private LocalDateTime testDateTime;
+
+    private BoatDto blackPearl;
+    private BoatDto seaBreeze;
+    private BoatDto pearlDiver;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        boatSearchIndex = new BoatSearchIndex(boatRepository, meterRegistry);
+        testDateTime = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+
+        blackPearl = boat(1L, "The Black Pearl", "A legendary pirate ship known for its speed");
+        seaBreeze = boat(2L, "Sea Breeze", "A luxurious yacht, black hull and white sails");
+        pearlDiver = boat(3L, "Diver", "Small boat used by pearl divers");
+    }
+
+    @Test
+    void search_WhenNotLoaded_ShouldReturnEmpty() {
+        // When
+        Optional<Page<BoatDto>> result = boatSearchIndex.search("pearl", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result).isEmpty();
+        assertThat(boatSearchIndex.isLoaded()).isFalse();
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesBeforeDescriptionMatches() {
+        // Given
+        loadIndex(pearlDiver, seaBreeze, blackPearl);
+
+        // When
+        Page<BoatDto> result = search("pearl", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result.getContent()).containsExactly(blackPearl, pearlDiver);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void search_ShouldMatchBoatsContainingAllTerms() {
+        // Given
+        loadIndex(pearlDiver, seaBreeze, blackPearl);
+
+        // When
+        Page<BoatDto> result = search("black yacht", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result.getContent()).containsExactly(seaBreeze);
+    }
+
+    @Test
+    void search_ShouldIgnoreCaseAccentsAndPunctuation() {
+        // Given
+        BoatDto ileDeRe = boat(4L, "Île de Ré", "Ferry, crossing to the island");
+        loadIndex(ileDeRe, blackPearl);
+
+        // When
+        Page<BoatDto> result = search("ILE-de-re!", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result.getContent()).containsExactly(ileDeRe);
+    }
+
+    @Test
+    void search_WhenATermIsUnknown_ShouldReturnEmptyPage() {
+        // Given
+        loadIndex(pearlDiver, seaBreeze, blackPearl);
+
+        // When
+        Page<BoatDto> result = search("pearl submarine", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getTotalElements()).isZero();
+    }
+
+    @Test
+    void search_WhenQueryHasNoTerm_ShouldReturnEmptyPage() {
+        // Given
+        loadIndex(blackPearl);
+
+        // When
+        Page<BoatDto> result = search(" -- ", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+    }
+
+    @Test
+    void search_ShouldPaginateRankedResultsAndOrderTiesById() {
+        // Given
+        BoatDto first = boat(10L, "Racer One", null);
+        BoatDto second = boat(11L, "Racer Two", null);
+        BoatDto third = boat(12L, "Racer Three", null);
+        loadIndex(third, first, second);
+
+        // When
+        Page<BoatDto> firstPage = search("racer", PageRequest.of(0, 2));
+        Page<BoatDto> secondPage = search("racer", PageRequest.of(1, 2));
+
+        // Then
+        assertThat(firstPage.getContent()).containsExactly(first, second);
+        assertThat(secondPage.getContent()).containsExactly(third);
+        assertThat(secondPage.getTotalElements()).isEqualTo(3);
+        assertThat(secondPage.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    void onBoatCreated_ShouldMakeBoatSearchable() {
+        // Given
+        loadIndex(blackPearl);
+
+        // When
+        boatSearchIndex.onBoatCreated(pearlDiver);
+
+        // Then
+        assertThat(search("divers", PageRequest.of(0, 10)).getContent()).containsExactly(pearlDiver);
+        assertThat(meterRegistry.get("boathub.search.index.size").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void onBoatUpdated_ShouldReindexNameAndDescription() {
+        // Given
+        loadIndex(blackPearl, seaBreeze);
+        BoatDto renamed = boat(1L, "Flying Dutchman", "A ghost ship");
+        renamed.setVersion(1L);
+
+        // When
+        boatSearchIndex.onBoatUpdated(renamed);
+
+        // Then
+        assertThat(search("pearl", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(search("ghost", PageRequest.of(0, 10)).getContent()).containsExactly(renamed);
+    }
+
+    @Test
+    void onBoatUpdated_WhenOlderThanIndex_ShouldBeIgnored() {
+        // Given
+        blackPearl.setVersion(2L);
+        loadIndex(blackPearl);
+        BoatDto stale = boat(1L, "Flying Dutchman", "A ghost ship");
+        stale.setVersion(1L);
+
+        // When
+        boatSearchIndex.onBoatUpdated(stale);
+
+        // Then
+        assertThat(search("pearl", PageRequest.of(0, 10)).getContent()).containsExactly(blackPearl);
+    }
+
+    @Test
+    void onBoatUpdated_WhenBoatDeletedMeanwhile_ShouldNotReindexIt() {
+        // Given
+        loadIndex(blackPearl);
+        boatSearchIndex.onBoatDeleted(1L);
+
+        // When
+        boatSearchIndex.onBoatUpdated(boat(1L, "Flying Dutchman", "A ghost ship"));
+
+        // Then
+        assertThat(search("ghost", PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    @Test
+    void onBoatDeleted_ShouldDropTermsOnlyUsedByTheBoat() {
+        // Given
+        loadIndex(blackPearl, seaBreeze);
+        double termsBefore = meterRegistry.get("boathub.search.index.terms").gauge().value();
+
+        // When
+        boatSearchIndex.onBoatDeleted(1L);
+        boatSearchIndex.onBoatDeleted(1L);
+
+        // Then
+        assertThat(search("black", PageRequest.of(0, 10)).getContent()).containsExactly(seaBreeze);
+        assertThat(meterRegistry.get("boathub.search.index.terms").gauge().value()).isLessThan(termsBefore);
+    }
+
+    @Test
+    void load_WhenCalledAgain_ShouldReplaceIndex() {
+        // Given
+        loadIndex(blackPearl);
+
+        // When
+        loadIndex(seaBreeze);
+
+        // Then
+        assertThat(search("pearl", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(search("breeze", PageRequest.of(0, 10)).getContent()).containsExactly(seaBreeze);
+        verify(boatRepository, times(2)).findAllProjected();
+    }
+
+    @Test
+    void load_WhenBoatsWrittenWhileReading_ShouldKeepTheseWrites() {
+        // Given
+        loadIndex(blackPearl);
+        when(boatRepository.findAllProjected()).thenAnswer(invocation -> {
+            boatSearchIndex.onBoatCreated(pearlDiver);
+            boatSearchIndex.onBoatDeleted(1L);
+            return List.of(blackPearl, seaBreeze);
+        });
+
+        // When
+        boatSearchIndex.load();
+
+        // Then
+        assertThat(search("pearl", PageRequest.of(0, 10)).getContent()).containsExactly(pearlDiver);
+        assertThat(search("breeze", PageRequest.of(0, 10)).getContent()).containsExactly(seaBreeze);
+    }
+
+    @Test
+    void onBoatCreated_AfterDeletionsAndUpdates_ShouldReuseDocumentNumbers() {
+        // Given
+        loadIndex(blackPearl, seaBreeze);
+        for (long version = 1; version <= 100; version++) {
+            BoatDto renamed = boat(2L, "Sea Breeze " + version, "A luxurious yacht, black hull and white sails");
+            renamed.setVersion(version);
+            boatSearchIndex.onBoatUpdated(renamed);
+        }
+        boatSearchIndex.onBoatDeleted(1L);
+
+        // When
+        BoatDto blackSwan = boat(4L, "Black Swan", "A pearl among the yachts");
+        boatSearchIndex.onBoatCreated(blackSwan);
+
+        // Then
+        assertThat(search("black", PageRequest.of(0, 10)).getContent()).extracting(BoatDto::getId).containsExactly(4L, 2L);
+        assertThat(search("black pearl", PageRequest.of(0, 10)).getContent()).containsExactly(blackSwan);
+        assertThat(search("100", PageRequest.of(0, 10)).getContent()).extracting(BoatDto::getId).containsExactly(2L);
+        assertThat(meterRegistry.get("boathub.search.index.size").gauge().value()).isEqualTo(2.0);
+    }
+
+    private void loadIndex(BoatDto... boats) {
+        when(boatRepository.findAllProjected()).thenReturn(List.of(boats));
+        boatSearchIndex.load();
+    }
+
+    private Page<BoatDto> search(String query, Pageable pageable) {
+        return boatSearchIndex.search(query, pageable).orElseThrow();
+    }
+
+    private BoatDto boat(Long id, String name, String description) {
+        return new BoatDto(id, name, description, "SAILBOAT", testDateTime, testDateTime, 0L);
+    }
+
+    @Test
+    void onBoatCreated_WhenNotLoaded_ShouldBeIgnored() {
+        // When
+        boatSearchIndex.onBoatCreated(blackPearl);
+
+        // Then
+        assertThat(boatSearchIndex.isLoaded()).isFalse();
+        assertThat(meterRegistry.get("boathub.search.index.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void loadIfNeeded_WhenLoadFails_ShouldStayUnloadedUntilNextAttempt() {
+        // Given
+        when(boatRepository.findAllProjected())
+                .thenThrow(new DataAccessResourceFailureException("Database down"))
+                .thenReturn(List.of(blackPearl));
+
+        // When
+        boatSearchIndex.onApplicationReady();
+        boolean loadedAfterFailure = boatSearchIndex.isLoaded();
+        boatSearchIndex.loadIfNeeded();
+        boatSearchIndex.loadIfNeeded();
+
+        // Then
+        assertThat(loadedAfterFailure).isFalse();
+        assertThat(boatSearchIndex.isLoaded()).isTrue();
+        verify(boatRepository, times(2)).findAllProjected();
+    }
+}
@@ -0,0 +1,86 @@
+package io.hellorin.boathub.service;
+
+import io.hellorin.boathub.repository.BoatKeyset;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for BoatCursorCodec class.
+ */
+class BoatCursorCodecTest {
+
+    @Test
+    void encodeThenDecode_WithValue_ShouldReturnSameKeyset() {
+        // Given
+        var keyset = new BoatKeyset("name", Sort.Direction.DESC, "The Black | Pearl\nII", 42L);
+
+        // When
+        var decoded = BoatCursorCodec.decode(BoatCursorCodec.encode(keyset));
+
+        // Then
+        assertThat(decoded).isEqualTo(keyset);
+    }
+
+    @Test
+    void encodeThenDecode_WithNullValue_ShouldKeepNull() {
+        // Given
+        var keyset = new BoatKeyset("description", Sort.Direction.ASC, null, 7L);
+
+        // When
+        var decoded = BoatCursorCodec.decode(BoatCursorCodec.encode(keyset));
+
+        // Then
+        assertThat(decoded.value()).isNull();
+        assertThat(decoded).isEqualTo(keyset);
+    }
+
+    @Test
+    void encodeThenDecode_WithEmptyValue_ShouldNotBecomeNull() {
+        // Given
+        var keyset = new BoatKeyset("description", Sort.Direction.ASC, "", 7L);
+
+        // When
+        var decoded = BoatCursorCodec.decode(BoatCursorCodec.encode(keyset));
+
+        // Then
+        assertThat(decoded.value()).isEmpty();
+    }
+
+    @Test
+    void encode_ShouldBeUrlSafe() {
+        // When
+        var cursor = BoatCursorCodec.encode(new BoatKeyset("name", Sort.Direction.ASC, "??>>~~", 1L));
+
+        // Then
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void decode_WithInvalidBase64_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> BoatCursorCodec.decode("not a cursor!"));
+    }
+
+    @Test
+    void decode_WithMissingParts_ShouldThrowIllegalArgumentException() {
+        // Given
+        var cursor = Base64.getUrlEncoder().encodeToString("name\nASC".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> BoatCursorCodec.decode(cursor));
+    }
+
+    @Test
+    void decode_WithInvalidId_ShouldThrowIllegalArgumentException() {
+        // Given
+        var cursor = Base64.getUrlEncoder().encodeToString("name\nASC\nabc\nvx".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> BoatCursorCodec.decode(cursor));
+    }
+}
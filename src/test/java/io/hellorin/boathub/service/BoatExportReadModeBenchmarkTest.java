@@ -0,0 +1,178 @@
+package io.hellorin.boathub.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hellorin.boathub.BoatHubApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStream;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of the export read modes: slow clients download the export while another client lists the boats,
+ * with the boats read from a database cursor, then page by page. The listing needs a connection of the pool,
+ * which cursor exports hold for as long as their client downloads. Requests run on virtual threads, so the number
+ * of concurrent exports is not bounded by the threads of the asynchronous requests.
+ * Clients read the export at a bounded rate, so the server writes block and the reads follow their pace.
+ * Disabled by default, run it with: mvn test -Dtest=BoatExportReadModeBenchmarkTest -Dbenchmark=true
+ * and -Dexports=N to change the number of concurrent exports, 40 by default.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BoatExportReadModeBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoatExportReadModeBenchmarkTest.class);
+
+    private static final int EXPORTS = Integer.getInteger("exports", 40);
+
+    private static final int FLEET_SIZE = 100_000;
+
+    /**
+     * A slow client reads this many bytes, then waits for the read interval.
+     */
+    private static final int READ_SIZE = 16 * 1024;
+
+    private static final long READ_INTERVAL_MILLIS = 50;
+
+    private static final Duration MEASURED = Duration.ofSeconds(30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void exportBoats_ByCursorAndByPages() throws Exception {
+        List<String> results = new ArrayList<>();
+        for (BoatExportReadMode readMode : BoatExportReadMode.values()) {
+            try (ConfigurableApplicationContext context = start(readMode)) {
+                context.getBean(JdbcTemplate.class).update("insert into boats (name, description, boat_type, "
+                        + "created_date, updated_date) select 'Exported Boat ' || x, "
+                        + "'A boat of the export benchmark, with a description of an average length', 'YACHT', "
+                        + "current_timestamp, current_timestamp from system_range(1, " + FLEET_SIZE + ")");
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .cookieHandler(new CookieManager())
+                        .build();
+                login(client, port);
+                results.add(run(readMode, client, port));
+            }
+        }
+        results.forEach(result -> LOGGER.info("Boat export - {}", result));
+    }
+
+    private static ConfigurableApplicationContext start(BoatExportReadMode readMode) {
+        // Passed as arguments, which take precedence over the application properties
+        return new SpringApplicationBuilder(BoatHubApplication.class)
+                .profiles("dev") // Schema, sample data and user are initialized by the dev profile
+                .run("--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.threads.virtual.enabled=true",
+                        "--boathub.export.read-mode=" + readMode);
+    }
+
+    /**
+     * Runs the slow exports and the listing client side by side for the measured period.
+     */
+    private String run(BoatExportReadMode readMode, HttpClient client, int port) throws InterruptedException {
+        var end = System.nanoTime() + MEASURED.toNanos();
+        var exportedBytes = new AtomicLong();
+        var exportErrors = new AtomicLong();
+        var exporters = new ArrayList<Thread>();
+        for (int i = 0; i < EXPORTS; i++) {
+            exporters.add(Thread.ofVirtual().start(() -> export(client, port, end, exportedBytes, exportErrors)));
+        }
+
+        List<Long> latencies = new ArrayList<>();
+        long listingErrors = 0;
+        while (System.nanoTime() < end) {
+            long start = System.nanoTime();
+            try {
+                var response = client.send(HttpRequest.newBuilder(uri(port, "/api/v1/boats?page=0&size=20&sortBy=name"))
+                        .timeout(Duration.ofMinutes(1))
+                        .build(), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    latencies.add(System.nanoTime() - start);
+                } else {
+                    listingErrors++;
+                }
+            } catch (Exception ex) {
+                listingErrors++;
+            }
+            Thread.sleep(100);
+        }
+        for (Thread exporter : exporters) {
+            exporter.join();
+        }
+
+        latencies.sort(null);
+        assertThat(exportedBytes.get()).isPositive();
+        return String.format("%-6s %d exports: %6d KB/s exported, %d export errors; listing: %d requests, "
+                        + "p50 %5d ms, p99 %5d ms, max %5d ms, %d errors",
+                readMode, EXPORTS, exportedBytes.get() / 1024 / MEASURED.toSeconds(), exportErrors.get(),
+                latencies.size(), percentile(latencies, 0.50), percentile(latencies, 0.99),
+                percentile(latencies, 1.0), listingErrors);
+    }
+
+    /**
+     * Downloads the export over and over at a bounded rate, until the end of the measured period.
+     */
+    private static void export(HttpClient client, int port, long end, AtomicLong exportedBytes, AtomicLong errors) {
+        var buffer = new byte[READ_SIZE];
+        while (System.nanoTime() < end) {
+            try (InputStream body = client.send(HttpRequest.newBuilder(uri(port, "/api/v1/boats/export")).build(),
+                    HttpResponse.BodyHandlers.ofInputStream()).body()) {
+                int read;
+                while (System.nanoTime() < end && (read = body.readNBytes(buffer, 0, READ_SIZE)) > 0) {
+                    exportedBytes.addAndGet(read);
+                    Thread.sleep(READ_INTERVAL_MILLIS);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+
+    private void login(HttpClient client, int port) throws Exception {
+        HttpResponse<String> csrf = client.send(HttpRequest.newBuilder(uri(port, "/api/csrf-token")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode token = objectMapper.readTree(csrf.body());
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(uri(port, "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .header(token.get("headerName").asText(), token.get("token").asText())
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"owt\",\"password\":\"owt\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(login.statusCode()).isEqualTo(200);
+    }
+
+    private static long percentile(List<Long> sortedNanos, double percentile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos.get(Math.max(index, 0)));
+    }
+
+    private static URI uri(int port, String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,225 @@
+package io.hellorin.boathub.service;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.repository.BoatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BoatExportService class.
+ * Tests the NDJSON and CSV output, the handling of the output and database streams and the reads by cursor or pages.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoatExportServiceTest {
+
+    @Mock
+    private BoatRepository boatRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private JsonMapper objectMapper;
+
+    private BoatExportService boatExportService;
+
+    private LocalDateTime testDateTime;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        boatExportService = new BoatExportService(boatRepository, objectMapper, transactionManager,
+                BoatExportReadMode.CURSOR, 500);
+        testDateTime = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+    }
+
+    @Test
+    void exportBoats_AsNdjson_ShouldWriteOneBoatPerLine() throws IOException {
+        // Given
+        when(boatRepository.streamAllProjected()).thenReturn(Stream.of(
+                new BoatDto(1L, "First Boat", "A first boat", "SAILBOAT", testDateTime, testDateTime),
+                new BoatDto(2L, "Second Boat", null, "YACHT", testDateTime, testDateTime)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        long exported = boatExportService.exportBoats(BoatExportFormat.NDJSON, outputStream);
+
+        // Then
+        assertThat(exported).isEqualTo(2);
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{").contains("\"id\":1", "\"name\":\"First Boat\"", "\"createdDate\":\"2024-01-15T10:30:00\"");
+        assertThat(lines[1]).contains("\"id\":2", "\"boatType\":\"YACHT\"");
+    }
+
+    @Test
+    void exportBoats_AsCsv_ShouldWriteHeaderAndEscapedRows() throws IOException {
+        // Given
+        when(boatRepository.streamAllProjected()).thenReturn(Stream.of(
+                new BoatDto(1L, "First Boat", "Fast, \"light\" and\nsafe", "SAILBOAT", testDateTime, testDateTime),
+                new BoatDto(2L, "Second Boat", null, "YACHT", testDateTime, null)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        long exported = boatExportService.exportBoats(BoatExportFormat.CSV, outputStream);
+
+        // Then
+        assertThat(exported).isEqualTo(2);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,description,boatType,createdDate,updatedDate\n"
+                        + "1,First Boat,\"Fast, \"\"light\"\" and\nsafe\",SAILBOAT,2024-01-15T10:30,2024-01-15T10:30\n"
+                        + "2,Second Boat,,YACHT,2024-01-15T10:30,\n");
+    }
+
+    @Test
+    void exportBoats_WhenManyBoats_ShouldFlushWhileWriting() throws IOException {
+        // Given
+        when(boatRepository.streamAllProjected()).thenReturn(LongStream.rangeClosed(1, BoatExportService.FLUSH_INTERVAL * 2L)
+                .mapToObj(id -> new BoatDto(id, "Boat " + id, null, "YACHT", testDateTime, testDateTime)));
+        FlushCountingOutputStream outputStream = new FlushCountingOutputStream();
+
+        // When
+        long exported = boatExportService.exportBoats(BoatExportFormat.NDJSON, outputStream);
+
+        // Then
+        assertThat(exported).isEqualTo(BoatExportService.FLUSH_INTERVAL * 2L);
+        assertThat(outputStream.flushes).isGreaterThanOrEqualTo(2);
+        assertThat(outputStream.closed).isFalse();
+    }
+
+    @Test
+    void exportBoats_ShouldCloseDatabaseStream() throws IOException {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        when(boatRepository.streamAllProjected()).thenReturn(Stream.<BoatDto>empty().onClose(() -> closed.set(true)));
+
+        // When
+        long exported = boatExportService.exportBoats(BoatExportFormat.CSV, new ByteArrayOutputStream());
+
+        // Then
+        assertThat(exported).isZero();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void exportBoats_ByCursor_ShouldReadInReadOnlyTransaction() throws IOException {
+        // Given
+        when(boatRepository.streamAllProjected()).thenReturn(Stream.of(boat(1L)));
+
+        // When
+        long exported = boatExportService.exportBoats(BoatExportFormat.NDJSON, new ByteArrayOutputStream());
+
+        // Then
+        assertThat(exported).isEqualTo(1);
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void exportBoats_ByCursor_WhenOutputFails_ShouldThrowIOException() {
+        // Given
+        when(boatRepository.streamAllProjected()).thenReturn(Stream.of(boat(1L)));
+        OutputStream outputStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // When & Then
+        assertThrows(IOException.class, () -> boatExportService.exportBoats(BoatExportFormat.CSV, outputStream));
+    }
+
+    @Test
+    void exportBoats_ByPages_ShouldReadPagesAfterLastIdWithoutTransaction() throws IOException {
+        // Given
+        boatExportService = new BoatExportService(boatRepository, objectMapper, transactionManager,
+                BoatExportReadMode.PAGES, 2);
+        when(boatRepository.findProjectedAfterId(0L, Limit.of(2))).thenReturn(List.of(boat(1L), boat(2L)));
+        when(boatRepository.findProjectedAfterId(2L, Limit.of(2))).thenReturn(List.of(boat(5L)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        long exported = boatExportService.exportBoats(BoatExportFormat.NDJSON, outputStream);
+
+        // Then
+        assertThat(exported).isEqualTo(3);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8).lines())
+                .extracting(line -> objectMapper.readTree(line).get("id").asLong())
+                .containsExactly(1L, 2L, 5L);
+        verify(boatRepository, never()).streamAllProjected();
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void exportBoats_ByPages_WhenLastPageFull_ShouldStopAtEmptyPage() throws IOException {
+        // Given
+        boatExportService = new BoatExportService(boatRepository, objectMapper, transactionManager,
+                BoatExportReadMode.PAGES, 2);
+        when(boatRepository.findProjectedAfterId(0L, Limit.of(2))).thenReturn(List.of(boat(1L), boat(2L)));
+        when(boatRepository.findProjectedAfterId(2L, Limit.of(2))).thenReturn(List.of());
+
+        // When
+        long exported = boatExportService.exportBoats(BoatExportFormat.CSV, new ByteArrayOutputStream());
+
+        // Then
+        assertThat(exported).isEqualTo(2);
+    }
+
+    @Test
+    void fromValue_WhenFormatUnsupported_ShouldThrowIllegalArgumentException() {
+        // When & Then
+        assertThat(BoatExportFormat.fromValue("CSV")).isEqualTo(BoatExportFormat.CSV);
+        assertThrows(IllegalArgumentException.class, () -> BoatExportFormat.fromValue("xml"));
+        assertThrows(IllegalArgumentException.class, () -> BoatExportFormat.fromValue(null));
+    }
+
+    private BoatDto boat(Long id) {
+        return new BoatDto(id, "Boat " + id, null, "YACHT", testDateTime, testDateTime);
+    }
+
+    private static final class FlushCountingOutputStream extends ByteArrayOutputStream {
+
+        private int flushes;
+
+        private boolean closed;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
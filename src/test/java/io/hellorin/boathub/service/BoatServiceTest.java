@@ -1,32 +1,55 @@
 package io.hellorin.boathub.service;
 
+import io.hellorin.boathub.cache.BoatCache;
+import io.hellorin.boathub.catalog.BoatCatalog;
+import io.hellorin.boathub.search.BoatNameSuggester;
+import io.hellorin.boathub.search.BoatSearchIndex;
+import io.hellorin.boathub.stats.BoatStatistics;
 import io.hellorin.boathub.domain.BoatEntity;
 import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.dto.BoatBatchDto;
+import io.hellorin.boathub.dto.BoatBulkCreationResultDto;
+import io.hellorin.boathub.dto.BoatBulkDeletionResultDto;
 import io.hellorin.boathub.dto.BoatDto;
 import io.hellorin.boathub.dto.BoatCreationDto;
+import io.hellorin.boathub.dto.BoatCursorPageDto;
 import io.hellorin.boathub.dto.BoatUpdateDto;
 import io.hellorin.boathub.dto.BoatNameUpdateDto;
+import io.hellorin.boathub.dto.BoatSliceDto;
+import io.hellorin.boathub.dto.BoatStatisticsDto;
+import io.hellorin.boathub.dto.BoatSuggestionDto;
 import io.hellorin.boathub.dto.BoatDescriptionUpdateDto;
 import io.hellorin.boathub.dto.BoatTypeUpdateDto;
 import io.hellorin.boathub.mapper.BoatMapper;
+import io.hellorin.boathub.repository.BoatKeyset;
 import io.hellorin.boathub.repository.BoatRepository;
+import io.hellorin.boathub.repository.BoatStatisticsRow;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -43,16 +66,41 @@ class BoatServiceTest {
     @Mock
     private BoatMapper boatMapper;
 
+    private BoatCache boatCache;
+
+    private BoatCounter boatCounter;
+
+    private BoatCatalog boatCatalog;
+
+    private BoatSearchIndex boatSearchIndex;
+
+    private BoatNameSuggester boatNameSuggester;
+
+    private BoatStatistics boatStatistics;
+
     private BoatService boatService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private BoatEntity testBoatEntity;
     private BoatDto testBoatDto;
     private LocalDateTime testDateTime;
 
     @BeforeEach
     void setUp() {
-        // Initialize service with mocked dependencies
-        boatService = new BoatService(boatMapper, boatRepository);
+        // Initialize service with mocked dependencies, an empty cache and a catalog not loaded yet
+        boatCache = new BoatCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        boatCounter = new BoatCounter(boatRepository);
+        boatCatalog = new BoatCatalog(boatRepository, new SimpleMeterRegistry(), true);
+        meterRegistry = new SimpleMeterRegistry();
+        boatSearchIndex = new BoatSearchIndex(boatRepository, meterRegistry);
+        boatNameSuggester = new BoatNameSuggester(boatRepository, meterRegistry);
+        boatStatistics = new BoatStatistics(boatRepository, meterRegistry, true);
+        boatService = new BoatService(boatMapper, boatRepository, boatCache, boatCounter, new BoatFleetVersion(),
+                boatCatalog, Optional.of(boatSearchIndex), Optional.of(boatNameSuggester), boatStatistics,
+                List.of(boatCatalog, boatSearchIndex, boatNameSuggester, boatStatistics),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new BoatUpdateRetryPolicy(meterRegistry, 3, Duration.ZERO, Duration.ZERO));
         
         testDateTime = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
         
@@ -76,14 +124,6 @@ class BoatServiceTest {
     @Test
     void getAllBoats_WhenBoatsExist_ShouldReturnListOfBoatsInPage() {
         // Given
-        BoatEntity boatEntity2 = new BoatEntity();
-        boatEntity2.setId(2L);
-        boatEntity2.setName("Another Boat");
-        boatEntity2.setDescription("Another test boat");
-        boatEntity2.setBoatType(BoatType.MOTORBOAT);
-        boatEntity2.setCreatedDate(testDateTime);
-        boatEntity2.setUpdatedDate(testDateTime);
-
         BoatDto boatDto2 = new BoatDto();
         boatDto2.setId(2L);
         boatDto2.setName("Another Boat");
@@ -92,14 +132,11 @@ class BoatServiceTest {
         boatDto2.setCreatedDate(testDateTime);
         boatDto2.setUpdatedDate(testDateTime);
 
-        List<BoatEntity> boatEntities = Arrays.asList(testBoatEntity, boatEntity2);
         List<BoatDto> expectedDtos = Arrays.asList(testBoatDto, boatDto2);
-        Page<BoatEntity> boatEntityPage = new PageImpl<>(boatEntities);
+        Page<BoatDto> boatDtoPage = new PageImpl<>(expectedDtos);
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(boatRepository.findAll(pageable)).thenReturn(boatEntityPage);
-        when(boatMapper.toDto(testBoatEntity)).thenReturn(testBoatDto);
-        when(boatMapper.toDto(boatEntity2)).thenReturn(boatDto2);
+        when(boatRepository.findAllProjectedBy(pageable)).thenReturn(boatDtoPage);
 
         // When
         Page<BoatDto> result = boatService.getAllBoatsInPage(pageable);
@@ -109,17 +146,17 @@ class BoatServiceTest {
         assertThat(result.getContent()).hasSize(2);
         assertThat(result.getContent()).isEqualTo(expectedDtos);
         
-        verify(boatRepository).findAll(pageable);
-        verify(boatMapper).toDto(testBoatEntity);
-        verify(boatMapper).toDto(boatEntity2);
+        verify(boatRepository).findAllProjectedBy(pageable);
+        verify(boatRepository, never()).findAll(any(Pageable.class));
+        verify(boatMapper, never()).toDto(any());
     }
 
     @Test
     void getAllBoats_WhenNoBoatsInPageExist_ShouldReturnEmptyList() {
         // Given
-        Page<BoatEntity> emptyPage = new PageImpl<>(Collections.emptyList());
+        Page<BoatDto> emptyPage = new PageImpl<>(Collections.emptyList());
         Pageable pageable = PageRequest.of(0, 10);
-        when(boatRepository.findAll(pageable)).thenReturn(emptyPage);
+        when(boatRepository.findAllProjectedBy(pageable)).thenReturn(emptyPage);
 
         // When
         Page<BoatDto> result = boatService.getAllBoatsInPage(pageable);
@@ -128,7 +165,7 @@ class BoatServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getContent()).isEmpty();
         
-        verify(boatRepository).findAll(pageable);
+        verify(boatRepository).findAllProjectedBy(pageable);
         verify(boatMapper, never()).toDto(any());
     }
 
@@ -136,12 +173,12 @@ class BoatServiceTest {
     void getAllBoats_InPage_WhenRepositoryThrowsException_ShouldPropagateException() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        when(boatRepository.findAll(pageable)).thenThrow(new RuntimeException("Database error"));
+        when(boatRepository.findAllProjectedBy(pageable)).thenThrow(new RuntimeException("Database error"));
 
         // When & Then
         assertThrows(RuntimeException.class, () -> boatService.getAllBoatsInPage(pageable));
         
-        verify(boatRepository).findAll(pageable);
+        verify(boatRepository).findAllProjectedBy(pageable);
         verify(boatMapper, never()).toDto(any());
     }
 
@@ -149,8 +186,7 @@ class BoatServiceTest {
     void getBoatById_WhenBoatExists_ShouldReturnBoatDto() {
         // Given
         Long boatId = 1L;
-        when(boatRepository.findById(boatId)).thenReturn(Optional.of(testBoatEntity));
-        when(boatMapper.toDto(testBoatEntity)).thenReturn(testBoatDto);
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.of(testBoatDto));
 
         // When
         Optional<BoatDto> result = boatService.getBoatById(boatId);
@@ -158,15 +194,16 @@ class BoatServiceTest {
         // Then
         assertThat(result).isPresent().contains(testBoatDto);
         
-        verify(boatRepository).findById(boatId);
-        verify(boatMapper).toDto(testBoatEntity);
+        verify(boatRepository).findDtoById(boatId);
+        verify(boatRepository, never()).findById(any());
+        verify(boatMapper, never()).toDto(any());
     }
 
     @Test
     void getBoatById_WhenBoatDoesNotExist_ShouldReturnEmptyOptional() {
         // Given
         Long boatId = 999L;
-        when(boatRepository.findById(boatId)).thenReturn(Optional.empty());
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.empty());
 
         // When
         Optional<BoatDto> result = boatService.getBoatById(boatId);
@@ -174,14 +211,14 @@ class BoatServiceTest {
         // Then
         assertThat(result).isEmpty();
         
-        verify(boatRepository).findById(boatId);
+        verify(boatRepository).findDtoById(boatId);
         verify(boatMapper, never()).toDto(any());
     }
 
     @Test
     void getBoatById_WhenIdIsNull_ShouldReturnEmptyOptional() {
         // Given
-        when(boatRepository.findById(null)).thenReturn(Optional.empty());
+        when(boatRepository.findDtoById(null)).thenReturn(Optional.empty());
 
         // When
         Optional<BoatDto> result = boatService.getBoatById(null);
@@ -189,7 +226,7 @@ class BoatServiceTest {
         // Then
         assertThat(result).isEmpty();
         
-        verify(boatRepository).findById(null);
+        verify(boatRepository).findDtoById(null);
         verify(boatMapper, never()).toDto(any());
     }
 
@@ -197,36 +234,100 @@ class BoatServiceTest {
     void getBoatById_WhenRepositoryThrowsException_ShouldPropagateException() {
         // Given
         Long boatId = 1L;
-        when(boatRepository.findById(boatId)).thenThrow(new RuntimeException("Database error"));
+        when(boatRepository.findDtoById(boatId)).thenThrow(new RuntimeException("Database error"));
 
         // When & Then
         assertThrows(RuntimeException.class, () -> boatService.getBoatById(boatId));
         
-        verify(boatRepository).findById(boatId);
+        verify(boatRepository).findDtoById(boatId);
         verify(boatMapper, never()).toDto(any());
     }
 
     @Test
-    void getBoatById_WhenMapperThrowsException_ShouldPropagateException() {
+    void getBoatById_WhenRepositoryThrowsException_ShouldNotCacheFailure() {
         // Given
         Long boatId = 1L;
-        when(boatRepository.findById(boatId)).thenReturn(Optional.of(testBoatEntity));
-        when(boatMapper.toDto(testBoatEntity)).thenThrow(new RuntimeException("Mapping error"));
+        when(boatRepository.findDtoById(boatId))
+                .thenThrow(new RuntimeException("Database error"))
+                .thenReturn(Optional.of(testBoatDto));
 
         // When & Then
         assertThrows(RuntimeException.class, () -> boatService.getBoatById(boatId));
+        assertThat(boatService.getBoatById(boatId)).isPresent().contains(testBoatDto);
         
-        verify(boatRepository).findById(boatId);
-        verify(boatMapper).toDto(testBoatEntity);
+        verify(boatRepository, times(2)).findDtoById(boatId);
+    }
+
+    @Test
+    void getBoatById_WhenCalledTwice_ShouldServeSecondCallFromCache() {
+        // Given
+        Long boatId = 1L;
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.of(testBoatDto));
+
+        // When
+        Optional<BoatDto> first = boatService.getBoatById(boatId);
+        Optional<BoatDto> second = boatService.getBoatById(boatId);
+
+        // Then
+        assertThat(first).isPresent().contains(testBoatDto);
+        assertThat(second).isPresent().contains(testBoatDto);
+
+        verify(boatRepository, times(1)).findDtoById(boatId);
     }
 
     @Test
-    void getAllBoats_InPage_WhenMapperReturnsNull_ShouldHandleGracefully() {
+    void getBoatById_WhenBoatDoesNotExist_ShouldNotCacheMiss() {
+        // Given
+        Long boatId = 999L;
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.empty());
+
+        // When
+        boatService.getBoatById(boatId);
+        boatService.getBoatById(boatId);
+
+        // Then
+        verify(boatRepository, times(2)).findDtoById(boatId);
+    }
+
+    @Test
+    void getBoatById_AfterUpdateBoatName_ShouldReloadFromRepository() {
+        // Given
+        Long boatId = 1L;
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.of(testBoatDto));
+        when(boatRepository.updateName(eq(boatId), eq("Renamed Boat"), any(LocalDateTime.class), isNull())).thenReturn(1);
+        boatService.getBoatById(boatId);
+
+        // When
+        boatService.updateBoatName(boatId, new BoatNameUpdateDto("Renamed Boat"));
+        boatService.getBoatById(boatId);
+
+        // Then
+        // One read to warm the cache and one reading the updated boat back, which the last read hits
+        verify(boatRepository, times(2)).findDtoById(boatId);
+    }
+
+    @Test
+    void getBoatById_AfterDeleteBoat_ShouldNotReturnCachedBoat() {
+        // Given
+        Long boatId = 1L;
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.of(testBoatDto));
+        when(boatRepository.deleteBoatById(boatId)).thenReturn(1);
+        boatService.getBoatById(boatId);
+
+        // When
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.empty());
+        boatService.deleteBoat(boatId);
+        Optional<BoatDto> result = boatService.getBoatById(boatId);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void getAllBoats_InPage_ShouldNotLoadEntities() {
         // Given
-        Page<BoatEntity> boatEntityPage = new PageImpl<>(List.of(testBoatEntity));
         Pageable pageable = PageRequest.of(0, 10);
-        when(boatRepository.findAll(pageable)).thenReturn(boatEntityPage);
-        when(boatMapper.toDto(testBoatEntity)).thenReturn(null);
+        when(boatRepository.findAllProjectedBy(pageable)).thenReturn(new PageImpl<>(List.of(testBoatDto)));
 
         // When
         Page<BoatDto> result = boatService.getAllBoatsInPage(pageable);
@@ -235,21 +336,14 @@ class BoatServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
         
-        verify(boatRepository).findAll(pageable);
-        verify(boatMapper).toDto(testBoatEntity);
+        verify(boatRepository).findAllProjectedBy(pageable);
+        verify(boatRepository, never()).findAll(any(Pageable.class));
+        verify(boatMapper, never()).toDto(any());
     }
 
     @Test
     void getBoatById_WithDifferentBoatTypes_ShouldMapCorrectly() {
         // Given
-        BoatEntity fishingBoatEntity = new BoatEntity();
-        fishingBoatEntity.setId(2L);
-        fishingBoatEntity.setName("Fishing Vessel");
-        fishingBoatEntity.setDescription("A boat for fishing");
-        fishingBoatEntity.setBoatType(BoatType.FISHING_BOAT);
-        fishingBoatEntity.setCreatedDate(testDateTime);
-        fishingBoatEntity.setUpdatedDate(testDateTime);
-
         BoatDto fishingBoatDto = new BoatDto();
         fishingBoatDto.setId(2L);
         fishingBoatDto.setName("Fishing Vessel");
@@ -259,8 +353,7 @@ class BoatServiceTest {
         fishingBoatDto.setUpdatedDate(testDateTime);
 
         Long boatId = 2L;
-        when(boatRepository.findById(boatId)).thenReturn(Optional.of(fishingBoatEntity));
-        when(boatMapper.toDto(fishingBoatEntity)).thenReturn(fishingBoatDto);
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.of(fishingBoatDto));
 
         // When
         Optional<BoatDto> result = boatService.getBoatById(boatId);
@@ -269,21 +362,12 @@ class BoatServiceTest {
         assertThat(result).isPresent().contains(fishingBoatDto);
         assertThat(result.get().getBoatType()).isEqualTo(BoatType.FISHING_BOAT.name());
         
-        verify(boatRepository).findById(boatId);
-        verify(boatMapper).toDto(fishingBoatEntity);
+        verify(boatRepository).findDtoById(boatId);
     }
 
     @Test
     void getAllBoats_WithMultipleBoatTypes_ShouldReturnAllBoatsInPage() {
         // Given
-        BoatEntity yachtEntity = new BoatEntity();
-        yachtEntity.setId(3L);
-        yachtEntity.setName("Luxury Yacht");
-        yachtEntity.setDescription("A luxurious yacht");
-        yachtEntity.setBoatType(BoatType.YACHT);
-        yachtEntity.setCreatedDate(testDateTime);
-        yachtEntity.setUpdatedDate(testDateTime);
-
         BoatDto yachtDto = new BoatDto();
         yachtDto.setId(3L);
         yachtDto.setName("Luxury Yacht");
@@ -292,14 +376,10 @@ class BoatServiceTest {
         yachtDto.setCreatedDate(testDateTime);
         yachtDto.setUpdatedDate(testDateTime);
 
-        List<BoatEntity> boatEntities = Arrays.asList(testBoatEntity, yachtEntity);
         List<BoatDto> expectedDtos = Arrays.asList(testBoatDto, yachtDto);
-        Page<BoatEntity> boatEntityPage = new PageImpl<>(boatEntities);
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(boatRepository.findAll(pageable)).thenReturn(boatEntityPage);
-        when(boatMapper.toDto(testBoatEntity)).thenReturn(testBoatDto);
-        when(boatMapper.toDto(yachtEntity)).thenReturn(yachtDto);
+        when(boatRepository.findAllProjectedBy(pageable)).thenReturn(new PageImpl<>(expectedDtos));
 
         // When
         Page<BoatDto> result = boatService.getAllBoatsInPage(pageable);
@@ -316,9 +396,7 @@ class BoatServiceTest {
                 .toList();
         assertThat(boatTypes).contains(BoatType.SAILBOAT).contains(BoatType.YACHT);
         
-        verify(boatRepository).findAll(pageable);
-        verify(boatMapper).toDto(testBoatEntity);
-        verify(boatMapper).toDto(yachtEntity);
+        verify(boatRepository).findAllProjectedBy(pageable);
     }
 
     @Test
@@ -328,14 +406,6 @@ class BoatServiceTest {
         String newName = "Updated Boat Name";
         BoatNameUpdateDto nameUpdateDto = new BoatNameUpdateDto(newName);
         
-        BoatEntity updatedEntity = new BoatEntity();
-        updatedEntity.setId(1L);
-        updatedEntity.setName(newName);
-        updatedEntity.setDescription("A test boat for unit testing");
-        updatedEntity.setBoatType(BoatType.SAILBOAT);
-        updatedEntity.setCreatedDate(testDateTime);
-        updatedEntity.setUpdatedDate(testDateTime.plusHours(1));
-        
         BoatDto updatedDto = new BoatDto();
         updatedDto.setId(1L);
         updatedDto.setName(newName);
@@ -344,9 +414,8 @@ class BoatServiceTest {
         updatedDto.setCreatedDate(testDateTime);
         updatedDto.setUpdatedDate(testDateTime.plusHours(1));
 
-        when(boatRepository.findById(boatId)).thenReturn(Optional.of(testBoatEntity));
-        when(boatRepository.save(any(BoatEntity.class))).thenReturn(updatedEntity);
-        when(boatMapper.toDto(updatedEntity)).thenReturn(updatedDto);
+        when(boatRepository.updateName(eq(boatId), eq(newName), any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.of(updatedDto));
 
         // When
         Optional<BoatDto> result = boatService.updateBoatName(boatId, nameUpdateDto);
@@ -355,9 +424,9 @@ class BoatServiceTest {
         assertThat(result).isPresent().contains(updatedDto);
         assertThat(result.get().getName()).isEqualTo(newName);
         
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository).save(any(BoatEntity.class));
-        verify(boatMapper).toDto(updatedEntity);
+        verify(boatRepository).updateName(eq(boatId), eq(newName), any(LocalDateTime.class), isNull());
+        verify(boatRepository, never()).findById(any());
+        verify(boatRepository, never()).save(any());
     }
 
     @Test
@@ -365,7 +434,7 @@ class BoatServiceTest {
         // Given
         Long boatId = 999L;
         BoatNameUpdateDto nameUpdateDto = new BoatNameUpdateDto("New Name");
-        when(boatRepository.findById(boatId)).thenReturn(Optional.empty());
+        when(boatRepository.updateName(eq(boatId), eq("New Name"), any(LocalDateTime.class), isNull())).thenReturn(0);
 
         // When
         Optional<BoatDto> result = boatService.updateBoatName(boatId, nameUpdateDto);
@@ -373,8 +442,7 @@ class BoatServiceTest {
         // Then
         assertThat(result).isEmpty();
         
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository, never()).save(any());
+        verify(boatRepository, never()).findDtoById(any());
         verify(boatMapper, never()).toDto(any());
     }
 
@@ -385,14 +453,6 @@ class BoatServiceTest {
         String newDescription = "Updated boat description";
         BoatDescriptionUpdateDto descriptionUpdateDto = new BoatDescriptionUpdateDto(newDescription);
         
-        BoatEntity updatedEntity = new BoatEntity();
-        updatedEntity.setId(1L);
-        updatedEntity.setName("Test Boat");
-        updatedEntity.setDescription(newDescription);
-        updatedEntity.setBoatType(BoatType.SAILBOAT);
-        updatedEntity.setCreatedDate(testDateTime);
-        updatedEntity.setUpdatedDate(testDateTime.plusHours(1));
-        
         BoatDto updatedDto = new BoatDto();
         updatedDto.setId(1L);
         updatedDto.setName("Test Boat");
@@ -401,9 +461,8 @@ class BoatServiceTest {
         updatedDto.setCreatedDate(testDateTime);
         updatedDto.setUpdatedDate(testDateTime.plusHours(1));
 
-        when(boatRepository.findById(boatId)).thenReturn(Optional.of(testBoatEntity));
-        when(boatRepository.save(any(BoatEntity.class))).thenReturn(updatedEntity);
-        when(boatMapper.toDto(updatedEntity)).thenReturn(updatedDto);
+        when(boatRepository.updateDescription(eq(boatId), eq(newDescription), any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.of(updatedDto));
 
         // When
         Optional<BoatDto> result = boatService.updateBoatDescription(boatId, descriptionUpdateDto);
@@ -412,9 +471,9 @@ class BoatServiceTest {
         assertThat(result).isPresent().contains(updatedDto);
         assertThat(result.get().getDescription()).isEqualTo(newDescription);
         
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository).save(any(BoatEntity.class));
-        verify(boatMapper).toDto(updatedEntity);
+        verify(boatRepository).updateDescription(eq(boatId), eq(newDescription), any(LocalDateTime.class), isNull());
+        verify(boatRepository, never()).findById(any());
+        verify(boatRepository, never()).save(any());
     }
 
     @Test
@@ -422,7 +481,7 @@ class BoatServiceTest {
         // Given
         Long boatId = 999L;
         BoatDescriptionUpdateDto descriptionUpdateDto = new BoatDescriptionUpdateDto("New Description");
-        when(boatRepository.findById(boatId)).thenReturn(Optional.empty());
+        when(boatRepository.updateDescription(eq(boatId), eq("New Description"), any(LocalDateTime.class), isNull())).thenReturn(0);
 
         // When
         Optional<BoatDto> result = boatService.updateBoatDescription(boatId, descriptionUpdateDto);
@@ -430,8 +489,7 @@ class BoatServiceTest {
         // Then
         assertThat(result).isEmpty();
         
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository, never()).save(any());
+        verify(boatRepository, never()).findDtoById(any());
         verify(boatMapper, never()).toDto(any());
     }
 
@@ -442,14 +500,6 @@ class BoatServiceTest {
         BoatType newType = BoatType.MOTORBOAT;
         BoatTypeUpdateDto typeUpdateDto = new BoatTypeUpdateDto("MOTORBOAT");
         
-        BoatEntity updatedEntity = new BoatEntity();
-        updatedEntity.setId(1L);
-        updatedEntity.setName("Test Boat");
-        updatedEntity.setDescription("A test boat for unit testing");
-        updatedEntity.setBoatType(newType);
-        updatedEntity.setCreatedDate(testDateTime);
-        updatedEntity.setUpdatedDate(testDateTime.plusHours(1));
-        
         BoatDto updatedDto = new BoatDto();
         updatedDto.setId(1L);
         updatedDto.setName("Test Boat");
@@ -458,9 +508,8 @@ class BoatServiceTest {
         updatedDto.setCreatedDate(testDateTime);
         updatedDto.setUpdatedDate(testDateTime.plusHours(1));
 
-        when(boatRepository.findById(boatId)).thenReturn(Optional.of(testBoatEntity));
-        when(boatRepository.save(any(BoatEntity.class))).thenReturn(updatedEntity);
-        when(boatMapper.toDto(updatedEntity)).thenReturn(updatedDto);
+        when(boatRepository.updateBoatType(eq(boatId), eq(newType), any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.of(updatedDto));
 
         // When
         Optional<BoatDto> result = boatService.updateBoatType(boatId, typeUpdateDto);
@@ -469,9 +518,9 @@ class BoatServiceTest {
         assertThat(result).contains(updatedDto);
         assertThat(result.get().getBoatType()).isEqualTo(newType.name());
         
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository).save(any(BoatEntity.class));
-        verify(boatMapper).toDto(updatedEntity);
+        verify(boatRepository).updateBoatType(eq(boatId), eq(newType), any(LocalDateTime.class), isNull());
+        verify(boatRepository, never()).findById(any());
+        verify(boatRepository, never()).save(any());
     }
 
     @Test
@@ -479,7 +528,7 @@ class BoatServiceTest {
         // Given
         Long boatId = 999L;
         BoatTypeUpdateDto typeUpdateDto = new BoatTypeUpdateDto("YACHT");
-        when(boatRepository.findById(boatId)).thenReturn(Optional.empty());
+        when(boatRepository.updateBoatType(eq(boatId), eq(BoatType.YACHT), any(LocalDateTime.class), isNull())).thenReturn(0);
 
         // When
         Optional<BoatDto> result = boatService.updateBoatType(boatId, typeUpdateDto);
@@ -487,8 +536,7 @@ class BoatServiceTest {
         // Then
         assertThat(result).isEmpty();
         
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository, never()).save(any());
+        verify(boatRepository, never()).findDtoById(any());
         verify(boatMapper, never()).toDto(any());
     }
 
@@ -497,13 +545,12 @@ class BoatServiceTest {
         // Given
         Long boatId = 1L;
         BoatNameUpdateDto nameUpdateDto = new BoatNameUpdateDto("New Name");
-        when(boatRepository.findById(boatId)).thenThrow(new RuntimeException("Database error"));
+        when(boatRepository.updateName(eq(boatId), any(), any(LocalDateTime.class), isNull())).thenThrow(new RuntimeException("Database error"));
 
         // When & Then
         assertThrows(RuntimeException.class, () -> boatService.updateBoatName(boatId, nameUpdateDto));
         
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository, never()).save(any());
+        verify(boatRepository, never()).findDtoById(any());
         verify(boatMapper, never()).toDto(any());
     }
 
@@ -512,13 +559,12 @@ class BoatServiceTest {
         // Given
         Long boatId = 1L;
         BoatDescriptionUpdateDto descriptionUpdateDto = new BoatDescriptionUpdateDto("New Description");
-        when(boatRepository.findById(boatId)).thenThrow(new RuntimeException("Database error"));
+        when(boatRepository.updateDescription(eq(boatId), any(), any(LocalDateTime.class), isNull())).thenThrow(new RuntimeException("Database error"));
 
         // When & Then
         assertThrows(RuntimeException.class, () -> boatService.updateBoatDescription(boatId, descriptionUpdateDto));
         
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository, never()).save(any());
+        verify(boatRepository, never()).findDtoById(any());
         verify(boatMapper, never()).toDto(any());
     }
 
@@ -527,13 +573,12 @@ class BoatServiceTest {
         // Given
         Long boatId = 1L;
         BoatTypeUpdateDto typeUpdateDto = new BoatTypeUpdateDto("FISHING_BOAT");
-        when(boatRepository.findById(boatId)).thenThrow(new RuntimeException("Database error"));
+        when(boatRepository.updateBoatType(eq(boatId), any(), any(LocalDateTime.class), isNull())).thenThrow(new RuntimeException("Database error"));
 
         // When & Then
         assertThrows(RuntimeException.class, () -> boatService.updateBoatType(boatId, typeUpdateDto));
         
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository, never()).save(any());
+        verify(boatRepository, never()).findDtoById(any());
         verify(boatMapper, never()).toDto(any());
     }
 
@@ -694,7 +739,7 @@ class BoatServiceTest {
     void deleteBoat_WhenBoatExists_ShouldDeleteAndReturnTrue() {
         // Given
         Long boatId = 1L;
-        when(boatRepository.existsById(boatId)).thenReturn(true);
+        when(boatRepository.deleteBoatById(boatId)).thenReturn(1);
 
         // When
         boolean result = boatService.deleteBoat(boatId);
@@ -702,15 +747,16 @@ class BoatServiceTest {
         // Then
         assertThat(result).isTrue();
         
-        verify(boatRepository).existsById(boatId);
-        verify(boatRepository).deleteById(boatId);
+        verify(boatRepository).deleteBoatById(boatId);
+        verify(boatRepository, never()).existsById(any());
+        verify(boatRepository, never()).deleteById(any());
     }
 
     @Test
     void deleteBoat_WhenBoatDoesNotExist_ShouldReturnFalse() {
         // Given
         Long boatId = 999L;
-        when(boatRepository.existsById(boatId)).thenReturn(false);
+        when(boatRepository.deleteBoatById(boatId)).thenReturn(0);
 
         // When
         boolean result = boatService.deleteBoat(boatId);
@@ -718,14 +764,13 @@ class BoatServiceTest {
         // Then
         assertThat(result).isFalse();
         
-        verify(boatRepository).existsById(boatId);
-        verify(boatRepository, never()).deleteById(any());
+        verify(boatRepository).deleteBoatById(boatId);
     }
 
     @Test
     void deleteBoat_WhenIdIsNull_ShouldReturnFalse() {
         // Given
-        when(boatRepository.existsById(null)).thenReturn(false);
+        when(boatRepository.deleteBoatById(null)).thenReturn(0);
 
         // When
         boolean result = boatService.deleteBoat(null);
@@ -733,35 +778,68 @@ class BoatServiceTest {
         // Then
         assertThat(result).isFalse();
         
-        verify(boatRepository).existsById(null);
-        verify(boatRepository, never()).deleteById(any());
+        verify(boatRepository).deleteBoatById(null);
     }
 
     @Test
-    void deleteBoat_WhenExistsByIdThrowsException_ShouldPropagateException() {
+    void deleteBoat_WhenDeleteThrowsException_ShouldPropagateException() {
         // Given
         Long boatId = 1L;
-        when(boatRepository.existsById(boatId)).thenThrow(new RuntimeException("Database error"));
+        when(boatRepository.deleteBoatById(boatId)).thenThrow(new RuntimeException("Delete error"));
 
         // When & Then
         assertThrows(RuntimeException.class, () -> boatService.deleteBoat(boatId));
         
-        verify(boatRepository).existsById(boatId);
-        verify(boatRepository, never()).deleteById(any());
+        verify(boatRepository).deleteBoatById(boatId);
     }
 
     @Test
-    void deleteBoat_WhenDeleteByIdThrowsException_ShouldPropagateException() {
+    void deleteBoats_ShouldDeleteDistinctIdsInOneStatementAndUpdateCounter() {
         // Given
-        Long boatId = 1L;
-        when(boatRepository.existsById(boatId)).thenReturn(true);
-        doThrow(new RuntimeException("Delete error")).when(boatRepository).deleteById(boatId);
+        when(boatRepository.count()).thenReturn(10L);
+        boatCounter.reconcile();
+        when(boatRepository.deleteBoatsByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 3L));
 
-        // When & Then
-        assertThrows(RuntimeException.class, () -> boatService.deleteBoat(boatId));
-        
-        verify(boatRepository).existsById(boatId);
-        verify(boatRepository).deleteById(boatId);
+        // When
+        BoatBulkDeletionResultDto result = boatService.deleteBoats(List.of(1L, 2L, 1L, 3L));
+
+        // Then
+        assertThat(result.getRequested()).isEqualTo(3);
+        assertThat(result.getDeleted()).isEqualTo(2);
+        assertThat(boatCounter.get()).isEqualTo(8L);
+        verify(boatRepository, times(1)).deleteBoatsByIdIn(any());
+    }
+
+    @Test
+    void deleteBoats_WhenMoreIdsThanChunkSize_ShouldDeleteByChunks() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, BoatService.IN_LIST_CHUNK_SIZE + 1).boxed().toList();
+        when(boatRepository.deleteBoatsByIdIn(any())).thenReturn(List.of());
+
+        // When
+        BoatBulkDeletionResultDto result = boatService.deleteBoats(ids);
+
+        // Then
+        assertThat(result.getDeleted()).isZero();
+        verify(boatRepository, times(2)).deleteBoatsByIdIn(any());
+    }
+
+    @Test
+    void deleteBoats_ShouldEvictDeletedBoatsFromCacheAndCatalog() {
+        // Given
+        when(boatRepository.findAllProjected()).thenReturn(List.of(testBoatDto));
+        boatCatalog.load();
+        when(boatRepository.findDtoById(1L)).thenReturn(Optional.of(testBoatDto));
+        boatService.getBoatById(1L);
+        when(boatRepository.deleteBoatsByIdIn(List.of(1L, 2L))).thenReturn(List.of(1L));
+
+        // When
+        boatService.deleteBoats(List.of(1L, 2L));
+        when(boatRepository.findDtoById(1L)).thenReturn(Optional.empty());
+
+        // Then
+        assertThat(boatService.getBoatById(1L)).isEmpty();
+        assertThat(boatService.getAllBoatsInPage(PageRequest.of(0, 10)).getContent()).isEmpty();
     }
 
     @Test
@@ -770,14 +848,6 @@ class BoatServiceTest {
         Long boatId = 1L;
         BoatTypeUpdateDto typeUpdateDto = new BoatTypeUpdateDto("motorboat");
         
-        BoatEntity updatedEntity = new BoatEntity();
-        updatedEntity.setId(1L);
-        updatedEntity.setName("Test Boat");
-        updatedEntity.setDescription("A test boat for unit testing");
-        updatedEntity.setBoatType(BoatType.MOTORBOAT);
-        updatedEntity.setCreatedDate(testDateTime);
-        updatedEntity.setUpdatedDate(testDateTime.plusHours(1));
-        
         BoatDto updatedDto = new BoatDto();
         updatedDto.setId(1L);
         updatedDto.setName("Test Boat");
@@ -786,9 +856,8 @@ class BoatServiceTest {
         updatedDto.setCreatedDate(testDateTime);
         updatedDto.setUpdatedDate(testDateTime.plusHours(1));
 
-        when(boatRepository.findById(boatId)).thenReturn(Optional.of(testBoatEntity));
-        when(boatRepository.save(any(BoatEntity.class))).thenReturn(updatedEntity);
-        when(boatMapper.toDto(updatedEntity)).thenReturn(updatedDto);
+        when(boatRepository.updateBoatType(eq(boatId), eq(BoatType.MOTORBOAT), any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.of(updatedDto));
 
         // When
         Optional<BoatDto> result = boatService.updateBoatType(boatId, typeUpdateDto);
@@ -797,9 +866,7 @@ class BoatServiceTest {
         assertThat(result).isPresent();
         assertThat(result.get().getBoatType()).isEqualTo(BoatType.MOTORBOAT.name());
         
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository).save(any(BoatEntity.class));
-        verify(boatMapper).toDto(updatedEntity);
+        verify(boatRepository).updateBoatType(eq(boatId), eq(BoatType.MOTORBOAT), any(LocalDateTime.class), isNull());
     }
 
     @Test
@@ -808,14 +875,6 @@ class BoatServiceTest {
         Long boatId = 1L;
         BoatTypeUpdateDto typeUpdateDto = new BoatTypeUpdateDto("Fishing_Boat");
         
-        BoatEntity updatedEntity = new BoatEntity();
-        updatedEntity.setId(1L);
-        updatedEntity.setName("Test Boat");
-        updatedEntity.setDescription("A test boat for unit testing");
-        updatedEntity.setBoatType(BoatType.FISHING_BOAT);
-        updatedEntity.setCreatedDate(testDateTime);
-        updatedEntity.setUpdatedDate(testDateTime.plusHours(1));
-        
         BoatDto updatedDto = new BoatDto();
         updatedDto.setId(1L);
         updatedDto.setName("Test Boat");
@@ -824,9 +883,8 @@ class BoatServiceTest {
         updatedDto.setCreatedDate(testDateTime);
         updatedDto.setUpdatedDate(testDateTime.plusHours(1));
 
-        when(boatRepository.findById(boatId)).thenReturn(Optional.of(testBoatEntity));
-        when(boatRepository.save(any(BoatEntity.class))).thenReturn(updatedEntity);
-        when(boatMapper.toDto(updatedEntity)).thenReturn(updatedDto);
+        when(boatRepository.updateBoatType(eq(boatId), eq(BoatType.FISHING_BOAT), any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.of(updatedDto));
 
         // When
         Optional<BoatDto> result = boatService.updateBoatType(boatId, typeUpdateDto);
@@ -835,9 +893,7 @@ class BoatServiceTest {
         assertThat(result).isPresent();
         assertThat(result.get().getBoatType()).isEqualTo(BoatType.FISHING_BOAT.name());
         
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository).save(any(BoatEntity.class));
-        verify(boatMapper).toDto(updatedEntity);
+        verify(boatRepository).updateBoatType(eq(boatId), eq(BoatType.FISHING_BOAT), any(LocalDateTime.class), isNull());
     }
 
     @Test
@@ -845,141 +901,109 @@ class BoatServiceTest {
         // Given
         Long boatId = 1L;
         BoatTypeUpdateDto typeUpdateDto = new BoatTypeUpdateDto("INVALID_TYPE");
-        when(boatRepository.findById(boatId)).thenReturn(Optional.of(testBoatEntity));
 
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> boatService.updateBoatType(boatId, typeUpdateDto));
         
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository, never()).save(any());
-        verify(boatMapper, never()).toDto(any());
+        verify(boatRepository, never()).updateBoatType(any(), any(), any(), any());
+        verify(boatRepository, never()).findDtoById(any());
     }
 
     @Test
-    void updateBoatName_WhenSaveThrowsException_ShouldPropagateException() {
+    void updateBoatName_WhenReadBackThrowsException_ShouldPropagateException() {
         // Given
         Long boatId = 1L;
         BoatNameUpdateDto nameUpdateDto = new BoatNameUpdateDto("New Name");
-        when(boatRepository.findById(boatId)).thenReturn(Optional.of(testBoatEntity));
-        when(boatRepository.save(any(BoatEntity.class))).thenThrow(new RuntimeException("Save error"));
+        when(boatRepository.updateName(eq(boatId), any(), any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(boatRepository.findDtoById(boatId)).thenThrow(new RuntimeException("Read error"));
 
         // When & Then
         assertThrows(RuntimeException.class, () -> boatService.updateBoatName(boatId, nameUpdateDto));
         
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository).save(any(BoatEntity.class));
-        verify(boatMapper, never()).toDto(any());
+        verify(boatRepository).updateName(eq(boatId), any(), any(LocalDateTime.class), isNull());
+        verify(boatRepository).findDtoById(boatId);
     }
 
     @Test
-    void updateBoatDescription_WhenSaveThrowsException_ShouldPropagateException() {
+    void updateBoatDescription_WhenReadBackThrowsException_ShouldPropagateException() {
         // Given
         Long boatId = 1L;
         BoatDescriptionUpdateDto descriptionUpdateDto = new BoatDescriptionUpdateDto("New Description");
-        when(boatRepository.findById(boatId)).thenReturn(Optional.of(testBoatEntity));
-        when(boatRepository.save(any(BoatEntity.class))).thenThrow(new RuntimeException("Save error"));
+        when(boatRepository.updateDescription(eq(boatId), any(), any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(boatRepository.findDtoById(boatId)).thenThrow(new RuntimeException("Read error"));
 
         // When & Then
         assertThrows(RuntimeException.class, () -> boatService.updateBoatDescription(boatId, descriptionUpdateDto));
         
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository).save(any(BoatEntity.class));
-        verify(boatMapper, never()).toDto(any());
+        verify(boatRepository).updateDescription(eq(boatId), any(), any(LocalDateTime.class), isNull());
+        verify(boatRepository).findDtoById(boatId);
     }
 
     @Test
-    void updateBoatType_WhenSaveThrowsException_ShouldPropagateException() {
+    void updateBoatType_WhenReadBackThrowsException_ShouldPropagateException() {
         // Given
         Long boatId = 1L;
-        BoatTypeUpdateDto typeUpdateDto = new BoatTypeUpdateDto("YACHT");
-        when(boatRepository.findById(boatId)).thenReturn(Optional.of(testBoatEntity));
-        when(boatRepository.save(any(BoatEntity.class))).thenThrow(new RuntimeException("Save error"));
+        BoatTypeUpdateDto typeUpdateDto = new BoatTypeUpdateDto("FISHING_BOAT");
+        when(boatRepository.updateBoatType(eq(boatId), any(), any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(boatRepository.findDtoById(boatId)).thenThrow(new RuntimeException("Read error"));
 
         // When & Then
         assertThrows(RuntimeException.class, () -> boatService.updateBoatType(boatId, typeUpdateDto));
         
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository).save(any(BoatEntity.class));
-        verify(boatMapper, never()).toDto(any());
+        verify(boatRepository).updateBoatType(eq(boatId), any(), any(LocalDateTime.class), isNull());
+        verify(boatRepository).findDtoById(boatId);
     }
 
     @Test
-    void updateBoatName_WhenMapperThrowsException_ShouldPropagateException() {
+    void updateBoatName_WhenBoatDeletedBeforeReadBack_ShouldReturnEmptyOptional() {
         // Given
         Long boatId = 1L;
         BoatNameUpdateDto nameUpdateDto = new BoatNameUpdateDto("New Name");
-        BoatEntity updatedEntity = new BoatEntity();
-        updatedEntity.setId(1L);
-        updatedEntity.setName("New Name");
-        updatedEntity.setDescription("A test boat for unit testing");
-        updatedEntity.setBoatType(BoatType.SAILBOAT);
-        updatedEntity.setCreatedDate(testDateTime);
-        updatedEntity.setUpdatedDate(testDateTime.plusHours(1));
-        
-        when(boatRepository.findById(boatId)).thenReturn(Optional.of(testBoatEntity));
-        when(boatRepository.save(any(BoatEntity.class))).thenReturn(updatedEntity);
-        when(boatMapper.toDto(updatedEntity)).thenThrow(new RuntimeException("Mapping error"));
+        when(boatRepository.updateName(eq(boatId), any(), any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.empty());
 
-        // When & Then
-        assertThrows(RuntimeException.class, () -> boatService.updateBoatName(boatId, nameUpdateDto));
-        
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository).save(any(BoatEntity.class));
-        verify(boatMapper).toDto(updatedEntity);
+        // When
+        Optional<BoatDto> result = boatService.updateBoatName(boatId, nameUpdateDto);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(boatMapper, never()).toDto(any());
     }
 
     @Test
-    void updateBoatDescription_WhenMapperThrowsException_ShouldPropagateException() {
+    void updateBoatDescription_WhenBoatDeletedBeforeReadBack_ShouldReturnEmptyOptional() {
         // Given
         Long boatId = 1L;
         BoatDescriptionUpdateDto descriptionUpdateDto = new BoatDescriptionUpdateDto("New Description");
-        BoatEntity updatedEntity = new BoatEntity();
-        updatedEntity.setId(1L);
-        updatedEntity.setName("Test Boat");
-        updatedEntity.setDescription("New Description");
-        updatedEntity.setBoatType(BoatType.SAILBOAT);
-        updatedEntity.setCreatedDate(testDateTime);
-        updatedEntity.setUpdatedDate(testDateTime.plusHours(1));
-        
-        when(boatRepository.findById(boatId)).thenReturn(Optional.of(testBoatEntity));
-        when(boatRepository.save(any(BoatEntity.class))).thenReturn(updatedEntity);
-        when(boatMapper.toDto(updatedEntity)).thenThrow(new RuntimeException("Mapping error"));
+        when(boatRepository.updateDescription(eq(boatId), any(), any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.empty());
 
-        // When & Then
-        assertThrows(RuntimeException.class, () -> boatService.updateBoatDescription(boatId, descriptionUpdateDto));
-        
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository).save(any(BoatEntity.class));
-        verify(boatMapper).toDto(updatedEntity);
+        // When
+        Optional<BoatDto> result = boatService.updateBoatDescription(boatId, descriptionUpdateDto);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(boatMapper, never()).toDto(any());
     }
 
     @Test
-    void updateBoatType_WhenMapperThrowsException_ShouldPropagateException() {
+    void updateBoatType_WhenBoatDeletedBeforeReadBack_ShouldReturnEmptyOptional() {
         // Given
         Long boatId = 1L;
-        BoatTypeUpdateDto typeUpdateDto = new BoatTypeUpdateDto("YACHT");
-        BoatEntity updatedEntity = new BoatEntity();
-        updatedEntity.setId(1L);
-        updatedEntity.setName("Test Boat");
-        updatedEntity.setDescription("A test boat for unit testing");
-        updatedEntity.setBoatType(BoatType.YACHT);
-        updatedEntity.setCreatedDate(testDateTime);
-        updatedEntity.setUpdatedDate(testDateTime.plusHours(1));
-        
-        when(boatRepository.findById(boatId)).thenReturn(Optional.of(testBoatEntity));
-        when(boatRepository.save(any(BoatEntity.class))).thenReturn(updatedEntity);
-        when(boatMapper.toDto(updatedEntity)).thenThrow(new RuntimeException("Mapping error"));
+        BoatTypeUpdateDto typeUpdateDto = new BoatTypeUpdateDto("FISHING_BOAT");
+        when(boatRepository.updateBoatType(eq(boatId), any(), any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.empty());
 
-        // When & Then
-        assertThrows(RuntimeException.class, () -> boatService.updateBoatType(boatId, typeUpdateDto));
-        
-        verify(boatRepository).findById(boatId);
-        verify(boatRepository).save(any(BoatEntity.class));
-        verify(boatMapper).toDto(updatedEntity);
-    }
+        // When
+        Optional<BoatDto> result = boatService.updateBoatType(boatId, typeUpdateDto);
 
-    @Test
-    void updateBoat_WhenBoatExists_ShouldUpdateAllFieldsAndReturnUpdatedBoat() {
+        // Then
+        assertThat(result).isEmpty();
+        verify(boatMapper, never()).toDto(any());
+    }
+
+    @Test
+    void updateBoat_WhenBoatExists_ShouldUpdateAllFieldsAndReturnUpdatedBoat() {
         // Given
         Long boatId = 1L;
         String newName = "Updated Boat Name";
@@ -1224,4 +1248,607 @@ class BoatServiceTest {
         verify(boatRepository, never()).save(any());
         verify(boatMapper, never()).toDto(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBoatsAfterCursor_WhenMoreBoatsThanSize_ShouldReturnCursorOnLastBoat() {
+        // Given
+        BoatDto boatDto2 = new BoatDto(2L, "Zebra Boat", null, "YACHT", testDateTime, testDateTime, 0L);
+        when(boatRepository.findAfter("name", Sort.Direction.ASC, null, 2))
+                .thenReturn(List.of(testBoatDto, boatDto2));
+
+        // When
+        BoatCursorPageDto result = boatService.getBoatsAfterCursor(null, 1, "name", Sort.Direction.ASC);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testBoatDto);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(BoatCursorCodec.decode(result.getNextCursor()))
+                .isEqualTo(new BoatKeyset("name", Sort.Direction.ASC, "Test Boat", 1L));
+        verifyNoInteractions(boatMapper);
+    }
+
+    @Test
+    void getBoatsAfterCursor_WhenLastPage_ShouldReturnNoCursor() {
+        // Given
+        var keyset = new BoatKeyset("boatType", Sort.Direction.DESC, "YACHT", 5L);
+        when(boatRepository.findAfter("boatType", Sort.Direction.DESC, keyset, 11))
+                .thenReturn(List.of(testBoatDto));
+
+        // When
+        BoatCursorPageDto result = boatService.getBoatsAfterCursor(
+                BoatCursorCodec.encode(keyset), 10, "boatType", Sort.Direction.DESC);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testBoatDto);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getBoatsAfterCursor_WhenCursorIssuedForAnotherSort_ShouldThrowIllegalArgumentException() {
+        // Given
+        var cursor = BoatCursorCodec.encode(new BoatKeyset("name", Sort.Direction.ASC, "Test Boat", 1L));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> boatService.getBoatsAfterCursor(cursor, 10, "description", Sort.Direction.ASC));
+        verify(boatRepository, never()).findAfter(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getAllBoatsInSlice_WithoutTotal_ShouldNotCountBoats() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1);
+        when(boatRepository.findAllProjectedSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(testBoatDto), pageable, true));
+
+        // When
+        BoatSliceDto result = boatService.getAllBoatsInSlice(pageable, false);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testBoatDto);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getPage()).isZero();
+        assertThat(result.getSize()).isEqualTo(1);
+        assertThat(result.getTotalElements()).isNull();
+        verify(boatRepository, never()).count();
+        verify(boatRepository, never()).findAll(any(Pageable.class));
+        verifyNoInteractions(boatMapper);
+    }
+
+    @Test
+    void getAllBoatsInSlice_WithTotal_ShouldServeTotalFromCounter() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(boatRepository.count()).thenReturn(7L);
+        boatCounter.reconcile();
+        when(boatRepository.findAllProjectedSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(), pageable, false));
+
+        // When
+        BoatSliceDto result = boatService.getAllBoatsInSlice(pageable, true);
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(7L);
+        assertThat(result.isHasNext()).isFalse();
+        verify(boatRepository, times(1)).count();
+    }
+
+    @Test
+    void createAndDeleteBoat_ShouldKeepCounterUpToDate() {
+        // Given
+        BoatCreationDto creationDto = new BoatCreationDto("Test Boat", "A test boat for unit testing", "SAILBOAT");
+        when(boatMapper.toEntity(creationDto)).thenReturn(testBoatEntity);
+        when(boatRepository.save(testBoatEntity)).thenReturn(testBoatEntity);
+        when(boatRepository.deleteBoatById(1L)).thenReturn(1);
+        when(boatRepository.deleteBoatById(2L)).thenReturn(0);
+        when(boatRepository.count()).thenReturn(5L);
+        boatCounter.reconcile();
+
+        // When
+        boatService.createBoat(creationDto);
+        boatService.createBoat(creationDto);
+        boatService.deleteBoat(1L);
+        boatService.deleteBoat(2L);
+
+        // Then
+        assertThat(boatCounter.get()).isEqualTo(6L);
+        verify(boatRepository, times(1)).count();
+    }
+
+    @Test
+    void reconcilePeriodically_WhenBoatsWrittenOutsideService_ShouldReloadCounter() {
+        // Given
+        when(boatRepository.count()).thenReturn(5L, 9L);
+        boatCounter.reconcilePeriodically();
+        assertThat(boatCounter.get()).isEqualTo(5L);
+
+        // When
+        boatCounter.reconcilePeriodically();
+
+        // Then
+        assertThat(boatCounter.get()).isEqualTo(9L);
+        verify(boatRepository, times(2)).count();
+    }
+
+    @Test
+    void getFleetVersion_ShouldChangeOnWritesOnly() {
+        // Given
+        Long boatId = 1L;
+        when(boatRepository.updateDescription(eq(boatId), eq("New description"), any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(boatRepository.findDtoById(boatId)).thenReturn(Optional.of(testBoatDto));
+        String initialVersion = boatService.getFleetVersion();
+
+        // When
+        boatService.getBoatById(boatId);
+        String versionAfterRead = boatService.getFleetVersion();
+        boatService.updateBoatDescription(boatId, new BoatDescriptionUpdateDto("New description"));
+        String versionAfterWrite = boatService.getFleetVersion();
+
+        // Then
+        assertThat(versionAfterRead).isEqualTo(initialVersion);
+        assertThat(versionAfterWrite).isNotEqualTo(initialVersion);
+    }
+
+    @Test
+    void getFleetVersion_WhenUpdatedBoatDoesNotExist_ShouldNotChange() {
+        // Given
+        when(boatRepository.updateName(eq(999L), eq("Renamed Boat"), any(LocalDateTime.class), isNull())).thenReturn(0);
+        String initialVersion = boatService.getFleetVersion();
+
+        // When
+        boatService.updateBoatName(999L, new BoatNameUpdateDto("Renamed Boat"));
+
+        // Then
+        assertThat(boatService.getFleetVersion()).isEqualTo(initialVersion);
+    }
+
+    @Test
+    void getAllBoatsInPage_WhenCatalogLoaded_ShouldNotQueryRepository() {
+        // Given
+        when(boatRepository.findAllProjected()).thenReturn(List.of(testBoatDto));
+        boatCatalog.load();
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "name"));
+
+        // When
+        Page<BoatDto> result = boatService.getAllBoatsInPage(pageable);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testBoatDto);
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        verify(boatRepository, never()).findAllProjectedBy(any(Pageable.class));
+    }
+
+    @Test
+    void createAndDeleteBoat_ShouldNotifyChangeListeners() {
+        // Given
+        when(boatRepository.findAllProjected()).thenReturn(List.of());
+        boatCatalog.load();
+        BoatCreationDto creationDto = new BoatCreationDto("Test Boat", "A test boat for unit testing", "SAILBOAT");
+        when(boatMapper.toEntity(creationDto)).thenReturn(testBoatEntity);
+        when(boatRepository.save(testBoatEntity)).thenReturn(testBoatEntity);
+        when(boatMapper.toDto(testBoatEntity)).thenReturn(testBoatDto);
+        when(boatRepository.deleteBoatById(1L)).thenReturn(1);
+        Pageable pageable = PageRequest.of(0, 10);
+
+        // When
+        boatService.createBoat(creationDto);
+        Page<BoatDto> afterCreation = boatService.getAllBoatsInPage(pageable);
+        boatService.deleteBoat(1L);
+        Page<BoatDto> afterDeletion = boatService.getAllBoatsInPage(pageable);
+
+        // Then
+        assertThat(afterCreation.getContent()).containsExactly(testBoatDto);
+        assertThat(afterDeletion.getContent()).isEmpty();
+        verify(boatRepository, never()).findAllProjectedBy(any(Pageable.class));
+    }
+
+    @Test
+    void getBoatsByIds_ShouldReturnBoatsInRequestOrderAndReportMissingIds() {
+        // Given
+        BoatDto otherBoatDto = new BoatDto(3L, "Other Boat", null, "YACHT", testDateTime, testDateTime);
+        when(boatRepository.findDtosByIdIn(List.of(3L, 2L, 1L))).thenReturn(List.of(testBoatDto, otherBoatDto));
+
+        // When
+        BoatBatchDto result = boatService.getBoatsByIds(List.of(3L, 2L, 1L, 3L));
+
+        // Then
+        assertThat(result.getContent()).containsExactly(otherBoatDto, testBoatDto);
+        assertThat(result.getMissingIds()).containsExactly(2L);
+        verify(boatRepository, times(1)).findDtosByIdIn(anyList());
+    }
+
+    @Test
+    void getBoatsByIds_WhenMoreIdsThanChunkSize_ShouldQueryByChunks() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, BoatService.IN_LIST_CHUNK_SIZE + 1L)
+                .boxed()
+                .toList();
+        when(boatRepository.findDtosByIdIn(anyList())).thenReturn(List.of());
+
+        // When
+        BoatBatchDto result = boatService.getBoatsByIds(ids);
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getMissingIds()).isEqualTo(ids);
+        verify(boatRepository).findDtosByIdIn(ids.subList(0, BoatService.IN_LIST_CHUNK_SIZE));
+        verify(boatRepository).findDtosByIdIn(List.of(BoatService.IN_LIST_CHUNK_SIZE + 1L));
+    }
+
+    @Test
+    void createBoats_ShouldCreateValidBoatsAndReportRejectedOnes() {
+        // Given
+        List<BoatCreationDto> boats = Arrays.asList(
+                new BoatCreationDto("First Boat", "A valid boat", "SAILBOAT"),
+                new BoatCreationDto("", "A boat without name", "SAILBOAT"),
+                new BoatCreationDto("First Boat", "A repeated name", "YACHT"),
+                new BoatCreationDto("Taken Boat", "A name already used", "YACHT"),
+                null,
+                new BoatCreationDto("Second Boat", null, "MOTORBOAT"));
+        when(boatRepository.findExistingNames(anyList())).thenReturn(List.of("Taken Boat"));
+        when(boatMapper.toEntity(any(BoatCreationDto.class)))
+                .thenAnswer(invocation -> new BoatEntity(invocation.getArgument(0, BoatCreationDto.class).getName(), BoatType.SAILBOAT));
+        when(boatRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<BoatEntity> entities = invocation.getArgument(0);
+            for (int i = 0; i < entities.size(); i++) {
+                entities.get(i).setId(100L + i);
+            }
+            return entities;
+        });
+        when(boatMapper.toDto(any(BoatEntity.class))).thenAnswer(invocation -> {
+            BoatEntity entity = invocation.getArgument(0);
+            return new BoatDto(entity.getId(), entity.getName(), null, entity.getBoatType().name(), testDateTime, testDateTime);
+        });
+
+        // When
+        BoatBulkCreationResultDto result = boatService.createBoats(boats);
+
+        // Then
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(4);
+        assertThat(result.getItems()).hasSize(6);
+        assertThat(result.getItems().get(0).getBoat().getId()).isEqualTo(100L);
+        assertThat(result.getItems().get(0).getErrors()).isEmpty();
+        assertThat(result.getItems().get(1).getBoat()).isNull();
+        assertThat(result.getItems().get(1).getErrors()).containsExactly("name: Boat name is required");
+        assertThat(result.getItems().get(2).getErrors()).containsExactly("name: Boat name is repeated in the request");
+        assertThat(result.getItems().get(3).getErrors()).containsExactly("name: Boat name is already taken");
+        assertThat(result.getItems().get(4).getErrors()).containsExactly("Boat is required");
+        assertThat(result.getItems().get(5).getBoat().getId()).isEqualTo(101L);
+        assertThat(result.getItems()).extracting(item -> item.getIndex()).containsExactly(0, 1, 2, 3, 4, 5);
+        verify(boatRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void createBoats_ShouldUpdateCounterOnceForAllBoats() {
+        // Given
+        when(boatRepository.count()).thenReturn(10L);
+        boatCounter.reconcile();
+        when(boatRepository.findExistingNames(anyList())).thenReturn(List.of());
+        when(boatMapper.toEntity(any(BoatCreationDto.class))).thenReturn(new BoatEntity());
+        when(boatRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(boatMapper.toDto(any(BoatEntity.class))).thenReturn(testBoatDto);
+        String fleetVersion = boatService.getFleetVersion();
+
+        // When
+        boatService.createBoats(List.of(
+                new BoatCreationDto("First Boat", null, "SAILBOAT"),
+                new BoatCreationDto("Second Boat", null, "YACHT")));
+
+        // Then
+        assertThat(boatCounter.get()).isEqualTo(12L);
+        assertThat(boatService.getFleetVersion()).isNotEqualTo(fleetVersion);
+    }
+
+    @Test
+    void createBoats_WhenNoBoatIsValid_ShouldNotSave() {
+        // When
+        BoatBulkCreationResultDto result = boatService.createBoats(List.of(
+                new BoatCreationDto("Invalid Type Boat", null, "SPACESHIP")));
+
+        // Then
+        assertThat(result.getCreated()).isZero();
+        assertThat(result.getItems().get(0).getErrors()).hasSize(1);
+        verify(boatRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void updateBoatName_ShouldNotifyChangeListenersWithReadBackBoat() {
+        // Given
+        when(boatRepository.findAllProjected()).thenReturn(List.of(testBoatDto));
+        boatCatalog.load();
+        BoatDto renamedDto = new BoatDto(1L, "Renamed Boat", testBoatDto.getDescription(), testBoatDto.getBoatType(),
+                testDateTime, testDateTime.plusHours(1));
+        when(boatRepository.updateName(eq(1L), eq("Renamed Boat"), any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(boatRepository.findDtoById(1L)).thenReturn(Optional.of(renamedDto));
+
+        // When
+        boatService.updateBoatName(1L, new BoatNameUpdateDto("Renamed Boat"));
+
+        // Then
+        assertThat(boatService.getAllBoatsInPage(PageRequest.of(0, 10)).getContent()).containsExactly(renamedDto);
+    }
+
+    @Test
+    void updateBoat_WhenExpectedVersionIsStale_ShouldThrowConflictWithoutSaving() {
+        // Given
+        testBoatEntity.setVersion(2L);
+        when(boatRepository.findById(1L)).thenReturn(Optional.of(testBoatEntity));
+        BoatUpdateDto updateDto = new BoatUpdateDto("Updated Boat Name", "Updated boat description", "MOTORBOAT");
+
+        // When & Then
+        assertThrows(BoatVersionConflictException.class, () -> boatService.updateBoat(1L, updateDto, 1L));
+
+        verify(boatRepository, never()).save(any());
+        assertThat(conflicts("precondition_failed")).isEqualTo(1.0);
+    }
+
+    @Test
+    void updateBoat_WhenExpectedVersionIsCurrent_ShouldSave() {
+        // Given
+        testBoatEntity.setVersion(2L);
+        when(boatRepository.findById(1L)).thenReturn(Optional.of(testBoatEntity));
+        when(boatRepository.save(testBoatEntity)).thenReturn(testBoatEntity);
+        when(boatMapper.toDto(testBoatEntity)).thenReturn(testBoatDto);
+        BoatUpdateDto updateDto = new BoatUpdateDto("Updated Boat Name", "Updated boat description", "MOTORBOAT");
+
+        // When
+        Optional<BoatDto> result = boatService.updateBoat(1L, updateDto, 2L);
+
+        // Then
+        assertThat(result).contains(testBoatDto);
+    }
+
+    @Test
+    void updateBoat_WithExpectedVersion_WhenSaveLosesLock_ShouldThrowConflictWithoutRetrying() {
+        // Given
+        testBoatEntity.setVersion(2L);
+        when(boatRepository.findById(1L)).thenReturn(Optional.of(testBoatEntity));
+        when(boatRepository.save(testBoatEntity))
+                .thenThrow(new ObjectOptimisticLockingFailureException(BoatEntity.class, 1L));
+        BoatUpdateDto updateDto = new BoatUpdateDto("Updated Boat Name", "Updated boat description", "MOTORBOAT");
+
+        // When & Then
+        assertThrows(BoatVersionConflictException.class, () -> boatService.updateBoat(1L, updateDto, 2L));
+
+        verify(boatRepository, times(1)).save(any());
+        assertThat(conflicts("precondition_failed")).isEqualTo(1.0);
+        assertThat(conflicts("retried")).isZero();
+    }
+
+    @Test
+    void updateBoat_WithoutExpectedVersion_WhenSaveLosesLock_ShouldRetryOnFreshBoat() {
+        // Given
+        when(boatRepository.findById(1L)).thenReturn(Optional.of(testBoatEntity));
+        when(boatRepository.save(testBoatEntity))
+                .thenThrow(new ObjectOptimisticLockingFailureException(BoatEntity.class, 1L))
+                .thenReturn(testBoatEntity);
+        when(boatMapper.toDto(testBoatEntity)).thenReturn(testBoatDto);
+        BoatUpdateDto updateDto = new BoatUpdateDto("Updated Boat Name", "Updated boat description", "MOTORBOAT");
+
+        // When
+        Optional<BoatDto> result = boatService.updateBoat(1L, updateDto);
+
+        // Then
+        assertThat(result).contains(testBoatDto);
+        verify(boatRepository, times(2)).findById(1L);
+        assertThat(conflicts("retried")).isEqualTo(1.0);
+    }
+
+    @Test
+    void updateBoat_WithoutExpectedVersion_WhenConflictsPersist_ShouldRethrowAfterMaxAttempts() {
+        // Given
+        when(boatRepository.findById(1L)).thenReturn(Optional.of(testBoatEntity));
+        when(boatRepository.save(testBoatEntity))
+                .thenThrow(new ObjectOptimisticLockingFailureException(BoatEntity.class, 1L));
+        BoatUpdateDto updateDto = new BoatUpdateDto("Updated Boat Name", "Updated boat description", "MOTORBOAT");
+
+        // When & Then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> boatService.updateBoat(1L, updateDto));
+
+        verify(boatRepository, times(3)).save(any());
+        assertThat(conflicts("retried")).isEqualTo(2.0);
+        assertThat(conflicts("exhausted")).isEqualTo(1.0);
+    }
+
+    @Test
+    void updateBoatName_WhenVersionDiffers_ShouldThrowConflict() {
+        // Given
+        when(boatRepository.updateName(eq(1L), eq("Renamed Boat"), any(LocalDateTime.class), eq(4L))).thenReturn(0);
+        when(boatRepository.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertThrows(BoatVersionConflictException.class,
+                () -> boatService.updateBoatName(1L, new BoatNameUpdateDto("Renamed Boat"), 4L));
+
+        verify(boatRepository, never()).findDtoById(any());
+        assertThat(conflicts("precondition_failed")).isEqualTo(1.0);
+    }
+
+    @Test
+    void updateBoatDescription_WithExpectedVersion_WhenBoatDoesNotExist_ShouldReturnEmpty() {
+        // Given
+        when(boatRepository.updateDescription(eq(999L), eq("New description"), any(LocalDateTime.class), eq(4L)))
+                .thenReturn(0);
+        when(boatRepository.existsById(999L)).thenReturn(false);
+
+        // When
+        Optional<BoatDto> result = boatService.updateBoatDescription(999L, new BoatDescriptionUpdateDto("New description"), 4L);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void updateBoatType_WhenVersionMatches_ShouldReadBoatBack() {
+        // Given
+        when(boatRepository.updateBoatType(eq(1L), eq(BoatType.YACHT), any(LocalDateTime.class), eq(4L))).thenReturn(1);
+        when(boatRepository.findDtoById(1L)).thenReturn(Optional.of(testBoatDto));
+
+        // When
+        Optional<BoatDto> result = boatService.updateBoatType(1L, new BoatTypeUpdateDto("yacht"), 4L);
+
+        // Then
+        assertThat(result).contains(testBoatDto);
+        verify(boatRepository, never()).existsById(any());
+    }
+
+    private double conflicts(String outcome) {
+        return meterRegistry.get("boathub.boat.update.conflicts").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void searchBoats_WhenIndexNotLoaded_ShouldThrowSearchUnavailable() {
+        // When & Then
+        assertThrows(BoatSearchUnavailableException.class, () -> boatService.searchBoats("test", PageRequest.of(0, 10)));
+        verifyNoInteractions(boatRepository);
+    }
+
+    @Test
+    void searchBoats_WhenSearchDisabled_ShouldThrowSearchUnavailable() {
+        // Given
+        var serviceWithoutSearch = new BoatService(boatMapper, boatRepository, boatCache, boatCounter,
+                new BoatFleetVersion(), boatCatalog, Optional.empty(), Optional.of(boatNameSuggester), boatStatistics,
+                List.of(boatCatalog, boatNameSuggester, boatStatistics),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new BoatUpdateRetryPolicy(meterRegistry, 3, Duration.ZERO, Duration.ZERO));
+
+        // When & Then
+        assertThrows(BoatSearchUnavailableException.class,
+                () -> serviceWithoutSearch.searchBoats("test", PageRequest.of(0, 10)));
+        verifyNoInteractions(boatRepository);
+    }
+
+    @Test
+    void searchBoats_ShouldFindBoatCreatedThroughService() {
+        // Given
+        when(boatRepository.findAllProjected()).thenReturn(List.of());
+        boatSearchIndex.load();
+        BoatCreationDto creationDto = new BoatCreationDto("Test Boat", "A test boat for unit testing", "SAILBOAT");
+        when(boatMapper.toEntity(creationDto)).thenReturn(testBoatEntity);
+        when(boatRepository.save(testBoatEntity)).thenReturn(testBoatEntity);
+        when(boatMapper.toDto(testBoatEntity)).thenReturn(testBoatDto);
+
+        // When
+        boatService.createBoat(creationDto);
+        Page<BoatDto> result = boatService.searchBoats("unit testing", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testBoatDto);
+    }
+
+
+    @Test
+    void suggestBoatNames_WhenIndexNotLoaded_ShouldThrowSearchUnavailable() {
+        // When & Then
+        assertThrows(BoatSearchUnavailableException.class, () -> boatService.suggestBoatNames("Te", 10));
+        verifyNoInteractions(boatRepository);
+    }
+
+    @Test
+    void suggestBoatNames_WhenSuggestionsDisabled_ShouldThrowSearchUnavailable() {
+        // Given
+        var serviceWithoutSuggestions = new BoatService(boatMapper, boatRepository, boatCache, boatCounter,
+                new BoatFleetVersion(), boatCatalog, Optional.of(boatSearchIndex), Optional.empty(), boatStatistics,
+                List.of(boatCatalog, boatSearchIndex, boatStatistics),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new BoatUpdateRetryPolicy(meterRegistry, 3, Duration.ZERO, Duration.ZERO));
+
+        // When & Then
+        assertThrows(BoatSearchUnavailableException.class, () -> serviceWithoutSuggestions.suggestBoatNames("Te", 10));
+        verifyNoInteractions(boatRepository);
+    }
+
+    @Test
+    void suggestBoatNames_ShouldSuggestBoatCreatedThroughService() {
+        // Given
+        when(boatRepository.findAllProjected()).thenReturn(List.of());
+        boatNameSuggester.load();
+        BoatCreationDto creationDto = new BoatCreationDto("Test Boat", "A test boat for unit testing", "SAILBOAT");
+        when(boatMapper.toEntity(creationDto)).thenReturn(testBoatEntity);
+        when(boatRepository.save(testBoatEntity)).thenReturn(testBoatEntity);
+        when(boatMapper.toDto(testBoatEntity)).thenReturn(testBoatDto);
+
+        // When
+        boatService.createBoat(creationDto);
+        List<BoatSuggestionDto> result = boatService.suggestBoatNames("test b", 10);
+
+        // Then
+        assertThat(result).extracting(BoatSuggestionDto::getId, BoatSuggestionDto::getName)
+                .containsExactly(tuple(1L, "Test Boat"));
+    }
+
+
+    @Test
+    void getAllBoatsInPage_WithBoatTypes_WhenCatalogNotLoaded_ShouldQueryRepositoryByType() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        Set<BoatType> boatTypes = Set.of(BoatType.SAILBOAT);
+        Page<BoatDto> boatDtoPage = new PageImpl<>(List.of(testBoatDto));
+        when(boatRepository.findAllProjectedByBoatTypeIn(boatTypes, pageable)).thenReturn(boatDtoPage);
+
+        // When
+        Page<BoatDto> result = boatService.getAllBoatsInPage(pageable, boatTypes);
+
+        // Then
+        assertThat(result).isSameAs(boatDtoPage);
+        verify(boatRepository, never()).findAllProjectedBy(any(Pageable.class));
+    }
+
+    @Test
+    void getAllBoatsInPage_WithBoatTypes_WhenCatalogLoaded_ShouldFilterCreatedBoatWithoutQueryingRepository() {
+        // Given
+        when(boatRepository.findAllProjected()).thenReturn(List.of());
+        boatCatalog.load();
+        BoatCreationDto creationDto = new BoatCreationDto("Test Boat", "A test boat for unit testing", "SAILBOAT");
+        when(boatMapper.toEntity(creationDto)).thenReturn(testBoatEntity);
+        when(boatRepository.save(testBoatEntity)).thenReturn(testBoatEntity);
+        when(boatMapper.toDto(testBoatEntity)).thenReturn(testBoatDto);
+        boatService.createBoat(creationDto);
+
+        // When
+        Page<BoatDto> sailboats = boatService.getAllBoatsInPage(PageRequest.of(0, 10), Set.of(BoatType.SAILBOAT));
+        Page<BoatDto> yachts = boatService.getAllBoatsInPage(PageRequest.of(0, 10), Set.of(BoatType.YACHT));
+
+        // Then
+        assertThat(sailboats.getContent()).containsExactly(testBoatDto);
+        assertThat(yachts.getContent()).isEmpty();
+        verify(boatRepository, never()).findAllProjectedByBoatTypeIn(any(), any());
+    }
+
+
+    @Test
+    void getBoatStatistics_ShouldCountBoatCreatedThroughService() {
+        // Given
+        when(boatRepository.findAllStatisticsRows()).thenReturn(List.of());
+        boatStatistics.load();
+        BoatCreationDto creationDto = new BoatCreationDto("Test Boat", "A test boat for unit testing", "SAILBOAT");
+        when(boatMapper.toEntity(creationDto)).thenReturn(testBoatEntity);
+        when(boatRepository.save(testBoatEntity)).thenReturn(testBoatEntity);
+        when(boatMapper.toDto(testBoatEntity)).thenReturn(testBoatDto);
+        boatService.createBoat(creationDto);
+
+        // When
+        BoatStatisticsDto result = boatService.getBoatStatistics();
+
+        // Then
+        assertThat(result.getTotal()).isEqualTo(1);
+        assertThat(result.getCountsByType()).containsEntry("SAILBOAT", 1L);
+        assertThat(result.getCountsByCreationMonth()).containsEntry("2024-01", 1L);
+        verify(boatRepository, never()).countByBoatType();
+    }
+
+    @Test
+    void getBoatStatistics_WhenBoatDeletedThroughService_ShouldUncountIt() {
+        // Given
+        when(boatRepository.findAllStatisticsRows()).thenReturn(List.of(
+                new BoatStatisticsRow(1L, BoatType.SAILBOAT, testDateTime, 0L)));
+        boatStatistics.load();
+        when(boatRepository.deleteBoatById(1L)).thenReturn(1);
+
+        // When
+        boatService.deleteBoat(1L);
+
+        // Then
+        assertThat(boatService.getBoatStatistics().getTotal()).isZero();
+    }
+}
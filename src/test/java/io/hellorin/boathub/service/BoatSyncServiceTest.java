@@ -0,0 +1,201 @@
+package io.hellorin.boathub.service;
+
+import io.hellorin.boathub.domain.BoatTombstoneEntity;
+import io.hellorin.boathub.dto.BoatChangesDto;
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.repository.BoatRepository;
+import io.hellorin.boathub.repository.BoatTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BoatSyncService class.
+ * Tests the changes returned after a sync token, the next token and the sweep of the tombstones.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoatSyncServiceTest {
+
+    private static final Duration OVERLAP = Duration.ofSeconds(5);
+    private static final Duration RETENTION = Duration.ofDays(30);
+
+    @Mock
+    private BoatRepository boatRepository;
+
+    @Mock
+    private BoatTombstoneRepository boatTombstoneRepository;
+
+    private BoatSyncService boatSyncService;
+
+    private LocalDateTime testDateTime;
+
+    @BeforeEach
+    void setUp() {
+        boatSyncService = new BoatSyncService(boatRepository, boatTombstoneRepository, OVERLAP, RETENTION);
+        testDateTime = LocalDateTime.now().minusDays(1);
+    }
+
+    @Test
+    void getChanges_WithoutToken_ShouldReturnAllBoatsAndNoDeletion() {
+        // Given
+        when(boatRepository.findUpdatedAfter(any(), eq(0L), eq(Limit.of(11))))
+                .thenReturn(List.of(boat(1L, testDateTime), boat(2L, testDateTime.plusHours(1))));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        BoatChangesDto result = boatSyncService.getChanges(null, 10);
+
+        // Then
+        assertThat(result.getBoats()).extracting(BoatDto::getId).containsExactly(1L, 2L);
+        assertThat(result.getDeletedIds()).isEmpty();
+        assertThat(result.isHasMore()).isFalse();
+        BoatSyncToken next = BoatSyncTokenCodec.decode(result.getNextToken());
+        assertThat(next.updatedAfter()).isBetween(before.minus(OVERLAP), LocalDateTime.now().minus(OVERLAP));
+        assertThat(next.boatId()).isZero();
+        assertThat(next.deletedAfter()).isEqualTo(next.updatedAfter());
+        verifyNoInteractions(boatTombstoneRepository);
+    }
+
+    @Test
+    void getChanges_WithToken_ShouldReturnBoatsAndDeletionsAfterToken() {
+        // Given
+        String since = BoatSyncTokenCodec.encode(new BoatSyncToken(testDateTime, 3L, testDateTime, 4L));
+        when(boatRepository.findUpdatedAfter(testDateTime, 3L, Limit.of(11))).thenReturn(List.of(boat(5L, testDateTime.plusHours(1))));
+        when(boatTombstoneRepository.findDeletedAfter(testDateTime, 4L, Limit.of(11)))
+                .thenReturn(List.of(new BoatTombstoneEntity(6L, testDateTime.plusHours(2))));
+
+        // When
+        BoatChangesDto result = boatSyncService.getChanges(since, 10);
+
+        // Then
+        assertThat(result.getBoats()).extracting(BoatDto::getId).containsExactly(5L);
+        assertThat(result.getDeletedIds()).containsExactly(6L);
+        BoatSyncToken next = BoatSyncTokenCodec.decode(result.getNextToken());
+        assertThat(next.updatedAfter()).isAfter(testDateTime.plusHours(2));
+        assertThat(next.boatId()).isZero();
+        assertThat(next.deletedAfter()).isEqualTo(next.updatedAfter());
+        assertThat(next.deletedBoatId()).isZero();
+    }
+
+    @Test
+    void getChanges_WhenNothingChanged_ShouldMoveTokenToOverlapSoThatItDoesNotExpire() {
+        // Given
+        LocalDateTime lastChange = LocalDateTime.now().minus(RETENTION).plusHours(1);
+        String since = BoatSyncTokenCodec.encode(new BoatSyncToken(lastChange, 3L, lastChange, 4L));
+        when(boatRepository.findUpdatedAfter(lastChange, 3L, Limit.of(11))).thenReturn(List.of());
+        when(boatTombstoneRepository.findDeletedAfter(lastChange, 4L, Limit.of(11))).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        String nextToken = boatSyncService.getChanges(since, 10).getNextToken();
+        var laterSyncService = new BoatSyncService(boatRepository, boatTombstoneRepository, OVERLAP, Duration.ofHours(1));
+
+        // Then, the next token is kept recent by the syncs even past the retention of the first one
+        BoatSyncToken next = BoatSyncTokenCodec.decode(nextToken);
+        assertThat(next.updatedAfter()).isBetween(before.minus(OVERLAP), LocalDateTime.now().minus(OVERLAP));
+        assertThat(next.deletedAfter()).isEqualTo(next.updatedAfter());
+        assertThat(next.deletedBoatId()).isZero();
+        assertThrows(BoatSyncTokenExpiredException.class, () -> laterSyncService.getChanges(since, 10));
+        assertThatCode(() -> laterSyncService.getChanges(nextToken, 10)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void getChanges_WhenMoreChangesThanSize_ShouldStopAtSizeAndTellThereIsMore() {
+        // Given
+        String since = BoatSyncTokenCodec.encode(new BoatSyncToken(testDateTime, 0L, testDateTime, 0L));
+        when(boatRepository.findUpdatedAfter(testDateTime, 0L, Limit.of(3))).thenReturn(List.of(
+                boat(1L, testDateTime.plusSeconds(1)), boat(2L, testDateTime.plusSeconds(2)), boat(3L, testDateTime.plusSeconds(3))));
+        when(boatTombstoneRepository.findDeletedAfter(testDateTime, 0L, Limit.of(3))).thenReturn(List.of());
+
+        // When
+        BoatChangesDto result = boatSyncService.getChanges(since, 2);
+
+        // Then
+        assertThat(result.getBoats()).extracting(BoatDto::getId).containsExactly(1L, 2L);
+        assertThat(result.isHasMore()).isTrue();
+        BoatSyncToken next = BoatSyncTokenCodec.decode(result.getNextToken());
+        assertThat(next.updatedAfter()).isEqualTo(testDateTime.plusSeconds(2));
+        assertThat(next.boatId()).isEqualTo(2L);
+    }
+
+    @Test
+    void getChanges_WhenLastChangesAreRecent_ShouldNotMoveTokenPastOverlap() {
+        // Given
+        LocalDateTime justNow = LocalDateTime.now();
+        String since = BoatSyncTokenCodec.encode(new BoatSyncToken(testDateTime, 0L, testDateTime, 0L));
+        when(boatRepository.findUpdatedAfter(testDateTime, 0L, Limit.of(11))).thenReturn(List.of(boat(1L, justNow)));
+        when(boatTombstoneRepository.findDeletedAfter(testDateTime, 0L, Limit.of(11)))
+                .thenReturn(List.of(new BoatTombstoneEntity(2L, justNow)));
+
+        // When
+        BoatChangesDto result = boatSyncService.getChanges(since, 10);
+
+        // Then
+        BoatSyncToken next = BoatSyncTokenCodec.decode(result.getNextToken());
+        assertThat(next.updatedAfter()).isBefore(justNow.minus(OVERLAP).plusSeconds(1));
+        assertThat(next.boatId()).isZero();
+        assertThat(next.deletedAfter()).isEqualTo(next.updatedAfter());
+        assertThat(next.deletedBoatId()).isZero();
+    }
+
+    @Test
+    void getChanges_WhenTokenOlderThanRetention_ShouldThrowExpired() {
+        // Given
+        LocalDateTime tooOld = LocalDateTime.now().minus(RETENTION).minusMinutes(1);
+        String since = BoatSyncTokenCodec.encode(new BoatSyncToken(tooOld, 0L, tooOld, 0L));
+
+        // When & Then
+        assertThrows(BoatSyncTokenExpiredException.class, () -> boatSyncService.getChanges(since, 10));
+        verifyNoInteractions(boatRepository, boatTombstoneRepository);
+    }
+
+    @Test
+    void getChanges_WithMalformedToken_ShouldThrowIllegalArgumentException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> boatSyncService.getChanges("garbage", 10));
+    }
+
+    @Test
+    void sweepTombstones_ShouldDeleteTombstonesOlderThanRetention() {
+        // Given
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(boatTombstoneRepository.deleteDeletedBefore(captor.capture())).thenReturn(3);
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        boatSyncService.sweepTombstones();
+
+        // Then
+        assertThat(captor.getValue()).isBetween(before.minus(RETENTION), LocalDateTime.now().minus(RETENTION));
+    }
+
+    @Test
+    void sweepTombstones_WhenDatabaseUnavailable_ShouldNotThrow() {
+        // Given
+        when(boatTombstoneRepository.deleteDeletedBefore(any()))
+                .thenThrow(new DataAccessResourceFailureException("Database unavailable"));
+
+        // When & Then
+        assertThatCode(() -> boatSyncService.sweepTombstones()).doesNotThrowAnyException();
+    }
+
+    private BoatDto boat(Long id, LocalDateTime updatedDate) {
+        return new BoatDto(id, "Boat " + id, null, "SAILBOAT", testDateTime, updatedDate, 0L);
+    }
+}
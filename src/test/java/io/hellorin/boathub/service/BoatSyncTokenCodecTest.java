@@ -0,0 +1,61 @@
+package io.hellorin.boathub.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for BoatSyncTokenCodec class.
+ */
+class BoatSyncTokenCodecTest {
+
+    @Test
+    void encodeThenDecode_ShouldReturnSamePosition() {
+        // Given
+        var token = new BoatSyncToken(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_456_000), 42L,
+                LocalDateTime.of(2024, 1, 16, 8, 0), 7L);
+
+        // When
+        var decoded = BoatSyncTokenCodec.decode(BoatSyncTokenCodec.encode(token));
+
+        // Then
+        assertThat(decoded).isEqualTo(token);
+    }
+
+    @Test
+    void encode_ShouldBeUrlSafe() {
+        // When
+        var encoded = BoatSyncTokenCodec.encode(new BoatSyncToken(LocalDateTime.now(), 1L, LocalDateTime.now(), 2L));
+
+        // Then
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void decode_WithInvalidBase64_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> BoatSyncTokenCodec.decode("not base64!"));
+    }
+
+    @Test
+    void decode_WithInvalidDate_ShouldThrowIllegalArgumentException() {
+        // Given
+        var token = Base64.getUrlEncoder().encodeToString("yesterday\n1\n2024-01-16T08:00\n2".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> BoatSyncTokenCodec.decode(token));
+    }
+
+    @Test
+    void decode_WithMissingParts_ShouldThrowIllegalArgumentException() {
+        // Given
+        var token = Base64.getUrlEncoder().encodeToString("2024-01-16T08:00\n1".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> BoatSyncTokenCodec.decode(token));
+    }
+}
@@ -0,0 +1,253 @@
+package io.hellorin.boathub.stats;
+
+import io.hellorin.boathub.domain.BoatType;
+import io.hellorin.boathub.dto.BoatDto;
+import io.hellorin.boathub.dto.BoatStatisticsDto;
+import io.hellorin.boathub.repository.BoatMonthCount;
+import io.hellorin.boathub.repository.BoatRepository;
+import io.hellorin.boathub.repository.BoatStatisticsRow;
+import io.hellorin.boathub.repository.BoatTypeCount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BoatStatistics class.
+ * Tests the maintained counts, the fallback on the database and the reconciliation.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoatStatisticsTest {
+
+    @Mock
+    private BoatRepository boatRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BoatStatistics boatStatistics;
+
+    private BoatDto blackPearl;
+    private BoatDto seaBreeze;
+    private BoatDto titanic;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        boatStatistics = new BoatStatistics(boatRepository, meterRegistry, true);
+
+        blackPearl = boat(1L, "SAILBOAT", LocalDateTime.of(2024, 1, 15, 10, 30));
+        seaBreeze = boat(2L, "YACHT", LocalDateTime.of(2024, 1, 31, 23, 59));
+        titanic = boat(3L, "SAILBOAT", LocalDateTime.of(2024, 3, 1, 0, 0));
+    }
+
+    @Test
+    void get_WhenNotLoaded_ShouldCountDatabase() {
+        // Given
+        when(boatRepository.countByBoatType()).thenReturn(List.of(new BoatTypeCount(BoatType.YACHT, 4L)));
+        when(boatRepository.countByCreationMonth()).thenReturn(List.of(new BoatMonthCount(2024, 2, 4L)));
+
+        // When
+        BoatStatisticsDto result = boatStatistics.get();
+
+        // Then
+        assertThat(result.getTotal()).isEqualTo(4);
+        assertThat(result.getCountsByType()).containsEntry("YACHT", 4L).containsEntry("SAILBOAT", 0L)
+                .hasSize(BoatType.values().length);
+        assertThat(result.getCountsByCreationMonth()).containsExactly(entry("2024-02", 4L));
+    }
+
+    @Test
+    void get_WhenLoaded_ShouldNotQueryDatabase() {
+        // Given
+        loadStatistics(titanic, blackPearl, seaBreeze);
+
+        // When
+        BoatStatisticsDto result = boatStatistics.get();
+
+        // Then
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(result.getCountsByType()).containsEntry("SAILBOAT", 2L).containsEntry("YACHT", 1L);
+        assertThat(result.getCountsByCreationMonth()).containsExactly(entry("2024-01", 2L), entry("2024-03", 1L));
+        verify(boatRepository, never()).countByBoatType();
+    }
+
+    @Test
+    void onBoatCreated_WhenNotifiedTwice_ShouldCountBoatOnce() {
+        // Given
+        loadStatistics(blackPearl);
+
+        // When
+        boatStatistics.onBoatCreated(seaBreeze);
+        boatStatistics.onBoatCreated(seaBreeze);
+
+        // Then
+        assertThat(boatStatistics.get().getCountsByType()).containsEntry("YACHT", 1L);
+        assertThat(boatStatistics.get().getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void onBoatUpdated_ShouldMoveBoatToItsNewType() {
+        // Given
+        loadStatistics(blackPearl, seaBreeze);
+        BoatDto motorboat = boat(1L, "MOTORBOAT", null);
+        motorboat.setVersion(1L);
+
+        // When
+        boatStatistics.onBoatUpdated(motorboat);
+
+        // Then
+        BoatStatisticsDto result = boatStatistics.get();
+        assertThat(result.getCountsByType()).containsEntry("SAILBOAT", 0L).containsEntry("MOTORBOAT", 1L);
+        assertThat(result.getCountsByCreationMonth()).containsExactly(entry("2024-01", 2L));
+    }
+
+    @Test
+    void onBoatUpdated_WhenOlderThanCounts_ShouldBeIgnored() {
+        // Given
+        blackPearl.setVersion(2L);
+        loadStatistics(blackPearl);
+        BoatDto stale = boat(1L, "MOTORBOAT", null);
+        stale.setVersion(1L);
+
+        // When
+        boatStatistics.onBoatUpdated(stale);
+
+        // Then
+        assertThat(boatStatistics.get().getCountsByType()).containsEntry("SAILBOAT", 1L).containsEntry("MOTORBOAT", 0L);
+    }
+
+    @Test
+    void onBoatDeleted_ShouldUncountBoatOnceAndDropEmptyMonths() {
+        // Given
+        loadStatistics(blackPearl, titanic);
+
+        // When
+        boatStatistics.onBoatDeleted(3L);
+        boatStatistics.onBoatDeleted(3L);
+        boatStatistics.onBoatDeleted(42L);
+
+        // Then
+        BoatStatisticsDto result = boatStatistics.get();
+        assertThat(result.getTotal()).isEqualTo(1);
+        assertThat(result.getCountsByCreationMonth()).containsExactly(entry("2024-01", 1L));
+    }
+
+    @Test
+    void onBoatCreated_WhenCalledConcurrently_ShouldCountEveryBoat() throws InterruptedException {
+        // Given
+        loadStatistics();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (long id = 1; id <= 10_000; id++) {
+            BoatDto boat = boat(id, id % 2 == 0 ? "YACHT" : "SAILBOAT", LocalDateTime.of(2024, 1 + (int) (id % 12), 1, 0, 0));
+            executor.execute(() -> boatStatistics.onBoatCreated(boat));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        BoatStatisticsDto result = boatStatistics.get();
+        assertThat(result.getCountsByType()).containsEntry("YACHT", 5_000L).containsEntry("SAILBOAT", 5_000L);
+        assertThat(result.getCountsByCreationMonth()).hasSize(12);
+    }
+
+    @Test
+    void reconcile_WhenCountsDrifted_ShouldReloadAndCountInconsistency() {
+        // Given
+        loadStatistics(blackPearl, seaBreeze);
+        when(boatRepository.countByBoatType()).thenReturn(List.of(new BoatTypeCount(BoatType.SAILBOAT, 1L)));
+        when(boatRepository.countByCreationMonth()).thenReturn(List.of(new BoatMonthCount(2024, 1, 1L)));
+        when(boatRepository.findAllStatisticsRows()).thenReturn(rows(blackPearl));
+
+        // When
+        boatStatistics.reconcile();
+
+        // Then
+        assertThat(boatStatistics.get().getCountsByType()).containsEntry("YACHT", 0L);
+        assertThat(meterRegistry.get("boathub.stats.inconsistencies").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void reconcile_WhenCountsConsistent_ShouldNotReload() {
+        // Given
+        loadStatistics(blackPearl, seaBreeze);
+        when(boatRepository.countByBoatType()).thenReturn(List.of(
+                new BoatTypeCount(BoatType.SAILBOAT, 1L), new BoatTypeCount(BoatType.YACHT, 1L)));
+        when(boatRepository.countByCreationMonth()).thenReturn(List.of(new BoatMonthCount(2024, 1, 2L)));
+
+        // When
+        boatStatistics.reconcile();
+
+        // Then
+        verify(boatRepository, times(1)).findAllStatisticsRows();
+        assertThat(meterRegistry.get("boathub.stats.inconsistencies").counter().count()).isZero();
+    }
+
+    @Test
+    void reconcile_WhenDatabaseUnavailable_ShouldStayUnloadedUntilNextReconciliation() {
+        // Given
+        when(boatRepository.findAllStatisticsRows())
+                .thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .thenReturn(rows(blackPearl));
+
+        // When
+        boatStatistics.onApplicationReady();
+        boolean loadedAfterFailure = boatStatistics.isLoaded();
+        boatStatistics.reconcile();
+
+        // Then
+        assertThat(loadedAfterFailure).isFalse();
+        assertThat(boatStatistics.isLoaded()).isTrue();
+        assertThat(boatStatistics.get().getCountsByType()).containsEntry("SAILBOAT", 1L);
+    }
+
+    @Test
+    void reconcile_WhenDisabled_ShouldNeverLoadAndCountDatabase() {
+        // Given
+        var disabledStatistics = new BoatStatistics(boatRepository, meterRegistry, false);
+        when(boatRepository.countByBoatType()).thenReturn(List.of(new BoatTypeCount(BoatType.YACHT, 4L)));
+        when(boatRepository.countByCreationMonth()).thenReturn(List.of(new BoatMonthCount(2024, 2, 4L)));
+
+        // When
+        disabledStatistics.onApplicationReady();
+        disabledStatistics.reconcile();
+        BoatStatisticsDto result = disabledStatistics.get();
+
+        // Then
+        assertThat(disabledStatistics.isLoaded()).isFalse();
+        assertThat(result.getTotal()).isEqualTo(4);
+        verify(boatRepository, never()).findAllStatisticsRows();
+    }
+
+    private void loadStatistics(BoatDto... boats) {
+        when(boatRepository.findAllStatisticsRows()).thenReturn(rows(boats));
+        boatStatistics.load();
+    }
+
+    private List<BoatStatisticsRow> rows(BoatDto... boats) {
+        return Arrays.stream(boats)
+                .map(boat -> new BoatStatisticsRow(boat.getId(), BoatType.valueOf(boat.getBoatType()),
+                        boat.getCreatedDate(), boat.getVersion()))
+                .toList();
+    }
+
+    private BoatDto boat(Long id, String boatType, LocalDateTime createdDate) {
+        return new BoatDto(id, "Boat " + id, null, boatType, createdDate, createdDate, 0L);
+    }
+}